@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Vector3D.Vector3f;
+
+/**
+ * Dual quaternion skinning with {@link SkinningOperations} against linear blend
+ * skinning, both as the same packed loop blending 3x4 matrices and as the
+ * per-bone {@link Matrix4f} transforms it replaces. Each vertex has four
+ * influences over a palette of 64 rigid bones, and both positions and normals
+ * are skinned.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--enable-preview", "--add-modules", "jdk.incubator.vector" })
+public class SkinningBenchmark {
+
+	/** The number of bones in the palette. */
+	private static final int BONES = 64;
+
+	/** The number of influences per vertex. */
+	private static final int INFLUENCES = 4;
+
+	/** The number of vertices. */
+	@Param({ "10000" })
+	int vertices;
+
+	/** The bone matrices, packed row-major. */
+	float[] matrices;
+
+	/** The bone matrices as records. */
+	Matrix4f[] bones;
+
+	/** The bone dual quaternions. */
+	float[] palette;
+
+	/** The bind pose positions. */
+	float[] positions;
+
+	/** The bind pose normals. */
+	float[] normals;
+
+	/** The bone indices. */
+	int[] indices;
+
+	/** The bone weights. */
+	float[] weights;
+
+	/** The skinned positions. */
+	float[] outPositions;
+
+	/** The skinned normals. */
+	float[] outNormals;
+
+	/**
+	 * Builds a random rigid palette and mesh.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		matrices = new float[BONES * 16];
+		bones = new Matrix4f[BONES];
+		for (int b = 0; b < BONES; b++) {
+			rigid(random, matrices, b * 16);
+			bones[b] = new Matrix4f(Arrays.copyOfRange(matrices, b * 16, b * 16 + 16));
+		}
+		palette = new float[BONES * SkinningOperations.STRIDE];
+		SkinningOperations.fromMatrices(matrices, 0, palette, 0, BONES);
+
+		positions = new float[vertices * 3];
+		normals = new float[vertices * 3];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = random.nextFloat() * 2 - 1;
+			normals[i] = random.nextFloat() * 2 - 1;
+		}
+
+		indices = new int[vertices * INFLUENCES];
+		weights = new float[vertices * INFLUENCES];
+		for (int v = 0; v < vertices; v++) {
+			float sum = 0;
+			for (int k = 0; k < INFLUENCES; k++) {
+				indices[v * INFLUENCES + k] = random.nextInt(BONES);
+				sum += weights[v * INFLUENCES + k] = random.nextFloat() + 0.1f;
+			}
+			for (int k = 0; k < INFLUENCES; k++) {
+				weights[v * INFLUENCES + k] /= sum;
+			}
+		}
+
+		outPositions = new float[vertices * 3];
+		outNormals = new float[vertices * 3];
+	}
+
+	/**
+	 * Writes a random rotation and translation as a row-major matrix.
+	 *
+	 * @param random the random source
+	 * @param m      the destination
+	 * @param o      the destination offset
+	 */
+	static void rigid(Random random, float[] m, int o) {
+		double x = random.nextGaussian(), y = random.nextGaussian(), z = random.nextGaussian();
+		double w = random.nextGaussian();
+		double n = Math.sqrt(x * x + y * y + z * z + w * w);
+		x /= n;
+		y /= n;
+		z /= n;
+		w /= n;
+
+		m[o] = (float) (1 - 2 * (y * y + z * z));
+		m[o + 1] = (float) (2 * (x * y - z * w));
+		m[o + 2] = (float) (2 * (x * z + y * w));
+		m[o + 3] = random.nextFloat() * 4 - 2;
+		m[o + 4] = (float) (2 * (x * y + z * w));
+		m[o + 5] = (float) (1 - 2 * (x * x + z * z));
+		m[o + 6] = (float) (2 * (y * z - x * w));
+		m[o + 7] = random.nextFloat() * 4 - 2;
+		m[o + 8] = (float) (2 * (x * z - y * w));
+		m[o + 9] = (float) (2 * (y * z + x * w));
+		m[o + 10] = (float) (1 - 2 * (x * x + y * y));
+		m[o + 11] = random.nextFloat() * 4 - 2;
+		m[o + 15] = 1;
+	}
+
+	/**
+	 * Dual quaternion linear blending over the packed palette.
+	 *
+	 * @return the skinned positions
+	 */
+	@Benchmark
+	public float[] dualQuaternion() {
+		SkinningOperations.skin(palette, 0, positions, normals, indices, weights, INFLUENCES,
+				outPositions, outNormals, 0, vertices);
+		return outPositions;
+	}
+
+	/**
+	 * Linear blend skinning over the packed matrices: the weighted 3x4 matrices
+	 * are summed, 12 multiply-adds per influence, then applied once.
+	 *
+	 * @return the skinned positions
+	 */
+	@Benchmark
+	public float[] linearBlend() {
+		linearBlend(matrices, positions, normals, indices, weights, INFLUENCES, outPositions,
+				outNormals, vertices);
+		return outPositions;
+	}
+
+	/**
+	 * The packed linear blend kernel, shaped like
+	 * {@link SkinningOperations#skin(float[], int, float[], float[], int[], float[], int,
+	 * float[], float[], int, int)}
+	 * so that both see the influence count as a parameter.
+	 *
+	 * @param m            the bone matrices
+	 * @param positions    the bind pose positions
+	 * @param normals      the bind pose normals
+	 * @param bones        the bone indices
+	 * @param weights      the bone weights
+	 * @param influences   the number of influences per vertex
+	 * @param outPositions the skinned positions
+	 * @param outNormals   the skinned normals
+	 * @param count        the number of vertices
+	 */
+	static void linearBlend(float[] m, float[] positions, float[] normals, int[] bones,
+			float[] weights, int influences, float[] outPositions, float[] outNormals,
+			int count) {
+		for (int v = 0; v < count; v++) {
+			float a0 = 0, a1 = 0, a2 = 0, a3 = 0, a4 = 0, a5 = 0;
+			float a6 = 0, a7 = 0, a8 = 0, a9 = 0, a10 = 0, a11 = 0;
+			for (int k = 0; k < influences; k++) {
+				float w = weights[v * influences + k];
+				int b = bones[v * influences + k] * 16;
+				a0 += w * m[b];
+				a1 += w * m[b + 1];
+				a2 += w * m[b + 2];
+				a3 += w * m[b + 3];
+				a4 += w * m[b + 4];
+				a5 += w * m[b + 5];
+				a6 += w * m[b + 6];
+				a7 += w * m[b + 7];
+				a8 += w * m[b + 8];
+				a9 += w * m[b + 9];
+				a10 += w * m[b + 10];
+				a11 += w * m[b + 11];
+			}
+
+			int p = v * 3;
+			float px = positions[p], py = positions[p + 1], pz = positions[p + 2];
+			outPositions[p] = a0 * px + a1 * py + a2 * pz + a3;
+			outPositions[p + 1] = a4 * px + a5 * py + a6 * pz + a7;
+			outPositions[p + 2] = a8 * px + a9 * py + a10 * pz + a11;
+
+			float nx = normals[p], ny = normals[p + 1], nz = normals[p + 2];
+			outNormals[p] = a0 * nx + a1 * ny + a2 * nz;
+			outNormals[p + 1] = a4 * nx + a5 * ny + a6 * nz;
+			outNormals[p + 2] = a8 * nx + a9 * ny + a10 * nz;
+		}
+	}
+
+	/**
+	 * Linear blend skinning through the record API: every influence transforms
+	 * the vertex by its bone {@link Matrix4f} and the results are weighted and
+	 * summed.
+	 *
+	 * @return the skinned positions
+	 */
+	@Benchmark
+	public float[] linearBlendMatrix4f() {
+		for (int v = 0; v < vertices; v++) {
+			int p = v * 3;
+			Vector3f position = Vector3D.ofFloat(positions[p], positions[p + 1],
+					positions[p + 2]);
+			Vector3f normal = Vector3D.ofFloat(normals[p], normals[p + 1], normals[p + 2]);
+			float px = 0, py = 0, pz = 0, nx = 0, ny = 0, nz = 0;
+			for (int k = 0; k < INFLUENCES; k++) {
+				float w = weights[v * INFLUENCES + k];
+				Matrix4f bone = bones[indices[v * INFLUENCES + k]];
+				Vector3D q = MatrixOperations.transformPoint(bone, position);
+				Vector3D n = MatrixOperations.transformDirection(bone, normal);
+				px += w * q.xf();
+				py += w * q.yf();
+				pz += w * q.zf();
+				nx += w * n.xf();
+				ny += w * n.yf();
+				nz += w * n.zf();
+			}
+			outPositions[p] = px;
+			outPositions[p + 1] = py;
+			outPositions[p + 2] = pz;
+			outNormals[p] = nx;
+			outNormals[p + 1] = ny;
+			outNormals[p + 2] = nz;
+		}
+		return outPositions;
+	}
+}
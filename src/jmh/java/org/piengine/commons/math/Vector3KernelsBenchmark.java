@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@link VectorVector3Kernels} bulk kernels behind {@link Vector3Buffer}
+ * against the {@link ScalarVector3Kernels} loops, over float components.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--enable-preview", "--add-modules", "jdk.incubator.vector" })
+public class Vector3KernelsBenchmark {
+
+	/** The backend. */
+	@Param({ "scalar", "vector" })
+	String backend;
+
+	/** The number of vectors. */
+	@Param({ "10000" })
+	int count;
+
+	/** The kernels under test. */
+	Vector3Kernels kernels;
+
+	/** The a components. */
+	float[] ax, ay, az;
+
+	/** The b components. */
+	float[] bx, by, bz;
+
+	/** The destination components. */
+	float[] dx, dy, dz;
+
+	/** The per-vector results. */
+	float[] scalars;
+
+	/** The reduction result. */
+	float[] reduction = new float[3];
+
+	/**
+	 * Selects the backend and fills the components.
+	 */
+	@Setup
+	public void setup() {
+		kernels = backend.equals("vector") ? new VectorVector3Kernels()
+				: new ScalarVector3Kernels();
+		Random random = new Random(24);
+		float[][] c = new float[9][count];
+		for (float[] a : c) {
+			for (int i = 0; i < count; i++) {
+				a[i] = random.nextFloat() * 2 - 1;
+			}
+		}
+		ax = c[0];
+		ay = c[1];
+		az = c[2];
+		bx = c[3];
+		by = c[4];
+		bz = c[5];
+		dx = c[6];
+		dy = c[7];
+		dz = c[8];
+		scalars = new float[count];
+	}
+
+	/**
+	 * Adds two buffers.
+	 *
+	 * @return the destination
+	 */
+	@Benchmark
+	public float[] add() {
+		kernels.add(ax, ay, az, bx, by, bz, dx, dy, dz, count);
+		return dx;
+	}
+
+	/**
+	 * Cross products of two buffers.
+	 *
+	 * @return the destination
+	 */
+	@Benchmark
+	public float[] cross() {
+		kernels.cross(ax, ay, az, bx, by, bz, dx, dy, dz, count);
+		return dx;
+	}
+
+	/**
+	 * Normalizes a buffer.
+	 *
+	 * @return the destination
+	 */
+	@Benchmark
+	public float[] normalize() {
+		kernels.normalize(ax, ay, az, dx, dy, dz, count);
+		return dx;
+	}
+
+	/**
+	 * Dot products of two buffers.
+	 *
+	 * @return the dot products
+	 */
+	@Benchmark
+	public float[] dot() {
+		kernels.dot(ax, ay, az, bx, by, bz, scalars, 0, count);
+		return scalars;
+	}
+
+	/**
+	 * Sums a buffer.
+	 *
+	 * @return the sum
+	 */
+	@Benchmark
+	public float[] sum() {
+		kernels.sum(ax, ay, az, count, reduction, 0);
+		return reduction;
+	}
+
+	/**
+	 * Component-wise minimum of a buffer.
+	 *
+	 * @return the minimum
+	 */
+	@Benchmark
+	public float[] min() {
+		kernels.min(ax, ay, az, count, reduction, 0);
+		return reduction;
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.piengine.commons.math.Matrix.Matrix1x3.Matrix1x3f;
+import org.piengine.commons.math.Vector3D.Vector3f;
+import org.piengine.commons.math.shapes.Point3D;
+
+/**
+ * {@link Vector3f} with its components in record fields against the earlier
+ * layout, a record wrapping a {@code float[3]}, reproduced here as
+ * {@link ArrayVector3f}. Reading many stored vectors shows the cost of the
+ * extra indirection; chains of short-lived results show the cost of the extra
+ * allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--enable-preview", "--add-modules", "jdk.incubator.vector" })
+public class Vector3LayoutBenchmark {
+
+	/**
+	 * The array-backed layout that {@link Vector3f} replaced, as it was.
+	 *
+	 * @param array the components
+	 */
+	record ArrayVector3f(float[] array) implements Vector3D, Matrix1x3f {
+
+		/**
+		 * Instantiates a new array vector.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 */
+		ArrayVector3f(float x, float y, float z) {
+			this(new float[] { x, y, z });
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#xf()
+		 */
+		@Override
+		public float xf() {
+			return array[0];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#yf()
+		 */
+		@Override
+		public float yf() {
+			return array[1];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#zf()
+		 */
+		@Override
+		public float zf() {
+			return array[2];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#normalize()
+		 */
+		@Override
+		public Vector3D normalize() {
+			float mag = (float) magnitude();
+			return new ArrayVector3f(xf() / mag, yf() / mag, zf() / mag);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#add(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D add(Vector3D vector) {
+			return new ArrayVector3f(xf() + vector.xf(), yf() + vector.yf(), zf() + vector.zf());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#subtract(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D subtract(Vector3D vector) {
+			return new ArrayVector3f(xf() - vector.xf(), yf() - vector.yf(), zf() - vector.zf());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#scale(double)
+		 */
+		@Override
+		public Vector3D scale(double factor) {
+			return new ArrayVector3f((float) (xf() * factor), (float) (yf() * factor),
+					(float) (zf() * factor));
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#toPoint()
+		 */
+		@Override
+		public Point3D toPoint() {
+			return Point3D.ofFloat(xf(), yf(), zf());
+		}
+	}
+
+	/** The number of stored vectors. */
+	@Param({ "10000" })
+	int count;
+
+	/** The vectors in the field layout. */
+	Vector3f[] fields;
+
+	/** The same vectors in the array layout. */
+	ArrayVector3f[] arrays;
+
+	/**
+	 * Builds the vectors. They are allocated in shuffled order, so that neither
+	 * layout benefits from a vector and its array sitting next to each other in
+	 * allocation order more than a long-lived heap would allow.
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(21);
+		fields = new Vector3f[count];
+		arrays = new ArrayVector3f[count];
+		for (int i = 0; i < count; i++) {
+			float x = random.nextFloat(), y = random.nextFloat(), z = random.nextFloat();
+			fields[i] = new Vector3f(x, y, z);
+			arrays[i] = new ArrayVector3f(x, y, z);
+		}
+	}
+
+	/**
+	 * Sums the components of every stored vector in the field layout.
+	 *
+	 * @return the sum
+	 */
+	@Benchmark
+	public float readFields() {
+		float sum = 0;
+		for (Vector3f v : fields) {
+			sum += v.xf() + v.yf() + v.zf();
+		}
+		return sum;
+	}
+
+	/**
+	 * Sums the components of every stored vector in the array layout.
+	 *
+	 * @return the sum
+	 */
+	@Benchmark
+	public float readArrays() {
+		float sum = 0;
+		for (ArrayVector3f v : arrays) {
+			sum += v.xf() + v.yf() + v.zf();
+		}
+		return sum;
+	}
+
+	/**
+	 * Folds every stored vector into a running average in the field layout,
+	 * two short-lived results per vector.
+	 *
+	 * @return the average
+	 */
+	@Benchmark
+	public Vector3D chainFields() {
+		Vector3D acc = fields[0];
+		for (Vector3f v : fields) {
+			acc = acc.add(v).scale(0.5);
+		}
+		return acc;
+	}
+
+	/**
+	 * Folds every stored vector into a running average in the array layout.
+	 *
+	 * @return the average
+	 */
+	@Benchmark
+	public Vector3D chainArrays() {
+		Vector3D acc = arrays[0];
+		for (ArrayVector3f v : arrays) {
+			acc = acc.add(v).scale(0.5);
+		}
+		return acc;
+	}
+}
@@ -56,6 +56,9 @@
  *       Java 23 features like records and pattern matching (JEP 488).</li>
  *   <li>{@code org.yaml.snakeyaml}: Used for parsing YAML configurations, such
  *       as precision settings for coordinates (optional usage).</li>
+ *   <li>{@code jdk.incubator.vector}: Optional. When resolved at runtime (for
+ *       example with {@code --add-modules jdk.incubator.vector}), matrix kernels
+ *       use SIMD instructions; otherwise scalar kernels are used.</li>
  * </ul>
  *
  * <h2>Usage</h2>
@@ -83,6 +86,8 @@
  * @since 0.0.1
  */
 module org.piengine.math {
+	requires static jdk.incubator.vector;
+
 	exports org.piengine.commons.math;
 	exports org.piengine.commons.math.coordinates;
 	exports org.piengine.commons.math.shapes;
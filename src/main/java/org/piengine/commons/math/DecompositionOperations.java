@@ -0,0 +1,734 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Objects;
+
+import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4f;
+import org.piengine.commons.math.Precision.PrecisionType;
+import org.piengine.commons.math.Quaternion.Quaterniond;
+import org.piengine.commons.math.Quaternion.Quaternionf;
+import org.piengine.commons.math.Vector3D.MutableVector3d;
+import org.piengine.commons.math.Vector3D.MutableVector3f;
+
+/**
+ * Decomposition of row-major 4x4 affine matrices into translation, rotation
+ * and scale, the inverse of
+ * {@link QuaternionOperations#compose(float, float, float, float[], int, float,
+ * float, float, float[], int)}.
+ * A decomposition is written as {@link #STRIDE} packed elements: the
+ * translation {@code x, y, z}, the quaternion {@code x, y, z, w} and the scale
+ * {@code x, y, z}.
+ *
+ * <p>
+ * Matrices built as {@code T * R * S} take a closed-form path of three column
+ * lengths and one quaternion extraction. Matrices with shear fall back to a
+ * polar decomposition, which keeps the nearest rotation and drops the shear.
+ * </p>
+ */
+public final class DecompositionOperations {
+
+    /** The number of elements in one packed decomposition. */
+    public static final int STRIDE = 10;
+
+    /** The offset of the translation in a packed decomposition. */
+    public static final int TRANSLATION = 0;
+
+    /** The offset of the quaternion in a packed decomposition. */
+    public static final int ROTATION = 3;
+
+    /** The offset of the scale in a packed decomposition. */
+    public static final int SCALE = 7;
+
+    /** Largest column cosine for which float columns count as orthogonal. */
+    private static final float ORTHOGONAL_TOLERANCE_F = 1e-5f;
+
+    /** Largest column cosine for which double columns count as orthogonal. */
+    private static final double ORTHOGONAL_TOLERANCE_D = 1e-12;
+
+    /** The polar iteration stops once an update changes the elements by less in sum. */
+    private static final double POLAR_TOLERANCE = 1e-13;
+
+    /** The most polar iterations, far more than the handful usually needed. */
+    private static final int POLAR_ITERATIONS = 32;
+
+    /** The offset of the decomposition in the scratch arrays, after the matrix. */
+    private static final int TRS = 16;
+
+    /** Per-thread float scratch for the accessors, reused across calls. */
+    private static final ThreadLocal<float[]> FLOAT_SCRATCH =
+            ThreadLocal.withInitial(() -> new float[TRS + STRIDE]);
+
+    /** Per-thread double scratch for the accessors, reused across calls. */
+    private static final ThreadLocal<double[]> DOUBLE_SCRATCH =
+            ThreadLocal.withInitial(() -> new double[TRS + STRIDE]);
+
+    /**
+	 * Instantiates a new decomposition operations.
+	 */
+    private DecompositionOperations() {}
+
+    /**
+	 * Translation of a matrix, in its precision.
+	 *
+	 * @param m the m
+	 * @return the vector 3 D
+	 */
+    public static Vector3D translation(Matrix4 m) {
+        return m.precisionType() == PrecisionType.FLOAT
+                ? Vector3D.ofFloat(m.wf(0), m.wf(1), m.wf(2))
+                : Vector3D.ofDouble(m.wd(0), m.wd(1), m.wd(2));
+    }
+
+    /**
+	 * Rotation of a matrix, in its precision, see
+	 * {@link #decompose(double[], int, double[], int)}.
+	 *
+	 * @param m the m
+	 * @return the quaternion
+	 */
+    public static Quaternion rotation(Matrix4 m) {
+        if (m.precisionType() == PrecisionType.FLOAT) {
+            float[] trs = decomposed(m, FLOAT_SCRATCH.get());
+            int r = TRS + ROTATION;
+            return new Quaternionf(trs[r], trs[r + 1], trs[r + 2], trs[r + 3]);
+        }
+
+        double[] trs = decomposed(m, DOUBLE_SCRATCH.get());
+        int r = TRS + ROTATION;
+        return new Quaterniond(trs[r], trs[r + 1], trs[r + 2], trs[r + 3]);
+    }
+
+    /**
+	 * Writes the rotation of a matrix as a packed float quaternion
+	 * {@code x, y, z, w}, allocating nothing.
+	 *
+	 * @param m          the m
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return the destination
+	 */
+    public static float[] rotation(Matrix4 m, float[] dest, int destOffset) {
+        float[] trs = decomposed(m, FLOAT_SCRATCH.get());
+        System.arraycopy(trs, TRS + ROTATION, dest, destOffset, QuaternionOperations.STRIDE);
+        return dest;
+    }
+
+    /**
+	 * Writes the rotation of a matrix as a packed double quaternion
+	 * {@code x, y, z, w}, allocating nothing.
+	 *
+	 * @param m          the m
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return the destination
+	 */
+    public static double[] rotation(Matrix4 m, double[] dest, int destOffset) {
+        double[] trs = decomposed(m, DOUBLE_SCRATCH.get());
+        System.arraycopy(trs, TRS + ROTATION, dest, destOffset, QuaternionOperations.STRIDE);
+        return dest;
+    }
+
+    /**
+	 * Scale of a matrix, in its precision, see
+	 * {@link #decompose(double[], int, double[], int)}.
+	 *
+	 * @param m the m
+	 * @return the vector 3 D
+	 */
+    public static Vector3D scale(Matrix4 m) {
+        if (m.precisionType() == PrecisionType.FLOAT) {
+            float[] trs = decomposed(m, FLOAT_SCRATCH.get());
+            return Vector3D.ofFloat(trs[TRS + SCALE], trs[TRS + SCALE + 1], trs[TRS + SCALE + 2]);
+        }
+
+        double[] trs = decomposed(m, DOUBLE_SCRATCH.get());
+        return Vector3D.ofDouble(trs[TRS + SCALE], trs[TRS + SCALE + 1], trs[TRS + SCALE + 2]);
+    }
+
+    /**
+	 * Writes the scale of a matrix into a float vector, allocating nothing.
+	 *
+	 * @param m    the m
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    public static MutableVector3f scale(Matrix4 m, MutableVector3f dest) {
+        float[] trs = decomposed(m, FLOAT_SCRATCH.get());
+        return dest.set(trs[TRS + SCALE], trs[TRS + SCALE + 1], trs[TRS + SCALE + 2]);
+    }
+
+    /**
+	 * Writes the scale of a matrix into a double vector, allocating nothing.
+	 *
+	 * @param m    the m
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    public static MutableVector3d scale(Matrix4 m, MutableVector3d dest) {
+        double[] trs = decomposed(m, DOUBLE_SCRATCH.get());
+        return dest.set(trs[TRS + SCALE], trs[TRS + SCALE + 1], trs[TRS + SCALE + 2]);
+    }
+
+    /**
+	 * Decomposes a matrix in float into scratch. Float array backed matrices
+	 * are read in place and any other is first copied into the scratch through
+	 * its accessors.
+	 *
+	 * @param m       the m
+	 * @param scratch the scratch, the matrix followed by its decomposition
+	 * @return the scratch, with the decomposition at {@link #TRS}
+	 */
+    private static float[] decomposed(Matrix4 m, float[] scratch) {
+        float[] a = m instanceof Matrix4f f ? f.array()
+                : m instanceof MutableMatrix4f f ? f.array()
+                : null;
+        if (a == null) {
+            for (int row = 0; row < 4; row++) {
+                scratch[row * 4] = (float) m.xd(row);
+                scratch[row * 4 + 1] = (float) m.yd(row);
+                scratch[row * 4 + 2] = (float) m.zd(row);
+                scratch[row * 4 + 3] = (float) m.wd(row);
+            }
+            a = scratch;
+        }
+        decompose(a, 0, scratch, TRS);
+        return scratch;
+    }
+
+    /**
+	 * Decomposes a matrix in double into scratch. Double array backed matrices
+	 * are read in place and any other is first copied into the scratch through
+	 * its accessors.
+	 *
+	 * @param m       the m
+	 * @param scratch the scratch, the matrix followed by its decomposition
+	 * @return the scratch, with the decomposition at {@link #TRS}
+	 */
+    private static double[] decomposed(Matrix4 m, double[] scratch) {
+        double[] a = m instanceof Matrix4d d ? d.array()
+                : m instanceof MutableMatrix4d d ? d.array()
+                : null;
+        if (a == null) {
+            for (int row = 0; row < 4; row++) {
+                scratch[row * 4] = m.xd(row);
+                scratch[row * 4 + 1] = m.yd(row);
+                scratch[row * 4 + 2] = m.zd(row);
+                scratch[row * 4 + 3] = m.wd(row);
+            }
+            a = scratch;
+        }
+        decompose(a, 0, scratch, TRS);
+        return scratch;
+    }
+
+    /**
+	 * Decomposes a row-major affine matrix into {@code T(t) * R(q) * S(s)} and
+	 * writes {@code t, q, s} as {@link #STRIDE} packed elements. When the
+	 * columns of the upper 3x3 are orthogonal, as they are for any
+	 * {@code T * R * S} with the scale last in the product, the scale is the
+	 * column lengths and the rotation the normalized columns, and recomposing
+	 * gives back the matrix. A rotation applied after a non-uniform scale, as in
+	 * {@code R2 * S * R1}, leaves shear that no {@code T * R * S} can express.
+	 * Such input is split by the polar decomposition {@code A = R * P}: the
+	 * rotation is {@code R}, the rotation nearest to the upper 3x3, and the
+	 * scale is the diagonal of the symmetric stretch {@code P}. The shear in the
+	 * off-diagonal of {@code P} is dropped, so recomposing does not give back
+	 * the matrix. A mirroring matrix gets a negative x scale. A singular upper
+	 * 3x3 yields the identity rotation and the column lengths as scale.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return false if the upper 3x3 was singular
+	 */
+    public static boolean decompose(float[] m, int mOffset, float[] dest, int destOffset) {
+        return decompose(m, mOffset, dest, destOffset + TRANSLATION, dest, destOffset + ROTATION,
+                dest, destOffset + SCALE);
+    }
+
+    /**
+	 * Decomposes one matrix into separate translation, quaternion and scale
+	 * destinations, see {@link #decompose(float[], int, float[], int)}.
+	 *
+	 * @param m                 the matrix
+	 * @param mOffset           the matrix offset
+	 * @param translation       the translation destination
+	 * @param translationOffset the translation offset
+	 * @param rotation          the quaternion destination
+	 * @param rotationOffset    the quaternion offset
+	 * @param scale             the scale destination
+	 * @param scaleOffset       the scale offset
+	 * @return false if the upper 3x3 was singular
+	 */
+    private static boolean decompose(float[] m, int mOffset, float[] translation,
+            int translationOffset, float[] rotation, int rotationOffset, float[] scale,
+            int scaleOffset) {
+        float a00 = m[mOffset], a01 = m[mOffset + 1], a02 = m[mOffset + 2];
+        float a10 = m[mOffset + 4], a11 = m[mOffset + 5], a12 = m[mOffset + 6];
+        float a20 = m[mOffset + 8], a21 = m[mOffset + 9], a22 = m[mOffset + 10];
+
+        translation[translationOffset] = m[mOffset + 3];
+        translation[translationOffset + 1] = m[mOffset + 7];
+        translation[translationOffset + 2] = m[mOffset + 11];
+
+        float sx = (float) Math.sqrt(a00 * a00 + a10 * a10 + a20 * a20);
+        float sy = (float) Math.sqrt(a01 * a01 + a11 * a11 + a21 * a21);
+        float sz = (float) Math.sqrt(a02 * a02 + a12 * a12 + a22 * a22);
+        float det = a00 * (a11 * a22 - a12 * a21) - a01 * (a10 * a22 - a12 * a20)
+                + a02 * (a10 * a21 - a11 * a20);
+
+        if (det == 0 || !Float.isFinite(det)) {
+            rotation[rotationOffset] = 0;
+            rotation[rotationOffset + 1] = 0;
+            rotation[rotationOffset + 2] = 0;
+            rotation[rotationOffset + 3] = 1;
+            scale[scaleOffset] = sx;
+            scale[scaleOffset + 1] = sy;
+            scale[scaleOffset + 2] = sz;
+            return false;
+        }
+
+        if (det < 0) {
+            sx = -sx;
+        }
+
+        float d01 = a00 * a01 + a10 * a11 + a20 * a21;
+        float d02 = a00 * a02 + a10 * a12 + a20 * a22;
+        float d12 = a01 * a02 + a11 * a12 + a21 * a22;
+        float tolerance = ORTHOGONAL_TOLERANCE_F;
+        if (Math.abs(d01) <= tolerance * Math.abs(sx * sy)
+                && Math.abs(d02) <= tolerance * Math.abs(sx * sz)
+                && Math.abs(d12) <= tolerance * Math.abs(sy * sz)) {
+            float ix = 1 / sx, iy = 1 / sy, iz = 1 / sz;
+            QuaternionOperations.fromRotation(a00 * ix, a01 * iy, a02 * iz,
+                    a10 * ix, a11 * iy, a12 * iz,
+                    a20 * ix, a21 * iy, a22 * iz, rotation, rotationOffset);
+            scale[scaleOffset] = sx;
+            scale[scaleOffset + 1] = sy;
+            scale[scaleOffset + 2] = sz;
+            return true;
+        }
+
+        polar(a00, a01, a02, a10, a11, a12, a20, a21, a22, det < 0, rotation, rotationOffset,
+                scale, scaleOffset);
+        return true;
+    }
+
+    /**
+	 * Decomposes packed matrices, see
+	 * {@link #decompose(float[], int, float[], int)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination, {@link #STRIDE} elements per matrix
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public static int decompose(float[] m, int mOffset, float[] dest, int destOffset,
+            int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        Objects.checkFromIndexSize(destOffset, Math.multiplyExact(count, STRIDE), dest.length);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            int o = destOffset + i * STRIDE;
+            if (!decompose(m, mOffset + i * MatrixBatchOperations.STRIDE, dest, o)) {
+                singular++;
+            }
+        }
+        return singular;
+    }
+
+    /**
+	 * Decomposes packed matrices into separate translation, quaternion and scale
+	 * arrays, the layout of animation tracks. See
+	 * {@link #decompose(float[], int, float[], int)}.
+	 *
+	 * @param m                 the matrices
+	 * @param mOffset           the matrices offset
+	 * @param translation       the translations, 3 elements per matrix
+	 * @param translationOffset the translations offset
+	 * @param rotation          the quaternions, 4 elements per matrix
+	 * @param rotationOffset    the quaternions offset
+	 * @param scale             the scales, 3 elements per matrix
+	 * @param scaleOffset       the scales offset
+	 * @param count             the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public static int decompose(float[] m, int mOffset, float[] translation,
+            int translationOffset, float[] rotation, int rotationOffset, float[] scale,
+            int scaleOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        int q = QuaternionOperations.STRIDE;
+        Objects.checkFromIndexSize(translationOffset, Math.multiplyExact(count, 3),
+                translation.length);
+        Objects.checkFromIndexSize(rotationOffset, Math.multiplyExact(count, q), rotation.length);
+        Objects.checkFromIndexSize(scaleOffset, Math.multiplyExact(count, 3), scale.length);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            int o = mOffset + i * MatrixBatchOperations.STRIDE;
+            if (!decompose(m, o, translation, translationOffset + i * 3, rotation,
+                    rotationOffset + i * q, scale, scaleOffset + i * 3)) {
+                singular++;
+            }
+        }
+        return singular;
+    }
+
+    /**
+	 * Writes the rotation and scale of a non-singular upper 3x3 with shear. The
+	 * orthogonal polar factor {@code R} of {@code A = R * P} is found by the
+	 * scaled Newton iteration {@code X = (g * X + X^-T / g) / 2}, in double
+	 * precision, and the scale is the diagonal of {@code P = R^T * A}. A
+	 * mirroring matrix has its first column negated first, so that {@code R} is
+	 * a proper rotation, and gets a negative x scale.
+	 *
+	 * @param a00            the a 00
+	 * @param a01            the a 01
+	 * @param a02            the a 02
+	 * @param a10            the a 10
+	 * @param a11            the a 11
+	 * @param a12            the a 12
+	 * @param a20            the a 20
+	 * @param a21            the a 21
+	 * @param a22            the a 22
+	 * @param mirror         whether the determinant is negative
+	 * @param rotation       the quaternion destination
+	 * @param rotationOffset the quaternion offset
+	 * @param scale          the scale destination
+	 * @param scaleOffset    the scale offset
+	 */
+    private static void polar(double a00, double a01, double a02, double a10, double a11,
+            double a12, double a20, double a21, double a22, boolean mirror, float[] rotation,
+            int rotationOffset, float[] scale, int scaleOffset) {
+        if (mirror) {
+            a00 = -a00;
+            a10 = -a10;
+            a20 = -a20;
+        }
+
+        double x00 = a00, x01 = a01, x02 = a02;
+        double x10 = a10, x11 = a11, x12 = a12;
+        double x20 = a20, x21 = a21, x22 = a22;
+        for (int i = 0; i < POLAR_ITERATIONS; i++) {
+            // X^-T is the cofactor matrix over the determinant
+            double c00 = x11 * x22 - x12 * x21;
+            double c01 = x12 * x20 - x10 * x22;
+            double c02 = x10 * x21 - x11 * x20;
+            double c10 = x02 * x21 - x01 * x22;
+            double c11 = x00 * x22 - x02 * x20;
+            double c12 = x01 * x20 - x00 * x21;
+            double c20 = x01 * x12 - x02 * x11;
+            double c21 = x02 * x10 - x00 * x12;
+            double c22 = x00 * x11 - x01 * x10;
+            double inv = 1 / (x00 * c00 + x01 * c01 + x02 * c02);
+
+            double norm = x00 * x00 + x01 * x01 + x02 * x02 + x10 * x10 + x11 * x11 + x12 * x12
+                    + x20 * x20 + x21 * x21 + x22 * x22;
+            double normInv = (c00 * c00 + c01 * c01 + c02 * c02 + c10 * c10 + c11 * c11
+                    + c12 * c12 + c20 * c20 + c21 * c21 + c22 * c22) * inv * inv;
+            double g = Math.sqrt(Math.sqrt(normInv / norm));
+            double h = 0.5 * g, k = 0.5 * inv / g;
+
+            double n00 = h * x00 + k * c00, n01 = h * x01 + k * c01, n02 = h * x02 + k * c02;
+            double n10 = h * x10 + k * c10, n11 = h * x11 + k * c11, n12 = h * x12 + k * c12;
+            double n20 = h * x20 + k * c20, n21 = h * x21 + k * c21, n22 = h * x22 + k * c22;
+            double change = Math.abs(n00 - x00) + Math.abs(n01 - x01) + Math.abs(n02 - x02)
+                    + Math.abs(n10 - x10) + Math.abs(n11 - x11) + Math.abs(n12 - x12)
+                    + Math.abs(n20 - x20) + Math.abs(n21 - x21) + Math.abs(n22 - x22);
+
+            x00 = n00;
+            x01 = n01;
+            x02 = n02;
+            x10 = n10;
+            x11 = n11;
+            x12 = n12;
+            x20 = n20;
+            x21 = n21;
+            x22 = n22;
+            if (change <= POLAR_TOLERANCE) {
+                break;
+            }
+        }
+
+        QuaternionOperations.fromRotation((float) x00, (float) x01, (float) x02,
+                (float) x10, (float) x11, (float) x12,
+                (float) x20, (float) x21, (float) x22, rotation, rotationOffset);
+
+        double sx = x00 * a00 + x10 * a10 + x20 * a20;
+        scale[scaleOffset] = (float) (mirror ? -sx : sx);
+        scale[scaleOffset + 1] = (float) (x01 * a01 + x11 * a11 + x21 * a21);
+        scale[scaleOffset + 2] = (float) (x02 * a02 + x12 * a12 + x22 * a22);
+    }
+
+    /**
+	 * Decomposes a row-major affine matrix into {@code T(t) * R(q) * S(s)} and
+	 * writes {@code t, q, s} as {@link #STRIDE} packed elements. When the
+	 * columns of the upper 3x3 are orthogonal, as they are for any
+	 * {@code T * R * S} with the scale last in the product, the scale is the
+	 * column lengths and the rotation the normalized columns, and recomposing
+	 * gives back the matrix. A rotation applied after a non-uniform scale, as in
+	 * {@code R2 * S * R1}, leaves shear that no {@code T * R * S} can express.
+	 * Such input is split by the polar decomposition {@code A = R * P}: the
+	 * rotation is {@code R}, the rotation nearest to the upper 3x3, and the
+	 * scale is the diagonal of the symmetric stretch {@code P}. The shear in the
+	 * off-diagonal of {@code P} is dropped, so recomposing does not give back
+	 * the matrix. A mirroring matrix gets a negative x scale. A singular upper
+	 * 3x3 yields the identity rotation and the column lengths as scale.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return false if the upper 3x3 was singular
+	 */
+    public static boolean decompose(double[] m, int mOffset, double[] dest, int destOffset) {
+        return decompose(m, mOffset, dest, destOffset + TRANSLATION, dest, destOffset + ROTATION,
+                dest, destOffset + SCALE);
+    }
+
+    /**
+	 * Decomposes one matrix into separate translation, quaternion and scale
+	 * destinations, see {@link #decompose(double[], int, double[], int)}.
+	 *
+	 * @param m                 the matrix
+	 * @param mOffset           the matrix offset
+	 * @param translation       the translation destination
+	 * @param translationOffset the translation offset
+	 * @param rotation          the quaternion destination
+	 * @param rotationOffset    the quaternion offset
+	 * @param scale             the scale destination
+	 * @param scaleOffset       the scale offset
+	 * @return false if the upper 3x3 was singular
+	 */
+    private static boolean decompose(double[] m, int mOffset, double[] translation,
+            int translationOffset, double[] rotation, int rotationOffset, double[] scale,
+            int scaleOffset) {
+        double a00 = m[mOffset], a01 = m[mOffset + 1], a02 = m[mOffset + 2];
+        double a10 = m[mOffset + 4], a11 = m[mOffset + 5], a12 = m[mOffset + 6];
+        double a20 = m[mOffset + 8], a21 = m[mOffset + 9], a22 = m[mOffset + 10];
+
+        translation[translationOffset] = m[mOffset + 3];
+        translation[translationOffset + 1] = m[mOffset + 7];
+        translation[translationOffset + 2] = m[mOffset + 11];
+
+        double sx = Math.sqrt(a00 * a00 + a10 * a10 + a20 * a20);
+        double sy = Math.sqrt(a01 * a01 + a11 * a11 + a21 * a21);
+        double sz = Math.sqrt(a02 * a02 + a12 * a12 + a22 * a22);
+        double det = a00 * (a11 * a22 - a12 * a21) - a01 * (a10 * a22 - a12 * a20)
+                + a02 * (a10 * a21 - a11 * a20);
+
+        if (det == 0 || !Double.isFinite(det)) {
+            rotation[rotationOffset] = 0;
+            rotation[rotationOffset + 1] = 0;
+            rotation[rotationOffset + 2] = 0;
+            rotation[rotationOffset + 3] = 1;
+            scale[scaleOffset] = sx;
+            scale[scaleOffset + 1] = sy;
+            scale[scaleOffset + 2] = sz;
+            return false;
+        }
+
+        if (det < 0) {
+            sx = -sx;
+        }
+
+        double d01 = a00 * a01 + a10 * a11 + a20 * a21;
+        double d02 = a00 * a02 + a10 * a12 + a20 * a22;
+        double d12 = a01 * a02 + a11 * a12 + a21 * a22;
+        double tolerance = ORTHOGONAL_TOLERANCE_D;
+        if (Math.abs(d01) <= tolerance * Math.abs(sx * sy)
+                && Math.abs(d02) <= tolerance * Math.abs(sx * sz)
+                && Math.abs(d12) <= tolerance * Math.abs(sy * sz)) {
+            double ix = 1 / sx, iy = 1 / sy, iz = 1 / sz;
+            QuaternionOperations.fromRotation(a00 * ix, a01 * iy, a02 * iz,
+                    a10 * ix, a11 * iy, a12 * iz,
+                    a20 * ix, a21 * iy, a22 * iz, rotation, rotationOffset);
+            scale[scaleOffset] = sx;
+            scale[scaleOffset + 1] = sy;
+            scale[scaleOffset + 2] = sz;
+            return true;
+        }
+
+        polar(a00, a01, a02, a10, a11, a12, a20, a21, a22, det < 0, rotation, rotationOffset,
+                scale, scaleOffset);
+        return true;
+    }
+
+    /**
+	 * Decomposes packed matrices, see
+	 * {@link #decompose(double[], int, double[], int)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination, {@link #STRIDE} elements per matrix
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public static int decompose(double[] m, int mOffset, double[] dest, int destOffset,
+            int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        Objects.checkFromIndexSize(destOffset, Math.multiplyExact(count, STRIDE), dest.length);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            int o = destOffset + i * STRIDE;
+            if (!decompose(m, mOffset + i * MatrixBatchOperations.STRIDE, dest, o)) {
+                singular++;
+            }
+        }
+        return singular;
+    }
+
+    /**
+	 * Decomposes packed matrices into separate translation, quaternion and scale
+	 * arrays, the layout of animation tracks. See
+	 * {@link #decompose(double[], int, double[], int)}.
+	 *
+	 * @param m                 the matrices
+	 * @param mOffset           the matrices offset
+	 * @param translation       the translations, 3 elements per matrix
+	 * @param translationOffset the translations offset
+	 * @param rotation          the quaternions, 4 elements per matrix
+	 * @param rotationOffset    the quaternions offset
+	 * @param scale             the scales, 3 elements per matrix
+	 * @param scaleOffset       the scales offset
+	 * @param count             the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public static int decompose(double[] m, int mOffset, double[] translation,
+            int translationOffset, double[] rotation, int rotationOffset, double[] scale,
+            int scaleOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        int q = QuaternionOperations.STRIDE;
+        Objects.checkFromIndexSize(translationOffset, Math.multiplyExact(count, 3),
+                translation.length);
+        Objects.checkFromIndexSize(rotationOffset, Math.multiplyExact(count, q), rotation.length);
+        Objects.checkFromIndexSize(scaleOffset, Math.multiplyExact(count, 3), scale.length);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            int o = mOffset + i * MatrixBatchOperations.STRIDE;
+            if (!decompose(m, o, translation, translationOffset + i * 3, rotation,
+                    rotationOffset + i * q, scale, scaleOffset + i * 3)) {
+                singular++;
+            }
+        }
+        return singular;
+    }
+
+    /**
+	 * Writes the rotation and scale of a non-singular upper 3x3 with shear. The
+	 * orthogonal polar factor {@code R} of {@code A = R * P} is found by the
+	 * scaled Newton iteration {@code X = (g * X + X^-T / g) / 2}, in double
+	 * precision, and the scale is the diagonal of {@code P = R^T * A}. A
+	 * mirroring matrix has its first column negated first, so that {@code R} is
+	 * a proper rotation, and gets a negative x scale.
+	 *
+	 * @param a00            the a 00
+	 * @param a01            the a 01
+	 * @param a02            the a 02
+	 * @param a10            the a 10
+	 * @param a11            the a 11
+	 * @param a12            the a 12
+	 * @param a20            the a 20
+	 * @param a21            the a 21
+	 * @param a22            the a 22
+	 * @param mirror         whether the determinant is negative
+	 * @param rotation       the quaternion destination
+	 * @param rotationOffset the quaternion offset
+	 * @param scale          the scale destination
+	 * @param scaleOffset    the scale offset
+	 */
+    private static void polar(double a00, double a01, double a02, double a10, double a11,
+            double a12, double a20, double a21, double a22, boolean mirror, double[] rotation,
+            int rotationOffset, double[] scale, int scaleOffset) {
+        if (mirror) {
+            a00 = -a00;
+            a10 = -a10;
+            a20 = -a20;
+        }
+
+        double x00 = a00, x01 = a01, x02 = a02;
+        double x10 = a10, x11 = a11, x12 = a12;
+        double x20 = a20, x21 = a21, x22 = a22;
+        for (int i = 0; i < POLAR_ITERATIONS; i++) {
+            // X^-T is the cofactor matrix over the determinant
+            double c00 = x11 * x22 - x12 * x21;
+            double c01 = x12 * x20 - x10 * x22;
+            double c02 = x10 * x21 - x11 * x20;
+            double c10 = x02 * x21 - x01 * x22;
+            double c11 = x00 * x22 - x02 * x20;
+            double c12 = x01 * x20 - x00 * x21;
+            double c20 = x01 * x12 - x02 * x11;
+            double c21 = x02 * x10 - x00 * x12;
+            double c22 = x00 * x11 - x01 * x10;
+            double inv = 1 / (x00 * c00 + x01 * c01 + x02 * c02);
+
+            double norm = x00 * x00 + x01 * x01 + x02 * x02 + x10 * x10 + x11 * x11 + x12 * x12
+                    + x20 * x20 + x21 * x21 + x22 * x22;
+            double normInv = (c00 * c00 + c01 * c01 + c02 * c02 + c10 * c10 + c11 * c11
+                    + c12 * c12 + c20 * c20 + c21 * c21 + c22 * c22) * inv * inv;
+            double g = Math.sqrt(Math.sqrt(normInv / norm));
+            double h = 0.5 * g, k = 0.5 * inv / g;
+
+            double n00 = h * x00 + k * c00, n01 = h * x01 + k * c01, n02 = h * x02 + k * c02;
+            double n10 = h * x10 + k * c10, n11 = h * x11 + k * c11, n12 = h * x12 + k * c12;
+            double n20 = h * x20 + k * c20, n21 = h * x21 + k * c21, n22 = h * x22 + k * c22;
+            double change = Math.abs(n00 - x00) + Math.abs(n01 - x01) + Math.abs(n02 - x02)
+                    + Math.abs(n10 - x10) + Math.abs(n11 - x11) + Math.abs(n12 - x12)
+                    + Math.abs(n20 - x20) + Math.abs(n21 - x21) + Math.abs(n22 - x22);
+
+            x00 = n00;
+            x01 = n01;
+            x02 = n02;
+            x10 = n10;
+            x11 = n11;
+            x12 = n12;
+            x20 = n20;
+            x21 = n21;
+            x22 = n22;
+            if (change <= POLAR_TOLERANCE) {
+                break;
+            }
+        }
+
+        QuaternionOperations.fromRotation(x00, x01, x02, x10, x11, x12, x20, x21, x22, rotation,
+                rotationOffset);
+
+        double sx = x00 * a00 + x10 * a10 + x20 * a20;
+        scale[scaleOffset] = mirror ? -sx : sx;
+        scale[scaleOffset + 1] = x01 * a01 + x11 * a11 + x21 * a21;
+        scale[scaleOffset + 2] = x02 * a02 + x12 * a12 + x22 * a22;
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Quaternion.Quaterniond;
+import org.piengine.commons.math.Quaternion.Quaternionf;
+import org.piengine.commons.math.Vector3D.Vector3d;
+import org.piengine.commons.math.Vector3D.Vector3f;
+
+/**
+ * The Interface DualQuaternion. A unit dual quaternion {@code real + e * dual}
+ * encodes a rigid transform: {@code real} is the rotation and
+ * {@code dual = 0.5 * t * real} carries the translation {@code t}. The packed
+ * form is the 8 element layout used by {@link SkinningOperations}.
+ */
+public interface DualQuaternion extends Precision {
+
+	/**
+	 * The Record DualQuaternionf.
+	 *
+	 * @param real the rotation part
+	 * @param dual the translation part
+	 */
+	record DualQuaternionf(Quaternionf real, Quaternionf dual)
+			implements DualQuaternion, PrecisionTf {
+
+		/**
+		 * Instantiates a new dual quaternion f.
+		 *
+		 * @param real the rotation part
+		 * @param dual the translation part
+		 */
+		public DualQuaternionf {
+			assert real != null;
+			assert dual != null;
+		}
+
+		/**
+		 * Instantiates a new dual quaternion f from a packed array of 8 elements.
+		 *
+		 * @param array the array
+		 */
+		public DualQuaternionf(float[] array) {
+			this(new Quaternionf(array[0], array[1], array[2], array[3]),
+					new Quaternionf(array[4], array[5], array[6], array[7]));
+		}
+
+		/**
+		 * Instantiates a new dual quaternion f from a rotation and a translation.
+		 *
+		 * @param rotation    the unit rotation
+		 * @param translation the translation
+		 */
+		public DualQuaternionf(Quaternionf rotation, Vector3f translation) {
+			this(pack(rotation, translation));
+		}
+
+		/**
+		 * Packs a rotation and a translation.
+		 *
+		 * @param rotation    the rotation
+		 * @param translation the translation
+		 * @return the packed dual quaternion
+		 */
+		private static float[] pack(Quaternionf rotation, Vector3f translation) {
+			float[] dq = {
+					rotation.x(), rotation.y(), rotation.z(), rotation.w(), 0, 0, 0, 0
+			};
+			SkinningOperations.fromTranslation(translation.xf(), translation.yf(),
+					translation.zf(), dq, 0);
+			return dq;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#arrayf()
+		 */
+		@Override
+		public float[] arrayf() {
+			return new float[] {
+					real.x(), real.y(), real.z(), real.w(), dual.x(), dual.y(), dual.z(), dual.w()
+			};
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#multiply(
+		 *      org.piengine.commons.math.DualQuaternion)
+		 */
+		@Override
+		public DualQuaternionf multiply(DualQuaternion other) {
+			float[] a = arrayf();
+			float[] b = other.arrayf();
+			float[] dest = new float[8];
+			float[] tmp = new float[4];
+
+			QuaternionOperations.multiply(a, 0, b, 0, dest, 0);
+			QuaternionOperations.multiply(a, 0, b, 4, dest, 4);
+			QuaternionOperations.multiply(a, 4, b, 0, tmp, 0);
+			for (int i = 0; i < 4; i++) {
+				dest[4 + i] += tmp[i];
+			}
+			return new DualQuaternionf(dest);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#normalize()
+		 */
+		@Override
+		public DualQuaternionf normalize() {
+			float[] dq = arrayf();
+			float inv = (float) (1 / real.magnitude());
+			for (int i = 0; i < 8; i++) {
+				dq[i] *= inv;
+			}
+			return new DualQuaternionf(dq);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#translation()
+		 */
+		@Override
+		public Vector3f translation() {
+			float rx = real.x(), ry = real.y(), rz = real.z(), rw = real.w();
+			float dx = dual.x(), dy = dual.y(), dz = dual.z(), dw = dual.w();
+			return new Vector3f(
+					2 * (rw * dx - dw * rx + ry * dz - rz * dy),
+					2 * (rw * dy - dw * ry + rz * dx - rx * dz),
+					2 * (rw * dz - dw * rz + rx * dy - ry * dx));
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#transform(
+		 *      org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D transform(Vector3D point) {
+			return real.rotate(point).add(translation());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#toMatrix4()
+		 */
+		@Override
+		public Matrix4f toMatrix4() {
+			Matrix4f m = real.toMatrix4();
+			Vector3f t = translation();
+			m.array()[3] = t.xf();
+			m.array()[7] = t.yf();
+			m.array()[11] = t.zf();
+			return m;
+		}
+
+	}
+
+	/**
+	 * The Record DualQuaterniond.
+	 *
+	 * @param real the rotation part
+	 * @param dual the translation part
+	 */
+	record DualQuaterniond(Quaterniond real, Quaterniond dual)
+			implements DualQuaternion, PrecisionTd {
+
+		/**
+		 * Instantiates a new dual quaternion d.
+		 *
+		 * @param real the rotation part
+		 * @param dual the translation part
+		 */
+		public DualQuaterniond {
+			assert real != null;
+			assert dual != null;
+		}
+
+		/**
+		 * Instantiates a new dual quaternion d from a packed array of 8 elements.
+		 *
+		 * @param array the array
+		 */
+		public DualQuaterniond(double[] array) {
+			this(new Quaterniond(array[0], array[1], array[2], array[3]),
+					new Quaterniond(array[4], array[5], array[6], array[7]));
+		}
+
+		/**
+		 * Instantiates a new dual quaternion d from a rotation and a translation.
+		 *
+		 * @param rotation    the unit rotation
+		 * @param translation the translation
+		 */
+		public DualQuaterniond(Quaterniond rotation, Vector3d translation) {
+			this(pack(rotation, translation));
+		}
+
+		/**
+		 * Packs a rotation and a translation.
+		 *
+		 * @param rotation    the rotation
+		 * @param translation the translation
+		 * @return the packed dual quaternion
+		 */
+		private static double[] pack(Quaterniond rotation, Vector3d translation) {
+			double[] dq = {
+					rotation.x(), rotation.y(), rotation.z(), rotation.w(), 0, 0, 0, 0
+			};
+			SkinningOperations.fromTranslation(translation.xd(), translation.yd(),
+					translation.zd(), dq, 0);
+			return dq;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#arrayd()
+		 */
+		@Override
+		public double[] arrayd() {
+			return new double[] {
+					real.x(), real.y(), real.z(), real.w(), dual.x(), dual.y(), dual.z(), dual.w()
+			};
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#multiply(
+		 *      org.piengine.commons.math.DualQuaternion)
+		 */
+		@Override
+		public DualQuaterniond multiply(DualQuaternion other) {
+			double[] a = arrayd();
+			double[] b = other.arrayd();
+			double[] dest = new double[8];
+			double[] tmp = new double[4];
+
+			QuaternionOperations.multiply(a, 0, b, 0, dest, 0);
+			QuaternionOperations.multiply(a, 0, b, 4, dest, 4);
+			QuaternionOperations.multiply(a, 4, b, 0, tmp, 0);
+			for (int i = 0; i < 4; i++) {
+				dest[4 + i] += tmp[i];
+			}
+			return new DualQuaterniond(dest);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#normalize()
+		 */
+		@Override
+		public DualQuaterniond normalize() {
+			double[] dq = arrayd();
+			double inv = (1 / real.magnitude());
+			for (int i = 0; i < 8; i++) {
+				dq[i] *= inv;
+			}
+			return new DualQuaterniond(dq);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#translation()
+		 */
+		@Override
+		public Vector3d translation() {
+			double rx = real.x(), ry = real.y(), rz = real.z(), rw = real.w();
+			double dx = dual.x(), dy = dual.y(), dz = dual.z(), dw = dual.w();
+			return new Vector3d(
+					2 * (rw * dx - dw * rx + ry * dz - rz * dy),
+					2 * (rw * dy - dw * ry + rz * dx - rx * dz),
+					2 * (rw * dz - dw * rz + rx * dy - ry * dx));
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#transform(
+		 *      org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D transform(Vector3D point) {
+			return real.rotate(point).add(translation());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.DualQuaternion#toMatrix4()
+		 */
+		@Override
+		public Matrix4d toMatrix4() {
+			Matrix4d m = real.toMatrix4();
+			Vector3d t = translation();
+			m.array()[3] = t.xd();
+			m.array()[7] = t.yd();
+			m.array()[11] = t.zd();
+			return m;
+		}
+
+	}
+
+	/**
+	 * Extracts the dual quaternion of a rigid matrix.
+	 *
+	 * @param matrix the matrix
+	 * @return the dual quaternion f
+	 */
+	static DualQuaternionf fromMatrix(Matrix4f matrix) {
+		float[] dq = new float[8];
+		SkinningOperations.fromMatrix(matrix.array(), 0, dq, 0);
+		return new DualQuaternionf(dq);
+	}
+
+	/**
+	 * Extracts the dual quaternion of a rigid matrix.
+	 *
+	 * @param matrix the matrix
+	 * @return the dual quaternion d
+	 */
+	static DualQuaterniond fromMatrix(Matrix4d matrix) {
+		double[] dq = new double[8];
+		SkinningOperations.fromMatrix(matrix.array(), 0, dq, 0);
+		return new DualQuaterniond(dq);
+	}
+
+	/**
+	 * Arrayd.
+	 *
+	 * @return a new packed array of 8 elements
+	 */
+	default double[] arrayd() {
+		float[] f = arrayf();
+		double[] d = new double[8];
+		for (int i = 0; i < 8; i++) {
+			d[i] = f[i];
+		}
+		return d;
+	}
+
+	/**
+	 * Arrayf.
+	 *
+	 * @return a new packed array of 8 elements
+	 */
+	default float[] arrayf() {
+		double[] d = arrayd();
+		float[] f = new float[8];
+		for (int i = 0; i < 8; i++) {
+			f[i] = (float) d[i];
+		}
+		return f;
+	}
+
+	/**
+	 * Multiply, {@code this * other}: applies {@code other} first, then this.
+	 *
+	 * @param other the other
+	 * @return the dual quaternion
+	 */
+	DualQuaternion multiply(DualQuaternion other);
+
+	/**
+	 * Normalize.
+	 *
+	 * @return the dual quaternion
+	 */
+	DualQuaternion normalize();
+
+	/**
+	 * To matrix 4.
+	 *
+	 * @return the matrix 4
+	 */
+	Matrix4 toMatrix4();
+
+	/**
+	 * Transforms a point.
+	 *
+	 * @param point the point
+	 * @return the vector 3 D
+	 */
+	Vector3D transform(Vector3D point);
+
+	/**
+	 * Translation.
+	 *
+	 * @return the vector 3 D
+	 */
+	Vector3D translation();
+}
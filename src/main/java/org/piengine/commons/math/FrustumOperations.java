@@ -0,0 +1,664 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Objects;
+
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+
+/**
+ * View frustum extraction and batched culling. Bounding volumes are passed as
+ * structure of arrays, one array per component, so the inner loops read
+ * contiguous memory and carry no branches. Object {@code i} lives at index
+ * {@code i} of every component array; a call covers the objects
+ * {@code [first, first + count)}.
+ *
+ * <p>
+ * Results are written either to a {@code long[]} bit set, bit {@code i} for
+ * object {@code i}, or to an {@code int[]} list of visible indices. The bit
+ * set form only rewrites the words its range touches, so ranges aligned to 64
+ * objects can be culled concurrently, as
+ * {@link ParallelMatrixOperations#cullSpheres(float[], int,
+ * float[], float[], float[], float[], long[], int, int)}
+ * does.
+ * </p>
+ */
+public final class FrustumOperations {
+
+    /** The number of elements in a packed set of six frustum planes. */
+    public static final int STRIDE = 24;
+
+    /**
+	 * Instantiates a new frustum operations.
+	 */
+    private FrustumOperations() {}
+
+    /**
+	 * Extracts the six normalized frustum planes of a row-major view-projection
+	 * matrix. Each plane is written as {@code a, b, c, d} with the normal
+	 * pointing into the frustum, in the order left, right, bottom, top, then
+	 * the planes at the low and the high end of the clip space depth range.
+	 * Those are near then far for a standard projection; a reverse-Z projection
+	 * maps near to depth 1, so its far plane is at index 4 and its near plane at
+	 * index 5. A plane at infinity, such as the far plane of an infinite
+	 * projection, is written as {@code 0, 0, 0, 1} and accepts everything.
+	 *
+	 * @param m            the view-projection matrix
+	 * @param mOffset      the matrix offset
+	 * @param zeroToOne    whether clip space depth is {@code [0, 1]}, as for
+	 *                     reverse-Z, rather than {@code [-1, 1]}
+	 * @param planes       the destination planes
+	 * @param planesOffset the planes offset
+	 */
+    public static void extractPlanes(float[] m, int mOffset, boolean zeroToOne, float[] planes,
+            int planesOffset) {
+        Objects.checkFromIndexSize(planesOffset, STRIDE, planes.length);
+        int r0 = mOffset, r1 = mOffset + 4, r2 = mOffset + 8, r3 = mOffset + 12;
+
+        for (int i = 0; i < 4; i++) {
+            float w = m[r3 + i];
+            planes[planesOffset + i] = w + m[r0 + i];
+            planes[planesOffset + 4 + i] = w - m[r0 + i];
+            planes[planesOffset + 8 + i] = w + m[r1 + i];
+            planes[planesOffset + 12 + i] = w - m[r1 + i];
+            planes[planesOffset + 16 + i] = zeroToOne ? m[r2 + i] : w + m[r2 + i];
+            planes[planesOffset + 20 + i] = w - m[r2 + i];
+        }
+
+        for (int p = planesOffset; p < planesOffset + STRIDE; p += 4) {
+            float a = planes[p], b = planes[p + 1], c = planes[p + 2];
+            float len = (float) Math.sqrt(a * a + b * b + c * c);
+            if (len == 0) {
+                planes[p + 3] = 1;
+                continue;
+            }
+            planes[p] = a / len;
+            planes[p + 1] = b / len;
+            planes[p + 2] = c / len;
+            planes[p + 3] /= len;
+        }
+    }
+
+    /**
+	 * Extracts the six normalized frustum planes of a view-projection matrix.
+	 *
+	 * @param m            the view-projection matrix
+	 * @param zeroToOne    whether clip space depth is {@code [0, 1]}
+	 * @param planes       the destination planes
+	 * @param planesOffset the planes offset
+	 * @see #extractPlanes(float[], int, boolean, float[], int)
+	 */
+    public static void extractPlanes(Matrix4f m, boolean zeroToOne, float[] planes,
+            int planesOffset) {
+        extractPlanes(m.array(), 0, zeroToOne, planes, planesOffset);
+    }
+
+    /**
+	 * Tests the bounding spheres {@code [first, first + count)} against a
+	 * frustum and writes one visibility bit per sphere, bit {@code i} of the
+	 * set for sphere {@code i}. Bits outside the range are left untouched.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param x            the center x coordinates
+	 * @param y            the center y coordinates
+	 * @param z            the center z coordinates
+	 * @param radius       the radii
+	 * @param visible      the visibility bit set
+	 * @param first        the first sphere
+	 * @param count        the number of spheres
+	 */
+    public static void cullSpheres(float[] planes, int planesOffset, float[] x, float[] y,
+            float[] z, float[] radius, long[] visible, int first, int count) {
+        checkObjects(planes.length, planesOffset, first, count, x.length, y.length, z.length,
+                radius.length);
+        checkBits(visible.length, first, count);
+
+        int p = planesOffset;
+        float lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        float rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        float bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        float tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        float nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        float fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        for (int i = first, end = first + count; i < end;) {
+            int word = i >>> 6;
+            int start = i;
+            int stop = Math.min(end, (word + 1) << 6);
+            long bits = 0;
+            for (; i < stop; i++) {
+                float cx = x[i], cy = y[i], cz = z[i], nr = -radius[i];
+                boolean inside = lx * cx + ly * cy + lz * cz + lw >= nr
+                        & rx * cx + ry * cy + rz * cz + rw >= nr
+                        & bx * cx + by * cy + bz * cz + bw >= nr
+                        & tx * cx + ty * cy + tz * cz + tw >= nr
+                        & nx * cx + ny * cy + nz * cz + nw >= nr
+                        & fx * cx + fy * cy + fz * cz + fw >= nr;
+                bits |= (inside ? 1L : 0L) << i;
+            }
+            long mask = (-1L << start) & (-1L >>> (63 - ((stop - 1) & 63)));
+            visible[word] = (visible[word] & ~mask) | bits;
+        }
+    }
+
+    /**
+	 * Tests the bounding spheres {@code [first, first + count)} against a
+	 * frustum and appends the index of every visible sphere to an index list.
+	 *
+	 * @param planes        the frustum planes
+	 * @param planesOffset  the planes offset
+	 * @param x             the center x coordinates
+	 * @param y             the center y coordinates
+	 * @param z             the center z coordinates
+	 * @param radius        the radii
+	 * @param indices       the destination index list
+	 * @param indicesOffset the index list offset
+	 * @param first         the first sphere
+	 * @param count         the number of spheres
+	 * @return the number of visible spheres written
+	 */
+    public static int cullSpheres(float[] planes, int planesOffset, float[] x, float[] y,
+            float[] z, float[] radius, int[] indices, int indicesOffset, int first, int count) {
+        checkObjects(planes.length, planesOffset, first, count, x.length, y.length, z.length,
+                radius.length);
+        Objects.checkFromIndexSize(indicesOffset, count, indices.length);
+
+        int p = planesOffset;
+        float lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        float rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        float bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        float tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        float nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        float fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        int n = indicesOffset;
+        for (int i = first, end = first + count; i < end; i++) {
+            float cx = x[i], cy = y[i], cz = z[i], nr = -radius[i];
+            boolean inside = lx * cx + ly * cy + lz * cz + lw >= nr
+                    & rx * cx + ry * cy + rz * cz + rw >= nr
+                    & bx * cx + by * cy + bz * cz + bw >= nr
+                    & tx * cx + ty * cy + tz * cz + tw >= nr
+                    & nx * cx + ny * cy + nz * cz + nw >= nr
+                    & fx * cx + fy * cy + fz * cz + fw >= nr;
+            // write unconditionally and advance only on a hit, which avoids a branch
+            indices[n] = i;
+            n += inside ? 1 : 0;
+        }
+        return n - indicesOffset;
+    }
+
+    /**
+	 * Tests the axis aligned boxes {@code [first, first + count)} against a
+	 * frustum and writes one visibility bit per box, bit {@code i} of the set
+	 * for box {@code i}. Bits outside the range are left untouched.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param minX         the minimum x coordinates
+	 * @param minY         the minimum y coordinates
+	 * @param minZ         the minimum z coordinates
+	 * @param maxX         the maximum x coordinates
+	 * @param maxY         the maximum y coordinates
+	 * @param maxZ         the maximum z coordinates
+	 * @param visible      the visibility bit set
+	 * @param first        the first box
+	 * @param count        the number of boxes
+	 */
+    public static void cullBoxes(float[] planes, int planesOffset, float[] minX, float[] minY,
+            float[] minZ, float[] maxX, float[] maxY, float[] maxZ, long[] visible, int first,
+            int count) {
+        checkObjects(planes.length, planesOffset, first, count, minX.length, minY.length,
+                minZ.length, maxX.length);
+        checkObjects(planes.length, planesOffset, first, count, maxX.length, maxY.length,
+                maxZ.length, minX.length);
+        checkBits(visible.length, first, count);
+
+        int p = planesOffset;
+        float lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        float rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        float bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        float tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        float nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        float fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        for (int i = first, end = first + count; i < end;) {
+            int word = i >>> 6;
+            int start = i;
+            int stop = Math.min(end, (word + 1) << 6);
+            long bits = 0;
+            for (; i < stop; i++) {
+                float x0 = minX[i], y0 = minY[i], z0 = minZ[i];
+                float x1 = maxX[i], y1 = maxY[i], z1 = maxZ[i];
+                // the corner furthest along each plane normal decides
+                boolean inside = Math.max(lx * x0, lx * x1) + Math.max(ly * y0, ly * y1)
+                                + Math.max(lz * z0, lz * z1) + lw >= 0
+                        & Math.max(rx * x0, rx * x1) + Math.max(ry * y0, ry * y1)
+                                + Math.max(rz * z0, rz * z1) + rw >= 0
+                        & Math.max(bx * x0, bx * x1) + Math.max(by * y0, by * y1)
+                                + Math.max(bz * z0, bz * z1) + bw >= 0
+                        & Math.max(tx * x0, tx * x1) + Math.max(ty * y0, ty * y1)
+                                + Math.max(tz * z0, tz * z1) + tw >= 0
+                        & Math.max(nx * x0, nx * x1) + Math.max(ny * y0, ny * y1)
+                                + Math.max(nz * z0, nz * z1) + nw >= 0
+                        & Math.max(fx * x0, fx * x1) + Math.max(fy * y0, fy * y1)
+                                + Math.max(fz * z0, fz * z1) + fw >= 0;
+                bits |= (inside ? 1L : 0L) << i;
+            }
+            long mask = (-1L << start) & (-1L >>> (63 - ((stop - 1) & 63)));
+            visible[word] = (visible[word] & ~mask) | bits;
+        }
+    }
+
+    /**
+	 * Tests the axis aligned boxes {@code [first, first + count)} against a
+	 * frustum and appends the index of every visible box to an index list.
+	 *
+	 * @param planes        the frustum planes
+	 * @param planesOffset  the planes offset
+	 * @param minX          the minimum x coordinates
+	 * @param minY          the minimum y coordinates
+	 * @param minZ          the minimum z coordinates
+	 * @param maxX          the maximum x coordinates
+	 * @param maxY          the maximum y coordinates
+	 * @param maxZ          the maximum z coordinates
+	 * @param indices       the destination index list
+	 * @param indicesOffset the index list offset
+	 * @param first         the first box
+	 * @param count         the number of boxes
+	 * @return the number of visible boxes written
+	 */
+    public static int cullBoxes(float[] planes, int planesOffset, float[] minX, float[] minY,
+            float[] minZ, float[] maxX, float[] maxY, float[] maxZ, int[] indices,
+            int indicesOffset, int first, int count) {
+        checkObjects(planes.length, planesOffset, first, count, minX.length, minY.length,
+                minZ.length, maxX.length);
+        checkObjects(planes.length, planesOffset, first, count, maxX.length, maxY.length,
+                maxZ.length, minX.length);
+        Objects.checkFromIndexSize(indicesOffset, count, indices.length);
+
+        int p = planesOffset;
+        float lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        float rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        float bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        float tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        float nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        float fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        int n = indicesOffset;
+        for (int i = first, end = first + count; i < end; i++) {
+            float x0 = minX[i], y0 = minY[i], z0 = minZ[i];
+            float x1 = maxX[i], y1 = maxY[i], z1 = maxZ[i];
+            boolean inside = Math.max(lx * x0, lx * x1) + Math.max(ly * y0, ly * y1)
+                            + Math.max(lz * z0, lz * z1) + lw >= 0
+                    & Math.max(rx * x0, rx * x1) + Math.max(ry * y0, ry * y1)
+                            + Math.max(rz * z0, rz * z1) + rw >= 0
+                    & Math.max(bx * x0, bx * x1) + Math.max(by * y0, by * y1)
+                            + Math.max(bz * z0, bz * z1) + bw >= 0
+                    & Math.max(tx * x0, tx * x1) + Math.max(ty * y0, ty * y1)
+                            + Math.max(tz * z0, tz * z1) + tw >= 0
+                    & Math.max(nx * x0, nx * x1) + Math.max(ny * y0, ny * y1)
+                            + Math.max(nz * z0, nz * z1) + nw >= 0
+                    & Math.max(fx * x0, fx * x1) + Math.max(fy * y0, fy * y1)
+                            + Math.max(fz * z0, fz * z1) + fw >= 0;
+            indices[n] = i;
+            n += inside ? 1 : 0;
+        }
+        return n - indicesOffset;
+    }
+
+    /**
+	 * Extracts the six normalized frustum planes of a row-major view-projection
+	 * matrix. Each plane is written as {@code a, b, c, d} with the normal
+	 * pointing into the frustum, in the order left, right, bottom, top, then
+	 * the planes at the low and the high end of the clip space depth range.
+	 * Those are near then far for a standard projection; a reverse-Z projection
+	 * maps near to depth 1, so its far plane is at index 4 and its near plane at
+	 * index 5. A plane at infinity, such as the far plane of an infinite
+	 * projection, is written as {@code 0, 0, 0, 1} and accepts everything.
+	 *
+	 * @param m            the view-projection matrix
+	 * @param mOffset      the matrix offset
+	 * @param zeroToOne    whether clip space depth is {@code [0, 1]}, as for
+	 *                     reverse-Z, rather than {@code [-1, 1]}
+	 * @param planes       the destination planes
+	 * @param planesOffset the planes offset
+	 */
+    public static void extractPlanes(double[] m, int mOffset, boolean zeroToOne, double[] planes,
+            int planesOffset) {
+        Objects.checkFromIndexSize(planesOffset, STRIDE, planes.length);
+        int r0 = mOffset, r1 = mOffset + 4, r2 = mOffset + 8, r3 = mOffset + 12;
+
+        for (int i = 0; i < 4; i++) {
+            double w = m[r3 + i];
+            planes[planesOffset + i] = w + m[r0 + i];
+            planes[planesOffset + 4 + i] = w - m[r0 + i];
+            planes[planesOffset + 8 + i] = w + m[r1 + i];
+            planes[planesOffset + 12 + i] = w - m[r1 + i];
+            planes[planesOffset + 16 + i] = zeroToOne ? m[r2 + i] : w + m[r2 + i];
+            planes[planesOffset + 20 + i] = w - m[r2 + i];
+        }
+
+        for (int p = planesOffset; p < planesOffset + STRIDE; p += 4) {
+            double a = planes[p], b = planes[p + 1], c = planes[p + 2];
+            double len = Math.sqrt(a * a + b * b + c * c);
+            if (len == 0) {
+                planes[p + 3] = 1;
+                continue;
+            }
+            planes[p] = a / len;
+            planes[p + 1] = b / len;
+            planes[p + 2] = c / len;
+            planes[p + 3] /= len;
+        }
+    }
+
+    /**
+	 * Extracts the six normalized frustum planes of a view-projection matrix.
+	 *
+	 * @param m            the view-projection matrix
+	 * @param zeroToOne    whether clip space depth is {@code [0, 1]}
+	 * @param planes       the destination planes
+	 * @param planesOffset the planes offset
+	 * @see #extractPlanes(double[], int, boolean, double[], int)
+	 */
+    public static void extractPlanes(Matrix4d m, boolean zeroToOne, double[] planes,
+            int planesOffset) {
+        extractPlanes(m.array(), 0, zeroToOne, planes, planesOffset);
+    }
+
+    /**
+	 * Tests the bounding spheres {@code [first, first + count)} against a
+	 * frustum and writes one visibility bit per sphere, bit {@code i} of the
+	 * set for sphere {@code i}. Bits outside the range are left untouched.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param x            the center x coordinates
+	 * @param y            the center y coordinates
+	 * @param z            the center z coordinates
+	 * @param radius       the radii
+	 * @param visible      the visibility bit set
+	 * @param first        the first sphere
+	 * @param count        the number of spheres
+	 */
+    public static void cullSpheres(double[] planes, int planesOffset, double[] x, double[] y,
+            double[] z, double[] radius, long[] visible, int first, int count) {
+        checkObjects(planes.length, planesOffset, first, count, x.length, y.length, z.length,
+                radius.length);
+        checkBits(visible.length, first, count);
+
+        int p = planesOffset;
+        double lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        double rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        double bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        double tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        double nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        double fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        for (int i = first, end = first + count; i < end;) {
+            int word = i >>> 6;
+            int start = i;
+            int stop = Math.min(end, (word + 1) << 6);
+            long bits = 0;
+            for (; i < stop; i++) {
+                double cx = x[i], cy = y[i], cz = z[i], nr = -radius[i];
+                boolean inside = lx * cx + ly * cy + lz * cz + lw >= nr
+                        & rx * cx + ry * cy + rz * cz + rw >= nr
+                        & bx * cx + by * cy + bz * cz + bw >= nr
+                        & tx * cx + ty * cy + tz * cz + tw >= nr
+                        & nx * cx + ny * cy + nz * cz + nw >= nr
+                        & fx * cx + fy * cy + fz * cz + fw >= nr;
+                bits |= (inside ? 1L : 0L) << i;
+            }
+            long mask = (-1L << start) & (-1L >>> (63 - ((stop - 1) & 63)));
+            visible[word] = (visible[word] & ~mask) | bits;
+        }
+    }
+
+    /**
+	 * Tests the bounding spheres {@code [first, first + count)} against a
+	 * frustum and appends the index of every visible sphere to an index list.
+	 *
+	 * @param planes        the frustum planes
+	 * @param planesOffset  the planes offset
+	 * @param x             the center x coordinates
+	 * @param y             the center y coordinates
+	 * @param z             the center z coordinates
+	 * @param radius        the radii
+	 * @param indices       the destination index list
+	 * @param indicesOffset the index list offset
+	 * @param first         the first sphere
+	 * @param count         the number of spheres
+	 * @return the number of visible spheres written
+	 */
+    public static int cullSpheres(double[] planes, int planesOffset, double[] x, double[] y,
+            double[] z, double[] radius, int[] indices, int indicesOffset, int first, int count) {
+        checkObjects(planes.length, planesOffset, first, count, x.length, y.length, z.length,
+                radius.length);
+        Objects.checkFromIndexSize(indicesOffset, count, indices.length);
+
+        int p = planesOffset;
+        double lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        double rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        double bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        double tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        double nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        double fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        int n = indicesOffset;
+        for (int i = first, end = first + count; i < end; i++) {
+            double cx = x[i], cy = y[i], cz = z[i], nr = -radius[i];
+            boolean inside = lx * cx + ly * cy + lz * cz + lw >= nr
+                    & rx * cx + ry * cy + rz * cz + rw >= nr
+                    & bx * cx + by * cy + bz * cz + bw >= nr
+                    & tx * cx + ty * cy + tz * cz + tw >= nr
+                    & nx * cx + ny * cy + nz * cz + nw >= nr
+                    & fx * cx + fy * cy + fz * cz + fw >= nr;
+            // write unconditionally and advance only on a hit, which avoids a branch
+            indices[n] = i;
+            n += inside ? 1 : 0;
+        }
+        return n - indicesOffset;
+    }
+
+    /**
+	 * Tests the axis aligned boxes {@code [first, first + count)} against a
+	 * frustum and writes one visibility bit per box, bit {@code i} of the set
+	 * for box {@code i}. Bits outside the range are left untouched.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param minX         the minimum x coordinates
+	 * @param minY         the minimum y coordinates
+	 * @param minZ         the minimum z coordinates
+	 * @param maxX         the maximum x coordinates
+	 * @param maxY         the maximum y coordinates
+	 * @param maxZ         the maximum z coordinates
+	 * @param visible      the visibility bit set
+	 * @param first        the first box
+	 * @param count        the number of boxes
+	 */
+    public static void cullBoxes(double[] planes, int planesOffset, double[] minX, double[] minY,
+            double[] minZ, double[] maxX, double[] maxY, double[] maxZ, long[] visible, int first,
+            int count) {
+        checkObjects(planes.length, planesOffset, first, count, minX.length, minY.length,
+                minZ.length, maxX.length);
+        checkObjects(planes.length, planesOffset, first, count, maxX.length, maxY.length,
+                maxZ.length, minX.length);
+        checkBits(visible.length, first, count);
+
+        int p = planesOffset;
+        double lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        double rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        double bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        double tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        double nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        double fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        for (int i = first, end = first + count; i < end;) {
+            int word = i >>> 6;
+            int start = i;
+            int stop = Math.min(end, (word + 1) << 6);
+            long bits = 0;
+            for (; i < stop; i++) {
+                double x0 = minX[i], y0 = minY[i], z0 = minZ[i];
+                double x1 = maxX[i], y1 = maxY[i], z1 = maxZ[i];
+                // the corner furthest along each plane normal decides
+                boolean inside = Math.max(lx * x0, lx * x1) + Math.max(ly * y0, ly * y1)
+                                + Math.max(lz * z0, lz * z1) + lw >= 0
+                        & Math.max(rx * x0, rx * x1) + Math.max(ry * y0, ry * y1)
+                                + Math.max(rz * z0, rz * z1) + rw >= 0
+                        & Math.max(bx * x0, bx * x1) + Math.max(by * y0, by * y1)
+                                + Math.max(bz * z0, bz * z1) + bw >= 0
+                        & Math.max(tx * x0, tx * x1) + Math.max(ty * y0, ty * y1)
+                                + Math.max(tz * z0, tz * z1) + tw >= 0
+                        & Math.max(nx * x0, nx * x1) + Math.max(ny * y0, ny * y1)
+                                + Math.max(nz * z0, nz * z1) + nw >= 0
+                        & Math.max(fx * x0, fx * x1) + Math.max(fy * y0, fy * y1)
+                                + Math.max(fz * z0, fz * z1) + fw >= 0;
+                bits |= (inside ? 1L : 0L) << i;
+            }
+            long mask = (-1L << start) & (-1L >>> (63 - ((stop - 1) & 63)));
+            visible[word] = (visible[word] & ~mask) | bits;
+        }
+    }
+
+    /**
+	 * Tests the axis aligned boxes {@code [first, first + count)} against a
+	 * frustum and appends the index of every visible box to an index list.
+	 *
+	 * @param planes        the frustum planes
+	 * @param planesOffset  the planes offset
+	 * @param minX          the minimum x coordinates
+	 * @param minY          the minimum y coordinates
+	 * @param minZ          the minimum z coordinates
+	 * @param maxX          the maximum x coordinates
+	 * @param maxY          the maximum y coordinates
+	 * @param maxZ          the maximum z coordinates
+	 * @param indices       the destination index list
+	 * @param indicesOffset the index list offset
+	 * @param first         the first box
+	 * @param count         the number of boxes
+	 * @return the number of visible boxes written
+	 */
+    public static int cullBoxes(double[] planes, int planesOffset, double[] minX, double[] minY,
+            double[] minZ, double[] maxX, double[] maxY, double[] maxZ, int[] indices,
+            int indicesOffset, int first, int count) {
+        checkObjects(planes.length, planesOffset, first, count, minX.length, minY.length,
+                minZ.length, maxX.length);
+        checkObjects(planes.length, planesOffset, first, count, maxX.length, maxY.length,
+                maxZ.length, minX.length);
+        Objects.checkFromIndexSize(indicesOffset, count, indices.length);
+
+        int p = planesOffset;
+        double lx = planes[p + 0], ly = planes[p + 1], lz = planes[p + 2], lw = planes[p + 3];
+        double rx = planes[p + 4], ry = planes[p + 5], rz = planes[p + 6], rw = planes[p + 7];
+        double bx = planes[p + 8], by = planes[p + 9], bz = planes[p + 10], bw = planes[p + 11];
+        double tx = planes[p + 12], ty = planes[p + 13], tz = planes[p + 14], tw = planes[p + 15];
+        double nx = planes[p + 16], ny = planes[p + 17], nz = planes[p + 18], nw = planes[p + 19];
+        double fx = planes[p + 20], fy = planes[p + 21], fz = planes[p + 22], fw = planes[p + 23];
+
+        int n = indicesOffset;
+        for (int i = first, end = first + count; i < end; i++) {
+            double x0 = minX[i], y0 = minY[i], z0 = minZ[i];
+            double x1 = maxX[i], y1 = maxY[i], z1 = maxZ[i];
+            boolean inside = Math.max(lx * x0, lx * x1) + Math.max(ly * y0, ly * y1)
+                            + Math.max(lz * z0, lz * z1) + lw >= 0
+                    & Math.max(rx * x0, rx * x1) + Math.max(ry * y0, ry * y1)
+                            + Math.max(rz * z0, rz * z1) + rw >= 0
+                    & Math.max(bx * x0, bx * x1) + Math.max(by * y0, by * y1)
+                            + Math.max(bz * z0, bz * z1) + bw >= 0
+                    & Math.max(tx * x0, tx * x1) + Math.max(ty * y0, ty * y1)
+                            + Math.max(tz * z0, tz * z1) + tw >= 0
+                    & Math.max(nx * x0, nx * x1) + Math.max(ny * y0, ny * y1)
+                            + Math.max(nz * z0, nz * z1) + nw >= 0
+                    & Math.max(fx * x0, fx * x1) + Math.max(fy * y0, fy * y1)
+                            + Math.max(fz * z0, fz * z1) + fw >= 0;
+            indices[n] = i;
+            n += inside ? 1 : 0;
+        }
+        return n - indicesOffset;
+    }
+
+    /**
+	 * Converts the bits {@code [first, first + count)} of a visibility bit set to
+	 * an index list.
+	 *
+	 * @param visible       the visibility bit set
+	 * @param first         the first object
+	 * @param count         the number of objects
+	 * @param indices       the destination index list
+	 * @param indicesOffset the index list offset
+	 * @return the number of indices written
+	 */
+    public static int toIndices(long[] visible, int first, int count, int[] indices,
+            int indicesOffset) {
+        checkBits(visible.length, first, count);
+
+        int n = indicesOffset;
+        for (int i = first, end = first + count; i < end;) {
+            int word = i >>> 6;
+            int stop = Math.min(end, (word + 1) << 6);
+            long bits = visible[word] & (-1L << i) & (-1L >>> (63 - ((stop - 1) & 63)));
+            while (bits != 0) {
+                indices[n++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+            i = stop;
+        }
+        return n - indicesOffset;
+    }
+
+    /**
+	 * Checks that the planes and a range of objects fit in their arrays.
+	 *
+	 * @param planesLength the planes length
+	 * @param planesOffset the planes offset
+	 * @param first        the first object
+	 * @param count        the number of objects
+	 * @param a            the first component length
+	 * @param b            the second component length
+	 * @param c            the third component length
+	 * @param d            the fourth component length
+	 */
+    private static void checkObjects(int planesLength, int planesOffset, int first, int count,
+            int a, int b, int c, int d) {
+        Objects.checkFromIndexSize(planesOffset, STRIDE, planesLength);
+        Objects.checkFromIndexSize(first, count, Math.min(Math.min(a, b), Math.min(c, d)));
+    }
+
+    /**
+	 * Checks that a range of objects fits in a bit set.
+	 *
+	 * @param words the bit set length in words
+	 * @param first the first object
+	 * @param count the number of objects
+	 */
+    static void checkBits(int words, int first, int count) {
+        Objects.checkFromIndexSize(first, count,
+                (int) Math.min(Integer.MAX_VALUE, (long) words << 6));
+    }
+}
@@ -23,7 +23,12 @@
  */
 package org.piengine.commons.math;
 
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
 import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Objects;
 
 import org.piengine.commons.math.coordinates.XYZIndexValues;
@@ -351,7 +356,7 @@ public interface Matrix extends Precision {
 			default double xd(int row) {
 				Objects.checkIndex(row, ROWS);
 
-				return array()[X_COL_OFFSET];
+				return xd();
 			}
 
 			/**
@@ -369,7 +374,7 @@ public interface Matrix extends Precision {
 			default double yd(int row) {
 				Objects.checkIndex(row, ROWS);
 
-				return array()[Y_COL_OFFSET];
+				return yd();
 			}
 
 			/**
@@ -387,7 +392,7 @@ public interface Matrix extends Precision {
 			default double zd(int row) {
 				Objects.checkIndex(row, ROWS);
 
-				return array()[Z_COL_OFFSET];
+				return zd();
 			}
 
 			/**
@@ -456,7 +461,7 @@ public interface Matrix extends Precision {
 			@Override
 			default float xf(int row) {
 				Objects.checkIndex(row, ROWS);
-				return array()[X_COL_OFFSET];
+				return xf();
 			}
 
 			/**
@@ -473,7 +478,7 @@ public interface Matrix extends Precision {
 			@Override
 			default float yf(int row) {
 				Objects.checkIndex(row, ROWS);
-				return array()[Y_COL_OFFSET];
+				return yf();
 			}
 
 			/**
@@ -490,7 +495,7 @@ public interface Matrix extends Precision {
 			@Override
 			default float zf(int row) {
 				Objects.checkIndex(row, ROWS);
-				return array()[Z_COL_OFFSET];
+				return zf();
 			}
 		}
 
@@ -831,6 +836,93 @@ public interface Matrix extends Precision {
 				return MatrixOperations.invertf(this);
 			}
 
+			/**
+			 * Multiply into a destination, which may be {@code this} or {@code other}.
+			 *
+			 * @param other the other
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4f multiply(Matrix4f other, Matrix4f dest) {
+				MatrixOperations.multiply(array, 0, other.array, 0, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Translate into a destination, which may be {@code this}.
+			 *
+			 * @param x    the x
+			 * @param y    the y
+			 * @param z    the z
+			 * @param dest the destination
+			 * @return the destination
+			 */
+			public Matrix4f translate(double x, double y, double z, Matrix4f dest) {
+				MatrixOperations.translate(array, 0, (float) x, (float) y, (float) z,
+						dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Rotate X into a destination, which may be {@code this}.
+			 *
+			 * @param angle the angle
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4f rotateX(double angle, Matrix4f dest) {
+				MatrixOperations.rotateX(array, 0, (float) angle, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Rotate Y into a destination, which may be {@code this}.
+			 *
+			 * @param angle the angle
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4f rotateY(double angle, Matrix4f dest) {
+				MatrixOperations.rotateY(array, 0, (float) angle, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Rotate Z into a destination, which may be {@code this}.
+			 *
+			 * @param angle the angle
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4f rotateZ(double angle, Matrix4f dest) {
+				MatrixOperations.rotateZ(array, 0, (float) angle, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Scale into a destination, which may be {@code this}.
+			 *
+			 * @param x    the x
+			 * @param y    the y
+			 * @param z    the z
+			 * @param dest the destination
+			 * @return the destination
+			 */
+			public Matrix4f scale(double x, double y, double z, Matrix4f dest) {
+				MatrixOperations.scale(array, 0, (float) x, (float) y, (float) z, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Invert into a destination, which may be {@code this}.
+			 *
+			 * @param dest the destination
+			 * @return the destination, or null if this matrix is not invertible
+			 */
+			public Matrix4f invert(Matrix4f dest) {
+				return MatrixOperations.invertClassified(array, 0, dest.array, 0) ? dest : null;
+			}
+
 			/**
 			 * X.
 			 *
@@ -995,6 +1087,92 @@ public interface Matrix extends Precision {
 				return MatrixOperations.invertd(this);
 			}
 
+			/**
+			 * Multiply into a destination, which may be {@code this} or {@code other}.
+			 *
+			 * @param other the other
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4d multiply(Matrix4d other, Matrix4d dest) {
+				MatrixOperations.multiply(array, 0, other.array, 0, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Translate into a destination, which may be {@code this}.
+			 *
+			 * @param x    the x
+			 * @param y    the y
+			 * @param z    the z
+			 * @param dest the destination
+			 * @return the destination
+			 */
+			public Matrix4d translate(double x, double y, double z, Matrix4d dest) {
+				MatrixOperations.translate(array, 0, x, y, z, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Rotate X into a destination, which may be {@code this}.
+			 *
+			 * @param angle the angle
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4d rotateX(double angle, Matrix4d dest) {
+				MatrixOperations.rotateX(array, 0, angle, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Rotate Y into a destination, which may be {@code this}.
+			 *
+			 * @param angle the angle
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4d rotateY(double angle, Matrix4d dest) {
+				MatrixOperations.rotateY(array, 0, angle, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Rotate Z into a destination, which may be {@code this}.
+			 *
+			 * @param angle the angle
+			 * @param dest  the destination
+			 * @return the destination
+			 */
+			public Matrix4d rotateZ(double angle, Matrix4d dest) {
+				MatrixOperations.rotateZ(array, 0, angle, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Scale into a destination, which may be {@code this}.
+			 *
+			 * @param x    the x
+			 * @param y    the y
+			 * @param z    the z
+			 * @param dest the destination
+			 * @return the destination
+			 */
+			public Matrix4d scale(double x, double y, double z, Matrix4d dest) {
+				MatrixOperations.scale(array, 0, x, y, z, dest.array, 0);
+				return dest;
+			}
+
+			/**
+			 * Invert into a destination, which may be {@code this}.
+			 *
+			 * @param dest the destination
+			 * @return the destination, or null if this matrix is not invertible
+			 */
+			public Matrix4d invert(Matrix4d dest) {
+				return MatrixOperations.invertClassified(array, 0, dest.array, 0) ? dest : null;
+			}
+
 			/**
 			 * X.
 			 *
@@ -1105,6 +1283,1327 @@ public interface Matrix extends Precision {
 
 		}
 
+		/**
+		 * A mutable 4x4 float matrix whose operations update it in place. It
+		 * implements the same interfaces as {@link Matrix4f}, so it can be passed
+		 * anywhere a {@code Matrix4} is read, but it never allocates after
+		 * construction. Instances are not thread safe; temporaries can be borrowed
+		 * from a {@link MatrixPool}.
+		 */
+		final class MutableMatrix4f implements Matrix4, PrecisionTf {
+
+			/** The array. */
+			private final float[] array;
+
+			/**
+			 * Instantiates a new mutable matrix 4 f, set to the identity.
+			 */
+			public MutableMatrix4f() {
+				this.array = new float[SIZE];
+				setIdentity();
+			}
+
+			/**
+			 * Instantiates a new mutable matrix 4 f with a copy of another matrix.
+			 *
+			 * @param other the other
+			 */
+			public MutableMatrix4f(Matrix4 other) {
+				this.array = new float[SIZE];
+				set(other);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.Matrix#array()
+			 */
+			@Override
+			public float[] array() {
+				return array;
+			}
+
+			/**
+			 * Sets this matrix to the identity.
+			 *
+			 * @return this
+			 */
+			public MutableMatrix4f setIdentity() {
+				Arrays.fill(array, 0);
+				array[0] = 1;
+				array[5] = 1;
+				array[10] = 1;
+				array[15] = 1;
+				return this;
+			}
+
+			/**
+			 * Copies another matrix into this one.
+			 *
+			 * @param other the other
+			 * @return this
+			 */
+			public MutableMatrix4f set(Matrix4 other) {
+				if (other.array() instanceof float[] a) {
+					System.arraycopy(a, 0, array, 0, SIZE);
+				} else {
+					for (int row = 0; row < ROWS; row++) {
+						array[row * COLS + X_COL_OFFSET] = (float) other.xd(row);
+						array[row * COLS + Y_COL_OFFSET] = (float) other.yd(row);
+						array[row * COLS + Z_COL_OFFSET] = (float) other.zd(row);
+						array[row * COLS + W_COL_OFFSET] = (float) other.wd(row);
+					}
+				}
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix in place, {@code this = this * other}.
+			 *
+			 * @param other the other, which may be this
+			 * @return this
+			 */
+			public MutableMatrix4f mulLocal(MutableMatrix4f other) {
+				MatrixOperations.multiply(array, 0, other.array, 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix in place, {@code this = this * other}.
+			 *
+			 * @param other the other
+			 * @return this
+			 */
+			public MutableMatrix4f mulLocal(Matrix4f other) {
+				MatrixOperations.multiply(array, 0, other.array(), 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Pre-multiplies this matrix in place, {@code this = other * this}.
+			 *
+			 * @param other the other, which may be this
+			 * @return this
+			 */
+			public MutableMatrix4f premulLocal(MutableMatrix4f other) {
+				MatrixOperations.multiply(other.array, 0, array, 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a translation in place.
+			 *
+			 * @param x the x
+			 * @param y the y
+			 * @param z the z
+			 * @return this
+			 */
+			public MutableMatrix4f translateLocal(float x, float y, float z) {
+				MatrixOperations.translate(array, 0, x, y, z, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about X in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public MutableMatrix4f rotateXLocal(float angle) {
+				MatrixOperations.rotateX(array, 0, angle, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about Y in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public MutableMatrix4f rotateYLocal(float angle) {
+				MatrixOperations.rotateY(array, 0, angle, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about Z in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public MutableMatrix4f rotateZLocal(float angle) {
+				MatrixOperations.rotateZ(array, 0, angle, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a scaling in place.
+			 *
+			 * @param x the x
+			 * @param y the y
+			 * @param z the z
+			 * @return this
+			 */
+			public MutableMatrix4f scaleLocal(float x, float y, float z) {
+				MatrixOperations.scale(array, 0, x, y, z, array, 0);
+				return this;
+			}
+
+			/**
+			 * Inverts this matrix in place, using the fastest algorithm its structure
+			 * allows. A singular matrix is left unchanged.
+			 *
+			 * @return true if the matrix was inverted
+			 */
+			public boolean invertLocal() {
+				return MatrixOperations.invertClassified(array, 0, array, 0);
+			}
+
+			/**
+			 * Transposes this matrix in place.
+			 *
+			 * @return this
+			 */
+			public MutableMatrix4f transposeLocal() {
+				MatrixOperations.transpose(array, 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Copies this matrix to a new immutable record.
+			 *
+			 * @return the matrix 4 f
+			 */
+			public Matrix4f toMatrix4f() {
+				return new Matrix4f(array.clone());
+			}
+
+			/**
+			 * X.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float x(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + X_COL_OFFSET];
+			}
+
+			/**
+			 * Y.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float y(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + Y_COL_OFFSET];
+			}
+
+			/**
+			 * Z.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float z(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + Z_COL_OFFSET];
+			}
+
+			/**
+			 * W.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float w(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + W_COL_OFFSET];
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#xf(int)
+			 */
+			@Override
+			public float xf(int row) {
+				return precisionCastToFloat(x(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#yf(int)
+			 */
+			@Override
+			public float yf(int row) {
+				return precisionCastToFloat(y(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#zf(int)
+			 */
+			@Override
+			public float zf(int row) {
+				return precisionCastToFloat(z(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#wf(int)
+			 */
+			@Override
+			public float wf(int row) {
+				return precisionCastToFloat(w(row));
+			}
+
+			/**
+			 * @see java.lang.Object#toString()
+			 */
+			@Override
+			public String toString() {
+				return "MutableMatrix4f" + Arrays.toString(array);
+			}
+		}
+
+		/**
+		 * A mutable 4x4 double matrix whose operations update it in place. It
+		 * implements the same interfaces as {@link Matrix4d}, so it can be passed
+		 * anywhere a {@code Matrix4} is read, but it never allocates after
+		 * construction. Instances are not thread safe; temporaries can be borrowed
+		 * from a {@link MatrixPool}.
+		 */
+		final class MutableMatrix4d implements Matrix4, PrecisionTd {
+
+			/** The array. */
+			private final double[] array;
+
+			/**
+			 * Instantiates a new mutable matrix 4 d, set to the identity.
+			 */
+			public MutableMatrix4d() {
+				this.array = new double[SIZE];
+				setIdentity();
+			}
+
+			/**
+			 * Instantiates a new mutable matrix 4 d with a copy of another matrix.
+			 *
+			 * @param other the other
+			 */
+			public MutableMatrix4d(Matrix4 other) {
+				this.array = new double[SIZE];
+				set(other);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.Matrix#array()
+			 */
+			@Override
+			public double[] array() {
+				return array;
+			}
+
+			/**
+			 * Sets this matrix to the identity.
+			 *
+			 * @return this
+			 */
+			public MutableMatrix4d setIdentity() {
+				Arrays.fill(array, 0);
+				array[0] = 1;
+				array[5] = 1;
+				array[10] = 1;
+				array[15] = 1;
+				return this;
+			}
+
+			/**
+			 * Copies another matrix into this one.
+			 *
+			 * @param other the other
+			 * @return this
+			 */
+			public MutableMatrix4d set(Matrix4 other) {
+				if (other.array() instanceof double[] a) {
+					System.arraycopy(a, 0, array, 0, SIZE);
+				} else {
+					for (int row = 0; row < ROWS; row++) {
+						array[row * COLS + X_COL_OFFSET] = other.xd(row);
+						array[row * COLS + Y_COL_OFFSET] = other.yd(row);
+						array[row * COLS + Z_COL_OFFSET] = other.zd(row);
+						array[row * COLS + W_COL_OFFSET] = other.wd(row);
+					}
+				}
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix in place, {@code this = this * other}.
+			 *
+			 * @param other the other, which may be this
+			 * @return this
+			 */
+			public MutableMatrix4d mulLocal(MutableMatrix4d other) {
+				MatrixOperations.multiply(array, 0, other.array, 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix in place, {@code this = this * other}.
+			 *
+			 * @param other the other
+			 * @return this
+			 */
+			public MutableMatrix4d mulLocal(Matrix4d other) {
+				MatrixOperations.multiply(array, 0, other.array(), 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Pre-multiplies this matrix in place, {@code this = other * this}.
+			 *
+			 * @param other the other, which may be this
+			 * @return this
+			 */
+			public MutableMatrix4d premulLocal(MutableMatrix4d other) {
+				MatrixOperations.multiply(other.array, 0, array, 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a translation in place.
+			 *
+			 * @param x the x
+			 * @param y the y
+			 * @param z the z
+			 * @return this
+			 */
+			public MutableMatrix4d translateLocal(double x, double y, double z) {
+				MatrixOperations.translate(array, 0, x, y, z, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about X in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public MutableMatrix4d rotateXLocal(double angle) {
+				MatrixOperations.rotateX(array, 0, angle, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about Y in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public MutableMatrix4d rotateYLocal(double angle) {
+				MatrixOperations.rotateY(array, 0, angle, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about Z in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public MutableMatrix4d rotateZLocal(double angle) {
+				MatrixOperations.rotateZ(array, 0, angle, array, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a scaling in place.
+			 *
+			 * @param x the x
+			 * @param y the y
+			 * @param z the z
+			 * @return this
+			 */
+			public MutableMatrix4d scaleLocal(double x, double y, double z) {
+				MatrixOperations.scale(array, 0, x, y, z, array, 0);
+				return this;
+			}
+
+			/**
+			 * Inverts this matrix in place, using the fastest algorithm its structure
+			 * allows. A singular matrix is left unchanged.
+			 *
+			 * @return true if the matrix was inverted
+			 */
+			public boolean invertLocal() {
+				return MatrixOperations.invertClassified(array, 0, array, 0);
+			}
+
+			/**
+			 * Transposes this matrix in place.
+			 *
+			 * @return this
+			 */
+			public MutableMatrix4d transposeLocal() {
+				MatrixOperations.transpose(array, 0, array, 0);
+				return this;
+			}
+
+			/**
+			 * Copies this matrix to a new immutable record.
+			 *
+			 * @return the matrix 4 d
+			 */
+			public Matrix4d toMatrix4d() {
+				return new Matrix4d(array.clone());
+			}
+
+			/**
+			 * X.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double x(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + X_COL_OFFSET];
+			}
+
+			/**
+			 * Y.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double y(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + Y_COL_OFFSET];
+			}
+
+			/**
+			 * Z.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double z(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + Z_COL_OFFSET];
+			}
+
+			/**
+			 * W.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double w(int row) {
+				Objects.checkIndex(row, ROWS);
+				return array[row * COLS + W_COL_OFFSET];
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#xf(int)
+			 */
+			@Override
+			public float xf(int row) {
+				return precisionCastToFloat(x(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#yf(int)
+			 */
+			@Override
+			public float yf(int row) {
+				return precisionCastToFloat(y(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#zf(int)
+			 */
+			@Override
+			public float zf(int row) {
+				return precisionCastToFloat(z(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#wf(int)
+			 */
+			@Override
+			public float wf(int row) {
+				return precisionCastToFloat(w(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#xd(int)
+			 */
+			@Override
+			public double xd(int row) {
+				return x(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#yd(int)
+			 */
+			@Override
+			public double yd(int row) {
+				return y(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#zd(int)
+			 */
+			@Override
+			public double zd(int row) {
+				return z(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#wd(int)
+			 */
+			@Override
+			public double wd(int row) {
+				return w(row);
+			}
+
+			/**
+			 * @see java.lang.Object#toString()
+			 */
+			@Override
+			public String toString() {
+				return "MutableMatrix4d" + Arrays.toString(array);
+			}
+		}
+
+		/**
+		 * A 4x4 float matrix stored in a {@link MemorySegment}, typically a slice of
+		 * a native uniform or instance buffer. Elements are row-major floats in
+		 * native byte order, the layout of {@link Matrix4f}, and every operation
+		 * runs directly on the segment through the {@code MemorySegment} kernels
+		 * of {@link MatrixOperations}, so a matrix can be built in place and
+		 * handed to a graphics API without a copy. The lifetime of the matrix is
+		 * that of the segment's arena. Instances are not thread safe.
+		 */
+		final class SegmentMatrix4f implements Matrix4, PrecisionTf {
+
+			/** The size of one matrix in bytes. */
+			public static final long BYTES = SIZE * Float.BYTES;
+
+			/**
+			 * Allocates a new matrix in an arena, set to the identity.
+			 *
+			 * @param arena the arena
+			 * @return the segment matrix 4 f
+			 */
+			public static SegmentMatrix4f allocate(Arena arena) {
+				return new SegmentMatrix4f(arena.allocate(BYTES, 16)).setIdentity();
+			}
+
+			/**
+			 * Views a block of consecutive matrices, such as a uniform or instance
+			 * buffer holding {@code block.byteSize() / BYTES} of them. The contents
+			 * are left as they are.
+			 *
+			 * @param block the block
+			 * @return one view per matrix
+			 */
+			public static SegmentMatrix4f[] views(MemorySegment block) {
+				SegmentMatrix4f[] views =
+						new SegmentMatrix4f[Math.toIntExact(block.byteSize() / BYTES)];
+				for (int i = 0; i < views.length; i++) {
+					views[i] = new SegmentMatrix4f(block.asSlice(i * BYTES, BYTES));
+				}
+				return views;
+			}
+
+			/** The segment. */
+			private final MemorySegment segment;
+
+			/**
+			 * Instantiates a new segment matrix 4 f over the first {@link #BYTES}
+			 * bytes of a segment. The contents are left as they are.
+			 *
+			 * @param segment the segment
+			 * @throws IndexOutOfBoundsException if the segment is too small
+			 */
+			public SegmentMatrix4f(MemorySegment segment) {
+				this.segment = segment.asSlice(0, BYTES);
+			}
+
+			/**
+			 * The backing segment, exactly {@link #BYTES} long.
+			 *
+			 * @return the memory segment
+			 */
+			public MemorySegment segment() {
+				return segment;
+			}
+
+			/**
+			 * A copy of the elements on the heap. Prefer {@link #segment()} or the
+			 * accessors on hot paths.
+			 *
+			 * @see org.piengine.commons.math.Matrix#array()
+			 */
+			@Override
+			public float[] array() {
+				return segment.toArray(JAVA_FLOAT_UNALIGNED);
+			}
+
+			/**
+			 * Sets this matrix to the identity.
+			 *
+			 * @return this
+			 */
+			public SegmentMatrix4f setIdentity() {
+				MatrixOperations.setIdentity(segment, 0);
+				return this;
+			}
+
+			/**
+			 * Copies another matrix into this one.
+			 *
+			 * @param other the other
+			 * @return this
+			 */
+			public SegmentMatrix4f set(Matrix4 other) {
+				if (other instanceof SegmentMatrix4f s) {
+					MemorySegment.copy(s.segment, 0, segment, 0, BYTES);
+				} else if (other.array() instanceof float[] a) {
+					MatrixOperations.store(a, 0, segment, 0);
+				} else {
+					for (int row = 0; row < ROWS; row++) {
+						int o = row * COLS;
+						float x = (float) other.xd(row), y = (float) other.yd(row);
+						float z = (float) other.zd(row), w = (float) other.wd(row);
+						segment.setAtIndex(JAVA_FLOAT_UNALIGNED, o + X_COL_OFFSET, x);
+						segment.setAtIndex(JAVA_FLOAT_UNALIGNED, o + Y_COL_OFFSET, y);
+						segment.setAtIndex(JAVA_FLOAT_UNALIGNED, o + Z_COL_OFFSET, z);
+						segment.setAtIndex(JAVA_FLOAT_UNALIGNED, o + W_COL_OFFSET, w);
+					}
+				}
+				return this;
+			}
+
+			/**
+			 * Writes {@code a * b} into this matrix, which may be either operand.
+			 *
+			 * @param a the a
+			 * @param b the b
+			 * @return this
+			 */
+			public SegmentMatrix4f setMul(SegmentMatrix4f a, SegmentMatrix4f b) {
+				MatrixOperations.multiply(a.segment, 0, b.segment, 0, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix in place, {@code this = this * other}.
+			 *
+			 * @param other the other, which may be this
+			 * @return this
+			 */
+			public SegmentMatrix4f mulLocal(SegmentMatrix4f other) {
+				MatrixOperations.multiply(segment, 0, other.segment, 0, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix in place, {@code this = this * other}.
+			 *
+			 * @param other the other
+			 * @return this
+			 */
+			public SegmentMatrix4f mulLocal(Matrix4f other) {
+				MatrixOperations.multiply(segment, 0, MemorySegment.ofArray(other.array()), 0,
+						segment, 0);
+				return this;
+			}
+
+			/**
+			 * Pre-multiplies this matrix in place, {@code this = other * this}.
+			 *
+			 * @param other the other, which may be this
+			 * @return this
+			 */
+			public SegmentMatrix4f premulLocal(SegmentMatrix4f other) {
+				MatrixOperations.multiply(other.segment, 0, segment, 0, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a translation in place.
+			 *
+			 * @param x the x
+			 * @param y the y
+			 * @param z the z
+			 * @return this
+			 */
+			public SegmentMatrix4f translateLocal(float x, float y, float z) {
+				MatrixOperations.translate(segment, 0, x, y, z, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about X in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public SegmentMatrix4f rotateXLocal(float angle) {
+				MatrixOperations.rotateX(segment, 0, angle, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about Y in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public SegmentMatrix4f rotateYLocal(float angle) {
+				MatrixOperations.rotateY(segment, 0, angle, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a rotation about Z in place.
+			 *
+			 * @param angle the angle
+			 * @return this
+			 */
+			public SegmentMatrix4f rotateZLocal(float angle) {
+				MatrixOperations.rotateZ(segment, 0, angle, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Post-multiplies this matrix by a scaling in place.
+			 *
+			 * @param x the x
+			 * @param y the y
+			 * @param z the z
+			 * @return this
+			 */
+			public SegmentMatrix4f scaleLocal(float x, float y, float z) {
+				MatrixOperations.scale(segment, 0, x, y, z, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Inverts this matrix in place. A singular matrix is left unchanged.
+			 *
+			 * @return true if the matrix was inverted
+			 */
+			public boolean invertLocal() {
+				return MatrixOperations.invert(segment, 0, segment, 0);
+			}
+
+			/**
+			 * Transposes this matrix in place.
+			 *
+			 * @return this
+			 */
+			public SegmentMatrix4f transposeLocal() {
+				MatrixOperations.transpose(segment, 0, segment, 0);
+				return this;
+			}
+
+			/**
+			 * Copies this matrix to a new immutable record.
+			 *
+			 * @return the matrix 4 f
+			 */
+			public Matrix4f toMatrix4f() {
+				return new Matrix4f(array());
+			}
+
+			/**
+			 * X.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float x(int row) {
+				Objects.checkIndex(row, ROWS);
+				return segment.getAtIndex(JAVA_FLOAT_UNALIGNED, row * COLS + X_COL_OFFSET);
+			}
+
+			/**
+			 * Y.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float y(int row) {
+				Objects.checkIndex(row, ROWS);
+				return segment.getAtIndex(JAVA_FLOAT_UNALIGNED, row * COLS + Y_COL_OFFSET);
+			}
+
+			/**
+			 * Z.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float z(int row) {
+				Objects.checkIndex(row, ROWS);
+				return segment.getAtIndex(JAVA_FLOAT_UNALIGNED, row * COLS + Z_COL_OFFSET);
+			}
+
+			/**
+			 * W.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float w(int row) {
+				Objects.checkIndex(row, ROWS);
+				return segment.getAtIndex(JAVA_FLOAT_UNALIGNED, row * COLS + W_COL_OFFSET);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#xf(int)
+			 */
+			@Override
+			public float xf(int row) {
+				return x(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#yf(int)
+			 */
+			@Override
+			public float yf(int row) {
+				return y(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#zf(int)
+			 */
+			@Override
+			public float zf(int row) {
+				return z(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#wf(int)
+			 */
+			@Override
+			public float wf(int row) {
+				return w(row);
+			}
+
+			/**
+			 * @see java.lang.Object#toString()
+			 */
+			@Override
+			public String toString() {
+				return "SegmentMatrix4f" + Arrays.toString(array());
+			}
+		}
+
+		/**
+		 * A 4x4 float matrix stored column-major, the default layout of OpenGL and
+		 * Vulkan shaders, so {@link #columns()} can be uploaded as is. The
+		 * translation lives in elements 12 to 14. As for every {@code Matrix4},
+		 * {@link #array()} is row-major; here it is a transposed copy.
+		 *
+		 * @param columns the column-major elements
+		 */
+		record ColumnMajorMatrix4f(float[] columns) implements Matrix4, PrecisionTf {
+
+			/**
+			 * Instantiates a new column major matrix 4 f.
+			 */
+			public ColumnMajorMatrix4f() {
+				this(new float[SIZE]);
+			}
+
+			/**
+			 * Converts any matrix to column-major storage.
+			 *
+			 * @param m the m
+			 * @return the column major matrix 4 f
+			 */
+			public static ColumnMajorMatrix4f of(Matrix4 m) {
+				float[] columns = new float[SIZE];
+				if (m instanceof Matrix4f r) {
+					MatrixOperations.transpose(r.array(), 0, columns, 0);
+				} else {
+					for (int row = 0; row < ROWS; row++) {
+						columns[X_COL_OFFSET * ROWS + row] = (float) m.xd(row);
+						columns[Y_COL_OFFSET * ROWS + row] = (float) m.yd(row);
+						columns[Z_COL_OFFSET * ROWS + row] = (float) m.zd(row);
+						columns[W_COL_OFFSET * ROWS + row] = (float) m.wd(row);
+					}
+				}
+				return new ColumnMajorMatrix4f(columns);
+			}
+
+			/**
+			 * A row-major copy of the elements.
+			 *
+			 * @see org.piengine.commons.math.Matrix#array()
+			 */
+			@Override
+			public float[] array() {
+				float[] rows = new float[SIZE];
+				MatrixOperations.transpose(columns, 0, rows, 0);
+				return rows;
+			}
+
+			/**
+			 * Multiply, {@code this * other}. Column-major storage of a matrix is
+			 * row-major storage of its transpose, so this runs the row-major kernel
+			 * on the swapped operands.
+			 *
+			 * @param other the other
+			 * @return the column major matrix 4 f
+			 */
+			public ColumnMajorMatrix4f multiply(ColumnMajorMatrix4f other) {
+				float[] result = new float[SIZE];
+				MatrixOperations.multiply(other.columns, 0, columns, 0, result, 0);
+				return new ColumnMajorMatrix4f(result);
+			}
+
+			/**
+			 * Invert.
+			 *
+			 * @return the column major matrix 4 f, or null if the matrix is not
+			 *         invertible
+			 */
+			public ColumnMajorMatrix4f invert() {
+				float[] result = new float[SIZE];
+				return MatrixOperations.invert(columns, 0, result, 0)
+						? new ColumnMajorMatrix4f(result) : null;
+			}
+
+			/**
+			 * Converts to a row-major record.
+			 *
+			 * @return the matrix 4 f
+			 */
+			public Matrix4f toMatrix4f() {
+				return new Matrix4f(array());
+			}
+
+			/**
+			 * X.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float x(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[X_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * Y.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float y(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[Y_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * Z.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float z(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[Z_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * W.
+			 *
+			 * @param row the row
+			 * @return the float
+			 */
+			public float w(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[W_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#xf(int)
+			 */
+			@Override
+			public float xf(int row) {
+				return precisionCastToFloat(x(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#yf(int)
+			 */
+			@Override
+			public float yf(int row) {
+				return precisionCastToFloat(y(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#zf(int)
+			 */
+			@Override
+			public float zf(int row) {
+				return precisionCastToFloat(z(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#wf(int)
+			 */
+			@Override
+			public float wf(int row) {
+				return precisionCastToFloat(w(row));
+			}
+		}
+
+		/**
+		 * A 4x4 double matrix stored column-major, the default layout of OpenGL and
+		 * Vulkan shaders, so {@link #columns()} can be uploaded as is. The
+		 * translation lives in elements 12 to 14. As for every {@code Matrix4},
+		 * {@link #array()} is row-major; here it is a transposed copy.
+		 *
+		 * @param columns the column-major elements
+		 */
+		record ColumnMajorMatrix4d(double[] columns) implements Matrix4, PrecisionTd {
+
+			/**
+			 * Instantiates a new column major matrix 4 d.
+			 */
+			public ColumnMajorMatrix4d() {
+				this(new double[SIZE]);
+			}
+
+			/**
+			 * Converts any matrix to column-major storage.
+			 *
+			 * @param m the m
+			 * @return the column major matrix 4 d
+			 */
+			public static ColumnMajorMatrix4d of(Matrix4 m) {
+				double[] columns = new double[SIZE];
+				if (m instanceof Matrix4d r) {
+					MatrixOperations.transpose(r.array(), 0, columns, 0);
+				} else {
+					for (int row = 0; row < ROWS; row++) {
+						columns[X_COL_OFFSET * ROWS + row] = m.xd(row);
+						columns[Y_COL_OFFSET * ROWS + row] = m.yd(row);
+						columns[Z_COL_OFFSET * ROWS + row] = m.zd(row);
+						columns[W_COL_OFFSET * ROWS + row] = m.wd(row);
+					}
+				}
+				return new ColumnMajorMatrix4d(columns);
+			}
+
+			/**
+			 * A row-major copy of the elements.
+			 *
+			 * @see org.piengine.commons.math.Matrix#array()
+			 */
+			@Override
+			public double[] array() {
+				double[] rows = new double[SIZE];
+				MatrixOperations.transpose(columns, 0, rows, 0);
+				return rows;
+			}
+
+			/**
+			 * Multiply, {@code this * other}. Column-major storage of a matrix is
+			 * row-major storage of its transpose, so this runs the row-major kernel
+			 * on the swapped operands.
+			 *
+			 * @param other the other
+			 * @return the column major matrix 4 d
+			 */
+			public ColumnMajorMatrix4d multiply(ColumnMajorMatrix4d other) {
+				double[] result = new double[SIZE];
+				MatrixOperations.multiply(other.columns, 0, columns, 0, result, 0);
+				return new ColumnMajorMatrix4d(result);
+			}
+
+			/**
+			 * Invert.
+			 *
+			 * @return the column major matrix 4 d, or null if the matrix is not
+			 *         invertible
+			 */
+			public ColumnMajorMatrix4d invert() {
+				double[] result = new double[SIZE];
+				return MatrixOperations.invert(columns, 0, result, 0)
+						? new ColumnMajorMatrix4d(result) : null;
+			}
+
+			/**
+			 * Converts to a row-major record.
+			 *
+			 * @return the matrix 4 d
+			 */
+			public Matrix4d toMatrix4d() {
+				return new Matrix4d(array());
+			}
+
+			/**
+			 * X.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double x(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[X_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * Y.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double y(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[Y_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * Z.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double z(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[Z_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * W.
+			 *
+			 * @param row the row
+			 * @return the double
+			 */
+			public double w(int row) {
+				Objects.checkIndex(row, ROWS);
+				return columns[W_COL_OFFSET * ROWS + row];
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#xf(int)
+			 */
+			@Override
+			public float xf(int row) {
+				return precisionCastToFloat(x(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#yf(int)
+			 */
+			@Override
+			public float yf(int row) {
+				return precisionCastToFloat(y(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#zf(int)
+			 */
+			@Override
+			public float zf(int row) {
+				return precisionCastToFloat(z(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#wf(int)
+			 */
+			@Override
+			public float wf(int row) {
+				return precisionCastToFloat(w(row));
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#xd(int)
+			 */
+			@Override
+			public double xd(int row) {
+				return x(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#yd(int)
+			 */
+			@Override
+			public double yd(int row) {
+				return y(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#zd(int)
+			 */
+			@Override
+			public double zd(int row) {
+				return z(row);
+			}
+
+			/**
+			 * @see org.piengine.commons.math.coordinates.XYZWIndexValues#wd(int)
+			 */
+			@Override
+			public double wd(int row) {
+				return w(row);
+			}
+		}
+
+		/**
+		 * The Enum TransformType, the structure of a 4x4 transform which selects the
+		 * inversion algorithm.
+		 */
+		enum TransformType {
+
+			/** Any invertible matrix, inverted through the full adjugate. */
+			GENERAL,
+
+			/**
+			 * Bottom row is {@code (0, 0, 0, 1)}, inverted through the upper 3x3 and the
+			 * translation.
+			 */
+			AFFINE,
+
+			/**
+			 * Affine with an orthonormal upper 3x3 (rotation plus translation), inverted
+			 * through a transpose and negated translation.
+			 */
+			RIGID;
+		}
+
+		/**
+		 * The Enum Layout, the order in which the 16 elements of a packed matrix
+		 * are stored.
+		 */
+		enum Layout {
+
+			/** Rows are contiguous, the layout of {@link Matrix4f} and {@link Matrix4d}. */
+			ROW_MAJOR,
+
+			/**
+			 * Columns are contiguous, the layout of {@link ColumnMajorMatrix4f} and
+			 * the default of OpenGL and Vulkan shaders.
+			 */
+			COLUMN_MAJOR;
+
+			/**
+			 * Index of an element in a packed matrix of this layout.
+			 *
+			 * @param row the row
+			 * @param col the col
+			 * @return the int
+			 */
+			public int index(int row, int col) {
+				return this == ROW_MAJOR ? row * COLS + col : col * ROWS + row;
+			}
+		}
+
 		/** The rows. */
 		int ROWS = 4;
 		
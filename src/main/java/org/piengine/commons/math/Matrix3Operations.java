@@ -0,0 +1,693 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Objects;
+
+import org.piengine.commons.math.Matrix.Matrix3;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3d;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3f;
+import org.piengine.commons.math.Matrix.Matrix4;
+
+/**
+ * Operations on row-major 3x3 matrices, the layout of {@code Matrix3f} and
+ * {@code Matrix3d}. Array forms write into caller buffers and allocate
+ * nothing; batch forms take {@code count} matrices of 9 consecutive elements.
+ */
+public final class Matrix3Operations {
+
+    /** The number of elements in one packed 3x3 matrix. */
+    public static final int STRIDE = 9;
+
+    /**
+	 * Instantiates a new matrix 3 operations.
+	 */
+    private Matrix3Operations() {}
+
+    /**
+	 * Determinant.
+	 *
+	 * @param m the m
+	 * @return the double
+	 */
+    public static double determinant(Matrix3 m) {
+        return determinant(load(m, new double[9]), 0);
+    }
+
+    /**
+	 * Multiplyf.
+	 *
+	 * @param a the a
+	 * @param b the b
+	 * @return the matrix 3 f
+	 */
+    public static Matrix3f multiplyf(Matrix3 a, Matrix3 b) {
+        float[] result = load(a, new float[9]);
+        multiply(result, 0, load(b, new float[9]), 0, result, 0);
+        return new Matrix3f(result);
+    }
+
+    /**
+	 * Transposef.
+	 *
+	 * @param m the m
+	 * @return the matrix 3 f
+	 */
+    public static Matrix3f transposef(Matrix3 m) {
+        float[] result = load(m, new float[9]);
+        transpose(result, 0, result, 0);
+        return new Matrix3f(result);
+    }
+
+    /**
+	 * Invertf.
+	 *
+	 * @param m the m
+	 * @return the inverse, or null if the matrix is singular
+	 */
+    public static Matrix3f invertf(Matrix3 m) {
+        float[] result = load(m, new float[9]);
+        return invert(result, 0, result, 0) ? new Matrix3f(result) : null;
+    }
+
+    /**
+	 * Normal matrixf, the inverse-transpose of the upper 3x3 of a 4x4 matrix.
+	 *
+	 * @param m the m
+	 * @return the normal matrix, or null if the upper 3x3 is singular
+	 */
+    public static Matrix3f normalMatrixf(Matrix4 m) {
+        float[] upper = new float[9];
+        for (int row = 0; row < 3; row++) {
+            upper[row * 3] = (float) m.xd(row);
+            upper[row * 3 + 1] = (float) m.yd(row);
+            upper[row * 3 + 2] = (float) m.zd(row);
+        }
+        return inverseTranspose(upper, 0, 3, upper, 0) ? new Matrix3f(upper) : null;
+    }
+
+    /**
+	 * Multiplies two row-major 3x3 matrices, {@code dest = a * b}. The
+	 * destination may alias either operand.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+            int destOffset) {
+        float a00 = a[aOffset], a01 = a[aOffset + 1], a02 = a[aOffset + 2];
+        float a10 = a[aOffset + 3], a11 = a[aOffset + 4], a12 = a[aOffset + 5];
+        float a20 = a[aOffset + 6], a21 = a[aOffset + 7], a22 = a[aOffset + 8];
+        float b00 = b[bOffset], b01 = b[bOffset + 1], b02 = b[bOffset + 2];
+        float b10 = b[bOffset + 3], b11 = b[bOffset + 4], b12 = b[bOffset + 5];
+        float b20 = b[bOffset + 6], b21 = b[bOffset + 7], b22 = b[bOffset + 8];
+
+        dest[destOffset] = a00 * b00 + a01 * b10 + a02 * b20;
+        dest[destOffset + 1] = a00 * b01 + a01 * b11 + a02 * b21;
+        dest[destOffset + 2] = a00 * b02 + a01 * b12 + a02 * b22;
+        dest[destOffset + 3] = a10 * b00 + a11 * b10 + a12 * b20;
+        dest[destOffset + 4] = a10 * b01 + a11 * b11 + a12 * b21;
+        dest[destOffset + 5] = a10 * b02 + a11 * b12 + a12 * b22;
+        dest[destOffset + 6] = a20 * b00 + a21 * b10 + a22 * b20;
+        dest[destOffset + 7] = a20 * b01 + a21 * b11 + a22 * b21;
+        dest[destOffset + 8] = a20 * b02 + a21 * b12 + a22 * b22;
+    }
+
+    /**
+	 * Transposes a row-major 3x3 matrix. The destination may alias the source.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transpose(float[] m, int mOffset, float[] dest, int destOffset) {
+        float m01 = m[mOffset + 1], m02 = m[mOffset + 2], m12 = m[mOffset + 5];
+        float m10 = m[mOffset + 3], m20 = m[mOffset + 6], m21 = m[mOffset + 7];
+
+        dest[destOffset] = m[mOffset];
+        dest[destOffset + 1] = m10;
+        dest[destOffset + 2] = m20;
+        dest[destOffset + 3] = m01;
+        dest[destOffset + 4] = m[mOffset + 4];
+        dest[destOffset + 5] = m21;
+        dest[destOffset + 6] = m02;
+        dest[destOffset + 7] = m12;
+        dest[destOffset + 8] = m[mOffset + 8];
+    }
+
+    /**
+	 * Determinant of a row-major 3x3 matrix.
+	 *
+	 * @param m       the matrix
+	 * @param mOffset the matrix offset
+	 * @return the determinant
+	 */
+    public static float determinant(float[] m, int mOffset) {
+        int o = mOffset;
+        return m[o] * (m[o + 4] * m[o + 8] - m[o + 5] * m[o + 7])
+                + m[o + 1] * (m[o + 5] * m[o + 6] - m[o + 3] * m[o + 8])
+                + m[o + 2] * (m[o + 3] * m[o + 7] - m[o + 4] * m[o + 6]);
+    }
+
+    /**
+	 * Inverts a row-major 3x3 matrix through its adjugate. The destination may
+	 * alias the source and is left untouched if the matrix is singular.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invert(float[] m, int mOffset, float[] dest, int destOffset) {
+        if (!inverseTranspose(m, mOffset, 3, dest, destOffset)) {
+            return false;
+        }
+        transpose(dest, destOffset, dest, destOffset);
+        return true;
+    }
+
+    /**
+	 * Writes the normal matrix of a row-major 4x4 matrix, the inverse-transpose
+	 * of its upper 3x3, without inverting the full 4x4. The destination is left
+	 * untouched if the upper 3x3 is singular.
+	 *
+	 * @param m          the 4x4 matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination 3x3 matrix
+	 * @param destOffset the destination offset
+	 * @return true, if the upper 3x3 was invertible
+	 */
+    public static boolean normalMatrix(float[] m, int mOffset, float[] dest, int destOffset) {
+        return inverseTranspose(m, mOffset, 4, dest, destOffset);
+    }
+
+    /**
+	 * Transforms a 3 component column vector, {@code dest = m * v}. The
+	 * destination may alias the vector.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param v          the vector
+	 * @param vOffset    the vector offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transform(float[] m, int mOffset, float[] v, int vOffset, float[] dest,
+            int destOffset) {
+        float x = v[vOffset], y = v[vOffset + 1], z = v[vOffset + 2];
+        dest[destOffset] = m[mOffset] * x + m[mOffset + 1] * y + m[mOffset + 2] * z;
+        dest[destOffset + 1] = m[mOffset + 3] * x + m[mOffset + 4] * y + m[mOffset + 5] * z;
+        dest[destOffset + 2] = m[mOffset + 6] * x + m[mOffset + 7] * y + m[mOffset + 8] * z;
+    }
+
+    /**
+	 * Multiplies packed matrices pairwise, {@code dest[i] = a[i] * b[i]}.
+	 *
+	 * @param a          the left matrices
+	 * @param aOffset    the left offset
+	 * @param b          the right matrices
+	 * @param bOffset    the right offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+            int destOffset, int count) {
+        checkBatch(a.length, aOffset, count, STRIDE);
+        checkBatch(b.length, bOffset, count, STRIDE);
+        checkBatch(dest.length, destOffset, count, STRIDE);
+
+        for (int i = 0; i < count; i++) {
+            int o = i * STRIDE;
+            multiply(a, aOffset + o, b, bOffset + o, dest, destOffset + o);
+        }
+    }
+
+    /**
+	 * Writes the normal matrices of packed 4x4 matrices. A singular upper 3x3
+	 * leaves its destination slot untouched and is counted in the result.
+	 *
+	 * @param m          the 4x4 matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination 3x3 matrices
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public static int normalMatrices(float[] m, int mOffset, float[] dest, int destOffset,
+            int count) {
+        checkBatch(m.length, mOffset, count, MatrixBatchOperations.STRIDE);
+        checkBatch(dest.length, destOffset, count, STRIDE);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            if (!inverseTranspose(m, mOffset + i * MatrixBatchOperations.STRIDE, 4, dest,
+                    destOffset + i * STRIDE)) {
+                singular++;
+            }
+        }
+        return singular;
+    }
+
+    /**
+	 * Transforms packed 3 component vectors by one matrix,
+	 * {@code dest[i] = m * v[i]}. The destination may be the source array at
+	 * the same offset.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param v          the vectors
+	 * @param vOffset    the vectors offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+    public static void transform(float[] m, int mOffset, float[] v, int vOffset, float[] dest,
+            int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1, STRIDE);
+        checkBatch(v.length, vOffset, count, 3);
+        checkBatch(dest.length, destOffset, count, 3);
+
+        float m00 = m[mOffset], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        float m10 = m[mOffset + 3], m11 = m[mOffset + 4], m12 = m[mOffset + 5];
+        float m20 = m[mOffset + 6], m21 = m[mOffset + 7], m22 = m[mOffset + 8];
+
+        for (int i = 0; i < count; i++) {
+            int p = vOffset + i * 3;
+            int d = destOffset + i * 3;
+            float x = v[p], y = v[p + 1], z = v[p + 2];
+            dest[d] = m00 * x + m01 * y + m02 * z;
+            dest[d + 1] = m10 * x + m11 * y + m12 * z;
+            dest[d + 2] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+	 * Writes the inverse-transpose of a 3x3 block, the cofactor matrix divided by
+	 * the determinant. The destination may alias the source.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the block offset
+	 * @param rowStride  the row stride, 3 for a 3x3 and 4 for the upper 3x3 of a
+	 *                   4x4
+	 * @param dest       the destination 3x3 matrix
+	 * @param destOffset the destination offset
+	 * @return true, if the block was invertible
+	 */
+    private static boolean inverseTranspose(float[] m, int mOffset, int rowStride, float[] dest,
+            int destOffset) {
+        int r1 = mOffset + rowStride, r2 = r1 + rowStride;
+        float a = m[mOffset], b = m[mOffset + 1], c = m[mOffset + 2];
+        float d = m[r1], e = m[r1 + 1], f = m[r1 + 2];
+        float g = m[r2], h = m[r2 + 1], i = m[r2 + 2];
+
+        float c00 = e * i - f * h, c01 = f * g - d * i, c02 = d * h - e * g;
+        float det = a * c00 + b * c01 + c * c02;
+        if (det == 0 || !Float.isFinite(det)) {
+            return false;
+        }
+
+        float inv = 1 / det;
+        dest[destOffset] = c00 * inv;
+        dest[destOffset + 1] = c01 * inv;
+        dest[destOffset + 2] = c02 * inv;
+        dest[destOffset + 3] = (c * h - b * i) * inv;
+        dest[destOffset + 4] = (a * i - c * g) * inv;
+        dest[destOffset + 5] = (b * g - a * h) * inv;
+        dest[destOffset + 6] = (b * f - c * e) * inv;
+        dest[destOffset + 7] = (c * d - a * f) * inv;
+        dest[destOffset + 8] = (a * e - b * d) * inv;
+        return true;
+    }
+
+    /**
+	 * Loads a matrix into a packed float array.
+	 *
+	 * @param m    the matrix
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    private static float[] load(Matrix3 m, float[] dest) {
+        if (m.array() instanceof float[] a) {
+            System.arraycopy(a, 0, dest, 0, 9);
+            return dest;
+        }
+        for (int row = 0; row < 3; row++) {
+            dest[row * 3] = (float) m.xd(row);
+            dest[row * 3 + 1] = (float) m.yd(row);
+            dest[row * 3 + 2] = (float) m.zd(row);
+        }
+        return dest;
+    }
+
+    /**
+	 * Multiplyd.
+	 *
+	 * @param a the a
+	 * @param b the b
+	 * @return the matrix 3 d
+	 */
+    public static Matrix3d multiplyd(Matrix3 a, Matrix3 b) {
+        double[] result = load(a, new double[9]);
+        multiply(result, 0, load(b, new double[9]), 0, result, 0);
+        return new Matrix3d(result);
+    }
+
+    /**
+	 * Transposed.
+	 *
+	 * @param m the m
+	 * @return the matrix 3 d
+	 */
+    public static Matrix3d transposed(Matrix3 m) {
+        double[] result = load(m, new double[9]);
+        transpose(result, 0, result, 0);
+        return new Matrix3d(result);
+    }
+
+    /**
+	 * Invertd.
+	 *
+	 * @param m the m
+	 * @return the inverse, or null if the matrix is singular
+	 */
+    public static Matrix3d invertd(Matrix3 m) {
+        double[] result = load(m, new double[9]);
+        return invert(result, 0, result, 0) ? new Matrix3d(result) : null;
+    }
+
+    /**
+	 * Normal matrixd, the inverse-transpose of the upper 3x3 of a 4x4 matrix.
+	 *
+	 * @param m the m
+	 * @return the normal matrix, or null if the upper 3x3 is singular
+	 */
+    public static Matrix3d normalMatrixd(Matrix4 m) {
+        double[] upper = new double[9];
+        for (int row = 0; row < 3; row++) {
+            upper[row * 3] = m.xd(row);
+            upper[row * 3 + 1] = m.yd(row);
+            upper[row * 3 + 2] = m.zd(row);
+        }
+        return inverseTranspose(upper, 0, 3, upper, 0) ? new Matrix3d(upper) : null;
+    }
+
+    /**
+	 * Multiplies two row-major 3x3 matrices, {@code dest = a * b}. The
+	 * destination may alias either operand.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+            int destOffset) {
+        double a00 = a[aOffset], a01 = a[aOffset + 1], a02 = a[aOffset + 2];
+        double a10 = a[aOffset + 3], a11 = a[aOffset + 4], a12 = a[aOffset + 5];
+        double a20 = a[aOffset + 6], a21 = a[aOffset + 7], a22 = a[aOffset + 8];
+        double b00 = b[bOffset], b01 = b[bOffset + 1], b02 = b[bOffset + 2];
+        double b10 = b[bOffset + 3], b11 = b[bOffset + 4], b12 = b[bOffset + 5];
+        double b20 = b[bOffset + 6], b21 = b[bOffset + 7], b22 = b[bOffset + 8];
+
+        dest[destOffset] = a00 * b00 + a01 * b10 + a02 * b20;
+        dest[destOffset + 1] = a00 * b01 + a01 * b11 + a02 * b21;
+        dest[destOffset + 2] = a00 * b02 + a01 * b12 + a02 * b22;
+        dest[destOffset + 3] = a10 * b00 + a11 * b10 + a12 * b20;
+        dest[destOffset + 4] = a10 * b01 + a11 * b11 + a12 * b21;
+        dest[destOffset + 5] = a10 * b02 + a11 * b12 + a12 * b22;
+        dest[destOffset + 6] = a20 * b00 + a21 * b10 + a22 * b20;
+        dest[destOffset + 7] = a20 * b01 + a21 * b11 + a22 * b21;
+        dest[destOffset + 8] = a20 * b02 + a21 * b12 + a22 * b22;
+    }
+
+    /**
+	 * Transposes a row-major 3x3 matrix. The destination may alias the source.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transpose(double[] m, int mOffset, double[] dest, int destOffset) {
+        double m01 = m[mOffset + 1], m02 = m[mOffset + 2], m12 = m[mOffset + 5];
+        double m10 = m[mOffset + 3], m20 = m[mOffset + 6], m21 = m[mOffset + 7];
+
+        dest[destOffset] = m[mOffset];
+        dest[destOffset + 1] = m10;
+        dest[destOffset + 2] = m20;
+        dest[destOffset + 3] = m01;
+        dest[destOffset + 4] = m[mOffset + 4];
+        dest[destOffset + 5] = m21;
+        dest[destOffset + 6] = m02;
+        dest[destOffset + 7] = m12;
+        dest[destOffset + 8] = m[mOffset + 8];
+    }
+
+    /**
+	 * Determinant of a row-major 3x3 matrix.
+	 *
+	 * @param m       the matrix
+	 * @param mOffset the matrix offset
+	 * @return the determinant
+	 */
+    public static double determinant(double[] m, int mOffset) {
+        int o = mOffset;
+        return m[o] * (m[o + 4] * m[o + 8] - m[o + 5] * m[o + 7])
+                + m[o + 1] * (m[o + 5] * m[o + 6] - m[o + 3] * m[o + 8])
+                + m[o + 2] * (m[o + 3] * m[o + 7] - m[o + 4] * m[o + 6]);
+    }
+
+    /**
+	 * Inverts a row-major 3x3 matrix through its adjugate. The destination may
+	 * alias the source and is left untouched if the matrix is singular.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invert(double[] m, int mOffset, double[] dest, int destOffset) {
+        if (!inverseTranspose(m, mOffset, 3, dest, destOffset)) {
+            return false;
+        }
+        transpose(dest, destOffset, dest, destOffset);
+        return true;
+    }
+
+    /**
+	 * Writes the normal matrix of a row-major 4x4 matrix, the inverse-transpose
+	 * of its upper 3x3, without inverting the full 4x4. The destination is left
+	 * untouched if the upper 3x3 is singular.
+	 *
+	 * @param m          the 4x4 matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination 3x3 matrix
+	 * @param destOffset the destination offset
+	 * @return true, if the upper 3x3 was invertible
+	 */
+    public static boolean normalMatrix(double[] m, int mOffset, double[] dest, int destOffset) {
+        return inverseTranspose(m, mOffset, 4, dest, destOffset);
+    }
+
+    /**
+	 * Transforms a 3 component column vector, {@code dest = m * v}. The
+	 * destination may alias the vector.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param v          the vector
+	 * @param vOffset    the vector offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transform(double[] m, int mOffset, double[] v, int vOffset, double[] dest,
+            int destOffset) {
+        double x = v[vOffset], y = v[vOffset + 1], z = v[vOffset + 2];
+        dest[destOffset] = m[mOffset] * x + m[mOffset + 1] * y + m[mOffset + 2] * z;
+        dest[destOffset + 1] = m[mOffset + 3] * x + m[mOffset + 4] * y + m[mOffset + 5] * z;
+        dest[destOffset + 2] = m[mOffset + 6] * x + m[mOffset + 7] * y + m[mOffset + 8] * z;
+    }
+
+    /**
+	 * Multiplies packed matrices pairwise, {@code dest[i] = a[i] * b[i]}.
+	 *
+	 * @param a          the left matrices
+	 * @param aOffset    the left offset
+	 * @param b          the right matrices
+	 * @param bOffset    the right offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+            int destOffset, int count) {
+        checkBatch(a.length, aOffset, count, STRIDE);
+        checkBatch(b.length, bOffset, count, STRIDE);
+        checkBatch(dest.length, destOffset, count, STRIDE);
+
+        for (int i = 0; i < count; i++) {
+            int o = i * STRIDE;
+            multiply(a, aOffset + o, b, bOffset + o, dest, destOffset + o);
+        }
+    }
+
+    /**
+	 * Writes the normal matrices of packed 4x4 matrices. A singular upper 3x3
+	 * leaves its destination slot untouched and is counted in the result.
+	 *
+	 * @param m          the 4x4 matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination 3x3 matrices
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public static int normalMatrices(double[] m, int mOffset, double[] dest, int destOffset,
+            int count) {
+        checkBatch(m.length, mOffset, count, MatrixBatchOperations.STRIDE);
+        checkBatch(dest.length, destOffset, count, STRIDE);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            if (!inverseTranspose(m, mOffset + i * MatrixBatchOperations.STRIDE, 4, dest,
+                    destOffset + i * STRIDE)) {
+                singular++;
+            }
+        }
+        return singular;
+    }
+
+    /**
+	 * Transforms packed 3 component vectors by one matrix,
+	 * {@code dest[i] = m * v[i]}. The destination may be the source array at
+	 * the same offset.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param v          the vectors
+	 * @param vOffset    the vectors offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+    public static void transform(double[] m, int mOffset, double[] v, int vOffset, double[] dest,
+            int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1, STRIDE);
+        checkBatch(v.length, vOffset, count, 3);
+        checkBatch(dest.length, destOffset, count, 3);
+
+        double m00 = m[mOffset], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        double m10 = m[mOffset + 3], m11 = m[mOffset + 4], m12 = m[mOffset + 5];
+        double m20 = m[mOffset + 6], m21 = m[mOffset + 7], m22 = m[mOffset + 8];
+
+        for (int i = 0; i < count; i++) {
+            int p = vOffset + i * 3;
+            int d = destOffset + i * 3;
+            double x = v[p], y = v[p + 1], z = v[p + 2];
+            dest[d] = m00 * x + m01 * y + m02 * z;
+            dest[d + 1] = m10 * x + m11 * y + m12 * z;
+            dest[d + 2] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+	 * Writes the inverse-transpose of a 3x3 block, the cofactor matrix divided by
+	 * the determinant. The destination may alias the source.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the block offset
+	 * @param rowStride  the row stride, 3 for a 3x3 and 4 for the upper 3x3 of a
+	 *                   4x4
+	 * @param dest       the destination 3x3 matrix
+	 * @param destOffset the destination offset
+	 * @return true, if the block was invertible
+	 */
+    private static boolean inverseTranspose(double[] m, int mOffset, int rowStride, double[] dest,
+            int destOffset) {
+        int r1 = mOffset + rowStride, r2 = r1 + rowStride;
+        double a = m[mOffset], b = m[mOffset + 1], c = m[mOffset + 2];
+        double d = m[r1], e = m[r1 + 1], f = m[r1 + 2];
+        double g = m[r2], h = m[r2 + 1], i = m[r2 + 2];
+
+        double c00 = e * i - f * h, c01 = f * g - d * i, c02 = d * h - e * g;
+        double det = a * c00 + b * c01 + c * c02;
+        if (det == 0 || !Double.isFinite(det)) {
+            return false;
+        }
+
+        double inv = 1 / det;
+        dest[destOffset] = c00 * inv;
+        dest[destOffset + 1] = c01 * inv;
+        dest[destOffset + 2] = c02 * inv;
+        dest[destOffset + 3] = (c * h - b * i) * inv;
+        dest[destOffset + 4] = (a * i - c * g) * inv;
+        dest[destOffset + 5] = (b * g - a * h) * inv;
+        dest[destOffset + 6] = (b * f - c * e) * inv;
+        dest[destOffset + 7] = (c * d - a * f) * inv;
+        dest[destOffset + 8] = (a * e - b * d) * inv;
+        return true;
+    }
+
+    /**
+	 * Loads a matrix into a packed double array.
+	 *
+	 * @param m    the matrix
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    private static double[] load(Matrix3 m, double[] dest) {
+        if (m.array() instanceof double[] a) {
+            System.arraycopy(a, 0, dest, 0, 9);
+            return dest;
+        }
+        for (int row = 0; row < 3; row++) {
+            dest[row * 3] = m.xd(row);
+            dest[row * 3 + 1] = m.yd(row);
+            dest[row * 3 + 2] = m.zd(row);
+        }
+        return dest;
+    }
+
+    /**
+	 * Checks that a batch fits in an array.
+	 *
+	 * @param length the array length
+	 * @param offset the offset
+	 * @param count  the number of elements in the batch
+	 * @param stride the elements per batch entry
+	 */
+    private static void checkBatch(int length, int offset, int count, int stride) {
+        Objects.checkFromIndexSize(offset, Math.multiplyExact(count, stride), length);
+    }
+}
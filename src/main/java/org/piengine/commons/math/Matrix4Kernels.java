@@ -0,0 +1,439 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * The 4x4 matrix kernels behind {@link MatrixOperations}. Every kernel works on
+ * row-major {@code float[]}/{@code double[]} storage at an offset, allocates
+ * nothing, and allows the destination to alias a source. The float kernels
+ * also come in a {@link MemorySegment} form, with byte offsets, for matrices
+ * that live in native memory.
+ *
+ * <p>
+ * The implementation is picked once, at class initialization. The
+ * {@code jdk.incubator.vector} backend is used when that module is present in
+ * the boot layer (for example with {@code --add-modules jdk.incubator.vector})
+ * and the CPU has at least 128-bit vectors. Otherwise the scalar backend is
+ * used. Setting the {@code org.piengine.math.simd} system property to
+ * {@code false} forces the scalar backend.
+ * </p>
+ */
+interface Matrix4Kernels {
+
+	/** The system property that enables or disables the SIMD backend. */
+	String SIMD_PROPERTY = "org.piengine.math.simd";
+
+	/** The selected kernels. */
+	Matrix4Kernels INSTANCE = select();
+
+	/**
+	 * Selects the best available kernels for this runtime.
+	 *
+	 * @return the matrix 4 kernels
+	 */
+	private static Matrix4Kernels select() {
+		if (Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY, "true"))
+				&& ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			try {
+				return (Matrix4Kernels) Class.forName(
+						"org.piengine.commons.math.VectorMatrix4Kernels")
+						.getDeclaredConstructor()
+						.newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				// Vector API unusable on this runtime, fall through to scalar
+			}
+		}
+
+		return new ScalarMatrix4Kernels();
+	}
+
+	/**
+	 * Name of the backend, for diagnostics.
+	 *
+	 * @return the string
+	 */
+	String name();
+
+	/**
+	 * Multiply, {@code dest = a * b}.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest, int destOffset);
+
+	/**
+	 * Multiply, {@code dest = a * b}.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+			int destOffset);
+
+	/**
+	 * Transpose.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void transpose(float[] m, int mOffset, float[] dest, int destOffset);
+
+	/**
+	 * Transpose.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void transpose(double[] m, int mOffset, double[] dest, int destOffset);
+
+	/**
+	 * Transforms a 4 component column vector, {@code dest = m * v}.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param v          the v
+	 * @param vOffset    the v offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void transform(float[] m, int mOffset, float[] v, int vOffset, float[] dest, int destOffset);
+
+	/**
+	 * Transforms a 4 component column vector, {@code dest = m * v}.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param v          the v
+	 * @param vOffset    the v offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void transform(double[] m, int mOffset, double[] v, int vOffset, double[] dest,
+			int destOffset);
+
+	/**
+	 * Invert. The destination is left untouched when the matrix is singular.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @return true, if the matrix was invertible
+	 */
+	boolean invert(float[] m, int mOffset, float[] dest, int destOffset);
+
+	/**
+	 * Invert. The destination is left untouched when the matrix is singular.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @return true, if the matrix was invertible
+	 */
+	boolean invert(double[] m, int mOffset, double[] dest, int destOffset);
+
+	/**
+	 * Multiply, {@code dest = a * b}, for float matrices in memory segments.
+	 * Offsets are in bytes.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void multiply(MemorySegment a, long aOffset, MemorySegment b, long bOffset,
+			MemorySegment dest, long destOffset);
+
+	/**
+	 * Transpose, for a float matrix in a memory segment. Offsets are in bytes.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void transpose(MemorySegment m, long mOffset, MemorySegment dest, long destOffset);
+
+	/**
+	 * Transforms a 4 component float column vector in a memory segment,
+	 * {@code dest = m * v}. Offsets are in bytes.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param v          the v
+	 * @param vOffset    the v offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 */
+	void transform(MemorySegment m, long mOffset, MemorySegment v, long vOffset,
+			MemorySegment dest, long destOffset);
+
+	/**
+	 * Invert, for a float matrix in a memory segment. Offsets are in bytes. The
+	 * destination is left untouched when the matrix is singular.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @return true, if the matrix was invertible
+	 */
+	boolean invert(MemorySegment m, long mOffset, MemorySegment dest, long destOffset);
+
+	/**
+	 * Batch transpose of {@code count} packed matrices, which also converts
+	 * between row-major and column-major storage.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	default void transposeBatch(float[] m, int mOffset, float[] dest, int destOffset, int count) {
+		for (int i = 0; i < count; i++) {
+			int o = i * 16;
+			transpose(m, mOffset + o, dest, destOffset + o);
+		}
+	}
+
+	/**
+	 * Batch transpose of {@code count} packed matrices, which also converts
+	 * between row-major and column-major storage.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	default void transposeBatch(double[] m, int mOffset, double[] dest, int destOffset,
+			int count) {
+		for (int i = 0; i < count; i++) {
+			int o = i * 16;
+			transpose(m, mOffset + o, dest, destOffset + o);
+		}
+	}
+
+	/**
+	 * Batch transpose of {@code count} packed float matrices into a memory
+	 * segment, the upload form of {@link #transposeBatch(float[], int, float[], int, int)}.
+	 * The segment offset is in bytes.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	void transposeBatch(float[] m, int mOffset, MemorySegment dest, long destOffset, int count);
+
+	/**
+	 * Batch invert of the packed matrices {@code [first, first + count)}, matrix
+	 * {@code i} at {@code mOffset + i * 16}. Bit {@code i} of the singular set
+	 * is set when matrix {@code i} is not invertible, in which case its
+	 * destination is left untouched, and cleared otherwise. Bits outside the
+	 * range are left untouched.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param singular   the singular bit set
+	 * @param first      the first matrix
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+	default int invertBatch(float[] m, int mOffset, float[] dest, int destOffset, long[] singular,
+			int first, int count) {
+		int total = 0;
+		for (int i = first, end = first + count; i < end;) {
+			int word = i >>> 6;
+			int start = i;
+			int stop = Math.min(end, (word + 1) << 6);
+			long bits = 0;
+			for (; i < stop; i++) {
+				int o = i * 16;
+				if (!invert(m, mOffset + o, dest, destOffset + o)) {
+					bits |= 1L << i;
+				}
+			}
+			long mask = (-1L << start) & (-1L >>> (63 - ((stop - 1) & 63)));
+			singular[word] = (singular[word] & ~mask) | bits;
+			total += Long.bitCount(bits);
+		}
+		return total;
+	}
+
+	/**
+	 * Batch invert of the packed matrices {@code [first, first + count)}, matrix
+	 * {@code i} at {@code mOffset + i * 16}. Bit {@code i} of the singular set
+	 * is set when matrix {@code i} is not invertible, in which case its
+	 * destination is left untouched, and cleared otherwise. Bits outside the
+	 * range are left untouched.
+	 *
+	 * @param m          the m
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param singular   the singular bit set
+	 * @param first      the first matrix
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+	default int invertBatch(double[] m, int mOffset, double[] dest, int destOffset,
+			long[] singular, int first, int count) {
+		int total = 0;
+		for (int i = first, end = first + count; i < end;) {
+			int word = i >>> 6;
+			int start = i;
+			int stop = Math.min(end, (word + 1) << 6);
+			long bits = 0;
+			for (; i < stop; i++) {
+				int o = i * 16;
+				if (!invert(m, mOffset + o, dest, destOffset + o)) {
+					bits |= 1L << i;
+				}
+			}
+			long mask = (-1L << start) & (-1L >>> (63 - ((stop - 1) & 63)));
+			singular[word] = (singular[word] & ~mask) | bits;
+			total += Long.bitCount(bits);
+		}
+		return total;
+	}
+
+	/**
+	 * Pairwise batch multiply, {@code dest[i] = a[i] * b[i]} for {@code count}
+	 * packed matrices.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	default void multiplyPairwise(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+			int destOffset, int count) {
+		for (int i = 0; i < count; i++) {
+			int o = i * 16;
+			multiply(a, aOffset + o, b, bOffset + o, dest, destOffset + o);
+		}
+	}
+
+	/**
+	 * Batch multiply by a shared left matrix, {@code dest[i] = m * b[i]}.
+	 *
+	 * @param m          the shared matrix
+	 * @param mOffset    the m offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	void multiplyLeft(float[] m, int mOffset, float[] b, int bOffset, float[] dest,
+			int destOffset, int count);
+
+	/**
+	 * Batch multiply by a shared right matrix, {@code dest[i] = a[i] * m}.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param m          the shared matrix
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	void multiplyRight(float[] a, int aOffset, float[] m, int mOffset, float[] dest,
+			int destOffset, int count);
+
+	/**
+	 * Pairwise batch multiply, {@code dest[i] = a[i] * b[i]} for {@code count}
+	 * packed matrices.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	default void multiplyPairwise(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+			int destOffset, int count) {
+		for (int i = 0; i < count; i++) {
+			int o = i * 16;
+			multiply(a, aOffset + o, b, bOffset + o, dest, destOffset + o);
+		}
+	}
+
+	/**
+	 * Batch multiply by a shared left matrix, {@code dest[i] = m * b[i]}.
+	 *
+	 * @param m          the shared matrix
+	 * @param mOffset    the m offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	void multiplyLeft(double[] m, int mOffset, double[] b, int bOffset, double[] dest,
+			int destOffset, int count);
+
+	/**
+	 * Batch multiply by a shared right matrix, {@code dest[i] = a[i] * m}.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param m          the shared matrix
+	 * @param mOffset    the m offset
+	 * @param dest       the dest
+	 * @param destOffset the dest offset
+	 * @param count      the number of matrices
+	 */
+	void multiplyRight(double[] a, int aOffset, double[] m, int mOffset, double[] dest,
+			int destOffset, int count);
+}
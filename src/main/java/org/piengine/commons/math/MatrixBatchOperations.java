@@ -0,0 +1,1038 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Objects;
+
+import org.piengine.commons.math.Matrix.Matrix4.Layout;
+import org.piengine.commons.math.Matrix.Matrix4.TransformType;
+
+/**
+ * Batched 4x4 matrix operations over packed arrays. Each matrix occupies 16
+ * consecutive row-major elements, the same layout as {@code Matrix4f} and
+ * {@code Matrix4d}, and a batch of {@code count} matrices occupies
+ * {@code count * 16} elements starting at the given offset.
+ *
+ * <p>
+ * The kernels run on the same backend as {@link MatrixOperations}, so they use
+ * the Vector API when it is available. Shared operands are loaded once per
+ * batch rather than once per matrix.
+ * </p>
+ */
+public final class MatrixBatchOperations {
+
+    /** The number of elements in one packed 4x4 matrix. */
+    public static final int STRIDE = 16;
+
+    /**
+	 * Instantiates a new matrix batch operations.
+	 */
+    private MatrixBatchOperations() {}
+
+    /**
+	 * Checks that a batch of matrices fits in an array.
+	 *
+	 * @param length the array length
+	 * @param offset the offset
+	 * @param count  the number of matrices
+	 */
+    static void checkBatch(int length, int offset, int count) {
+        Objects.checkFromIndexSize(offset, Math.multiplyExact(count, STRIDE), length);
+    }
+
+    /**
+	 * Pairwise multiply of packed matrix arrays, {@code dest[i] = a[i] * b[i]}
+	 * (for example parent world times local). The destination may be either
+	 * source array at the same offset.
+	 *
+	 * @param a          the left matrices
+	 * @param aOffset    the left offset
+	 * @param b          the right matrices
+	 * @param bOffset    the right offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+            int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.multiplyPairwise(a, aOffset, b, bOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Multiplies every packed matrix by one shared matrix on the left,
+	 * {@code dest[i] = m * b[i]} (for example view-projection times model). The
+	 * destination may be the source array at the same offset.
+	 *
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param b          the matrices
+	 * @param bOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void premultiply(float[] m, int mOffset, float[] b, int bOffset, float[] dest,
+            int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.multiplyLeft(m, mOffset, b, bOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Multiplies every packed matrix by one shared matrix on the right,
+	 * {@code dest[i] = a[i] * m}. The destination may be the source array at the
+	 * same offset.
+	 *
+	 * @param a          the matrices
+	 * @param aOffset    the matrices offset
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void postmultiply(float[] a, int aOffset, float[] m, int mOffset, float[] dest,
+            int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(m.length, mOffset, 1);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.multiplyRight(a, aOffset, m, mOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Pairwise multiply of packed matrix arrays, {@code dest[i] = a[i] * b[i]}
+	 * (for example parent world times local). The destination may be either
+	 * source array at the same offset.
+	 *
+	 * @param a          the left matrices
+	 * @param aOffset    the left offset
+	 * @param b          the right matrices
+	 * @param bOffset    the right offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+            int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.multiplyPairwise(a, aOffset, b, bOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Multiplies every packed matrix by one shared matrix on the left,
+	 * {@code dest[i] = m * b[i]} (for example view-projection times model). The
+	 * destination may be the source array at the same offset.
+	 *
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param b          the matrices
+	 * @param bOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void premultiply(double[] m, int mOffset, double[] b, int bOffset,
+            double[] dest, int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.multiplyLeft(m, mOffset, b, bOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Multiplies every packed matrix by one shared matrix on the right,
+	 * {@code dest[i] = a[i] * m}. The destination may be the source array at the
+	 * same offset.
+	 *
+	 * @param a          the matrices
+	 * @param aOffset    the matrices offset
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void postmultiply(double[] a, int aOffset, double[] m, int mOffset,
+            double[] dest, int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(m.length, mOffset, 1);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.multiplyRight(a, aOffset, m, mOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Transforms packed {@code x, y, z} points by one affine matrix, treating each
+	 * point as {@code (x, y, z, 1)}. The destination may be the source array at
+	 * the same offset.
+	 *
+	 * @param m            the matrix
+	 * @param mOffset      the matrix offset
+	 * @param points       the packed points
+	 * @param pointsOffset the points offset
+	 * @param dest         the destination
+	 * @param destOffset   the destination offset
+	 * @param count        the number of points
+	 */
+    public static void transformPoints(float[] m, int mOffset, float[] points, int pointsOffset,
+            float[] dest, int destOffset, int count) {
+        transformPoints(m, mOffset, points, pointsOffset, 3, dest, destOffset, 3, count);
+    }
+
+    /**
+	 * Inverts packed matrices. A singular matrix leaves its destination slot
+	 * untouched and is counted in the result. The destination may be the source
+	 * array at the same offset.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public static int invert(float[] m, int mOffset, float[] dest, int destOffset, int count) {
+        checkBatch(m.length, mOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            if (!Matrix4Kernels.INSTANCE.invert(m, mOffset + i * STRIDE, dest,
+                    destOffset + i * STRIDE)) {
+                singular++;
+            }
+        }
+
+        return singular;
+    }
+
+    /**
+	 * Transforms packed {@code x, y, z} points by one affine matrix, treating each
+	 * point as {@code (x, y, z, 1)}. The destination may be the source array at
+	 * the same offset.
+	 *
+	 * @param m            the matrix
+	 * @param mOffset      the matrix offset
+	 * @param points       the packed points
+	 * @param pointsOffset the points offset
+	 * @param dest         the destination
+	 * @param destOffset   the destination offset
+	 * @param count        the number of points
+	 */
+    public static void transformPoints(double[] m, int mOffset, double[] points, int pointsOffset,
+            double[] dest, int destOffset, int count) {
+        transformPoints(m, mOffset, points, pointsOffset, 3, dest, destOffset, 3, count);
+    }
+
+    /**
+	 * Inverts packed matrices. A singular matrix leaves its destination slot
+	 * untouched and is counted in the result. The destination may be the source
+	 * array at the same offset.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public static int invert(double[] m, int mOffset, double[] dest, int destOffset, int count) {
+        checkBatch(m.length, mOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            if (!Matrix4Kernels.INSTANCE.invert(m, mOffset + i * STRIDE, dest,
+                    destOffset + i * STRIDE)) {
+                singular++;
+            }
+        }
+
+        return singular;
+    }
+
+    /**
+	 * Inverts packed matrices that all share a declared transform type, for
+	 * example a palette of rigid bone transforms. A singular matrix leaves its
+	 * destination slot untouched and is counted in the result.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @param type       the transform type of every matrix
+	 * @return the number of matrices that were not invertible
+	 */
+    public static int invert(float[] m, int mOffset, float[] dest, int destOffset, int count,
+            TransformType type) {
+        checkBatch(m.length, mOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            if (!MatrixOperations.invert(m, mOffset + i * STRIDE, dest,
+                    destOffset + i * STRIDE, type)) {
+                singular++;
+            }
+        }
+
+        return singular;
+    }
+
+    /**
+	 * Inverts packed matrices that all share a declared transform type, for
+	 * example a palette of rigid bone transforms. A singular matrix leaves its
+	 * destination slot untouched and is counted in the result.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @param type       the transform type of every matrix
+	 * @return the number of matrices that were not invertible
+	 */
+    public static int invert(double[] m, int mOffset, double[] dest, int destOffset, int count,
+            TransformType type) {
+        checkBatch(m.length, mOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        int singular = 0;
+        for (int i = 0; i < count; i++) {
+            if (!MatrixOperations.invert(m, mOffset + i * STRIDE, dest,
+                    destOffset + i * STRIDE, type)) {
+                singular++;
+            }
+        }
+
+        return singular;
+    }
+
+    /**
+	 * Transforms points in an interleaved buffer by one affine matrix, treating
+	 * each point as {@code (x, y, z, 1)}. Point {@code i} occupies {@code x, y, z}
+	 * at {@code offset + i * stride}, so other vertex attributes such as normals
+	 * or texture coordinates may sit between points. The destination may be the
+	 * source array with the same offset and stride.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param src        the source buffer
+	 * @param srcOffset  the offset of the first source point
+	 * @param srcStride  the elements between consecutive source points
+	 * @param dest       the destination buffer
+	 * @param destOffset the offset of the first destination point
+	 * @param destStride the elements between consecutive destination points
+	 * @param count      the number of points
+	 */
+    public static void transformPoints(float[] m, int mOffset, float[] src, int srcOffset,
+            int srcStride, float[] dest, int destOffset, int destStride, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkStrided(src.length, srcOffset, srcStride, count);
+        checkStrided(dest.length, destOffset, destStride, count);
+
+        float m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        float m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        float m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        float m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * srcStride;
+            int d = destOffset + i * destStride;
+            float x = src[s], y = src[s + 1], z = src[s + 2];
+            dest[d] = m00 * x + m01 * y + m02 * z + m03;
+            dest[d + 1] = m10 * x + m11 * y + m12 * z + m13;
+            dest[d + 2] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+
+    /**
+	 * Transforms points held as structure of arrays by one affine matrix, treating
+	 * each point as {@code (x, y, z, 1)}. Point {@code i} is
+	 * {@code (xs[srcOffset + i], ys[srcOffset + i], zs[srcOffset + i])}. The
+	 * destination arrays may be the source arrays with the same offset.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param xs         the source x coordinates
+	 * @param ys         the source y coordinates
+	 * @param zs         the source z coordinates
+	 * @param srcOffset  the source offset
+	 * @param outX       the destination x coordinates
+	 * @param outY       the destination y coordinates
+	 * @param outZ       the destination z coordinates
+	 * @param destOffset the destination offset
+	 * @param count      the number of points
+	 */
+    public static void transformPoints(float[] m, int mOffset, float[] xs, float[] ys, float[] zs,
+            int srcOffset, float[] outX, float[] outY, float[] outZ, int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(srcOffset, count,
+                Math.min(xs.length, Math.min(ys.length, zs.length)));
+        Objects.checkFromIndexSize(destOffset, count,
+                Math.min(outX.length, Math.min(outY.length, outZ.length)));
+
+        float m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        float m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        float m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        float m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i;
+            int d = destOffset + i;
+            float x = xs[s], y = ys[s], z = zs[s];
+            outX[d] = m00 * x + m01 * y + m02 * z + m03;
+            outY[d] = m10 * x + m11 * y + m12 * z + m13;
+            outZ[d] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+
+    /**
+	 * Transforms directions in an interleaved buffer by one matrix, treating each
+	 * direction as {@code (x, y, z, 0)} so that translation is ignored. Direction
+	 * {@code i} occupies {@code x, y, z} at {@code offset + i * stride}, so other
+	 * vertex attributes may sit between directions. The destination may be the
+	 * source array with the same offset and stride.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param src        the source buffer
+	 * @param srcOffset  the offset of the first source direction
+	 * @param srcStride  the elements between consecutive source directions
+	 * @param dest       the destination buffer
+	 * @param destOffset the offset of the first destination direction
+	 * @param destStride the elements between consecutive destination directions
+	 * @param count      the number of directions
+	 */
+    public static void transformDirections(float[] m, int mOffset, float[] src, int srcOffset,
+            int srcStride, float[] dest, int destOffset, int destStride, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkStrided(src.length, srcOffset, srcStride, count);
+        checkStrided(dest.length, destOffset, destStride, count);
+
+        float m00 = m[mOffset + 0], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5], m12 = m[mOffset + 6];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9], m22 = m[mOffset + 10];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * srcStride;
+            int d = destOffset + i * destStride;
+            float x = src[s], y = src[s + 1], z = src[s + 2];
+            dest[d] = m00 * x + m01 * y + m02 * z;
+            dest[d + 1] = m10 * x + m11 * y + m12 * z;
+            dest[d + 2] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+	 * Transforms directions held as structure of arrays by one matrix, treating
+	 * each direction as {@code (x, y, z, 0)} so that translation is ignored.
+	 * Direction {@code i} is
+	 * {@code (xs[srcOffset + i], ys[srcOffset + i], zs[srcOffset + i])}. The
+	 * destination arrays may be the source arrays with the same offset.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param xs         the source x coordinates
+	 * @param ys         the source y coordinates
+	 * @param zs         the source z coordinates
+	 * @param srcOffset  the source offset
+	 * @param outX       the destination x coordinates
+	 * @param outY       the destination y coordinates
+	 * @param outZ       the destination z coordinates
+	 * @param destOffset the destination offset
+	 * @param count      the number of directions
+	 */
+    public static void transformDirections(float[] m, int mOffset, float[] xs, float[] ys,
+            float[] zs, int srcOffset, float[] outX, float[] outY, float[] outZ, int destOffset,
+            int count) {
+        checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(srcOffset, count,
+                Math.min(xs.length, Math.min(ys.length, zs.length)));
+        Objects.checkFromIndexSize(destOffset, count,
+                Math.min(outX.length, Math.min(outY.length, outZ.length)));
+
+        float m00 = m[mOffset + 0], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5], m12 = m[mOffset + 6];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9], m22 = m[mOffset + 10];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i;
+            int d = destOffset + i;
+            float x = xs[s], y = ys[s], z = zs[s];
+            outX[d] = m00 * x + m01 * y + m02 * z;
+            outY[d] = m10 * x + m11 * y + m12 * z;
+            outZ[d] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+	 * Transforms points in an interleaved buffer by one projective matrix,
+	 * treating each point as {@code (x, y, z, 1)}, and divides by the resulting
+	 * {@code w}. Point {@code i} occupies {@code x, y, z} at
+	 * {@code offset + i * stride}, so other vertex attributes may sit between
+	 * points. The destination may be the source array with the same offset and
+	 * stride. The divide is not guarded, see
+	 * {@link MatrixOperations#transformProject(Matrix.Matrix4, Vector3D)}.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param src        the source buffer
+	 * @param srcOffset  the offset of the first source point
+	 * @param srcStride  the elements between consecutive source points
+	 * @param dest       the destination buffer
+	 * @param destOffset the offset of the first destination point
+	 * @param destStride the elements between consecutive destination points
+	 * @param count      the number of points
+	 */
+    public static void transformProject(float[] m, int mOffset, float[] src, int srcOffset,
+            int srcStride, float[] dest, int destOffset, int destStride, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkStrided(src.length, srcOffset, srcStride, count);
+        checkStrided(dest.length, destOffset, destStride, count);
+
+        float m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        float m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        float m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        float m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+        float m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+        float m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * srcStride;
+            int d = destOffset + i * destStride;
+            float x = src[s], y = src[s + 1], z = src[s + 2];
+            float inv = 1 / (m30 * x + m31 * y + m32 * z + m33);
+            dest[d] = (m00 * x + m01 * y + m02 * z + m03) * inv;
+            dest[d + 1] = (m10 * x + m11 * y + m12 * z + m13) * inv;
+            dest[d + 2] = (m20 * x + m21 * y + m22 * z + m23) * inv;
+        }
+    }
+
+    /**
+	 * Transforms points held as structure of arrays by one projective matrix,
+	 * treating each point as {@code (x, y, z, 1)}, and divides by the resulting
+	 * {@code w}. Point {@code i} is
+	 * {@code (xs[srcOffset + i], ys[srcOffset + i], zs[srcOffset + i])}. The
+	 * destination arrays may be the source arrays with the same offset. The divide
+	 * is not guarded, see
+	 * {@link MatrixOperations#transformProject(Matrix.Matrix4, Vector3D)}.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param xs         the source x coordinates
+	 * @param ys         the source y coordinates
+	 * @param zs         the source z coordinates
+	 * @param srcOffset  the source offset
+	 * @param outX       the destination x coordinates
+	 * @param outY       the destination y coordinates
+	 * @param outZ       the destination z coordinates
+	 * @param destOffset the destination offset
+	 * @param count      the number of points
+	 */
+    public static void transformProject(float[] m, int mOffset, float[] xs, float[] ys,
+            float[] zs, int srcOffset, float[] outX, float[] outY, float[] outZ, int destOffset,
+            int count) {
+        checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(srcOffset, count,
+                Math.min(xs.length, Math.min(ys.length, zs.length)));
+        Objects.checkFromIndexSize(destOffset, count,
+                Math.min(outX.length, Math.min(outY.length, outZ.length)));
+
+        float m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        float m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        float m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        float m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+        float m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+        float m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i;
+            int d = destOffset + i;
+            float x = xs[s], y = ys[s], z = zs[s];
+            float inv = 1 / (m30 * x + m31 * y + m32 * z + m33);
+            outX[d] = (m00 * x + m01 * y + m02 * z + m03) * inv;
+            outY[d] = (m10 * x + m11 * y + m12 * z + m13) * inv;
+            outZ[d] = (m20 * x + m21 * y + m22 * z + m23) * inv;
+        }
+    }
+
+    /**
+	 * Transforms points in an interleaved buffer by one affine matrix, treating
+	 * each point as {@code (x, y, z, 1)}. Point {@code i} occupies {@code x, y, z}
+	 * at {@code offset + i * stride}, so other vertex attributes such as normals
+	 * or texture coordinates may sit between points. The destination may be the
+	 * source array with the same offset and stride.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param src        the source buffer
+	 * @param srcOffset  the offset of the first source point
+	 * @param srcStride  the elements between consecutive source points
+	 * @param dest       the destination buffer
+	 * @param destOffset the offset of the first destination point
+	 * @param destStride the elements between consecutive destination points
+	 * @param count      the number of points
+	 */
+    public static void transformPoints(double[] m, int mOffset, double[] src, int srcOffset,
+            int srcStride, double[] dest, int destOffset, int destStride, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkStrided(src.length, srcOffset, srcStride, count);
+        checkStrided(dest.length, destOffset, destStride, count);
+
+        double m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        double m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        double m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        double m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * srcStride;
+            int d = destOffset + i * destStride;
+            double x = src[s], y = src[s + 1], z = src[s + 2];
+            dest[d] = m00 * x + m01 * y + m02 * z + m03;
+            dest[d + 1] = m10 * x + m11 * y + m12 * z + m13;
+            dest[d + 2] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+
+    /**
+	 * Transforms points held as structure of arrays by one affine matrix, treating
+	 * each point as {@code (x, y, z, 1)}. Point {@code i} is
+	 * {@code (xs[srcOffset + i], ys[srcOffset + i], zs[srcOffset + i])}. The
+	 * destination arrays may be the source arrays with the same offset.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param xs         the source x coordinates
+	 * @param ys         the source y coordinates
+	 * @param zs         the source z coordinates
+	 * @param srcOffset  the source offset
+	 * @param outX       the destination x coordinates
+	 * @param outY       the destination y coordinates
+	 * @param outZ       the destination z coordinates
+	 * @param destOffset the destination offset
+	 * @param count      the number of points
+	 */
+    public static void transformPoints(double[] m, int mOffset, double[] xs, double[] ys,
+            double[] zs, int srcOffset, double[] outX, double[] outY, double[] outZ,
+            int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(srcOffset, count,
+                Math.min(xs.length, Math.min(ys.length, zs.length)));
+        Objects.checkFromIndexSize(destOffset, count,
+                Math.min(outX.length, Math.min(outY.length, outZ.length)));
+
+        double m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        double m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        double m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        double m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i;
+            int d = destOffset + i;
+            double x = xs[s], y = ys[s], z = zs[s];
+            outX[d] = m00 * x + m01 * y + m02 * z + m03;
+            outY[d] = m10 * x + m11 * y + m12 * z + m13;
+            outZ[d] = m20 * x + m21 * y + m22 * z + m23;
+        }
+    }
+
+    /**
+	 * Transforms directions in an interleaved buffer by one matrix, treating each
+	 * direction as {@code (x, y, z, 0)} so that translation is ignored. Direction
+	 * {@code i} occupies {@code x, y, z} at {@code offset + i * stride}, so other
+	 * vertex attributes may sit between directions. The destination may be the
+	 * source array with the same offset and stride.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param src        the source buffer
+	 * @param srcOffset  the offset of the first source direction
+	 * @param srcStride  the elements between consecutive source directions
+	 * @param dest       the destination buffer
+	 * @param destOffset the offset of the first destination direction
+	 * @param destStride the elements between consecutive destination directions
+	 * @param count      the number of directions
+	 */
+    public static void transformDirections(double[] m, int mOffset, double[] src, int srcOffset,
+            int srcStride, double[] dest, int destOffset, int destStride, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkStrided(src.length, srcOffset, srcStride, count);
+        checkStrided(dest.length, destOffset, destStride, count);
+
+        double m00 = m[mOffset + 0], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5], m12 = m[mOffset + 6];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9], m22 = m[mOffset + 10];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * srcStride;
+            int d = destOffset + i * destStride;
+            double x = src[s], y = src[s + 1], z = src[s + 2];
+            dest[d] = m00 * x + m01 * y + m02 * z;
+            dest[d + 1] = m10 * x + m11 * y + m12 * z;
+            dest[d + 2] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+	 * Transforms directions held as structure of arrays by one matrix, treating
+	 * each direction as {@code (x, y, z, 0)} so that translation is ignored.
+	 * Direction {@code i} is
+	 * {@code (xs[srcOffset + i], ys[srcOffset + i], zs[srcOffset + i])}. The
+	 * destination arrays may be the source arrays with the same offset.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param xs         the source x coordinates
+	 * @param ys         the source y coordinates
+	 * @param zs         the source z coordinates
+	 * @param srcOffset  the source offset
+	 * @param outX       the destination x coordinates
+	 * @param outY       the destination y coordinates
+	 * @param outZ       the destination z coordinates
+	 * @param destOffset the destination offset
+	 * @param count      the number of directions
+	 */
+    public static void transformDirections(double[] m, int mOffset, double[] xs, double[] ys,
+            double[] zs, int srcOffset, double[] outX, double[] outY, double[] outZ,
+            int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(srcOffset, count,
+                Math.min(xs.length, Math.min(ys.length, zs.length)));
+        Objects.checkFromIndexSize(destOffset, count,
+                Math.min(outX.length, Math.min(outY.length, outZ.length)));
+
+        double m00 = m[mOffset + 0], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5], m12 = m[mOffset + 6];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9], m22 = m[mOffset + 10];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i;
+            int d = destOffset + i;
+            double x = xs[s], y = ys[s], z = zs[s];
+            outX[d] = m00 * x + m01 * y + m02 * z;
+            outY[d] = m10 * x + m11 * y + m12 * z;
+            outZ[d] = m20 * x + m21 * y + m22 * z;
+        }
+    }
+
+    /**
+	 * Transforms points in an interleaved buffer by one projective matrix,
+	 * treating each point as {@code (x, y, z, 1)}, and divides by the resulting
+	 * {@code w}. Point {@code i} occupies {@code x, y, z} at
+	 * {@code offset + i * stride}, so other vertex attributes may sit between
+	 * points. The destination may be the source array with the same offset and
+	 * stride. The divide is not guarded, see
+	 * {@link MatrixOperations#transformProject(Matrix.Matrix4, Vector3D)}.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param src        the source buffer
+	 * @param srcOffset  the offset of the first source point
+	 * @param srcStride  the elements between consecutive source points
+	 * @param dest       the destination buffer
+	 * @param destOffset the offset of the first destination point
+	 * @param destStride the elements between consecutive destination points
+	 * @param count      the number of points
+	 */
+    public static void transformProject(double[] m, int mOffset, double[] src, int srcOffset,
+            int srcStride, double[] dest, int destOffset, int destStride, int count) {
+        checkBatch(m.length, mOffset, 1);
+        checkStrided(src.length, srcOffset, srcStride, count);
+        checkStrided(dest.length, destOffset, destStride, count);
+
+        double m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        double m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        double m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        double m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+        double m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+        double m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i * srcStride;
+            int d = destOffset + i * destStride;
+            double x = src[s], y = src[s + 1], z = src[s + 2];
+            double inv = 1 / (m30 * x + m31 * y + m32 * z + m33);
+            dest[d] = (m00 * x + m01 * y + m02 * z + m03) * inv;
+            dest[d + 1] = (m10 * x + m11 * y + m12 * z + m13) * inv;
+            dest[d + 2] = (m20 * x + m21 * y + m22 * z + m23) * inv;
+        }
+    }
+
+    /**
+	 * Transforms points held as structure of arrays by one projective matrix,
+	 * treating each point as {@code (x, y, z, 1)}, and divides by the resulting
+	 * {@code w}. Point {@code i} is
+	 * {@code (xs[srcOffset + i], ys[srcOffset + i], zs[srcOffset + i])}. The
+	 * destination arrays may be the source arrays with the same offset. The divide
+	 * is not guarded, see
+	 * {@link MatrixOperations#transformProject(Matrix.Matrix4, Vector3D)}.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param xs         the source x coordinates
+	 * @param ys         the source y coordinates
+	 * @param zs         the source z coordinates
+	 * @param srcOffset  the source offset
+	 * @param outX       the destination x coordinates
+	 * @param outY       the destination y coordinates
+	 * @param outZ       the destination z coordinates
+	 * @param destOffset the destination offset
+	 * @param count      the number of points
+	 */
+    public static void transformProject(double[] m, int mOffset, double[] xs, double[] ys,
+            double[] zs, int srcOffset, double[] outX, double[] outY, double[] outZ,
+            int destOffset, int count) {
+        checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(srcOffset, count,
+                Math.min(xs.length, Math.min(ys.length, zs.length)));
+        Objects.checkFromIndexSize(destOffset, count,
+                Math.min(outX.length, Math.min(outY.length, outZ.length)));
+
+        double m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+        double m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        double m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        double m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+        double m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+        double m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+        for (int i = 0; i < count; i++) {
+            int s = srcOffset + i;
+            int d = destOffset + i;
+            double x = xs[s], y = ys[s], z = zs[s];
+            double inv = 1 / (m30 * x + m31 * y + m32 * z + m33);
+            outX[d] = (m00 * x + m01 * y + m02 * z + m03) * inv;
+            outY[d] = (m10 * x + m11 * y + m12 * z + m13) * inv;
+            outZ[d] = (m20 * x + m21 * y + m22 * z + m23) * inv;
+        }
+    }
+
+    /**
+	 * Inverts the packed matrices {@code [first, first + count)}, matrix
+	 * {@code i} at {@code mOffset + i * 16}, and records the non-invertible
+	 * ones in a bit set: bit {@code i} is set when matrix {@code i} is singular,
+	 * in which case its destination is left untouched, and cleared otherwise.
+	 * Bits outside the range are left untouched. With the Vector API backend,
+	 * blocks of matrices are gathered into element-major order so that each
+	 * lane inverts a different matrix. The destination may be the source array
+	 * at the same offset.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param singular   the singular bit set
+	 * @param first      the first matrix
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public static int invert(float[] m, int mOffset, float[] dest, int destOffset,
+            long[] singular, int first, int count) {
+        int end = Math.addExact(first, count);
+        checkBatch(m.length, mOffset, end);
+        checkBatch(dest.length, destOffset, end);
+        FrustumOperations.checkBits(singular.length, first, count);
+        return Matrix4Kernels.INSTANCE.invertBatch(m, mOffset, dest, destOffset, singular,
+                first, count);
+    }
+
+    /**
+	 * Inverts the packed matrices {@code [first, first + count)}, matrix
+	 * {@code i} at {@code mOffset + i * 16}, and records the non-invertible
+	 * ones in a bit set: bit {@code i} is set when matrix {@code i} is singular,
+	 * in which case its destination is left untouched, and cleared otherwise.
+	 * Bits outside the range are left untouched. With the Vector API backend,
+	 * blocks of matrices are gathered into element-major order so that each
+	 * lane inverts a different matrix. The destination may be the source array
+	 * at the same offset.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param singular   the singular bit set
+	 * @param first      the first matrix
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public static int invert(double[] m, int mOffset, double[] dest, int destOffset,
+            long[] singular, int first, int count) {
+        int end = Math.addExact(first, count);
+        checkBatch(m.length, mOffset, end);
+        checkBatch(dest.length, destOffset, end);
+        FrustumOperations.checkBits(singular.length, first, count);
+        return Matrix4Kernels.INSTANCE.invertBatch(m, mOffset, dest, destOffset, singular,
+                first, count);
+    }
+
+    /**
+	 * Transposes every packed matrix, {@code dest[i] = transpose(m[i])}. This is
+	 * also the conversion between row-major and column-major storage in either
+	 * direction. The destination may be the source array at the same offset.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void transpose(float[] m, int mOffset, float[] dest, int destOffset,
+            int count) {
+        checkBatch(m.length, mOffset, count);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.transposeBatch(m, mOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Converts packed matrices from one storage layout to another, transposing
+	 * when the layouts differ and copying otherwise.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param from       the source layout
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param to         the destination layout
+	 * @param count      the number of matrices
+	 */
+    public static void convert(float[] m, int mOffset, Layout from, float[] dest, int destOffset,
+            Layout to, int count) {
+        if (from == to) {
+            checkBatch(m.length, mOffset, count);
+            System.arraycopy(m, mOffset, dest, destOffset, count * STRIDE);
+        } else {
+            transpose(m, mOffset, dest, destOffset, count);
+        }
+    }
+
+    /**
+	 * Transposes every packed matrix, {@code dest[i] = transpose(m[i])}. This is
+	 * also the conversion between row-major and column-major storage in either
+	 * direction. The destination may be the source array at the same offset.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void transpose(double[] m, int mOffset, double[] dest, int destOffset,
+            int count) {
+        checkBatch(m.length, mOffset, count);
+        checkBatch(dest.length, destOffset, count);
+        Matrix4Kernels.INSTANCE.transposeBatch(m, mOffset, dest, destOffset, count);
+    }
+
+    /**
+	 * Converts packed matrices from one storage layout to another, transposing
+	 * when the layouts differ and copying otherwise.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param from       the source layout
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param to         the destination layout
+	 * @param count      the number of matrices
+	 */
+    public static void convert(double[] m, int mOffset, Layout from, double[] dest,
+            int destOffset, Layout to, int count) {
+        if (from == to) {
+            checkBatch(m.length, mOffset, count);
+            System.arraycopy(m, mOffset, dest, destOffset, count * STRIDE);
+        } else {
+            transpose(m, mOffset, dest, destOffset, count);
+        }
+    }
+
+    /**
+	 * Writes packed float matrices into a memory segment, such as a mapped
+	 * uniform or instance buffer, in the requested layout. Matrices are
+	 * transposed on the way when the layouts differ, so a column-major upload
+	 * of row-major matrices costs no extra pass. The segment offset is in bytes.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param from       the source layout
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param to         the destination layout
+	 * @param count      the number of matrices
+	 */
+    public static void store(float[] m, int mOffset, Layout from, MemorySegment dest,
+            long destOffset, Layout to, int count) {
+        checkBatch(m.length, mOffset, count);
+        Objects.checkFromIndexSize(destOffset, (long) count * STRIDE * Float.BYTES,
+                dest.byteSize());
+        if (from == to) {
+            MemorySegment.copy(m, mOffset, dest, JAVA_FLOAT_UNALIGNED, destOffset,
+                    count * STRIDE);
+        } else {
+            Matrix4Kernels.INSTANCE.transposeBatch(m, mOffset, dest, destOffset, count);
+        }
+    }
+
+    /**
+	 * Checks that a strided batch of 3 component elements fits in an array.
+	 *
+	 * @param length the array length
+	 * @param offset the offset of the first element
+	 * @param stride the elements between consecutive entries
+	 * @param count  the number of entries
+	 */
+    static void checkStrided(int length, int offset, int stride, int count) {
+        if (stride < 3) {
+            throw new IllegalArgumentException("stride must be at least 3: " + stride);
+        }
+        if (count > 0) {
+            Objects.checkFromIndexSize(offset,
+                    Math.addExact(Math.multiplyExact(count - 1, stride), 3), length);
+        }
+    }
+}
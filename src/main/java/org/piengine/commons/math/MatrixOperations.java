@@ -23,15 +23,32 @@
  */
 package org.piengine.commons.math;
 
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+import static org.piengine.commons.math.ScalarMatrix4Kernels.get;
+import static org.piengine.commons.math.ScalarMatrix4Kernels.set;
+
+import java.lang.foreign.MemorySegment;
+
 import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.TransformType;
 import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
 import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4f;
+import org.piengine.commons.math.Precision.PrecisionType;
+import org.piengine.commons.math.shapes.Point3D;
 
 /**
  * The Class MatrixOperations.
  */
 public final class MatrixOperations {
 
+    /** Orthonormality tolerance used to classify float matrices as rigid. */
+    private static final float RIGID_TOLERANCE_F = 1e-5f;
+
+    /** Orthonormality tolerance used to classify double matrices as rigid. */
+    private static final double RIGID_TOLERANCE_D = 1e-12;
+
     /**
 	 * Instantiates a new matrix operations.
 	 */
@@ -45,17 +62,37 @@ public final class MatrixOperations {
 	 * @return the matrix 4 f
 	 */
     public static Matrix4f multiplyf(Matrix4 a, Matrix4 b) {
-        float[] result = new float[16];
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 4; j++) {
-                float sum = 0;
-                for (int k = 0; k < 4; k++) {
-                    sum += a.at(i * 4 + k).floatValue() * b.at(k * 4 + j).floatValue();
-                }
-                result[i * 4 + j] = sum;
-            }
+        return multiplyf(a, b, new Matrix4f());
+    }
+
+    /**
+	 * Multiplyf into a destination matrix, which may be {@code a} or {@code b}.
+	 * Array backed operands, immutable and mutable, float and double, are read
+	 * directly from their arrays. Any other {@code Matrix4}, such as a segment or
+	 * column-major matrix, is read through its indexed accessors without copying.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    public static Matrix4f multiplyf(Matrix4 a, Matrix4 b, Matrix4f dest) {
+        float[] d = dest.array();
+        float[] fa = floatArray(a), fb = floatArray(b);
+        double[] da = fa == null ? doubleArray(a) : null;
+        double[] db = fb == null ? doubleArray(b) : null;
+        if (fa != null && fb != null) {
+            multiply(fa, 0, fb, 0, d, 0);
+        } else if (fa != null && db != null) {
+            multiplyMixed(fa, db, d);
+        } else if (da != null && fb != null) {
+            multiplyMixed(da, fb, d);
+        } else if (da != null && db != null) {
+            multiplyMixed(da, db, d);
+        } else {
+            multiplyElements(a, b, d);
         }
-        return new Matrix4f(result);
+        return dest;
     }
 
     /**
@@ -66,17 +103,37 @@ public final class MatrixOperations {
 	 * @return the matrix 4 d
 	 */
     public static Matrix4d multiplyd(Matrix4 a, Matrix4 b) {
-        double[] result = new double[16];
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 4; j++) {
-                double sum = 0;
-                for (int k = 0; k < 4; k++) {
-                    sum += a.at(i * 4 + k).doubleValue() * b.at(k * 4 + j).doubleValue();
-                }
-                result[i * 4 + j] = sum;
-            }
+        return multiplyd(a, b, new Matrix4d());
+    }
+
+    /**
+	 * Multiplyd into a destination matrix, which may be {@code a} or {@code b}.
+	 * Array backed operands, immutable and mutable, float and double, are read
+	 * directly from their arrays. Any other {@code Matrix4}, such as a segment or
+	 * column-major matrix, is read through its indexed accessors without copying.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    public static Matrix4d multiplyd(Matrix4 a, Matrix4 b, Matrix4d dest) {
+        double[] d = dest.array();
+        double[] da = doubleArray(a), db = doubleArray(b);
+        float[] fa = da == null ? floatArray(a) : null;
+        float[] fb = db == null ? floatArray(b) : null;
+        if (da != null && db != null) {
+            multiply(da, 0, db, 0, d, 0);
+        } else if (da != null && fb != null) {
+            multiplyMixed(da, fb, d);
+        } else if (fa != null && db != null) {
+            multiplyMixed(fa, db, d);
+        } else if (fa != null && fb != null) {
+            multiplyMixed(fa, fb, d);
+        } else {
+            multiplyElements(a, b, d);
         }
-        return new Matrix4d(result);
+        return dest;
     }
 
     /**
@@ -343,75 +400,27 @@ public final class MatrixOperations {
     }
 
     /**
-	 * Invertf.
+	 * Invertf. The matrix is classified first so affine and rigid transforms take
+	 * their cheaper closed-form inverse.
 	 *
 	 * @param m the m
-	 * @return the matrix 4 f
+	 * @return the matrix 4 f, or null if the matrix is not invertible
 	 */
     public static Matrix4f invertf(Matrix4 m) {
-        float[] mat = new float[16];
-        float[] inv = new float[16];
-        for (int i = 0; i < 16; i++) {
-            mat[i] = m.at(i).floatValue();
-            inv[i] = (i % 5 == 0) ? 1 : 0; // Identity matrix
-        }
-
-        for (int i = 0; i < 4; i++) {
-            float pivot = mat[i * 4 + i];
-            if (Math.abs(pivot) < 1e-10) {
-                return null; // Not invertible
-            }
-            for (int j = 0; j < 4; j++) {
-                mat[i * 4 + j] /= pivot;
-                inv[i * 4 + j] /= pivot;
-            }
-            for (int k = 0; k < 4; k++) {
-                if (k != i) {
-                    float factor = mat[k * 4 + i];
-                    for (int j = 0; j < 4; j++) {
-                        mat[k * 4 + j] -= factor * mat[i * 4 + j];
-                        inv[k * 4 + j] -= factor * inv[i * 4 + j];
-                    }
-                }
-            }
-        }
-        return new Matrix4f(inv);
+        float[] result = load(m, new float[16]);
+        return invertClassified(result, 0, result, 0) ? new Matrix4f(result) : null;
     }
 
     /**
-	 * Invertd.
+	 * Invertd. The matrix is classified first so affine and rigid transforms take
+	 * their cheaper closed-form inverse.
 	 *
 	 * @param m the m
-	 * @return the matrix 4 d
+	 * @return the matrix 4 d, or null if the matrix is not invertible
 	 */
     public static Matrix4d invertd(Matrix4 m) {
-        double[] mat = new double[16];
-        double[] inv = new double[16];
-        for (int i = 0; i < 16; i++) {
-            mat[i] = m.at(i).doubleValue();
-            inv[i] = (i % 5 == 0) ? 1 : 0; // Identity matrix
-        }
-
-        for (int i = 0; i < 4; i++) {
-            double pivot = mat[i * 4 + i];
-            if (Math.abs(pivot) < 1e-10) {
-                return null; // Not invertible
-            }
-            for (int j = 0; j < 4; j++) {
-                mat[i * 4 + j] /= pivot;
-                inv[i * 4 + j] /= pivot;
-            }
-            for (int k = 0; k < 4; k++) {
-                if (k != i) {
-                    double factor = mat[k * 4 + i];
-                    for (int j = 0; j < 4; j++) {
-                        mat[k * 4 + j] -= factor * mat[i * 4 + j];
-                        inv[k * 4 + j] -= factor * inv[i * 4 + j];
-                    }
-                }
-            }
-        }
-        return new Matrix4d(inv);
+        double[] result = load(m, new double[16]);
+        return invertClassified(result, 0, result, 0) ? new Matrix4d(result) : null;
     }
 
     /**
@@ -423,4 +432,2415 @@ public final class MatrixOperations {
     public static Matrix4 invert(Matrix4 m) {
         return invertd(m);
     }
-}
\ No newline at end of file
+
+    /**
+	 * Multiplies two row-major 4x4 float matrices into a destination array. The
+	 * destination may alias either operand.
+	 *
+	 * @param a    the left operand
+	 * @param b    the right operand
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    public static float[] multiply(float[] a, float[] b, float[] dest) {
+        multiply(a, 0, b, 0, dest, 0);
+        return dest;
+    }
+
+    /**
+	 * Multiplies two row-major 4x4 float matrices stored at the given offsets into
+	 * a destination array. The destination may alias either operand.
+	 *
+	 * @param a          the left operand
+	 * @param aOffset    the left operand offset
+	 * @param b          the right operand
+	 * @param bOffset    the right operand offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+            int destOffset) {
+        Matrix4Kernels.INSTANCE.multiply(a, aOffset, b, bOffset, dest, destOffset);
+    }
+
+    /**
+	 * Multiplies two row-major 4x4 double matrices into a destination array. The
+	 * destination may alias either operand.
+	 *
+	 * @param a    the left operand
+	 * @param b    the right operand
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    public static double[] multiply(double[] a, double[] b, double[] dest) {
+        multiply(a, 0, b, 0, dest, 0);
+        return dest;
+    }
+
+    /**
+	 * Multiplies two row-major 4x4 double matrices stored at the given offsets
+	 * into a destination array. The destination may alias either operand.
+	 *
+	 * @param a          the left operand
+	 * @param aOffset    the left operand offset
+	 * @param b          the right operand
+	 * @param bOffset    the right operand offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+            int destOffset) {
+        Matrix4Kernels.INSTANCE.multiply(a, aOffset, b, bOffset, dest, destOffset);
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a translation, {@code dest = m * T(x, y, z)}.
+	 * The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void translate(float[] m, int mOffset, float x, float y, float z, float[] dest,
+            int destOffset) {
+        for (int i = 0; i < 16; i += 4) {
+            float m0 = m[mOffset + i], m1 = m[mOffset + i + 1];
+            float m2 = m[mOffset + i + 2], m3 = m[mOffset + i + 3];
+            dest[destOffset + i] = m0;
+            dest[destOffset + i + 1] = m1;
+            dest[destOffset + i + 2] = m2;
+            dest[destOffset + i + 3] = m0 * x + m1 * y + m2 * z + m3;
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a translation, {@code dest = m * T(x, y, z)}.
+	 * The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void translate(double[] m, int mOffset, double x, double y, double z,
+            double[] dest, int destOffset) {
+        for (int i = 0; i < 16; i += 4) {
+            double m0 = m[mOffset + i], m1 = m[mOffset + i + 1];
+            double m2 = m[mOffset + i + 2], m3 = m[mOffset + i + 3];
+            dest[destOffset + i] = m0;
+            dest[destOffset + i + 1] = m1;
+            dest[destOffset + i + 2] = m2;
+            dest[destOffset + i + 3] = m0 * x + m1 * y + m2 * z + m3;
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a rotation about the X axis,
+	 * {@code dest = m * Rx(angle)}. The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateX(float[] m, int mOffset, float angle, float[] dest,
+            int destOffset) {
+        float c = (float) Math.cos(angle);
+        float s = (float) Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            float m1 = m[mOffset + i + 1], m2 = m[mOffset + i + 2];
+            dest[destOffset + i] = m[mOffset + i];
+            dest[destOffset + i + 1] = m1 * c + m2 * s;
+            dest[destOffset + i + 2] = m2 * c - m1 * s;
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a rotation about the X axis,
+	 * {@code dest = m * Rx(angle)}. The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateX(double[] m, int mOffset, double angle, double[] dest,
+            int destOffset) {
+        double c = Math.cos(angle);
+        double s = Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            double m1 = m[mOffset + i + 1], m2 = m[mOffset + i + 2];
+            dest[destOffset + i] = m[mOffset + i];
+            dest[destOffset + i + 1] = m1 * c + m2 * s;
+            dest[destOffset + i + 2] = m2 * c - m1 * s;
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a rotation about the Y axis,
+	 * {@code dest = m * Ry(angle)}. The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateY(float[] m, int mOffset, float angle, float[] dest,
+            int destOffset) {
+        float c = (float) Math.cos(angle);
+        float s = (float) Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            float m0 = m[mOffset + i], m2 = m[mOffset + i + 2];
+            dest[destOffset + i] = m0 * c - m2 * s;
+            dest[destOffset + i + 1] = m[mOffset + i + 1];
+            dest[destOffset + i + 2] = m0 * s + m2 * c;
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a rotation about the Y axis,
+	 * {@code dest = m * Ry(angle)}. The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateY(double[] m, int mOffset, double angle, double[] dest,
+            int destOffset) {
+        double c = Math.cos(angle);
+        double s = Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            double m0 = m[mOffset + i], m2 = m[mOffset + i + 2];
+            dest[destOffset + i] = m0 * c - m2 * s;
+            dest[destOffset + i + 1] = m[mOffset + i + 1];
+            dest[destOffset + i + 2] = m0 * s + m2 * c;
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a rotation about the Z axis,
+	 * {@code dest = m * Rz(angle)}. The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateZ(float[] m, int mOffset, float angle, float[] dest,
+            int destOffset) {
+        float c = (float) Math.cos(angle);
+        float s = (float) Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            float m0 = m[mOffset + i], m1 = m[mOffset + i + 1];
+            dest[destOffset + i] = m0 * c + m1 * s;
+            dest[destOffset + i + 1] = m1 * c - m0 * s;
+            dest[destOffset + i + 2] = m[mOffset + i + 2];
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a rotation about the Z axis,
+	 * {@code dest = m * Rz(angle)}. The destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateZ(double[] m, int mOffset, double angle, double[] dest,
+            int destOffset) {
+        double c = Math.cos(angle);
+        double s = Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            double m0 = m[mOffset + i], m1 = m[mOffset + i + 1];
+            dest[destOffset + i] = m0 * c + m1 * s;
+            dest[destOffset + i + 1] = m1 * c - m0 * s;
+            dest[destOffset + i + 2] = m[mOffset + i + 2];
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a scaling, {@code dest = m * S(x, y, z)}. The
+	 * destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void scale(float[] m, int mOffset, float x, float y, float z, float[] dest,
+            int destOffset) {
+        for (int i = 0; i < 16; i += 4) {
+            dest[destOffset + i] = m[mOffset + i] * x;
+            dest[destOffset + i + 1] = m[mOffset + i + 1] * y;
+            dest[destOffset + i + 2] = m[mOffset + i + 2] * z;
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Post-multiplies {@code m} by a scaling, {@code dest = m * S(x, y, z)}. The
+	 * destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void scale(double[] m, int mOffset, double x, double y, double z, double[] dest,
+            int destOffset) {
+        for (int i = 0; i < 16; i += 4) {
+            dest[destOffset + i] = m[mOffset + i] * x;
+            dest[destOffset + i + 1] = m[mOffset + i + 1] * y;
+            dest[destOffset + i + 2] = m[mOffset + i + 2] * z;
+            dest[destOffset + i + 3] = m[mOffset + i + 3];
+        }
+    }
+
+    /**
+	 * Inverts a row-major 4x4 float matrix into a destination array using the
+	 * closed-form adjugate. The destination may alias the source and is left
+	 * untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invert(float[] m, int mOffset, float[] dest, int destOffset) {
+        return Matrix4Kernels.INSTANCE.invert(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Inverts a row-major 4x4 double matrix into a destination array using the
+	 * closed-form adjugate. The destination may alias the source and is left
+	 * untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invert(double[] m, int mOffset, double[] dest, int destOffset) {
+        return Matrix4Kernels.INSTANCE.invert(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Classifies a row-major 4x4 matrix as rigid, affine or general.
+	 *
+	 * @param m       the matrix
+	 * @param mOffset the matrix offset
+	 * @return the transform type
+	 */
+    public static TransformType classify(float[] m, int mOffset) {
+        if (!isAffine(m, mOffset)) {
+            return TransformType.GENERAL;
+        }
+
+        float m00 = m[mOffset], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5], m12 = m[mOffset + 6];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9], m22 = m[mOffset + 10];
+
+        boolean orthonormal = Math.abs(m00 * m00 + m10 * m10 + m20 * m20 - 1) <= RIGID_TOLERANCE_F
+                && Math.abs(m01 * m01 + m11 * m11 + m21 * m21 - 1) <= RIGID_TOLERANCE_F
+                && Math.abs(m02 * m02 + m12 * m12 + m22 * m22 - 1) <= RIGID_TOLERANCE_F
+                && Math.abs(m00 * m01 + m10 * m11 + m20 * m21) <= RIGID_TOLERANCE_F
+                && Math.abs(m00 * m02 + m10 * m12 + m20 * m22) <= RIGID_TOLERANCE_F
+                && Math.abs(m01 * m02 + m11 * m12 + m21 * m22) <= RIGID_TOLERANCE_F;
+
+        return orthonormal ? TransformType.RIGID : TransformType.AFFINE;
+    }
+
+    /**
+	 * Inverts a row-major 4x4 matrix with the algorithm for a declared transform
+	 * type. The declaration is checked first, which costs far less than the
+	 * general inverse: a matrix whose bottom row is not {@code 0, 0, 0, 1}, or
+	 * declared rigid without an orthonormal upper 3x3, is inverted by the
+	 * general path instead. The destination may alias the source and is left
+	 * untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param type       the declared transform type
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invert(float[] m, int mOffset, float[] dest, int destOffset,
+            TransformType type) {
+        boolean holds = switch (type) {
+        case RIGID -> classify(m, mOffset) == TransformType.RIGID;
+        case AFFINE -> isAffine(m, mOffset);
+        case GENERAL -> true;
+        };
+        return holds ? invertAs(m, mOffset, dest, destOffset, type)
+                : invert(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Whether the bottom row of a row-major 4x4 matrix is {@code 0, 0, 0, 1}.
+	 *
+	 * @param m       the matrix
+	 * @param mOffset the matrix offset
+	 * @return true, if the matrix is affine
+	 */
+    private static boolean isAffine(float[] m, int mOffset) {
+        return m[mOffset + 12] == 0 && m[mOffset + 13] == 0 && m[mOffset + 14] == 0
+                && m[mOffset + 15] == 1;
+    }
+
+    /**
+	 * Classifies a row-major 4x4 matrix and inverts it with the cheapest
+	 * algorithm for its type, see {@link #classify(float[], int)}. The destination
+	 * may alias the source and is left untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invertClassified(float[] m, int mOffset, float[] dest, int destOffset) {
+        return invertAs(m, mOffset, dest, destOffset, classify(m, mOffset));
+    }
+
+    /**
+	 * Inverts with the algorithm for a transform type the matrix is known to
+	 * have.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param type       the transform type
+	 * @return true, if the matrix was invertible
+	 */
+    private static boolean invertAs(float[] m, int mOffset, float[] dest, int destOffset,
+            TransformType type) {
+        return switch (type) {
+        case RIGID -> {
+            invertRigid(m, mOffset, dest, destOffset);
+            yield true;
+        }
+        case AFFINE -> invertAffine(m, mOffset, dest, destOffset);
+        case GENERAL -> invert(m, mOffset, dest, destOffset);
+        };
+    }
+
+    /**
+	 * Inverts an affine matrix (bottom row {@code 0, 0, 0, 1}) by inverting the
+	 * upper 3x3 and transforming the negated translation. The destination may
+	 * alias the source and is left untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invertAffine(float[] m, int mOffset, float[] dest, int destOffset) {
+        float m00 = m[mOffset], m01 = m[mOffset + 1];
+        float m02 = m[mOffset + 2], tx = m[mOffset + 3];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        float m12 = m[mOffset + 6], ty = m[mOffset + 7];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        float m22 = m[mOffset + 10], tz = m[mOffset + 11];
+
+        float c00 = m11 * m22 - m12 * m21;
+        float c01 = m12 * m20 - m10 * m22;
+        float c02 = m10 * m21 - m11 * m20;
+
+        float det = m00 * c00 + m01 * c01 + m02 * c02;
+        if (det == 0 || !Float.isFinite(det)) {
+            return false; // Not invertible
+        }
+        float invDet = 1 / det;
+
+        float i00 = c00 * invDet;
+        float i01 = (m02 * m21 - m01 * m22) * invDet;
+        float i02 = (m01 * m12 - m02 * m11) * invDet;
+        float i10 = c01 * invDet;
+        float i11 = (m00 * m22 - m02 * m20) * invDet;
+        float i12 = (m02 * m10 - m00 * m12) * invDet;
+        float i20 = c02 * invDet;
+        float i21 = (m01 * m20 - m00 * m21) * invDet;
+        float i22 = (m00 * m11 - m01 * m10) * invDet;
+
+        dest[destOffset] = i00;
+        dest[destOffset + 1] = i01;
+        dest[destOffset + 2] = i02;
+        dest[destOffset + 3] = -(i00 * tx + i01 * ty + i02 * tz);
+        dest[destOffset + 4] = i10;
+        dest[destOffset + 5] = i11;
+        dest[destOffset + 6] = i12;
+        dest[destOffset + 7] = -(i10 * tx + i11 * ty + i12 * tz);
+        dest[destOffset + 8] = i20;
+        dest[destOffset + 9] = i21;
+        dest[destOffset + 10] = i22;
+        dest[destOffset + 11] = -(i20 * tx + i21 * ty + i22 * tz);
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+        return true;
+    }
+
+    /**
+	 * Inverts a rigid transform (orthonormal rotation plus translation) by
+	 * transposing the rotation and rotating the negated translation. The
+	 * destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void invertRigid(float[] m, int mOffset, float[] dest, int destOffset) {
+        float m00 = m[mOffset], m01 = m[mOffset + 1];
+        float m02 = m[mOffset + 2], tx = m[mOffset + 3];
+        float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        float m12 = m[mOffset + 6], ty = m[mOffset + 7];
+        float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        float m22 = m[mOffset + 10], tz = m[mOffset + 11];
+
+        dest[destOffset] = m00;
+        dest[destOffset + 1] = m10;
+        dest[destOffset + 2] = m20;
+        dest[destOffset + 3] = -(m00 * tx + m10 * ty + m20 * tz);
+        dest[destOffset + 4] = m01;
+        dest[destOffset + 5] = m11;
+        dest[destOffset + 6] = m21;
+        dest[destOffset + 7] = -(m01 * tx + m11 * ty + m21 * tz);
+        dest[destOffset + 8] = m02;
+        dest[destOffset + 9] = m12;
+        dest[destOffset + 10] = m22;
+        dest[destOffset + 11] = -(m02 * tx + m12 * ty + m22 * tz);
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Classifies a row-major 4x4 matrix as rigid, affine or general.
+	 *
+	 * @param m       the matrix
+	 * @param mOffset the matrix offset
+	 * @return the transform type
+	 */
+    public static TransformType classify(double[] m, int mOffset) {
+        if (!isAffine(m, mOffset)) {
+            return TransformType.GENERAL;
+        }
+
+        double m00 = m[mOffset], m01 = m[mOffset + 1], m02 = m[mOffset + 2];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5], m12 = m[mOffset + 6];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9], m22 = m[mOffset + 10];
+
+        boolean orthonormal = Math.abs(m00 * m00 + m10 * m10 + m20 * m20 - 1) <= RIGID_TOLERANCE_D
+                && Math.abs(m01 * m01 + m11 * m11 + m21 * m21 - 1) <= RIGID_TOLERANCE_D
+                && Math.abs(m02 * m02 + m12 * m12 + m22 * m22 - 1) <= RIGID_TOLERANCE_D
+                && Math.abs(m00 * m01 + m10 * m11 + m20 * m21) <= RIGID_TOLERANCE_D
+                && Math.abs(m00 * m02 + m10 * m12 + m20 * m22) <= RIGID_TOLERANCE_D
+                && Math.abs(m01 * m02 + m11 * m12 + m21 * m22) <= RIGID_TOLERANCE_D;
+
+        return orthonormal ? TransformType.RIGID : TransformType.AFFINE;
+    }
+
+    /**
+	 * Inverts a row-major 4x4 matrix with the algorithm for a declared transform
+	 * type. The declaration is checked first, which costs far less than the
+	 * general inverse: a matrix whose bottom row is not {@code 0, 0, 0, 1}, or
+	 * declared rigid without an orthonormal upper 3x3, is inverted by the
+	 * general path instead. The destination may alias the source and is left
+	 * untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param type       the declared transform type
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invert(double[] m, int mOffset, double[] dest, int destOffset,
+            TransformType type) {
+        boolean holds = switch (type) {
+        case RIGID -> classify(m, mOffset) == TransformType.RIGID;
+        case AFFINE -> isAffine(m, mOffset);
+        case GENERAL -> true;
+        };
+        return holds ? invertAs(m, mOffset, dest, destOffset, type)
+                : invert(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Whether the bottom row of a row-major 4x4 matrix is {@code 0, 0, 0, 1}.
+	 *
+	 * @param m       the matrix
+	 * @param mOffset the matrix offset
+	 * @return true, if the matrix is affine
+	 */
+    private static boolean isAffine(double[] m, int mOffset) {
+        return m[mOffset + 12] == 0 && m[mOffset + 13] == 0 && m[mOffset + 14] == 0
+                && m[mOffset + 15] == 1;
+    }
+
+    /**
+	 * Classifies a row-major 4x4 matrix and inverts it with the cheapest
+	 * algorithm for its type, see {@link #classify(double[], int)}. The destination
+	 * may alias the source and is left untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invertClassified(double[] m, int mOffset, double[] dest,
+            int destOffset) {
+        return invertAs(m, mOffset, dest, destOffset, classify(m, mOffset));
+    }
+
+    /**
+	 * Inverts with the algorithm for a transform type the matrix is known to
+	 * have.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param type       the transform type
+	 * @return true, if the matrix was invertible
+	 */
+    private static boolean invertAs(double[] m, int mOffset, double[] dest, int destOffset,
+            TransformType type) {
+        return switch (type) {
+        case RIGID -> {
+            invertRigid(m, mOffset, dest, destOffset);
+            yield true;
+        }
+        case AFFINE -> invertAffine(m, mOffset, dest, destOffset);
+        case GENERAL -> invert(m, mOffset, dest, destOffset);
+        };
+    }
+
+    /**
+	 * Inverts an affine matrix (bottom row {@code 0, 0, 0, 1}) by inverting the
+	 * upper 3x3 and transforming the negated translation. The destination may
+	 * alias the source and is left untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invertAffine(double[] m, int mOffset, double[] dest, int destOffset) {
+        double m00 = m[mOffset], m01 = m[mOffset + 1];
+        double m02 = m[mOffset + 2], tx = m[mOffset + 3];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        double m12 = m[mOffset + 6], ty = m[mOffset + 7];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        double m22 = m[mOffset + 10], tz = m[mOffset + 11];
+
+        double c00 = m11 * m22 - m12 * m21;
+        double c01 = m12 * m20 - m10 * m22;
+        double c02 = m10 * m21 - m11 * m20;
+
+        double det = m00 * c00 + m01 * c01 + m02 * c02;
+        if (det == 0 || !Double.isFinite(det)) {
+            return false; // Not invertible
+        }
+        double invDet = 1 / det;
+
+        double i00 = c00 * invDet;
+        double i01 = (m02 * m21 - m01 * m22) * invDet;
+        double i02 = (m01 * m12 - m02 * m11) * invDet;
+        double i10 = c01 * invDet;
+        double i11 = (m00 * m22 - m02 * m20) * invDet;
+        double i12 = (m02 * m10 - m00 * m12) * invDet;
+        double i20 = c02 * invDet;
+        double i21 = (m01 * m20 - m00 * m21) * invDet;
+        double i22 = (m00 * m11 - m01 * m10) * invDet;
+
+        dest[destOffset] = i00;
+        dest[destOffset + 1] = i01;
+        dest[destOffset + 2] = i02;
+        dest[destOffset + 3] = -(i00 * tx + i01 * ty + i02 * tz);
+        dest[destOffset + 4] = i10;
+        dest[destOffset + 5] = i11;
+        dest[destOffset + 6] = i12;
+        dest[destOffset + 7] = -(i10 * tx + i11 * ty + i12 * tz);
+        dest[destOffset + 8] = i20;
+        dest[destOffset + 9] = i21;
+        dest[destOffset + 10] = i22;
+        dest[destOffset + 11] = -(i20 * tx + i21 * ty + i22 * tz);
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+        return true;
+    }
+
+    /**
+	 * Inverts a rigid transform (orthonormal rotation plus translation) by
+	 * transposing the rotation and rotating the negated translation. The
+	 * destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void invertRigid(double[] m, int mOffset, double[] dest, int destOffset) {
+        double m00 = m[mOffset], m01 = m[mOffset + 1];
+        double m02 = m[mOffset + 2], tx = m[mOffset + 3];
+        double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+        double m12 = m[mOffset + 6], ty = m[mOffset + 7];
+        double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+        double m22 = m[mOffset + 10], tz = m[mOffset + 11];
+
+        dest[destOffset] = m00;
+        dest[destOffset + 1] = m10;
+        dest[destOffset + 2] = m20;
+        dest[destOffset + 3] = -(m00 * tx + m10 * ty + m20 * tz);
+        dest[destOffset + 4] = m01;
+        dest[destOffset + 5] = m11;
+        dest[destOffset + 6] = m21;
+        dest[destOffset + 7] = -(m01 * tx + m11 * ty + m21 * tz);
+        dest[destOffset + 8] = m02;
+        dest[destOffset + 9] = m12;
+        dest[destOffset + 10] = m22;
+        dest[destOffset + 11] = -(m02 * tx + m12 * ty + m22 * tz);
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Composef, the TRS matrix {@code T(t) * Rx(rx) * Ry(ry) * Rz(rz) * S(s)} built
+	 * in one pass. Equal to
+	 * {@code translation(t).rotateX(rx).rotateY(ry).rotateZ(rz).scale(s)}.
+	 *
+	 * @param tx the translation x
+	 * @param ty the translation y
+	 * @param tz the translation z
+	 * @param rx the rotation about X in radians
+	 * @param ry the rotation about Y in radians
+	 * @param rz the rotation about Z in radians
+	 * @param sx the scale x
+	 * @param sy the scale y
+	 * @param sz the scale z
+	 * @return the matrix 4 f
+	 */
+    public static Matrix4f composef(float tx, float ty, float tz, float rx, float ry, float rz,
+            float sx, float sy, float sz) {
+        float[] result = new float[16];
+        compose(tx, ty, tz, rx, ry, rz, sx, sy, sz, result, 0);
+        return new Matrix4f(result);
+    }
+
+    /**
+	 * Writes the TRS matrix {@code T(t) * Rx(rx) * Ry(ry) * Rz(rz) * S(s)} in one
+	 * pass, with no intermediate matrices.
+	 *
+	 * @param tx         the translation x
+	 * @param ty         the translation y
+	 * @param tz         the translation z
+	 * @param rx         the rotation about X in radians
+	 * @param ry         the rotation about Y in radians
+	 * @param rz         the rotation about Z in radians
+	 * @param sx         the scale x
+	 * @param sy         the scale y
+	 * @param sz         the scale z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void compose(float tx, float ty, float tz, float rx, float ry, float rz,
+            float sx, float sy, float sz, float[] dest, int destOffset) {
+        float cx = (float) Math.cos(rx), sinX = (float) Math.sin(rx);
+        float cy = (float) Math.cos(ry), sinY = (float) Math.sin(ry);
+        float cz = (float) Math.cos(rz), sinZ = (float) Math.sin(rz);
+
+        dest[destOffset] = cy * cz * sx;
+        dest[destOffset + 1] = -cy * sinZ * sy;
+        dest[destOffset + 2] = sinY * sz;
+        dest[destOffset + 3] = tx;
+        dest[destOffset + 4] = (sinX * sinY * cz + cx * sinZ) * sx;
+        dest[destOffset + 5] = (cx * cz - sinX * sinY * sinZ) * sy;
+        dest[destOffset + 6] = -sinX * cy * sz;
+        dest[destOffset + 7] = ty;
+        dest[destOffset + 8] = (sinX * sinZ - cx * sinY * cz) * sx;
+        dest[destOffset + 9] = (cx * sinY * sinZ + sinX * cz) * sy;
+        dest[destOffset + 10] = cx * cy * sz;
+        dest[destOffset + 11] = tz;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Writes the TRS matrix {@code T(t) * R * S(s)} in one pass, where {@code R}
+	 * is a row-major 3x3 rotation, the layout of {@code Matrix3f} and
+	 * {@code Matrix3d}.
+	 *
+	 * @param tx             the translation x
+	 * @param ty             the translation y
+	 * @param tz             the translation z
+	 * @param rotation       the 3x3 rotation
+	 * @param rotationOffset the rotation offset
+	 * @param sx             the scale x
+	 * @param sy             the scale y
+	 * @param sz             the scale z
+	 * @param dest           the destination
+	 * @param destOffset     the destination offset
+	 */
+    public static void compose(float tx, float ty, float tz, float[] rotation, int rotationOffset,
+            float sx, float sy, float sz, float[] dest, int destOffset) {
+        for (int i = 0; i < 3; i++) {
+            int r = rotationOffset + i * 3;
+            int d = destOffset + i * 4;
+            dest[d] = rotation[r] * sx;
+            dest[d + 1] = rotation[r + 1] * sy;
+            dest[d + 2] = rotation[r + 2] * sz;
+        }
+        dest[destOffset + 3] = tx;
+        dest[destOffset + 7] = ty;
+        dest[destOffset + 11] = tz;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Composed, the TRS matrix {@code T(t) * Rx(rx) * Ry(ry) * Rz(rz) * S(s)} built
+	 * in one pass. Equal to
+	 * {@code translation(t).rotateX(rx).rotateY(ry).rotateZ(rz).scale(s)}.
+	 *
+	 * @param tx the translation x
+	 * @param ty the translation y
+	 * @param tz the translation z
+	 * @param rx the rotation about X in radians
+	 * @param ry the rotation about Y in radians
+	 * @param rz the rotation about Z in radians
+	 * @param sx the scale x
+	 * @param sy the scale y
+	 * @param sz the scale z
+	 * @return the matrix 4 d
+	 */
+    public static Matrix4d composed(double tx, double ty, double tz, double rx, double ry,
+            double rz, double sx, double sy, double sz) {
+        double[] result = new double[16];
+        compose(tx, ty, tz, rx, ry, rz, sx, sy, sz, result, 0);
+        return new Matrix4d(result);
+    }
+
+    /**
+	 * Writes the TRS matrix {@code T(t) * Rx(rx) * Ry(ry) * Rz(rz) * S(s)} in one
+	 * pass, with no intermediate matrices.
+	 *
+	 * @param tx         the translation x
+	 * @param ty         the translation y
+	 * @param tz         the translation z
+	 * @param rx         the rotation about X in radians
+	 * @param ry         the rotation about Y in radians
+	 * @param rz         the rotation about Z in radians
+	 * @param sx         the scale x
+	 * @param sy         the scale y
+	 * @param sz         the scale z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void compose(double tx, double ty, double tz, double rx, double ry, double rz,
+            double sx, double sy, double sz, double[] dest, int destOffset) {
+        double cx = Math.cos(rx), sinX = Math.sin(rx);
+        double cy = Math.cos(ry), sinY = Math.sin(ry);
+        double cz = Math.cos(rz), sinZ = Math.sin(rz);
+
+        dest[destOffset] = cy * cz * sx;
+        dest[destOffset + 1] = -cy * sinZ * sy;
+        dest[destOffset + 2] = sinY * sz;
+        dest[destOffset + 3] = tx;
+        dest[destOffset + 4] = (sinX * sinY * cz + cx * sinZ) * sx;
+        dest[destOffset + 5] = (cx * cz - sinX * sinY * sinZ) * sy;
+        dest[destOffset + 6] = -sinX * cy * sz;
+        dest[destOffset + 7] = ty;
+        dest[destOffset + 8] = (sinX * sinZ - cx * sinY * cz) * sx;
+        dest[destOffset + 9] = (cx * sinY * sinZ + sinX * cz) * sy;
+        dest[destOffset + 10] = cx * cy * sz;
+        dest[destOffset + 11] = tz;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Writes the TRS matrix {@code T(t) * R * S(s)} in one pass, where {@code R}
+	 * is a row-major 3x3 rotation, the layout of {@code Matrix3f} and
+	 * {@code Matrix3d}.
+	 *
+	 * @param tx             the translation x
+	 * @param ty             the translation y
+	 * @param tz             the translation z
+	 * @param rotation       the 3x3 rotation
+	 * @param rotationOffset the rotation offset
+	 * @param sx             the scale x
+	 * @param sy             the scale y
+	 * @param sz             the scale z
+	 * @param dest           the destination
+	 * @param destOffset     the destination offset
+	 */
+    public static void compose(double tx, double ty, double tz, double[] rotation,
+            int rotationOffset, double sx, double sy, double sz, double[] dest, int destOffset) {
+        for (int i = 0; i < 3; i++) {
+            int r = rotationOffset + i * 3;
+            int d = destOffset + i * 4;
+            dest[d] = rotation[r] * sx;
+            dest[d + 1] = rotation[r + 1] * sy;
+            dest[d + 2] = rotation[r + 2] * sz;
+        }
+        dest[destOffset + 3] = tx;
+        dest[destOffset + 7] = ty;
+        dest[destOffset + 11] = tz;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Transposes a row-major 4x4 float matrix into a destination array, which may
+	 * alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transpose(float[] m, int mOffset, float[] dest, int destOffset) {
+        Matrix4Kernels.INSTANCE.transpose(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Transposes a row-major 4x4 double matrix into a destination array, which
+	 * may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transpose(double[] m, int mOffset, double[] dest, int destOffset) {
+        Matrix4Kernels.INSTANCE.transpose(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Transposef.
+	 *
+	 * @param m the m
+	 * @return the matrix 4 f
+	 */
+    public static Matrix4f transposef(Matrix4 m) {
+        float[] result = load(m, new float[16]);
+        transpose(result, 0, result, 0);
+        return new Matrix4f(result);
+    }
+
+    /**
+	 * Transposed.
+	 *
+	 * @param m the m
+	 * @return the matrix 4 d
+	 */
+    public static Matrix4d transposed(Matrix4 m) {
+        double[] result = load(m, new double[16]);
+        transpose(result, 0, result, 0);
+        return new Matrix4d(result);
+    }
+
+    /**
+	 * Transforms a 4 component column vector by a row-major 4x4 float matrix,
+	 * {@code dest = m * v}. The destination may alias the vector.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param v          the vector
+	 * @param vOffset    the vector offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transform(float[] m, int mOffset, float[] v, int vOffset, float[] dest,
+            int destOffset) {
+        Matrix4Kernels.INSTANCE.transform(m, mOffset, v, vOffset, dest, destOffset);
+    }
+
+    /**
+	 * Transforms a 4 component column vector by a row-major 4x4 double matrix,
+	 * {@code dest = m * v}. The destination may alias the vector.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param v          the vector
+	 * @param vOffset    the vector offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transform(double[] m, int mOffset, double[] v, int vOffset, double[] dest,
+            int destOffset) {
+        Matrix4Kernels.INSTANCE.transform(m, mOffset, v, vOffset, dest, destOffset);
+    }
+
+    /**
+	 * Perspectivef.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @param near   the near plane distance
+	 * @param far    the far plane distance
+	 * @return the matrix 4 f
+	 */
+    public static Matrix4f perspectivef(float fovY, float aspect, float near, float far) {
+        float[] result = new float[16];
+        perspective(fovY, aspect, near, far, result, 0, null, 0);
+        return new Matrix4f(result);
+    }
+
+    /**
+	 * Writes a right-handed perspective projection that maps view space depth
+	 * {@code [-near, -far]} to clip space depth {@code [-1, 1]}, together
+	 * with its closed-form inverse.
+	 *
+	 * @param fovY          the vertical field of view in radians
+	 * @param aspect        the width to height ratio
+	 * @param near          the near plane distance
+	 * @param far           the far plane distance
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void perspective(float fovY, float aspect, float near, float far, float[] dest,
+            int destOffset, float[] inverse, int inverseOffset) {
+        checkDepthRange(near, far);
+        float f = focalLength(fovY, aspect);
+        float range = near - far;
+        projection(f / aspect, f, (far + near) / range, 2 * far * near / range, dest, destOffset,
+                inverse, inverseOffset);
+    }
+
+    /**
+	 * Perspective infinitef.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @param near   the near plane distance
+	 * @return the matrix 4 f
+	 */
+    public static Matrix4f perspectiveInfinitef(float fovY, float aspect, float near) {
+        float[] result = new float[16];
+        perspectiveInfinite(fovY, aspect, near, result, 0, null, 0);
+        return new Matrix4f(result);
+    }
+
+    /**
+	 * Writes a right-handed perspective projection with the far plane at
+	 * infinity, the limit of
+	 * {@link #perspective(float, float, float, float, float[], int, float[], int)}
+	 * as {@code far} grows, together with its closed-form inverse.
+	 *
+	 * @param fovY          the vertical field of view in radians
+	 * @param aspect        the width to height ratio
+	 * @param near          the near plane distance
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void perspectiveInfinite(float fovY, float aspect, float near, float[] dest,
+            int destOffset, float[] inverse, int inverseOffset) {
+        checkDepthRange(near, Float.POSITIVE_INFINITY);
+        float f = focalLength(fovY, aspect);
+        projection(f / aspect, f, -1, -2 * near, dest, destOffset, inverse, inverseOffset);
+    }
+
+    /**
+	 * Perspective reverse Zf.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @param near   the near plane distance
+	 * @param far    the far plane distance, possibly infinite
+	 * @return the matrix 4 f
+	 */
+    public static Matrix4f perspectiveReverseZf(float fovY, float aspect, float near, float far) {
+        float[] result = new float[16];
+        perspectiveReverseZ(fovY, aspect, near, far, result, 0, null, 0);
+        return new Matrix4f(result);
+    }
+
+    /**
+	 * Writes a right-handed reverse-Z perspective projection that maps view
+	 * space depth {@code [-near, -far]} to clip space depth {@code [1, 0]},
+	 * together with its closed-form inverse. Reversing the depth range spreads
+	 * floating point depth precision evenly over distance. An infinite
+	 * {@code far} gives the infinite reverse-Z projection.
+	 *
+	 * @param fovY          the vertical field of view in radians
+	 * @param aspect        the width to height ratio
+	 * @param near          the near plane distance
+	 * @param far           the far plane distance, possibly infinite
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void perspectiveReverseZ(float fovY, float aspect, float near, float far,
+            float[] dest, int destOffset, float[] inverse, int inverseOffset) {
+        checkDepthRange(near, far);
+        float f = focalLength(fovY, aspect);
+        if (Float.isInfinite(far)) {
+            projection(f / aspect, f, 0, near, dest, destOffset, inverse, inverseOffset);
+        } else {
+            float range = far - near;
+            projection(f / aspect, f, near / range, far * near / range, dest, destOffset, inverse,
+                    inverseOffset);
+        }
+    }
+
+    /**
+	 * Orthographicf.
+	 *
+	 * @param left   the left plane
+	 * @param right  the right plane
+	 * @param bottom the bottom plane
+	 * @param top    the top plane
+	 * @param near   the near plane distance
+	 * @param far    the far plane distance
+	 * @return the matrix 4 f
+	 */
+    public static Matrix4f orthographicf(float left, float right, float bottom, float top,
+            float near, float far) {
+        float[] result = new float[16];
+        orthographic(left, right, bottom, top, near, far, result, 0, null, 0);
+        return new Matrix4f(result);
+    }
+
+    /**
+	 * Writes a right-handed orthographic projection that maps the view box to
+	 * the clip space cube {@code [-1, 1]}, together with its closed-form
+	 * inverse.
+	 *
+	 * @param left          the left plane
+	 * @param right         the right plane
+	 * @param bottom        the bottom plane
+	 * @param top           the top plane
+	 * @param near          the near plane distance
+	 * @param far           the far plane distance
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void orthographic(float left, float right, float bottom, float top, float near,
+            float far, float[] dest, int destOffset, float[] inverse, int inverseOffset) {
+        if (left == right || bottom == top || near == far) {
+            throw new IllegalArgumentException("Degenerate orthographic volume");
+        }
+
+        float w = right - left, h = top - bottom, d = far - near;
+        dest[destOffset] = 2 / w;
+        dest[destOffset + 1] = 0;
+        dest[destOffset + 2] = 0;
+        dest[destOffset + 3] = -(right + left) / w;
+        dest[destOffset + 4] = 0;
+        dest[destOffset + 5] = 2 / h;
+        dest[destOffset + 6] = 0;
+        dest[destOffset + 7] = -(top + bottom) / h;
+        dest[destOffset + 8] = 0;
+        dest[destOffset + 9] = 0;
+        dest[destOffset + 10] = -2 / d;
+        dest[destOffset + 11] = -(far + near) / d;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+
+        if (inverse != null) {
+            inverse[inverseOffset] = w / 2;
+            inverse[inverseOffset + 1] = 0;
+            inverse[inverseOffset + 2] = 0;
+            inverse[inverseOffset + 3] = (right + left) / 2;
+            inverse[inverseOffset + 4] = 0;
+            inverse[inverseOffset + 5] = h / 2;
+            inverse[inverseOffset + 6] = 0;
+            inverse[inverseOffset + 7] = (top + bottom) / 2;
+            inverse[inverseOffset + 8] = 0;
+            inverse[inverseOffset + 9] = 0;
+            inverse[inverseOffset + 10] = -d / 2;
+            inverse[inverseOffset + 11] = -(far + near) / 2;
+            inverse[inverseOffset + 12] = 0;
+            inverse[inverseOffset + 13] = 0;
+            inverse[inverseOffset + 14] = 0;
+            inverse[inverseOffset + 15] = 1;
+        }
+    }
+
+    /**
+	 * Look atf.
+	 *
+	 * @param eye    the eye position
+	 * @param center the point looked at
+	 * @param up     the up direction
+	 * @return the matrix 4 f
+	 */
+    public static Matrix4f lookAtf(Vector3D eye, Vector3D center, Vector3D up) {
+        float[] result = new float[16];
+        lookAt((float) eye.xd(), (float) eye.yd(), (float) eye.zd(),
+                (float) center.xd(), (float) center.yd(), (float) center.zd(),
+                (float) up.xd(), (float) up.yd(), (float) up.zd(), result, 0, null, 0);
+        return new Matrix4f(result);
+    }
+
+    /**
+	 * Writes the right-handed view matrix of a camera at {@code eye} looking at
+	 * {@code center}, together with its inverse, the camera to world transform.
+	 * The view matrix is rigid, so the inverse is its transpose with the
+	 * translation moved back to {@code eye}.
+	 *
+	 * @param eyeX          the eye x
+	 * @param eyeY          the eye y
+	 * @param eyeZ          the eye z
+	 * @param centerX       the center x
+	 * @param centerY       the center y
+	 * @param centerZ       the center z
+	 * @param upX           the up x
+	 * @param upY           the up y
+	 * @param upZ           the up z
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void lookAt(float eyeX, float eyeY, float eyeZ, float centerX, float centerY,
+            float centerZ, float upX, float upY, float upZ, float[] dest, int destOffset,
+            float[] inverse, int inverseOffset) {
+        float fx = centerX - eyeX, fy = centerY - eyeY, fz = centerZ - eyeZ;
+        float len = (float) Math.sqrt(fx * fx + fy * fy + fz * fz);
+        if (len == 0) {
+            throw new ArithmeticException("Eye and center coincide");
+        }
+        fx /= len;
+        fy /= len;
+        fz /= len;
+
+        // s = f x up
+        float sx = fy * upZ - fz * upY, sy = fz * upX - fx * upZ, sz = fx * upY - fy * upX;
+        len = (float) Math.sqrt(sx * sx + sy * sy + sz * sz);
+        if (len == 0) {
+            throw new ArithmeticException("Up is parallel to the view direction");
+        }
+        sx /= len;
+        sy /= len;
+        sz /= len;
+
+        // u = s x f
+        float ux = sy * fz - sz * fy, uy = sz * fx - sx * fz, uz = sx * fy - sy * fx;
+
+        dest[destOffset] = sx;
+        dest[destOffset + 1] = sy;
+        dest[destOffset + 2] = sz;
+        dest[destOffset + 3] = -(sx * eyeX + sy * eyeY + sz * eyeZ);
+        dest[destOffset + 4] = ux;
+        dest[destOffset + 5] = uy;
+        dest[destOffset + 6] = uz;
+        dest[destOffset + 7] = -(ux * eyeX + uy * eyeY + uz * eyeZ);
+        dest[destOffset + 8] = -fx;
+        dest[destOffset + 9] = -fy;
+        dest[destOffset + 10] = -fz;
+        dest[destOffset + 11] = fx * eyeX + fy * eyeY + fz * eyeZ;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+
+        if (inverse != null) {
+            inverse[inverseOffset] = sx;
+            inverse[inverseOffset + 1] = ux;
+            inverse[inverseOffset + 2] = -fx;
+            inverse[inverseOffset + 3] = eyeX;
+            inverse[inverseOffset + 4] = sy;
+            inverse[inverseOffset + 5] = uy;
+            inverse[inverseOffset + 6] = -fy;
+            inverse[inverseOffset + 7] = eyeY;
+            inverse[inverseOffset + 8] = sz;
+            inverse[inverseOffset + 9] = uz;
+            inverse[inverseOffset + 10] = -fz;
+            inverse[inverseOffset + 11] = eyeZ;
+            inverse[inverseOffset + 12] = 0;
+            inverse[inverseOffset + 13] = 0;
+            inverse[inverseOffset + 14] = 0;
+            inverse[inverseOffset + 15] = 1;
+        }
+    }
+
+    /**
+	 * Checks the focal length of a perspective projection.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @return the focal length, {@code 1 / tan(fovY / 2)}
+	 */
+    private static float focalLength(float fovY, float aspect) {
+        if (!(fovY > 0 && fovY < Math.PI) || !(aspect > 0)) {
+            throw new IllegalArgumentException("Invalid field of view or aspect: " + fovY
+                    + ", " + aspect);
+        }
+        return (float) (1 / Math.tan(fovY * 0.5));
+    }
+
+    /**
+	 * Checks the depth range of a perspective projection.
+	 *
+	 * @param near the near plane distance
+	 * @param far  the far plane distance
+	 */
+    private static void checkDepthRange(float near, float far) {
+        if (!(near > 0) || !(far > near)) {
+            throw new IllegalArgumentException("Invalid depth range: " + near + ", " + far);
+        }
+    }
+
+    /**
+	 * Writes a perspective projection with the given diagonal and depth terms,
+	 * and its inverse. The depth rows {@code [a b; -1 0]} invert to
+	 * {@code [0 -1; 1/b a/b]}.
+	 *
+	 * @param sx            the x scale
+	 * @param sy            the y scale
+	 * @param a             the depth scale
+	 * @param b             the depth offset
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    private static void projection(float sx, float sy, float a, float b, float[] dest,
+            int destOffset, float[] inverse, int inverseOffset) {
+        dest[destOffset] = sx;
+        dest[destOffset + 1] = 0;
+        dest[destOffset + 2] = 0;
+        dest[destOffset + 3] = 0;
+        dest[destOffset + 4] = 0;
+        dest[destOffset + 5] = sy;
+        dest[destOffset + 6] = 0;
+        dest[destOffset + 7] = 0;
+        dest[destOffset + 8] = 0;
+        dest[destOffset + 9] = 0;
+        dest[destOffset + 10] = a;
+        dest[destOffset + 11] = b;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = -1;
+        dest[destOffset + 15] = 0;
+
+        if (inverse != null) {
+            inverse[inverseOffset] = 1 / sx;
+            inverse[inverseOffset + 1] = 0;
+            inverse[inverseOffset + 2] = 0;
+            inverse[inverseOffset + 3] = 0;
+            inverse[inverseOffset + 4] = 0;
+            inverse[inverseOffset + 5] = 1 / sy;
+            inverse[inverseOffset + 6] = 0;
+            inverse[inverseOffset + 7] = 0;
+            inverse[inverseOffset + 8] = 0;
+            inverse[inverseOffset + 9] = 0;
+            inverse[inverseOffset + 10] = 0;
+            inverse[inverseOffset + 11] = -1;
+            inverse[inverseOffset + 12] = 0;
+            inverse[inverseOffset + 13] = 0;
+            inverse[inverseOffset + 14] = 1 / b;
+            inverse[inverseOffset + 15] = a / b;
+        }
+    }
+
+    /**
+	 * Perspectived.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @param near   the near plane distance
+	 * @param far    the far plane distance
+	 * @return the matrix 4 d
+	 */
+    public static Matrix4d perspectived(double fovY, double aspect, double near, double far) {
+        double[] result = new double[16];
+        perspective(fovY, aspect, near, far, result, 0, null, 0);
+        return new Matrix4d(result);
+    }
+
+    /**
+	 * Writes a right-handed perspective projection that maps view space depth
+	 * {@code [-near, -far]} to clip space depth {@code [-1, 1]}, together
+	 * with its closed-form inverse.
+	 *
+	 * @param fovY          the vertical field of view in radians
+	 * @param aspect        the width to height ratio
+	 * @param near          the near plane distance
+	 * @param far           the far plane distance
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void perspective(double fovY, double aspect, double near, double far,
+            double[] dest, int destOffset, double[] inverse, int inverseOffset) {
+        checkDepthRange(near, far);
+        double f = focalLength(fovY, aspect);
+        double range = near - far;
+        projection(f / aspect, f, (far + near) / range, 2 * far * near / range, dest, destOffset,
+                inverse, inverseOffset);
+    }
+
+    /**
+	 * Perspective infinited.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @param near   the near plane distance
+	 * @return the matrix 4 d
+	 */
+    public static Matrix4d perspectiveInfinited(double fovY, double aspect, double near) {
+        double[] result = new double[16];
+        perspectiveInfinite(fovY, aspect, near, result, 0, null, 0);
+        return new Matrix4d(result);
+    }
+
+    /**
+	 * Writes a right-handed perspective projection with the far plane at
+	 * infinity, the limit of
+	 * {@link #perspective(double, double, double, double, double[], int, double[], int)}
+	 * as {@code far} grows, together with its closed-form inverse.
+	 *
+	 * @param fovY          the vertical field of view in radians
+	 * @param aspect        the width to height ratio
+	 * @param near          the near plane distance
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void perspectiveInfinite(double fovY, double aspect, double near, double[] dest,
+            int destOffset, double[] inverse, int inverseOffset) {
+        checkDepthRange(near, Double.POSITIVE_INFINITY);
+        double f = focalLength(fovY, aspect);
+        projection(f / aspect, f, -1, -2 * near, dest, destOffset, inverse, inverseOffset);
+    }
+
+    /**
+	 * Perspective reverse Zd.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @param near   the near plane distance
+	 * @param far    the far plane distance, possibly infinite
+	 * @return the matrix 4 d
+	 */
+    public static Matrix4d perspectiveReverseZd(double fovY, double aspect, double near,
+            double far) {
+        double[] result = new double[16];
+        perspectiveReverseZ(fovY, aspect, near, far, result, 0, null, 0);
+        return new Matrix4d(result);
+    }
+
+    /**
+	 * Writes a right-handed reverse-Z perspective projection that maps view
+	 * space depth {@code [-near, -far]} to clip space depth {@code [1, 0]},
+	 * together with its closed-form inverse. Reversing the depth range spreads
+	 * floating point depth precision evenly over distance. An infinite
+	 * {@code far} gives the infinite reverse-Z projection.
+	 *
+	 * @param fovY          the vertical field of view in radians
+	 * @param aspect        the width to height ratio
+	 * @param near          the near plane distance
+	 * @param far           the far plane distance, possibly infinite
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void perspectiveReverseZ(double fovY, double aspect, double near, double far,
+            double[] dest, int destOffset, double[] inverse, int inverseOffset) {
+        checkDepthRange(near, far);
+        double f = focalLength(fovY, aspect);
+        if (Double.isInfinite(far)) {
+            projection(f / aspect, f, 0, near, dest, destOffset, inverse, inverseOffset);
+        } else {
+            double range = far - near;
+            projection(f / aspect, f, near / range, far * near / range, dest, destOffset, inverse,
+                    inverseOffset);
+        }
+    }
+
+    /**
+	 * Orthographicd.
+	 *
+	 * @param left   the left plane
+	 * @param right  the right plane
+	 * @param bottom the bottom plane
+	 * @param top    the top plane
+	 * @param near   the near plane distance
+	 * @param far    the far plane distance
+	 * @return the matrix 4 d
+	 */
+    public static Matrix4d orthographicd(double left, double right, double bottom, double top,
+            double near, double far) {
+        double[] result = new double[16];
+        orthographic(left, right, bottom, top, near, far, result, 0, null, 0);
+        return new Matrix4d(result);
+    }
+
+    /**
+	 * Writes a right-handed orthographic projection that maps the view box to
+	 * the clip space cube {@code [-1, 1]}, together with its closed-form
+	 * inverse.
+	 *
+	 * @param left          the left plane
+	 * @param right         the right plane
+	 * @param bottom        the bottom plane
+	 * @param top           the top plane
+	 * @param near          the near plane distance
+	 * @param far           the far plane distance
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void orthographic(double left, double right, double bottom, double top,
+            double near, double far, double[] dest, int destOffset, double[] inverse,
+            int inverseOffset) {
+        if (left == right || bottom == top || near == far) {
+            throw new IllegalArgumentException("Degenerate orthographic volume");
+        }
+
+        double w = right - left, h = top - bottom, d = far - near;
+        dest[destOffset] = 2 / w;
+        dest[destOffset + 1] = 0;
+        dest[destOffset + 2] = 0;
+        dest[destOffset + 3] = -(right + left) / w;
+        dest[destOffset + 4] = 0;
+        dest[destOffset + 5] = 2 / h;
+        dest[destOffset + 6] = 0;
+        dest[destOffset + 7] = -(top + bottom) / h;
+        dest[destOffset + 8] = 0;
+        dest[destOffset + 9] = 0;
+        dest[destOffset + 10] = -2 / d;
+        dest[destOffset + 11] = -(far + near) / d;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+
+        if (inverse != null) {
+            inverse[inverseOffset] = w / 2;
+            inverse[inverseOffset + 1] = 0;
+            inverse[inverseOffset + 2] = 0;
+            inverse[inverseOffset + 3] = (right + left) / 2;
+            inverse[inverseOffset + 4] = 0;
+            inverse[inverseOffset + 5] = h / 2;
+            inverse[inverseOffset + 6] = 0;
+            inverse[inverseOffset + 7] = (top + bottom) / 2;
+            inverse[inverseOffset + 8] = 0;
+            inverse[inverseOffset + 9] = 0;
+            inverse[inverseOffset + 10] = -d / 2;
+            inverse[inverseOffset + 11] = -(far + near) / 2;
+            inverse[inverseOffset + 12] = 0;
+            inverse[inverseOffset + 13] = 0;
+            inverse[inverseOffset + 14] = 0;
+            inverse[inverseOffset + 15] = 1;
+        }
+    }
+
+    /**
+	 * Look atd.
+	 *
+	 * @param eye    the eye position
+	 * @param center the point looked at
+	 * @param up     the up direction
+	 * @return the matrix 4 d
+	 */
+    public static Matrix4d lookAtd(Vector3D eye, Vector3D center, Vector3D up) {
+        double[] result = new double[16];
+        lookAt(eye.xd(), eye.yd(), eye.zd(), center.xd(), center.yd(), center.zd(), up.xd(),
+                up.yd(), up.zd(), result, 0, null, 0);
+        return new Matrix4d(result);
+    }
+
+    /**
+	 * Writes the right-handed view matrix of a camera at {@code eye} looking at
+	 * {@code center}, together with its inverse, the camera to world transform.
+	 * The view matrix is rigid, so the inverse is its transpose with the
+	 * translation moved back to {@code eye}.
+	 *
+	 * @param eyeX          the eye x
+	 * @param eyeY          the eye y
+	 * @param eyeZ          the eye z
+	 * @param centerX       the center x
+	 * @param centerY       the center y
+	 * @param centerZ       the center z
+	 * @param upX           the up x
+	 * @param upY           the up y
+	 * @param upZ           the up z
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    public static void lookAt(double eyeX, double eyeY, double eyeZ, double centerX,
+            double centerY, double centerZ, double upX, double upY, double upZ, double[] dest,
+            int destOffset, double[] inverse, int inverseOffset) {
+        double fx = centerX - eyeX, fy = centerY - eyeY, fz = centerZ - eyeZ;
+        double len = Math.sqrt(fx * fx + fy * fy + fz * fz);
+        if (len == 0) {
+            throw new ArithmeticException("Eye and center coincide");
+        }
+        fx /= len;
+        fy /= len;
+        fz /= len;
+
+        // s = f x up
+        double sx = fy * upZ - fz * upY, sy = fz * upX - fx * upZ, sz = fx * upY - fy * upX;
+        len = Math.sqrt(sx * sx + sy * sy + sz * sz);
+        if (len == 0) {
+            throw new ArithmeticException("Up is parallel to the view direction");
+        }
+        sx /= len;
+        sy /= len;
+        sz /= len;
+
+        // u = s x f
+        double ux = sy * fz - sz * fy, uy = sz * fx - sx * fz, uz = sx * fy - sy * fx;
+
+        dest[destOffset] = sx;
+        dest[destOffset + 1] = sy;
+        dest[destOffset + 2] = sz;
+        dest[destOffset + 3] = -(sx * eyeX + sy * eyeY + sz * eyeZ);
+        dest[destOffset + 4] = ux;
+        dest[destOffset + 5] = uy;
+        dest[destOffset + 6] = uz;
+        dest[destOffset + 7] = -(ux * eyeX + uy * eyeY + uz * eyeZ);
+        dest[destOffset + 8] = -fx;
+        dest[destOffset + 9] = -fy;
+        dest[destOffset + 10] = -fz;
+        dest[destOffset + 11] = fx * eyeX + fy * eyeY + fz * eyeZ;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+
+        if (inverse != null) {
+            inverse[inverseOffset] = sx;
+            inverse[inverseOffset + 1] = ux;
+            inverse[inverseOffset + 2] = -fx;
+            inverse[inverseOffset + 3] = eyeX;
+            inverse[inverseOffset + 4] = sy;
+            inverse[inverseOffset + 5] = uy;
+            inverse[inverseOffset + 6] = -fy;
+            inverse[inverseOffset + 7] = eyeY;
+            inverse[inverseOffset + 8] = sz;
+            inverse[inverseOffset + 9] = uz;
+            inverse[inverseOffset + 10] = -fz;
+            inverse[inverseOffset + 11] = eyeZ;
+            inverse[inverseOffset + 12] = 0;
+            inverse[inverseOffset + 13] = 0;
+            inverse[inverseOffset + 14] = 0;
+            inverse[inverseOffset + 15] = 1;
+        }
+    }
+
+    /**
+	 * Checks the focal length of a perspective projection.
+	 *
+	 * @param fovY   the vertical field of view in radians
+	 * @param aspect the width to height ratio
+	 * @return the focal length, {@code 1 / tan(fovY / 2)}
+	 */
+    private static double focalLength(double fovY, double aspect) {
+        if (!(fovY > 0 && fovY < Math.PI) || !(aspect > 0)) {
+            throw new IllegalArgumentException("Invalid field of view or aspect: " + fovY
+                    + ", " + aspect);
+        }
+        return (1 / Math.tan(fovY * 0.5));
+    }
+
+    /**
+	 * Checks the depth range of a perspective projection.
+	 *
+	 * @param near the near plane distance
+	 * @param far  the far plane distance
+	 */
+    private static void checkDepthRange(double near, double far) {
+        if (!(near > 0) || !(far > near)) {
+            throw new IllegalArgumentException("Invalid depth range: " + near + ", " + far);
+        }
+    }
+
+    /**
+	 * Writes a perspective projection with the given diagonal and depth terms,
+	 * and its inverse. The depth rows {@code [a b; -1 0]} invert to
+	 * {@code [0 -1; 1/b a/b]}.
+	 *
+	 * @param sx            the x scale
+	 * @param sy            the y scale
+	 * @param a             the depth scale
+	 * @param b             the depth offset
+	 * @param dest          the destination
+	 * @param destOffset    the destination offset
+	 * @param inverse       the inverse destination, or null
+	 * @param inverseOffset the inverse destination offset
+	 */
+    private static void projection(double sx, double sy, double a, double b, double[] dest,
+            int destOffset, double[] inverse, int inverseOffset) {
+        dest[destOffset] = sx;
+        dest[destOffset + 1] = 0;
+        dest[destOffset + 2] = 0;
+        dest[destOffset + 3] = 0;
+        dest[destOffset + 4] = 0;
+        dest[destOffset + 5] = sy;
+        dest[destOffset + 6] = 0;
+        dest[destOffset + 7] = 0;
+        dest[destOffset + 8] = 0;
+        dest[destOffset + 9] = 0;
+        dest[destOffset + 10] = a;
+        dest[destOffset + 11] = b;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = -1;
+        dest[destOffset + 15] = 0;
+
+        if (inverse != null) {
+            inverse[inverseOffset] = 1 / sx;
+            inverse[inverseOffset + 1] = 0;
+            inverse[inverseOffset + 2] = 0;
+            inverse[inverseOffset + 3] = 0;
+            inverse[inverseOffset + 4] = 0;
+            inverse[inverseOffset + 5] = 1 / sy;
+            inverse[inverseOffset + 6] = 0;
+            inverse[inverseOffset + 7] = 0;
+            inverse[inverseOffset + 8] = 0;
+            inverse[inverseOffset + 9] = 0;
+            inverse[inverseOffset + 10] = 0;
+            inverse[inverseOffset + 11] = -1;
+            inverse[inverseOffset + 12] = 0;
+            inverse[inverseOffset + 13] = 0;
+            inverse[inverseOffset + 14] = 1 / b;
+            inverse[inverseOffset + 15] = a / b;
+        }
+    }
+
+    /**
+	 * Transforms a point, treating it as {@code (x, y, z, 1)}. The result has the
+	 * precision of the input.
+	 *
+	 * @param m the matrix
+	 * @param v the vector
+	 * @return the vector 3 D
+	 */
+    public static Vector3D transformPoint(Matrix4 m, Vector3D v) {
+        double x = v.xd(), y = v.yd(), z = v.zd();
+        double m00 = m.xd(0), m01 = m.yd(0), m02 = m.zd(0), m03 = m.wd(0);
+        double m10 = m.xd(1), m11 = m.yd(1), m12 = m.zd(1), m13 = m.wd(1);
+        double m20 = m.xd(2), m21 = m.yd(2), m22 = m.zd(2), m23 = m.wd(2);
+        double rx = m00 * x + m01 * y + m02 * z + m03;
+        double ry = m10 * x + m11 * y + m12 * z + m13;
+        double rz = m20 * x + m21 * y + m22 * z + m23;
+        return v.precisionType() == PrecisionType.FLOAT
+                ? Vector3D.ofFloat((float) rx, (float) ry, (float) rz)
+                : Vector3D.ofDouble(rx, ry, rz);
+    }
+
+    /**
+	 * Transforms a point, treating it as {@code (x, y, z, 1)}. The result has the
+	 * precision of the input.
+	 *
+	 * @param m the matrix
+	 * @param v the point
+	 * @return the point 3 D
+	 */
+    public static Point3D transformPoint(Matrix4 m, Point3D v) {
+        double x = v.xd(), y = v.yd(), z = v.zd();
+        double m00 = m.xd(0), m01 = m.yd(0), m02 = m.zd(0), m03 = m.wd(0);
+        double m10 = m.xd(1), m11 = m.yd(1), m12 = m.zd(1), m13 = m.wd(1);
+        double m20 = m.xd(2), m21 = m.yd(2), m22 = m.zd(2), m23 = m.wd(2);
+        double rx = m00 * x + m01 * y + m02 * z + m03;
+        double ry = m10 * x + m11 * y + m12 * z + m13;
+        double rz = m20 * x + m21 * y + m22 * z + m23;
+        return v.precisionType() == PrecisionType.FLOAT
+                ? Point3D.ofFloat((float) rx, (float) ry, (float) rz)
+                : Point3D.ofDouble(rx, ry, rz);
+    }
+
+    /**
+	 * Transforms a direction, treating it as {@code (x, y, z, 0)} so that
+	 * translation is ignored. The result has the precision of the input.
+	 *
+	 * @param m the matrix
+	 * @param v the vector
+	 * @return the vector 3 D
+	 */
+    public static Vector3D transformDirection(Matrix4 m, Vector3D v) {
+        double x = v.xd(), y = v.yd(), z = v.zd();
+        double m00 = m.xd(0), m01 = m.yd(0), m02 = m.zd(0);
+        double m10 = m.xd(1), m11 = m.yd(1), m12 = m.zd(1);
+        double m20 = m.xd(2), m21 = m.yd(2), m22 = m.zd(2);
+        double rx = m00 * x + m01 * y + m02 * z;
+        double ry = m10 * x + m11 * y + m12 * z;
+        double rz = m20 * x + m21 * y + m22 * z;
+        return v.precisionType() == PrecisionType.FLOAT
+                ? Vector3D.ofFloat((float) rx, (float) ry, (float) rz)
+                : Vector3D.ofDouble(rx, ry, rz);
+    }
+
+    /**
+	 * Transforms a point, treating it as {@code (x, y, z, 1)}, and divides by the
+	 * resulting {@code w}. The result has the precision of the input. The divide
+	 * is not guarded: a point with {@code w = 0}, such as the eye of a perspective
+	 * projection, comes out infinite or NaN, so clip against the near plane first
+	 * where such points can occur.
+	 *
+	 * @param m the matrix
+	 * @param v the vector
+	 * @return the vector 3 D
+	 */
+    public static Vector3D transformProject(Matrix4 m, Vector3D v) {
+        double x = v.xd(), y = v.yd(), z = v.zd();
+        double m00 = m.xd(0), m01 = m.yd(0), m02 = m.zd(0), m03 = m.wd(0);
+        double m10 = m.xd(1), m11 = m.yd(1), m12 = m.zd(1), m13 = m.wd(1);
+        double m20 = m.xd(2), m21 = m.yd(2), m22 = m.zd(2), m23 = m.wd(2);
+        double m30 = m.xd(3), m31 = m.yd(3), m32 = m.zd(3), m33 = m.wd(3);
+        double inv = 1 / (m30 * x + m31 * y + m32 * z + m33);
+        double rx = (m00 * x + m01 * y + m02 * z + m03) * inv;
+        double ry = (m10 * x + m11 * y + m12 * z + m13) * inv;
+        double rz = (m20 * x + m21 * y + m22 * z + m23) * inv;
+        return v.precisionType() == PrecisionType.FLOAT
+                ? Vector3D.ofFloat((float) rx, (float) ry, (float) rz)
+                : Vector3D.ofDouble(rx, ry, rz);
+    }
+
+    /**
+	 * Transforms a point, treating it as {@code (x, y, z, 1)}, and divides by the
+	 * resulting {@code w}. The result has the precision of the input. The divide
+	 * is not guarded, see {@link #transformProject(Matrix4, Vector3D)}.
+	 *
+	 * @param m the matrix
+	 * @param v the point
+	 * @return the point 3 D
+	 */
+    public static Point3D transformProject(Matrix4 m, Point3D v) {
+        double x = v.xd(), y = v.yd(), z = v.zd();
+        double m00 = m.xd(0), m01 = m.yd(0), m02 = m.zd(0), m03 = m.wd(0);
+        double m10 = m.xd(1), m11 = m.yd(1), m12 = m.zd(1), m13 = m.wd(1);
+        double m20 = m.xd(2), m21 = m.yd(2), m22 = m.zd(2), m23 = m.wd(2);
+        double m30 = m.xd(3), m31 = m.yd(3), m32 = m.zd(3), m33 = m.wd(3);
+        double inv = 1 / (m30 * x + m31 * y + m32 * z + m33);
+        double rx = (m00 * x + m01 * y + m02 * z + m03) * inv;
+        double ry = (m10 * x + m11 * y + m12 * z + m13) * inv;
+        double rz = (m20 * x + m21 * y + m22 * z + m23) * inv;
+        return v.precisionType() == PrecisionType.FLOAT
+                ? Point3D.ofFloat((float) rx, (float) ry, (float) rz)
+                : Point3D.ofDouble(rx, ry, rz);
+    }
+
+    /**
+	 * Multiplies two row-major 4x4 float matrices held in memory segments, for
+	 * example slices of a native uniform buffer. Offsets are in bytes and the
+	 * destination may alias either operand.
+	 *
+	 * @param a          the left operand
+	 * @param aOffset    the left operand offset
+	 * @param b          the right operand
+	 * @param bOffset    the right operand offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void multiply(MemorySegment a, long aOffset, MemorySegment b, long bOffset,
+            MemorySegment dest, long destOffset) {
+        Matrix4Kernels.INSTANCE.multiply(a, aOffset, b, bOffset, dest, destOffset);
+    }
+
+    /**
+	 * Transposes a row-major 4x4 float matrix held in a memory segment. Offsets
+	 * are in bytes and the destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transpose(MemorySegment m, long mOffset, MemorySegment dest,
+            long destOffset) {
+        Matrix4Kernels.INSTANCE.transpose(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Inverts a row-major 4x4 float matrix held in a memory segment using the
+	 * closed-form adjugate. Offsets are in bytes; the destination may alias the
+	 * source and is left untouched when the matrix is singular.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @return true, if the matrix was invertible
+	 */
+    public static boolean invert(MemorySegment m, long mOffset, MemorySegment dest,
+            long destOffset) {
+        return Matrix4Kernels.INSTANCE.invert(m, mOffset, dest, destOffset);
+    }
+
+    /**
+	 * Transforms a 4 component float column vector held in a memory segment,
+	 * {@code dest = m * v}. Offsets are in bytes and the destination may alias
+	 * the vector.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param v          the vector
+	 * @param vOffset    the vector offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void transform(MemorySegment m, long mOffset, MemorySegment v, long vOffset,
+            MemorySegment dest, long destOffset) {
+        Matrix4Kernels.INSTANCE.transform(m, mOffset, v, vOffset, dest, destOffset);
+    }
+
+    /**
+	 * Writes the identity into a float matrix in a memory segment. The offset is
+	 * in bytes.
+	 *
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void setIdentity(MemorySegment dest, long destOffset) {
+        dest.asSlice(destOffset, 16 * Float.BYTES).fill((byte) 0);
+        set(dest, destOffset, 0, 1);
+        set(dest, destOffset, 5, 1);
+        set(dest, destOffset, 10, 1);
+        set(dest, destOffset, 15, 1);
+    }
+
+    /**
+	 * Post-multiplies a float matrix in a memory segment by a translation,
+	 * {@code dest = m * T(x, y, z)}. Offsets are in bytes and the destination may
+	 * alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void translate(MemorySegment m, long mOffset, float x, float y, float z,
+            MemorySegment dest, long destOffset) {
+        for (int i = 0; i < 16; i += 4) {
+            float m0 = get(m, mOffset, i), m1 = get(m, mOffset, i + 1);
+            float m2 = get(m, mOffset, i + 2), m3 = get(m, mOffset, i + 3);
+            set(dest, destOffset, i, m0);
+            set(dest, destOffset, i + 1, m1);
+            set(dest, destOffset, i + 2, m2);
+            set(dest, destOffset, i + 3, m0 * x + m1 * y + m2 * z + m3);
+        }
+    }
+
+    /**
+	 * Post-multiplies a float matrix in a memory segment by a rotation about the
+	 * X axis, {@code dest = m * Rx(angle)}. Offsets are in bytes and
+	 * the destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateX(MemorySegment m, long mOffset, float angle, MemorySegment dest,
+            long destOffset) {
+        float c = (float) Math.cos(angle);
+        float s = (float) Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            float m1 = get(m, mOffset, i + 1), m2 = get(m, mOffset, i + 2);
+            set(dest, destOffset, i, get(m, mOffset, i));
+            set(dest, destOffset, i + 1, m1 * c + m2 * s);
+            set(dest, destOffset, i + 2, m2 * c - m1 * s);
+            set(dest, destOffset, i + 3, get(m, mOffset, i + 3));
+        }
+    }
+
+    /**
+	 * Post-multiplies a float matrix in a memory segment by a rotation about the
+	 * Y axis, {@code dest = m * Ry(angle)}. Offsets are in bytes and
+	 * the destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateY(MemorySegment m, long mOffset, float angle, MemorySegment dest,
+            long destOffset) {
+        float c = (float) Math.cos(angle);
+        float s = (float) Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            float m0 = get(m, mOffset, i), m2 = get(m, mOffset, i + 2);
+            set(dest, destOffset, i, m0 * c - m2 * s);
+            set(dest, destOffset, i + 1, get(m, mOffset, i + 1));
+            set(dest, destOffset, i + 2, m0 * s + m2 * c);
+            set(dest, destOffset, i + 3, get(m, mOffset, i + 3));
+        }
+    }
+
+    /**
+	 * Post-multiplies a float matrix in a memory segment by a rotation about the
+	 * Z axis, {@code dest = m * Rz(angle)}. Offsets are in bytes and
+	 * the destination may alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param angle      the angle in radians
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotateZ(MemorySegment m, long mOffset, float angle, MemorySegment dest,
+            long destOffset) {
+        float c = (float) Math.cos(angle);
+        float s = (float) Math.sin(angle);
+        for (int i = 0; i < 16; i += 4) {
+            float m0 = get(m, mOffset, i), m1 = get(m, mOffset, i + 1);
+            set(dest, destOffset, i, m0 * c + m1 * s);
+            set(dest, destOffset, i + 1, m1 * c - m0 * s);
+            set(dest, destOffset, i + 2, get(m, mOffset, i + 2));
+            set(dest, destOffset, i + 3, get(m, mOffset, i + 3));
+        }
+    }
+
+    /**
+	 * Post-multiplies a float matrix in a memory segment by a scaling,
+	 * {@code dest = m * S(x, y, z)}. Offsets are in bytes and the destination may
+	 * alias the source.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void scale(MemorySegment m, long mOffset, float x, float y, float z,
+            MemorySegment dest, long destOffset) {
+        for (int i = 0; i < 16; i += 4) {
+            set(dest, destOffset, i, get(m, mOffset, i) * x);
+            set(dest, destOffset, i + 1, get(m, mOffset, i + 1) * y);
+            set(dest, destOffset, i + 2, get(m, mOffset, i + 2) * z);
+            set(dest, destOffset, i + 3, get(m, mOffset, i + 3));
+        }
+    }
+
+    /**
+	 * Writes the TRS matrix {@code T(t) * Rx(rx) * Ry(ry) * Rz(rz) * S(s)} into a
+	 * memory segment in one pass. The offset is in bytes.
+	 *
+	 * @param tx         the translation x
+	 * @param ty         the translation y
+	 * @param tz         the translation z
+	 * @param rx         the rotation about X in radians
+	 * @param ry         the rotation about Y in radians
+	 * @param rz         the rotation about Z in radians
+	 * @param sx         the scale x
+	 * @param sy         the scale y
+	 * @param sz         the scale z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void compose(float tx, float ty, float tz, float rx, float ry, float rz,
+            float sx, float sy, float sz, MemorySegment dest, long destOffset) {
+        float cx = (float) Math.cos(rx), sinX = (float) Math.sin(rx);
+        float cy = (float) Math.cos(ry), sinY = (float) Math.sin(ry);
+        float cz = (float) Math.cos(rz), sinZ = (float) Math.sin(rz);
+
+        set(dest, destOffset, 0, cy * cz * sx);
+        set(dest, destOffset, 1, -cy * sinZ * sy);
+        set(dest, destOffset, 2, sinY * sz);
+        set(dest, destOffset, 3, tx);
+        set(dest, destOffset, 4, (sinX * sinY * cz + cx * sinZ) * sx);
+        set(dest, destOffset, 5, (cx * cz - sinX * sinY * sinZ) * sy);
+        set(dest, destOffset, 6, -sinX * cy * sz);
+        set(dest, destOffset, 7, ty);
+        set(dest, destOffset, 8, (sinX * sinZ - cx * sinY * cz) * sx);
+        set(dest, destOffset, 9, (cx * sinY * sinZ + sinX * cz) * sy);
+        set(dest, destOffset, 10, cx * cy * sz);
+        set(dest, destOffset, 11, tz);
+        set(dest, destOffset, 12, 0);
+        set(dest, destOffset, 13, 0);
+        set(dest, destOffset, 14, 0);
+        set(dest, destOffset, 15, 1);
+    }
+
+    /**
+	 * Copies a packed float matrix, such as one written by the projection
+	 * builders, into a memory segment. The segment offset is in bytes.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void store(float[] m, int mOffset, MemorySegment dest, long destOffset) {
+        MemorySegment.copy(m, mOffset, dest, JAVA_FLOAT_UNALIGNED, destOffset, 16);
+    }
+
+    /**
+	 * Copies a float matrix out of a memory segment into a packed array. The
+	 * segment offset is in bytes.
+	 *
+	 * @param m          the source matrix
+	 * @param mOffset    the source offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void load(MemorySegment m, long mOffset, float[] dest, int destOffset) {
+        MemorySegment.copy(m, JAVA_FLOAT_UNALIGNED, mOffset, dest, destOffset, 16);
+    }
+
+    /**
+	 * Name of the kernel backend selected for this runtime, either
+	 * {@code "scalar"} or a {@code jdk.incubator.vector} backend.
+	 *
+	 * @return the string
+	 */
+    public static String backend() {
+        return Matrix4Kernels.INSTANCE.name();
+    }
+
+    /**
+	 * Multiplies a float matrix by a double matrix in float precision. The destination
+	 * may alias a same-typed operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyMixed(float[] a, double[] b, float[] dest) {
+        float b00 = (float) b[0], b01 = (float) b[1], b02 = (float) b[2], b03 = (float) b[3];
+        float b10 = (float) b[4], b11 = (float) b[5], b12 = (float) b[6], b13 = (float) b[7];
+        float b20 = (float) b[8], b21 = (float) b[9], b22 = (float) b[10], b23 = (float) b[11];
+        float b30 = (float) b[12], b31 = (float) b[13], b32 = (float) b[14], b33 = (float) b[15];
+
+        for (int i = 0; i < 16; i += 4) {
+            float a0 = a[i], a1 = a[i + 1], a2 = a[i + 2], a3 = a[i + 3];
+            dest[i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * Multiplies a double matrix by a float matrix in float precision. The destination
+	 * may alias a same-typed operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyMixed(double[] a, float[] b, float[] dest) {
+        float b00 = b[0], b01 = b[1], b02 = b[2], b03 = b[3];
+        float b10 = b[4], b11 = b[5], b12 = b[6], b13 = b[7];
+        float b20 = b[8], b21 = b[9], b22 = b[10], b23 = b[11];
+        float b30 = b[12], b31 = b[13], b32 = b[14], b33 = b[15];
+
+        for (int i = 0; i < 16; i += 4) {
+            float a0 = (float) a[i], a1 = (float) a[i + 1];
+            float a2 = (float) a[i + 2], a3 = (float) a[i + 3];
+            dest[i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * Multiplies a double matrix by a double matrix in float precision. The destination
+	 * may alias a same-typed operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyMixed(double[] a, double[] b, float[] dest) {
+        float b00 = (float) b[0], b01 = (float) b[1], b02 = (float) b[2], b03 = (float) b[3];
+        float b10 = (float) b[4], b11 = (float) b[5], b12 = (float) b[6], b13 = (float) b[7];
+        float b20 = (float) b[8], b21 = (float) b[9], b22 = (float) b[10], b23 = (float) b[11];
+        float b30 = (float) b[12], b31 = (float) b[13], b32 = (float) b[14], b33 = (float) b[15];
+
+        for (int i = 0; i < 16; i += 4) {
+            float a0 = (float) a[i], a1 = (float) a[i + 1];
+            float a2 = (float) a[i + 2], a3 = (float) a[i + 3];
+            dest[i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * Multiplies a float matrix by a float matrix in double precision. The destination
+	 * may alias a same-typed operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyMixed(float[] a, float[] b, double[] dest) {
+        double b00 = b[0], b01 = b[1], b02 = b[2], b03 = b[3];
+        double b10 = b[4], b11 = b[5], b12 = b[6], b13 = b[7];
+        double b20 = b[8], b21 = b[9], b22 = b[10], b23 = b[11];
+        double b30 = b[12], b31 = b[13], b32 = b[14], b33 = b[15];
+
+        for (int i = 0; i < 16; i += 4) {
+            double a0 = a[i], a1 = a[i + 1], a2 = a[i + 2], a3 = a[i + 3];
+            dest[i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * Multiplies a float matrix by a double matrix in double precision. The destination
+	 * may alias a same-typed operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyMixed(float[] a, double[] b, double[] dest) {
+        double b00 = b[0], b01 = b[1], b02 = b[2], b03 = b[3];
+        double b10 = b[4], b11 = b[5], b12 = b[6], b13 = b[7];
+        double b20 = b[8], b21 = b[9], b22 = b[10], b23 = b[11];
+        double b30 = b[12], b31 = b[13], b32 = b[14], b33 = b[15];
+
+        for (int i = 0; i < 16; i += 4) {
+            double a0 = a[i], a1 = a[i + 1], a2 = a[i + 2], a3 = a[i + 3];
+            dest[i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * Multiplies a double matrix by a float matrix in double precision. The destination
+	 * may alias a same-typed operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyMixed(double[] a, float[] b, double[] dest) {
+        double b00 = b[0], b01 = b[1], b02 = b[2], b03 = b[3];
+        double b10 = b[4], b11 = b[5], b12 = b[6], b13 = b[7];
+        double b20 = b[8], b21 = b[9], b22 = b[10], b23 = b[11];
+        double b30 = b[12], b31 = b[13], b32 = b[14], b33 = b[15];
+
+        for (int i = 0; i < 16; i += 4) {
+            double a0 = a[i], a1 = a[i + 1], a2 = a[i + 2], a3 = a[i + 3];
+            dest[i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * The row-major float array behind a matrix, read in place.
+	 *
+	 * @param m the matrix
+	 * @return the array, or null if the matrix is not float array backed
+	 */
+    private static float[] floatArray(Matrix4 m) {
+        if (m instanceof Matrix4f f) {
+            return f.array();
+        } else if (m instanceof MutableMatrix4f f) {
+            return f.array();
+        }
+        return null;
+    }
+
+    /**
+	 * The row-major double array behind a matrix, read in place.
+	 *
+	 * @param m the matrix
+	 * @return the array, or null if the matrix is not double array backed
+	 */
+    private static double[] doubleArray(Matrix4 m) {
+        if (m instanceof Matrix4d d) {
+            return d.array();
+        } else if (m instanceof MutableMatrix4d d) {
+            return d.array();
+        }
+        return null;
+    }
+
+    /**
+	 * Multiplies two matrices read through their accessors, narrowed to float,
+	 * into a row-major array. All of {@code b} and each row of {@code a} are read
+	 * before the row is written, so {@code dest} may back either operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyElements(Matrix4 a, Matrix4 b, float[] dest) {
+        float b00 = (float) b.xd(0), b01 = (float) b.yd(0), b02 = (float) b.zd(0);
+        float b10 = (float) b.xd(1), b11 = (float) b.yd(1), b12 = (float) b.zd(1);
+        float b20 = (float) b.xd(2), b21 = (float) b.yd(2), b22 = (float) b.zd(2);
+        float b30 = (float) b.xd(3), b31 = (float) b.yd(3), b32 = (float) b.zd(3);
+        float b03 = (float) b.wd(0), b13 = (float) b.wd(1);
+        float b23 = (float) b.wd(2), b33 = (float) b.wd(3);
+        for (int row = 0; row < 4; row++) {
+            float a0 = (float) a.xd(row), a1 = (float) a.yd(row);
+            float a2 = (float) a.zd(row), a3 = (float) a.wd(row);
+            int o = row * 4;
+            dest[o] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[o + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[o + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[o + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * Multiplies two matrices read through their double accessors into a
+	 * row-major array. All of {@code b} and each row of {@code a} are read
+	 * before the row is written, so {@code dest} may back either operand.
+	 *
+	 * @param a    the a
+	 * @param b    the b
+	 * @param dest the destination
+	 */
+    private static void multiplyElements(Matrix4 a, Matrix4 b, double[] dest) {
+        double b00 = b.xd(0), b01 = b.yd(0), b02 = b.zd(0), b03 = b.wd(0);
+        double b10 = b.xd(1), b11 = b.yd(1), b12 = b.zd(1), b13 = b.wd(1);
+        double b20 = b.xd(2), b21 = b.yd(2), b22 = b.zd(2), b23 = b.wd(2);
+        double b30 = b.xd(3), b31 = b.yd(3), b32 = b.zd(3), b33 = b.wd(3);
+        for (int row = 0; row < 4; row++) {
+            double a0 = a.xd(row), a1 = a.yd(row), a2 = a.zd(row), a3 = a.wd(row);
+            int o = row * 4;
+            dest[o] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            dest[o + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            dest[o + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            dest[o + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+	 * Copies a matrix into a row-major float array, reading the backing array
+	 * directly when there is one.
+	 *
+	 * @param m    the matrix
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    private static float[] load(Matrix4 m, float[] dest) {
+        if (m instanceof Matrix4f f) {
+            System.arraycopy(f.array(), 0, dest, 0, 16);
+        } else if (m instanceof Matrix4d d) {
+            double[] src = d.array();
+            for (int i = 0; i < 16; i++) {
+                dest[i] = (float) src[i];
+            }
+        } else {
+            for (int i = 0; i < 16; i++) {
+                dest[i] = (float) element(m, i >> 2, i & 3);
+            }
+        }
+        return dest;
+    }
+
+    /**
+	 * Copies a matrix into a row-major double array, reading the backing array
+	 * directly when there is one.
+	 *
+	 * @param m    the matrix
+	 * @param dest the destination
+	 * @return the destination
+	 */
+    private static double[] load(Matrix4 m, double[] dest) {
+        if (m instanceof Matrix4d d) {
+            System.arraycopy(d.array(), 0, dest, 0, 16);
+        } else if (m instanceof Matrix4f f) {
+            float[] src = f.array();
+            for (int i = 0; i < 16; i++) {
+                dest[i] = src[i];
+            }
+        } else {
+            for (int i = 0; i < 16; i++) {
+                dest[i] = element(m, i >> 2, i & 3);
+            }
+        }
+        return dest;
+    }
+
+    /**
+	 * Reads a single element through the {@code XYZWIndexValues} accessors, the
+	 * fallback for {@code Matrix4} implementations without a known backing array.
+	 *
+	 * @param m   the matrix
+	 * @param row the row
+	 * @param col the col
+	 * @return the double
+	 */
+    private static double element(Matrix4 m, int row, int col) {
+        return switch (col) {
+        case 0 -> m.xd(row);
+        case 1 -> m.yd(row);
+        case 2 -> m.zd(row);
+        default -> m.wd(row);
+        };
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Arrays;
+
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4f;
+
+/**
+ * A thread-confined stack allocator for temporary mutable matrices. Each
+ * thread has its own pool, obtained with {@link #get()}. Take a {@link #mark()}
+ * before borrowing temporaries and {@link #release(long)} it afterwards; every
+ * matrix borrowed since the mark is then recycled. The pool grows on demand
+ * and never shrinks, so a steady-state frame allocates nothing.
+ *
+ * <pre>{@code
+ * MatrixPool pool = MatrixPool.get();
+ * long mark = pool.mark();
+ * try {
+ *     MutableMatrix4f tmp = pool.matrix4f();
+ *     ...
+ * } finally {
+ *     pool.release(mark);
+ * }
+ * }</pre>
+ *
+ * <p>
+ * A borrowed matrix must not be used after its mark is released, and a pool
+ * must not be shared between threads.
+ * </p>
+ */
+public final class MatrixPool {
+
+    /** The per thread pools. */
+    private static final ThreadLocal<MatrixPool> POOLS = ThreadLocal.withInitial(MatrixPool::new);
+
+    /** The initial capacity of each stack. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The float matrices. */
+    private MutableMatrix4f[] floats = new MutableMatrix4f[INITIAL_CAPACITY];
+
+    /** The double matrices. */
+    private MutableMatrix4d[] doubles = new MutableMatrix4d[INITIAL_CAPACITY];
+
+    /** The number of borrowed float matrices. */
+    private int floatTop;
+
+    /** The number of borrowed double matrices. */
+    private int doubleTop;
+
+    /**
+	 * Instantiates a new matrix pool.
+	 */
+    private MatrixPool() {}
+
+    /**
+	 * The pool of the calling thread.
+	 *
+	 * @return the matrix pool
+	 */
+    public static MatrixPool get() {
+        return POOLS.get();
+    }
+
+    /**
+	 * Marks the current stack depth.
+	 *
+	 * @return the mark to pass to {@link #release(long)}
+	 */
+    public long mark() {
+        return ((long) floatTop << 32) | doubleTop;
+    }
+
+    /**
+	 * Recycles every matrix borrowed since a mark.
+	 *
+	 * @param mark the mark
+	 */
+    public void release(long mark) {
+        int f = (int) (mark >>> 32), d = (int) mark;
+        if (f > floatTop || d > doubleTop || f < 0 || d < 0) {
+            throw new IllegalStateException("Mark released out of order");
+        }
+        floatTop = f;
+        doubleTop = d;
+    }
+
+    /**
+	 * Borrows a float matrix, set to the identity.
+	 *
+	 * @return the mutable matrix 4 f
+	 */
+    public MutableMatrix4f matrix4f() {
+        if (floatTop == floats.length) {
+            floats = Arrays.copyOf(floats, floats.length * 2);
+        }
+
+        MutableMatrix4f m = floats[floatTop];
+        if (m == null) {
+            m = floats[floatTop] = new MutableMatrix4f();
+        } else {
+            m.setIdentity();
+        }
+        floatTop++;
+        return m;
+    }
+
+    /**
+	 * Borrows a double matrix, set to the identity.
+	 *
+	 * @return the mutable matrix 4 d
+	 */
+    public MutableMatrix4d matrix4d() {
+        if (doubleTop == doubles.length) {
+            doubles = Arrays.copyOf(doubles, doubles.length * 2);
+        }
+
+        MutableMatrix4d m = doubles[doubleTop];
+        if (m == null) {
+            m = doubles[doubleTop] = new MutableMatrix4d();
+        } else {
+            m.setIdentity();
+        }
+        doubleTop++;
+        return m;
+    }
+}
@@ -0,0 +1,674 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.piengine.commons.math.Matrix.Matrix4.ROWS;
+
+import java.util.Arrays;
+
+import org.piengine.commons.math.Matrix.Matrix3;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3d;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3f;
+import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+
+/**
+ * The Interface MatrixStack, a stack of 4x4 transforms for hierarchical
+ * traversal. All levels live in one growable packed array and every operation
+ * works in place on the top level, so a traversal of any depth allocates
+ * nothing once the stack has grown to that depth. The stack starts with the
+ * identity on its only level. Implementations are not thread safe.
+ *
+ * <pre>{@code
+ * stack.push();
+ * stack.mulTop(node.local());
+ * // draw node, recurse into children
+ * stack.pop();
+ * }</pre>
+ */
+public interface MatrixStack {
+
+	/** The initial number of levels. */
+	int INITIAL_CAPACITY = 16;
+
+	/**
+	 * A float matrix stack.
+	 */
+	final class MatrixStackf implements MatrixStack {
+
+		/** The matrices, 16 elements per level. */
+		private float[] matrices;
+
+		/** The cached normal matrices, 9 elements per level. */
+		private float[] normals;
+
+		/** Whether the cached normal matrix of each level is current. */
+		private boolean[] normalValid;
+
+		/** Scratch space for operands that are not backed by a float array. */
+		private final float[] scratch = new float[16];
+
+		/** The top level. */
+		private int top;
+
+		/**
+		 * Instantiates a new matrix stack f with the identity on top.
+		 */
+		public MatrixStackf() {
+			this(INITIAL_CAPACITY);
+		}
+
+		/**
+		 * Instantiates a new matrix stack f with the identity on top.
+		 *
+		 * @param capacity the initial number of levels
+		 */
+		public MatrixStackf(int capacity) {
+			capacity = Math.max(1, capacity);
+			matrices = new float[capacity * 16];
+			normals = new float[capacity * 9];
+			normalValid = new boolean[capacity];
+			loadIdentity();
+		}
+
+		/**
+		 * The backing array. The top matrix starts at {@link #offset()}; the
+		 * array is replaced when the stack grows.
+		 *
+		 * @return the float array
+		 */
+		public float[] array() {
+			return matrices;
+		}
+
+		/**
+		 * The offset of the top matrix in {@link #array()}.
+		 *
+		 * @return the offset
+		 */
+		public int offset() {
+			return top * 16;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#depth()
+		 */
+		@Override
+		public int depth() {
+			return top;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#push()
+		 */
+		@Override
+		public void push() {
+			int next = top + 1;
+			if (next == normalValid.length) {
+				int capacity = next * 2;
+				matrices = Arrays.copyOf(matrices, capacity * 16);
+				normals = Arrays.copyOf(normals, capacity * 9);
+				normalValid = Arrays.copyOf(normalValid, capacity);
+			}
+
+			System.arraycopy(matrices, top * 16, matrices, next * 16, 16);
+			if (normalValid[top]) {
+				System.arraycopy(normals, top * 9, normals, next * 9, 9);
+			}
+			normalValid[next] = normalValid[top];
+			top = next;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#pop()
+		 */
+		@Override
+		public void pop() {
+			if (top == 0) {
+				throw new IllegalStateException("Matrix stack underflow");
+			}
+			top--;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#loadIdentity()
+		 */
+		@Override
+		public void loadIdentity() {
+			int o = top * 16;
+			Arrays.fill(matrices, o, o + 16, 0);
+			matrices[o] = 1;
+			matrices[o + 5] = 1;
+			matrices[o + 10] = 1;
+			matrices[o + 15] = 1;
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#load(
+		 *      org.piengine.commons.math.Matrix.Matrix4)
+		 */
+		@Override
+		public void load(Matrix4 m) {
+			System.arraycopy(operand(m), 0, matrices, top * 16, 16);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#mulTop(
+		 *      org.piengine.commons.math.Matrix.Matrix4)
+		 */
+		@Override
+		public void mulTop(Matrix4 m) {
+			mulTop(operand(m), 0);
+		}
+
+		/**
+		 * Post-multiplies the top matrix by a packed matrix,
+		 * {@code top = top * m}.
+		 *
+		 * @param m       the matrix
+		 * @param mOffset the matrix offset
+		 */
+		public void mulTop(float[] m, int mOffset) {
+			int o = top * 16;
+			MatrixOperations.multiply(matrices, o, m, mOffset, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#translateTop(double, double, double)
+		 */
+		@Override
+		public void translateTop(double x, double y, double z) {
+			int o = top * 16;
+			MatrixOperations.translate(matrices, o, (float) x, (float) y, (float) z, matrices, o);
+			// a translation leaves the upper 3x3, and so the normal matrix, unchanged
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#rotateXTop(double)
+		 */
+		@Override
+		public void rotateXTop(double angle) {
+			int o = top * 16;
+			MatrixOperations.rotateX(matrices, o, (float) angle, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#rotateYTop(double)
+		 */
+		@Override
+		public void rotateYTop(double angle) {
+			int o = top * 16;
+			MatrixOperations.rotateY(matrices, o, (float) angle, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#rotateZTop(double)
+		 */
+		@Override
+		public void rotateZTop(double angle) {
+			int o = top * 16;
+			MatrixOperations.rotateZ(matrices, o, (float) angle, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#scaleTop(double, double, double)
+		 */
+		@Override
+		public void scaleTop(double x, double y, double z) {
+			int o = top * 16;
+			MatrixOperations.scale(matrices, o, (float) x, (float) y, (float) z, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * Copies the top matrix.
+		 *
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void top(float[] dest, int destOffset) {
+			System.arraycopy(matrices, top * 16, dest, destOffset, 16);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#top()
+		 */
+		@Override
+		public Matrix4f top() {
+			return new Matrix4f(Arrays.copyOfRange(matrices, top * 16, top * 16 + 16));
+		}
+
+		/**
+		 * Copies the normal matrix of the top level, the row-major inverse-transpose
+		 * of its upper 3x3. It is computed at most once per change of the top
+		 * matrix. A singular upper 3x3 yields zeros.
+		 *
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void normalMatrix(float[] dest, int destOffset) {
+			int n = top * 9;
+			if (!normalValid[top]) {
+				if (!Matrix3Operations.normalMatrix(matrices, top * 16, normals, n)) {
+					Arrays.fill(normals, n, n + 9, 0);
+				}
+				normalValid[top] = true;
+			}
+			System.arraycopy(normals, n, dest, destOffset, 9);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#normalMatrix()
+		 */
+		@Override
+		public Matrix3f normalMatrix() {
+			float[] result = new float[9];
+			normalMatrix(result, 0);
+			return new Matrix3f(result);
+		}
+
+		/**
+		 * Gets a matrix as a packed float array, copying it to scratch space if it
+		 * is backed by another type.
+		 *
+		 * @param m the matrix
+		 * @return the float array
+		 */
+		private float[] operand(Matrix4 m) {
+			if (m.array() instanceof float[] a) {
+				return a;
+			}
+			for (int row = 0; row < ROWS; row++) {
+				scratch[row * 4] = (float) m.xd(row);
+				scratch[row * 4 + 1] = (float) m.yd(row);
+				scratch[row * 4 + 2] = (float) m.zd(row);
+				scratch[row * 4 + 3] = (float) m.wd(row);
+			}
+			return scratch;
+		}
+
+	}
+
+	/**
+	 * A double matrix stack.
+	 */
+	final class MatrixStackd implements MatrixStack {
+
+		/** The matrices, 16 elements per level. */
+		private double[] matrices;
+
+		/** The cached normal matrices, 9 elements per level. */
+		private double[] normals;
+
+		/** Whether the cached normal matrix of each level is current. */
+		private boolean[] normalValid;
+
+		/** Scratch space for operands that are not backed by a double array. */
+		private final double[] scratch = new double[16];
+
+		/** The top level. */
+		private int top;
+
+		/**
+		 * Instantiates a new matrix stack d with the identity on top.
+		 */
+		public MatrixStackd() {
+			this(INITIAL_CAPACITY);
+		}
+
+		/**
+		 * Instantiates a new matrix stack d with the identity on top.
+		 *
+		 * @param capacity the initial number of levels
+		 */
+		public MatrixStackd(int capacity) {
+			capacity = Math.max(1, capacity);
+			matrices = new double[capacity * 16];
+			normals = new double[capacity * 9];
+			normalValid = new boolean[capacity];
+			loadIdentity();
+		}
+
+		/**
+		 * The backing array. The top matrix starts at {@link #offset()}; the
+		 * array is replaced when the stack grows.
+		 *
+		 * @return the double array
+		 */
+		public double[] array() {
+			return matrices;
+		}
+
+		/**
+		 * The offset of the top matrix in {@link #array()}.
+		 *
+		 * @return the offset
+		 */
+		public int offset() {
+			return top * 16;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#depth()
+		 */
+		@Override
+		public int depth() {
+			return top;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#push()
+		 */
+		@Override
+		public void push() {
+			int next = top + 1;
+			if (next == normalValid.length) {
+				int capacity = next * 2;
+				matrices = Arrays.copyOf(matrices, capacity * 16);
+				normals = Arrays.copyOf(normals, capacity * 9);
+				normalValid = Arrays.copyOf(normalValid, capacity);
+			}
+
+			System.arraycopy(matrices, top * 16, matrices, next * 16, 16);
+			if (normalValid[top]) {
+				System.arraycopy(normals, top * 9, normals, next * 9, 9);
+			}
+			normalValid[next] = normalValid[top];
+			top = next;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#pop()
+		 */
+		@Override
+		public void pop() {
+			if (top == 0) {
+				throw new IllegalStateException("Matrix stack underflow");
+			}
+			top--;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#loadIdentity()
+		 */
+		@Override
+		public void loadIdentity() {
+			int o = top * 16;
+			Arrays.fill(matrices, o, o + 16, 0);
+			matrices[o] = 1;
+			matrices[o + 5] = 1;
+			matrices[o + 10] = 1;
+			matrices[o + 15] = 1;
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#load(
+		 *      org.piengine.commons.math.Matrix.Matrix4)
+		 */
+		@Override
+		public void load(Matrix4 m) {
+			System.arraycopy(operand(m), 0, matrices, top * 16, 16);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#mulTop(
+		 *      org.piengine.commons.math.Matrix.Matrix4)
+		 */
+		@Override
+		public void mulTop(Matrix4 m) {
+			mulTop(operand(m), 0);
+		}
+
+		/**
+		 * Post-multiplies the top matrix by a packed matrix,
+		 * {@code top = top * m}.
+		 *
+		 * @param m       the matrix
+		 * @param mOffset the matrix offset
+		 */
+		public void mulTop(double[] m, int mOffset) {
+			int o = top * 16;
+			MatrixOperations.multiply(matrices, o, m, mOffset, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#translateTop(double, double, double)
+		 */
+		@Override
+		public void translateTop(double x, double y, double z) {
+			int o = top * 16;
+			MatrixOperations.translate(matrices, o, x, y, z, matrices, o);
+			// a translation leaves the upper 3x3, and so the normal matrix, unchanged
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#rotateXTop(double)
+		 */
+		@Override
+		public void rotateXTop(double angle) {
+			int o = top * 16;
+			MatrixOperations.rotateX(matrices, o, angle, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#rotateYTop(double)
+		 */
+		@Override
+		public void rotateYTop(double angle) {
+			int o = top * 16;
+			MatrixOperations.rotateY(matrices, o, angle, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#rotateZTop(double)
+		 */
+		@Override
+		public void rotateZTop(double angle) {
+			int o = top * 16;
+			MatrixOperations.rotateZ(matrices, o, angle, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#scaleTop(double, double, double)
+		 */
+		@Override
+		public void scaleTop(double x, double y, double z) {
+			int o = top * 16;
+			MatrixOperations.scale(matrices, o, x, y, z, matrices, o);
+			normalValid[top] = false;
+		}
+
+		/**
+		 * Copies the top matrix.
+		 *
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void top(double[] dest, int destOffset) {
+			System.arraycopy(matrices, top * 16, dest, destOffset, 16);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#top()
+		 */
+		@Override
+		public Matrix4d top() {
+			return new Matrix4d(Arrays.copyOfRange(matrices, top * 16, top * 16 + 16));
+		}
+
+		/**
+		 * Copies the normal matrix of the top level, the row-major inverse-transpose
+		 * of its upper 3x3. It is computed at most once per change of the top
+		 * matrix. A singular upper 3x3 yields zeros.
+		 *
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void normalMatrix(double[] dest, int destOffset) {
+			int n = top * 9;
+			if (!normalValid[top]) {
+				if (!Matrix3Operations.normalMatrix(matrices, top * 16, normals, n)) {
+					Arrays.fill(normals, n, n + 9, 0);
+				}
+				normalValid[top] = true;
+			}
+			System.arraycopy(normals, n, dest, destOffset, 9);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.MatrixStack#normalMatrix()
+		 */
+		@Override
+		public Matrix3d normalMatrix() {
+			double[] result = new double[9];
+			normalMatrix(result, 0);
+			return new Matrix3d(result);
+		}
+
+		/**
+		 * Gets a matrix as a packed double array, copying it to scratch space if it
+		 * is backed by another type.
+		 *
+		 * @param m the matrix
+		 * @return the double array
+		 */
+		private double[] operand(Matrix4 m) {
+			if (m.array() instanceof double[] a) {
+				return a;
+			}
+			for (int row = 0; row < ROWS; row++) {
+				scratch[row * 4] = m.xd(row);
+				scratch[row * 4 + 1] = m.yd(row);
+				scratch[row * 4 + 2] = m.zd(row);
+				scratch[row * 4 + 3] = m.wd(row);
+			}
+			return scratch;
+		}
+
+	}
+
+	/**
+	 * Depth, the number of pushes not yet popped.
+	 *
+	 * @return the int
+	 */
+	int depth();
+
+	/**
+	 * Load.
+	 *
+	 * @param m the m
+	 */
+	void load(Matrix4 m);
+
+	/**
+	 * Load identity.
+	 */
+	void loadIdentity();
+
+	/**
+	 * Post-multiplies the top matrix, {@code top = top * m}.
+	 *
+	 * @param m the m
+	 */
+	void mulTop(Matrix4 m);
+
+	/**
+	 * Normal matrix, the inverse-transpose of the upper 3x3 of the top matrix.
+	 *
+	 * @return the matrix 3
+	 */
+	Matrix3 normalMatrix();
+
+	/**
+	 * Pops the top level.
+	 *
+	 * @throws IllegalStateException if only the bottom level is left
+	 */
+	void pop();
+
+	/**
+	 * Pushes a copy of the top matrix.
+	 */
+	void push();
+
+	/**
+	 * Rotate X top.
+	 *
+	 * @param angle the angle
+	 */
+	void rotateXTop(double angle);
+
+	/**
+	 * Rotate Y top.
+	 *
+	 * @param angle the angle
+	 */
+	void rotateYTop(double angle);
+
+	/**
+	 * Rotate Z top.
+	 *
+	 * @param angle the angle
+	 */
+	void rotateZTop(double angle);
+
+	/**
+	 * Scale top.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 */
+	void scaleTop(double x, double y, double z);
+
+	/**
+	 * Top, as a new immutable copy.
+	 *
+	 * @return the matrix 4
+	 */
+	Matrix4 top();
+
+	/**
+	 * Translate top.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 */
+	void translateTop(double x, double y, double z);
+}
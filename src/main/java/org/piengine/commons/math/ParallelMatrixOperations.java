@@ -0,0 +1,870 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.piengine.commons.math.MatrixBatchOperations.STRIDE;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.piengine.commons.math.Matrix.Matrix4.TransformType;
+
+/**
+ * Runs {@link MatrixBatchOperations} over large packed arrays on several
+ * threads. A batch is split into contiguous ranges of at least {@code grain}
+ * elements, and each range is handed to the single-threaded kernel. Batches no
+ * larger than the grain run on the calling thread with no task overhead.
+ *
+ * <p>
+ * Work is scheduled either on a {@link ForkJoinPool}, by recursive splitting,
+ * or on a caller-supplied {@link Executor}, as one task per slice for a fixed
+ * parallelism. Instances hold no mutable state and may be shared between
+ * threads.
+ * </p>
+ */
+public final class ParallelMatrixOperations {
+
+    /**
+	 * A task over the half open element range {@code [from, to)}.
+	 */
+    @FunctionalInterface
+    public interface RangeTask {
+
+        /**
+		 * Run.
+		 *
+		 * @param from the first element, inclusive
+		 * @param to   the last element, exclusive
+		 */
+        void run(int from, int to);
+    }
+
+    /**
+	 * Fork/join action that splits its range in halves down to the grain.
+	 */
+    private static final class RangeAction extends RecursiveAction {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The task. */
+        private final transient RangeTask task;
+
+        /** The from. */
+        private final int from;
+
+        /** The to. */
+        private final int to;
+
+        /** The grain. */
+        private final int grain;
+
+        /**
+		 * Instantiates a new range action.
+		 *
+		 * @param task  the task
+		 * @param from  the from
+		 * @param to    the to
+		 * @param grain the grain
+		 */
+        RangeAction(RangeTask task, int from, int to, int grain) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        /**
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                task.run(from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(task, from, mid, grain),
+                    new RangeAction(task, mid, to, grain));
+        }
+    }
+
+    /** The default grain, in elements per task. */
+    public static final int DEFAULT_GRAIN = 1024;
+
+    /** The fork/join pool, or null when running on an executor. */
+    private final ForkJoinPool pool;
+
+    /** The executor, or null when running on a fork/join pool. */
+    private final Executor executor;
+
+    /** The number of slices used with an executor. */
+    private final int parallelism;
+
+    /** The minimum number of elements per task. */
+    private final int grain;
+
+    /**
+	 * Instantiates a new parallel matrix operations on the common pool with the
+	 * default grain.
+	 */
+    public ParallelMatrixOperations() {
+        this(ForkJoinPool.commonPool(), DEFAULT_GRAIN);
+    }
+
+    /**
+	 * Instantiates a new parallel matrix operations on a fork/join pool.
+	 *
+	 * @param pool  the pool
+	 * @param grain the minimum number of elements per task
+	 */
+    public ParallelMatrixOperations(ForkJoinPool pool, int grain) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.executor = null;
+        this.parallelism = pool.getParallelism();
+        this.grain = checkGrain(grain);
+    }
+
+    /**
+	 * Instantiates a new parallel matrix operations on a caller-supplied executor.
+	 * Each batch is split into at most {@code parallelism} slices, one of which
+	 * runs on the calling thread.
+	 *
+	 * @param executor    the executor
+	 * @param parallelism the maximum number of slices per batch
+	 * @param grain       the minimum number of elements per task
+	 */
+    public ParallelMatrixOperations(Executor executor, int parallelism, int grain) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+
+        this.pool = null;
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.parallelism = parallelism;
+        this.grain = checkGrain(grain);
+    }
+
+    /**
+	 * Check grain.
+	 *
+	 * @param grain the grain
+	 * @return the int
+	 */
+    private static int checkGrain(int grain) {
+        if (grain < 1) {
+            throw new IllegalArgumentException("grain must be positive: " + grain);
+        }
+
+        return grain;
+    }
+
+    /**
+	 * Grain.
+	 *
+	 * @return the minimum number of elements per task
+	 */
+    public int grain() {
+        return grain;
+    }
+
+    /**
+	 * Parallelism.
+	 *
+	 * @return the maximum number of concurrent tasks
+	 */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+	 * Runs a task over {@code [0, count)}, split into ranges of at least the
+	 * grain. Returns when every range has completed, even when one of them fails.
+	 * An exception thrown by a range is rethrown to the caller; when both the
+	 * caller's range and a worker range fail, the worker failure is suppressed.
+	 *
+	 * @param count the number of elements
+	 * @param task  the task
+	 */
+    public void forEach(int count, RangeTask task) {
+        forEach(count, grain, task);
+    }
+
+    /**
+	 * Runs a task over {@code [0, count)}, split into ranges of at least the
+	 * given grain.
+	 *
+	 * @param count the number of elements
+	 * @param grain the minimum number of elements per range
+	 * @param task  the task
+	 */
+    private void forEach(int count, int grain, RangeTask task) {
+        if (count <= grain || parallelism == 1) {
+            if (count > 0) {
+                task.run(0, count);
+            }
+            return;
+        }
+
+        if (pool != null) {
+            pool.invoke(new RangeAction(task, 0, count, grain));
+            return;
+        }
+
+        int size = Math.max(grain, (count + parallelism - 1) / parallelism);
+        int slices = (count + size - 1) / size;
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[slices - 1];
+        for (int s = 0; s < slices - 1; s++) {
+            int from = s * size;
+            int to = Math.min(count, from + size);
+            futures[s] = CompletableFuture.runAsync(() -> task.run(from, to), executor);
+        }
+
+        // The caller's slice may fail, but the workers must still finish before returning
+        Throwable failure = null;
+        try {
+            task.run((slices - 1) * size, count);
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (failure == null) {
+                failure = cause;
+            } else {
+                failure.addSuppressed(cause);
+            }
+        }
+
+        if (failure instanceof RuntimeException re) {
+            throw re;
+        } else if (failure instanceof Error err) {
+            throw err;
+        } else if (failure != null) {
+            throw new CompletionException(failure);
+        }
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#multiply(float[], int, float[], int, float[], int, int)}.
+	 *
+	 * @param a          the left matrices
+	 * @param aOffset    the left offset
+	 * @param b          the right matrices
+	 * @param bOffset    the right offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+            int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(a.length, aOffset, count);
+        MatrixBatchOperations.checkBatch(b.length, bOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            MatrixBatchOperations.multiply(a, aOffset + o, b, bOffset + o, dest,
+                    destOffset + o, to - from);
+        });
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#premultiply(float[], int, float[], int, float[], int, int)}.
+	 *
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param b          the matrices
+	 * @param bOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public void premultiply(float[] m, int mOffset, float[] b, int bOffset, float[] dest,
+            int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, 1);
+        MatrixBatchOperations.checkBatch(b.length, bOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            MatrixBatchOperations.premultiply(m, mOffset, b, bOffset + o, dest,
+                    destOffset + o, to - from);
+        });
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#postmultiply(float[], int, float[], int, float[], int, int)}.
+	 *
+	 * @param a          the matrices
+	 * @param aOffset    the matrices offset
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public void postmultiply(float[] a, int aOffset, float[] m, int mOffset, float[] dest,
+            int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(a.length, aOffset, count);
+        MatrixBatchOperations.checkBatch(m.length, mOffset, 1);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            MatrixBatchOperations.postmultiply(a, aOffset + o, m, mOffset, dest,
+                    destOffset + o, to - from);
+        });
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#transformPoints(float[],
+	 * int, float[], int, float[], int, int)}.
+	 *
+	 * @param m            the matrix
+	 * @param mOffset      the matrix offset
+	 * @param points       the packed points
+	 * @param pointsOffset the points offset
+	 * @param dest         the destination
+	 * @param destOffset   the destination offset
+	 * @param count        the number of points
+	 */
+    public void transformPoints(float[] m, int mOffset, float[] points, int pointsOffset,
+            float[] dest, int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(pointsOffset, Math.multiplyExact(count, 3), points.length);
+        Objects.checkFromIndexSize(destOffset, Math.multiplyExact(count, 3), dest.length);
+
+        forEach(count, (from, to) -> MatrixBatchOperations.transformPoints(m, mOffset,
+                points, pointsOffset + from * 3, dest, destOffset + from * 3, to - from));
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#invert(float[], int, float[], int, int)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public int invert(float[] m, int mOffset, float[] dest, int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        AtomicInteger singular = new AtomicInteger();
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            int n = MatrixBatchOperations.invert(m, mOffset + o, dest, destOffset + o, to - from);
+            if (n != 0) {
+                singular.addAndGet(n);
+            }
+        });
+
+        return singular.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#multiply(double[], int, double[], int, double[], int, int)}.
+	 *
+	 * @param a          the left matrices
+	 * @param aOffset    the left offset
+	 * @param b          the right matrices
+	 * @param bOffset    the right offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+            int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(a.length, aOffset, count);
+        MatrixBatchOperations.checkBatch(b.length, bOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            MatrixBatchOperations.multiply(a, aOffset + o, b, bOffset + o, dest,
+                    destOffset + o, to - from);
+        });
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#premultiply(double[],
+	 * int, double[], int, double[], int, int)}.
+	 *
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param b          the matrices
+	 * @param bOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public void premultiply(double[] m, int mOffset, double[] b, int bOffset, double[] dest,
+            int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, 1);
+        MatrixBatchOperations.checkBatch(b.length, bOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            MatrixBatchOperations.premultiply(m, mOffset, b, bOffset + o, dest,
+                    destOffset + o, to - from);
+        });
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#postmultiply(double[],
+	 * int, double[], int, double[], int, int)}.
+	 *
+	 * @param a          the matrices
+	 * @param aOffset    the matrices offset
+	 * @param m          the shared matrix
+	 * @param mOffset    the shared matrix offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public void postmultiply(double[] a, int aOffset, double[] m, int mOffset, double[] dest,
+            int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(a.length, aOffset, count);
+        MatrixBatchOperations.checkBatch(m.length, mOffset, 1);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            MatrixBatchOperations.postmultiply(a, aOffset + o, m, mOffset, dest,
+                    destOffset + o, to - from);
+        });
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#transformPoints(double[],
+	 * int, double[], int, double[], int, int)}.
+	 *
+	 * @param m            the matrix
+	 * @param mOffset      the matrix offset
+	 * @param points       the packed points
+	 * @param pointsOffset the points offset
+	 * @param dest         the destination
+	 * @param destOffset   the destination offset
+	 * @param count        the number of points
+	 */
+    public void transformPoints(double[] m, int mOffset, double[] points, int pointsOffset,
+            double[] dest, int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, 1);
+        Objects.checkFromIndexSize(pointsOffset, Math.multiplyExact(count, 3), points.length);
+        Objects.checkFromIndexSize(destOffset, Math.multiplyExact(count, 3), dest.length);
+
+        forEach(count, (from, to) -> MatrixBatchOperations.transformPoints(m, mOffset,
+                points, pointsOffset + from * 3, dest, destOffset + from * 3, to - from));
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#invert(double[], int, double[], int, int)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public int invert(double[] m, int mOffset, double[] dest, int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        AtomicInteger singular = new AtomicInteger();
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            int n = MatrixBatchOperations.invert(m, mOffset + o, dest, destOffset + o, to - from);
+            if (n != 0) {
+                singular.addAndGet(n);
+            }
+        });
+
+        return singular.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#invert(float[], int, float[], int, int, TransformType)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @param type       the transform type of every matrix
+	 * @return the number of matrices that were not invertible
+	 */
+    public int invert(float[] m, int mOffset, float[] dest, int destOffset, int count,
+            TransformType type) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        AtomicInteger singular = new AtomicInteger();
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            int n = MatrixBatchOperations.invert(m, mOffset + o, dest, destOffset + o,
+                    to - from, type);
+            if (n != 0) {
+                singular.addAndGet(n);
+            }
+        });
+
+        return singular.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#invert(double[], int, double[], int, int, TransformType)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @param type       the transform type of every matrix
+	 * @return the number of matrices that were not invertible
+	 */
+    public int invert(double[] m, int mOffset, double[] dest, int destOffset, int count,
+            TransformType type) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, count);
+
+        AtomicInteger singular = new AtomicInteger();
+        forEach(count, (from, to) -> {
+            int o = from * STRIDE;
+            int n = MatrixBatchOperations.invert(m, mOffset + o, dest, destOffset + o,
+                    to - from, type);
+            if (n != 0) {
+                singular.addAndGet(n);
+            }
+        });
+
+        return singular.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link DecompositionOperations#decompose(float[], int, float[], int, int)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public int decompose(float[] m, int mOffset, float[] dest, int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        Objects.checkFromIndexSize(destOffset,
+                Math.multiplyExact(count, DecompositionOperations.STRIDE), dest.length);
+
+        AtomicInteger singular = new AtomicInteger();
+        forEach(count, (from, to) -> {
+            int n = DecompositionOperations.decompose(m, mOffset + from * STRIDE, dest,
+                    destOffset + from * DecompositionOperations.STRIDE, to - from);
+            if (n != 0) {
+                singular.addAndGet(n);
+            }
+        });
+
+        return singular.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link DecompositionOperations#decompose(double[], int, double[], int, int)}.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 * @return the number of matrices whose upper 3x3 was singular
+	 */
+    public int decompose(double[] m, int mOffset, double[] dest, int destOffset, int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        Objects.checkFromIndexSize(destOffset,
+                Math.multiplyExact(count, DecompositionOperations.STRIDE), dest.length);
+
+        AtomicInteger singular = new AtomicInteger();
+        forEach(count, (from, to) -> {
+            int n = DecompositionOperations.decompose(m, mOffset + from * STRIDE, dest,
+                    destOffset + from * DecompositionOperations.STRIDE, to - from);
+            if (n != 0) {
+                singular.addAndGet(n);
+            }
+        });
+
+        return singular.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#invert(float[], int, float[], int, long[], int, int)}.
+	 * Work is split on 64 matrix boundaries so that no two threads write the
+	 * same word, with the grain rounded down to whole words.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param singular   the singular bit set
+	 * @param first      the first matrix
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public int invert(float[] m, int mOffset, float[] dest, int destOffset, long[] singular,
+            int first, int count) {
+        int end = Math.addExact(first, count);
+        MatrixBatchOperations.checkBatch(m.length, mOffset, end);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, end);
+        FrustumOperations.checkBits(singular.length, first, count);
+
+        AtomicInteger total = new AtomicInteger();
+        forEachWord(first, count, (from, to) -> {
+            int n = MatrixBatchOperations.invert(m, mOffset, dest, destOffset, singular,
+                    from, to - from);
+            if (n != 0) {
+                total.addAndGet(n);
+            }
+        });
+
+        return total.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link MatrixBatchOperations#invert(double[], int, double[], int, long[], int, int)}.
+	 * Work is split on 64 matrix boundaries so that no two threads write the
+	 * same word, with the grain rounded down to whole words.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param singular   the singular bit set
+	 * @param first      the first matrix
+	 * @param count      the number of matrices
+	 * @return the number of matrices that were not invertible
+	 */
+    public int invert(double[] m, int mOffset, double[] dest, int destOffset, long[] singular,
+            int first, int count) {
+        int end = Math.addExact(first, count);
+        MatrixBatchOperations.checkBatch(m.length, mOffset, end);
+        MatrixBatchOperations.checkBatch(dest.length, destOffset, end);
+        FrustumOperations.checkBits(singular.length, first, count);
+
+        AtomicInteger total = new AtomicInteger();
+        forEachWord(first, count, (from, to) -> {
+            int n = MatrixBatchOperations.invert(m, mOffset, dest, destOffset, singular,
+                    from, to - from);
+            if (n != 0) {
+                total.addAndGet(n);
+            }
+        });
+
+        return total.get();
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link SkinningOperations#skin(float[], int, float[], float[], int[], float[], int,
+	 * float[], float[], int, int)}.
+	 *
+	 * @param palette       the bone dual quaternions
+	 * @param paletteOffset the palette offset
+	 * @param positions     the bind pose positions
+	 * @param normals       the bind pose normals, or null
+	 * @param bones         the bone indices
+	 * @param weights       the bone weights, summing to one per vertex
+	 * @param influences    the number of influences per vertex
+	 * @param outPositions  the skinned positions
+	 * @param outNormals    the skinned normals
+	 * @param first         the first vertex
+	 * @param count         the number of vertices
+	 */
+    public void skin(float[] palette, int paletteOffset, float[] positions, float[] normals,
+            int[] bones, float[] weights, int influences, float[] outPositions,
+            float[] outNormals, int first, int count) {
+        SkinningOperations.checkVertices(positions, normals, bones, weights, influences,
+                outPositions, outNormals, first, count);
+
+        forEach(count, (from, to) -> SkinningOperations.skin(palette, paletteOffset, positions,
+                normals, bones, weights, influences, outPositions, outNormals, first + from,
+                to - from));
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link FrustumOperations#cullSpheres(float[], int,
+	 * float[], float[], float[], float[], long[], int, int)}.
+	 * Work is split on 64 object boundaries so that no two threads write the same
+	 * word, with the grain rounded down to whole words.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param x            the center x coordinates
+	 * @param y            the center y coordinates
+	 * @param z            the center z coordinates
+	 * @param radius       the radii
+	 * @param visible      the visibility bit set
+	 * @param first        the first sphere
+	 * @param count        the number of spheres
+	 */
+    public void cullSpheres(float[] planes, int planesOffset, float[] x, float[] y, float[] z,
+            float[] radius, long[] visible, int first, int count) {
+        FrustumOperations.checkBits(visible.length, first, count);
+
+        forEachWord(first, count, (from, to) -> FrustumOperations.cullSpheres(planes,
+                planesOffset, x, y, z, radius, visible, from, to - from));
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link FrustumOperations#cullBoxes(float[], int, float[], float[], float[], float[],
+	 * float[], float[], long[], int, int)}.
+	 * Work is split on 64 object boundaries so that no two threads write the same
+	 * word, with the grain rounded down to whole words.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param minX         the minimum x coordinates
+	 * @param minY         the minimum y coordinates
+	 * @param minZ         the minimum z coordinates
+	 * @param maxX         the maximum x coordinates
+	 * @param maxY         the maximum y coordinates
+	 * @param maxZ         the maximum z coordinates
+	 * @param visible      the visibility bit set
+	 * @param first        the first box
+	 * @param count        the number of boxes
+	 */
+    public void cullBoxes(float[] planes, int planesOffset, float[] minX, float[] minY,
+            float[] minZ, float[] maxX, float[] maxY, float[] maxZ, long[] visible, int first,
+            int count) {
+        FrustumOperations.checkBits(visible.length, first, count);
+
+        forEachWord(first, count, (from, to) -> FrustumOperations.cullBoxes(planes, planesOffset,
+                minX, minY, minZ, maxX, maxY, maxZ, visible, from, to - from));
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link FrustumOperations#cullSpheres(double[], int,
+	 * double[], double[], double[], double[], long[], int, int)}.
+	 * Work is split on 64 object boundaries so that no two threads write the same
+	 * word, with the grain rounded down to whole words.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param x            the center x coordinates
+	 * @param y            the center y coordinates
+	 * @param z            the center z coordinates
+	 * @param radius       the radii
+	 * @param visible      the visibility bit set
+	 * @param first        the first sphere
+	 * @param count        the number of spheres
+	 */
+    public void cullSpheres(double[] planes, int planesOffset, double[] x, double[] y, double[] z,
+            double[] radius, long[] visible, int first, int count) {
+        FrustumOperations.checkBits(visible.length, first, count);
+
+        forEachWord(first, count, (from, to) -> FrustumOperations.cullSpheres(planes,
+                planesOffset, x, y, z, radius, visible, from, to - from));
+    }
+
+    /**
+	 * Parallel form of
+	 * {@link FrustumOperations#cullBoxes(double[], int, double[], double[], double[], double[],
+	 * double[], double[], long[], int, int)}.
+	 * Work is split on 64 object boundaries so that no two threads write the same
+	 * word, with the grain rounded down to whole words.
+	 *
+	 * @param planes       the frustum planes
+	 * @param planesOffset the planes offset
+	 * @param minX         the minimum x coordinates
+	 * @param minY         the minimum y coordinates
+	 * @param minZ         the minimum z coordinates
+	 * @param maxX         the maximum x coordinates
+	 * @param maxY         the maximum y coordinates
+	 * @param maxZ         the maximum z coordinates
+	 * @param visible      the visibility bit set
+	 * @param first        the first box
+	 * @param count        the number of boxes
+	 */
+    public void cullBoxes(double[] planes, int planesOffset, double[] minX, double[] minY,
+            double[] minZ, double[] maxX, double[] maxY, double[] maxZ, long[] visible, int first,
+            int count) {
+        FrustumOperations.checkBits(visible.length, first, count);
+
+        forEachWord(first, count, (from, to) -> FrustumOperations.cullBoxes(planes, planesOffset,
+                minX, minY, minZ, maxX, maxY, maxZ, visible, from, to - from));
+    }
+
+    /**
+	 * Runs a task over the element range {@code [first, first + count)} in
+	 * slices that start and end on multiples of 64, except at the range ends.
+	 * The grain, counted in elements, is converted to words of 64 elements.
+	 *
+	 * @param first the first element
+	 * @param count the number of elements
+	 * @param task  the task, called with absolute element bounds
+	 */
+    private void forEachWord(int first, int count, RangeTask task) {
+        if (count == 0) {
+            return;
+        }
+
+        int end = first + count;
+        int firstWord = first >>> 6;
+        int words = ((end - 1) >>> 6) - firstWord + 1;
+        int wordGrain = Math.max(1, grain >>> 6);
+        forEach(words, wordGrain, (from, to) -> task.run(Math.max(first, (firstWord + from) << 6),
+                Math.min(end, (firstWord + to) << 6)));
+    }
+}
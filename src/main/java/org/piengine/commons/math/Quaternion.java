@@ -0,0 +1,590 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import org.piengine.commons.math.Matrix.Matrix3;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3d;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3f;
+import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Vector3D.Vector3d;
+import org.piengine.commons.math.Vector3D.Vector3f;
+import org.piengine.commons.math.coordinates.XYZWValues;
+
+/**
+ * The Interface Quaternion. Components are {@code x, y, z, w} with {@code w}
+ * the scalar part; rotations follow the same right-handed, column-vector
+ * convention as {@link MatrixOperations}.
+ */
+public interface Quaternion extends XYZWValues {
+
+	/**
+	 * The Record Quaternionf.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 * @param w the w
+	 */
+	record Quaternionf(float x, float y, float z, float w) implements Quaternion, PrecisionTf {
+
+		/**
+		 * Instantiates a new quaternion f from a packed {@code x, y, z, w} array.
+		 *
+		 * @param array the array
+		 */
+		public Quaternionf(float[] array) {
+			this(array[0], array[1], array[2], array[3]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#xf()
+		 */
+		@Override
+		public float xf() {
+			return x;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#yf()
+		 */
+		@Override
+		public float yf() {
+			return y;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#zf()
+		 */
+		@Override
+		public float zf() {
+			return z;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#wf()
+		 */
+		@Override
+		public float wf() {
+			return w;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#arrayf()
+		 */
+		@Override
+		public float[] arrayf() {
+			return new float[] {
+					x,
+					y,
+					z,
+					w
+			};
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#arrayd()
+		 */
+		@Override
+		public double[] arrayd() {
+			return new double[] {
+					x,
+					y,
+					z,
+					w
+			};
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#multiply(
+		 *      org.piengine.commons.math.Quaternion)
+		 */
+		@Override
+		public Quaternion multiply(Quaternion other) {
+			float[] q = arrayf();
+			QuaternionOperations.multiply(q, 0, other.arrayf(), 0, q, 0);
+			return new Quaternionf(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#conjugate()
+		 */
+		@Override
+		public Quaternion conjugate() {
+			return new Quaternionf(-x, -y, -z, w);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#normalize()
+		 */
+		@Override
+		public Quaternion normalize() {
+			float[] q = arrayf();
+			QuaternionOperations.normalize(q, 0, q, 0);
+			return new Quaternionf(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#rotate(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D rotate(Vector3D vector) {
+			float[] v = new float[] {
+					(float) vector.xd(),
+					(float) vector.yd(),
+					(float) vector.zd()
+			};
+			QuaternionOperations.rotate(arrayf(), 0, v, 0, v, 0);
+			return new Vector3f(v[0], v[1], v[2]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#nlerp(org.piengine.commons.math.Quaternion,
+		 *      double)
+		 */
+		@Override
+		public Quaternion nlerp(Quaternion other, double t) {
+			float[] q = arrayf();
+			QuaternionOperations.nlerp(q, 0, other.arrayf(), 0, (float) t, q, 0);
+			return new Quaternionf(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#slerp(org.piengine.commons.math.Quaternion,
+		 *      double)
+		 */
+		@Override
+		public Quaternion slerp(Quaternion other, double t) {
+			float[] q = arrayf();
+			QuaternionOperations.slerp(q, 0, other.arrayf(), 0, (float) t, q, 0);
+			return new Quaternionf(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#toMatrix4()
+		 */
+		@Override
+		public Matrix4f toMatrix4() {
+			float[] m = new float[16];
+			QuaternionOperations.toMatrix4(x, y, z, w, m, 0);
+			return new Matrix4f(m);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#toMatrix3()
+		 */
+		@Override
+		public Matrix3f toMatrix3() {
+			float[] m = new float[9];
+			QuaternionOperations.toMatrix3(x, y, z, w, m, 0);
+			return new Matrix3f(m);
+		}
+
+	}
+
+	/**
+	 * The Record Quaterniond.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 * @param w the w
+	 */
+	record Quaterniond(double x, double y, double z, double w)
+			implements Quaternion, PrecisionTd {
+
+		/**
+		 * Instantiates a new quaternion d from a packed {@code x, y, z, w} array.
+		 *
+		 * @param array the array
+		 */
+		public Quaterniond(double[] array) {
+			this(array[0], array[1], array[2], array[3]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#xd()
+		 */
+		@Override
+		public double xd() {
+			return x;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#yd()
+		 */
+		@Override
+		public double yd() {
+			return y;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#zd()
+		 */
+		@Override
+		public double zd() {
+			return z;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#wd()
+		 */
+		@Override
+		public double wd() {
+			return w;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#xf()
+		 */
+		@Override
+		public float xf() {
+			return (float) x;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#yf()
+		 */
+		@Override
+		public float yf() {
+			return (float) y;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#zf()
+		 */
+		@Override
+		public float zf() {
+			return (float) z;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZWValues#wf()
+		 */
+		@Override
+		public float wf() {
+			return (float) w;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#arrayd()
+		 */
+		@Override
+		public double[] arrayd() {
+			return new double[] {
+					x,
+					y,
+					z,
+					w
+			};
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#arrayf()
+		 */
+		@Override
+		public float[] arrayf() {
+			return new float[] {
+					(float) x,
+					(float) y,
+					(float) z,
+					(float) w
+			};
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#multiply(
+		 *      org.piengine.commons.math.Quaternion)
+		 */
+		@Override
+		public Quaternion multiply(Quaternion other) {
+			double[] q = arrayd();
+			QuaternionOperations.multiply(q, 0, other.arrayd(), 0, q, 0);
+			return new Quaterniond(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#conjugate()
+		 */
+		@Override
+		public Quaternion conjugate() {
+			return new Quaterniond(-x, -y, -z, w);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#normalize()
+		 */
+		@Override
+		public Quaternion normalize() {
+			double[] q = arrayd();
+			QuaternionOperations.normalize(q, 0, q, 0);
+			return new Quaterniond(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#rotate(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D rotate(Vector3D vector) {
+			double[] v = new double[] {
+					vector.xd(),
+					vector.yd(),
+					vector.zd()
+			};
+			QuaternionOperations.rotate(arrayd(), 0, v, 0, v, 0);
+			return new Vector3d(v[0], v[1], v[2]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#nlerp(org.piengine.commons.math.Quaternion,
+		 *      double)
+		 */
+		@Override
+		public Quaternion nlerp(Quaternion other, double t) {
+			double[] q = arrayd();
+			QuaternionOperations.nlerp(q, 0, other.arrayd(), 0, t, q, 0);
+			return new Quaterniond(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#slerp(org.piengine.commons.math.Quaternion,
+		 *      double)
+		 */
+		@Override
+		public Quaternion slerp(Quaternion other, double t) {
+			double[] q = arrayd();
+			QuaternionOperations.slerp(q, 0, other.arrayd(), 0, t, q, 0);
+			return new Quaterniond(q);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#toMatrix4()
+		 */
+		@Override
+		public Matrix4d toMatrix4() {
+			double[] m = new double[16];
+			QuaternionOperations.toMatrix4(x, y, z, w, m, 0);
+			return new Matrix4d(m);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Quaternion#toMatrix3()
+		 */
+		@Override
+		public Matrix3d toMatrix3() {
+			double[] m = new double[9];
+			QuaternionOperations.toMatrix3(x, y, z, w, m, 0);
+			return new Matrix3d(m);
+		}
+
+	}
+
+	/**
+	 * Identityf.
+	 *
+	 * @return the quaternion f
+	 */
+	static Quaternionf identityf() {
+		return new Quaternionf(0, 0, 0, 1);
+	}
+
+	/**
+	 * Identityd.
+	 *
+	 * @return the quaternion d
+	 */
+	static Quaterniond identityd() {
+		return new Quaterniond(0, 0, 0, 1);
+	}
+
+	/**
+	 * Of float.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 * @param w the w
+	 * @return the quaternion f
+	 */
+	static Quaternionf ofFloat(float x, float y, float z, float w) {
+		return new Quaternionf(x, y, z, w);
+	}
+
+	/**
+	 * Of double.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 * @param w the w
+	 * @return the quaternion d
+	 */
+	static Quaterniond ofDouble(double x, double y, double z, double w) {
+		return new Quaterniond(x, y, z, w);
+	}
+
+	/**
+	 * Rotation of {@code angle} radians about an axis. The axis need not be unit
+	 * length.
+	 *
+	 * @param axis  the axis
+	 * @param angle the angle
+	 * @return the quaternion f
+	 */
+	static Quaternionf axisAnglef(Vector3D axis, float angle) {
+		Quaterniond q = axisAngled(axis, angle);
+		return new Quaternionf(q.xf(), q.yf(), q.zf(), q.wf());
+	}
+
+	/**
+	 * Rotation of {@code angle} radians about an axis. The axis need not be unit
+	 * length.
+	 *
+	 * @param axis  the axis
+	 * @param angle the angle
+	 * @return the quaternion d
+	 */
+	static Quaterniond axisAngled(Vector3D axis, double angle) {
+		double mag = axis.magnitude();
+		if (mag == 0) {
+			throw new ArithmeticException("Cannot rotate about a zero axis");
+		}
+		double s = Math.sin(angle * 0.5) / mag;
+		return new Quaterniond(axis.xd() * s, axis.yd() * s, axis.zd() * s,
+				Math.cos(angle * 0.5));
+	}
+
+	/**
+	 * Extracts the rotation of a matrix whose upper 3x3 block is orthonormal.
+	 *
+	 * @param matrix the matrix
+	 * @return the quaternion d
+	 */
+	static Quaterniond fromMatrix(Matrix4 matrix) {
+		double[] m = {
+				matrix.xd(0), matrix.yd(0), matrix.zd(0),
+				matrix.xd(1), matrix.yd(1), matrix.zd(1),
+				matrix.xd(2), matrix.yd(2), matrix.zd(2)
+		};
+		double[] q = new double[4];
+		QuaternionOperations.fromRotation(m, 0, 3, q, 0);
+		return new Quaterniond(q);
+	}
+
+	/**
+	 * Arrayd.
+	 *
+	 * @return a new packed {@code x, y, z, w} array
+	 */
+	double[] arrayd();
+
+	/**
+	 * Arrayf.
+	 *
+	 * @return a new packed {@code x, y, z, w} array
+	 */
+	float[] arrayf();
+
+	/**
+	 * Conjugate. For a unit quaternion this is the inverse rotation.
+	 *
+	 * @return the quaternion
+	 */
+	Quaternion conjugate();
+
+	/**
+	 * Dot.
+	 *
+	 * @param other the other
+	 * @return the double
+	 */
+	default double dot(Quaternion other) {
+		return xd() * other.xd() + yd() * other.yd() + zd() * other.zd() + wd() * other.wd();
+	}
+
+	/**
+	 * Magnitude.
+	 *
+	 * @return the double
+	 */
+	default double magnitude() {
+		return Math.sqrt(dot(this));
+	}
+
+	/**
+	 * Multiply, {@code this * other}: applies {@code other} first, then this.
+	 *
+	 * @param other the other
+	 * @return the quaternion
+	 */
+	Quaternion multiply(Quaternion other);
+
+	/**
+	 * Normalized linear interpolation along the shortest arc.
+	 *
+	 * @param other the other
+	 * @param t     the interpolation factor
+	 * @return the quaternion
+	 */
+	Quaternion nlerp(Quaternion other, double t);
+
+	/**
+	 * Normalize.
+	 *
+	 * @return the quaternion
+	 */
+	Quaternion normalize();
+
+	/**
+	 * Rotates a vector by this unit quaternion without building a matrix.
+	 *
+	 * @param vector the vector
+	 * @return the vector 3 D
+	 */
+	Vector3D rotate(Vector3D vector);
+
+	/**
+	 * Spherical linear interpolation along the shortest arc.
+	 *
+	 * @param other the other
+	 * @param t     the interpolation factor
+	 * @return the quaternion
+	 */
+	Quaternion slerp(Quaternion other, double t);
+
+	/**
+	 * To matrix 3.
+	 *
+	 * @return the matrix 3
+	 */
+	Matrix3 toMatrix3();
+
+	/**
+	 * To matrix 4.
+	 *
+	 * @return the matrix 4
+	 */
+	Matrix4 toMatrix4();
+}
@@ -0,0 +1,819 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Objects;
+
+/**
+ * Quaternion kernels over packed {@code x, y, z, w} arrays. These back the
+ * {@link Quaternion} records and are the allocation-free path for bulk
+ * animation work, such as interpolating a whole skeleton per frame.
+ */
+public final class QuaternionOperations {
+
+    /** The number of elements in one packed quaternion. */
+    public static final int STRIDE = 4;
+
+    /** Above this cosine, slerp falls back to nlerp. */
+    private static final float SLERP_THRESHOLD_F = 0.9995f;
+
+    /** Above this cosine, slerp falls back to nlerp. */
+    private static final double SLERP_THRESHOLD_D = 0.9995;
+
+    /**
+	 * Instantiates a new quaternion operations.
+	 */
+    private QuaternionOperations() {}
+
+    /**
+	 * Checks that a batch of quaternions fits in an array.
+	 *
+	 * @param length the array length
+	 * @param offset the offset
+	 * @param count  the number of quaternions
+	 */
+    private static void checkBatch(int length, int offset, int count) {
+        Objects.checkFromIndexSize(offset, Math.multiplyExact(count, STRIDE), length);
+    }
+
+    /**
+	 * Multiplies two quaternions, {@code dest = a * b}, the rotation {@code b}
+	 * followed by {@code a}. The destination may alias either operand.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+            int destOffset) {
+        float ax = a[aOffset], ay = a[aOffset + 1], az = a[aOffset + 2], aw = a[aOffset + 3];
+        float bx = b[bOffset], by = b[bOffset + 1], bz = b[bOffset + 2], bw = b[bOffset + 3];
+
+        dest[destOffset] = aw * bx + ax * bw + ay * bz - az * by;
+        dest[destOffset + 1] = aw * by - ax * bz + ay * bw + az * bx;
+        dest[destOffset + 2] = aw * bz + ax * by - ay * bx + az * bw;
+        dest[destOffset + 3] = aw * bw - ax * bx - ay * by - az * bz;
+    }
+
+    /**
+	 * Normalizes a quaternion. The destination may alias the source.
+	 *
+	 * @param q          the quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void normalize(float[] q, int qOffset, float[] dest, int destOffset) {
+        float x = q[qOffset], y = q[qOffset + 1], z = q[qOffset + 2], w = q[qOffset + 3];
+        float len = (float) Math.sqrt(x * x + y * y + z * z + w * w);
+        if (len == 0) {
+            throw new ArithmeticException("Cannot normalize a zero quaternion");
+        }
+
+        float inv = 1 / len;
+        dest[destOffset] = x * inv;
+        dest[destOffset + 1] = y * inv;
+        dest[destOffset + 2] = z * inv;
+        dest[destOffset + 3] = w * inv;
+    }
+
+    /**
+	 * Rotates a 3 component vector by a unit quaternion without building a
+	 * matrix. The destination may alias the vector.
+	 *
+	 * @param q          the unit quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param v          the vector
+	 * @param vOffset    the vector offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotate(float[] q, int qOffset, float[] v, int vOffset, float[] dest,
+            int destOffset) {
+        float qx = q[qOffset], qy = q[qOffset + 1], qz = q[qOffset + 2], qw = q[qOffset + 3];
+        float vx = v[vOffset], vy = v[vOffset + 1], vz = v[vOffset + 2];
+
+        // t = 2 * (q.xyz x v), v' = v + w * t + q.xyz x t
+        float tx = 2 * (qy * vz - qz * vy);
+        float ty = 2 * (qz * vx - qx * vz);
+        float tz = 2 * (qx * vy - qy * vx);
+
+        dest[destOffset] = vx + qw * tx + (qy * tz - qz * ty);
+        dest[destOffset + 1] = vy + qw * ty + (qz * tx - qx * tz);
+        dest[destOffset + 2] = vz + qw * tz + (qx * ty - qy * tx);
+    }
+
+    /**
+	 * Normalized linear interpolation along the shortest arc. The destination may
+	 * alias either operand.
+	 *
+	 * @param a          the start
+	 * @param aOffset    the start offset
+	 * @param b          the end
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void nlerp(float[] a, int aOffset, float[] b, int bOffset, float t,
+            float[] dest, int destOffset) {
+        float ax = a[aOffset], ay = a[aOffset + 1], az = a[aOffset + 2], aw = a[aOffset + 3];
+        float bx = b[bOffset], by = b[bOffset + 1], bz = b[bOffset + 2], bw = b[bOffset + 3];
+
+        float s = 1 - t;
+        float u = (ax * bx + ay * by + az * bz + aw * bw) < 0 ? -t : t;
+
+        float x = s * ax + u * bx;
+        float y = s * ay + u * by;
+        float z = s * az + u * bz;
+        float w = s * aw + u * bw;
+        float inv = (float) (1 / Math.sqrt(x * x + y * y + z * z + w * w));
+
+        dest[destOffset] = x * inv;
+        dest[destOffset + 1] = y * inv;
+        dest[destOffset + 2] = z * inv;
+        dest[destOffset + 3] = w * inv;
+    }
+
+    /**
+	 * Spherical linear interpolation along the shortest arc. Nearly parallel
+	 * quaternions, where slerp and nlerp agree to within rounding, take the
+	 * cheaper nlerp path. The destination may alias either operand.
+	 *
+	 * @param a          the start
+	 * @param aOffset    the start offset
+	 * @param b          the end
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void slerp(float[] a, int aOffset, float[] b, int bOffset, float t,
+            float[] dest, int destOffset) {
+        float ax = a[aOffset], ay = a[aOffset + 1], az = a[aOffset + 2], aw = a[aOffset + 3];
+        float bx = b[bOffset], by = b[bOffset + 1], bz = b[bOffset + 2], bw = b[bOffset + 3];
+
+        float dot = ax * bx + ay * by + az * bz + aw * bw;
+        float sign = 1;
+        if (dot < 0) {
+            dot = -dot;
+            sign = -1;
+        }
+
+        if (dot > SLERP_THRESHOLD_F) {
+            nlerp(a, aOffset, b, bOffset, t, dest, destOffset);
+            return;
+        }
+
+        double theta = Math.acos(dot);
+        double invSin = 1 / Math.sin(theta);
+        float s = (float) (Math.sin((1 - t) * theta) * invSin);
+        float u = (float) (Math.sin(t * theta) * invSin) * sign;
+
+        dest[destOffset] = s * ax + u * bx;
+        dest[destOffset + 1] = s * ay + u * by;
+        dest[destOffset + 2] = s * az + u * bz;
+        dest[destOffset + 3] = s * aw + u * bw;
+    }
+
+    /**
+	 * Batch normalized linear interpolation of packed quaternions with a shared
+	 * factor, {@code dest[i] = nlerp(a[i], b[i], t)}.
+	 *
+	 * @param a          the start quaternions
+	 * @param aOffset    the start offset
+	 * @param b          the end quaternions
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of quaternions
+	 */
+    public static void nlerp(float[] a, int aOffset, float[] b, int bOffset, float t,
+            float[] dest, int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            int o = i * STRIDE;
+            nlerp(a, aOffset + o, b, bOffset + o, t, dest, destOffset + o);
+        }
+    }
+
+    /**
+	 * Batch spherical linear interpolation of packed quaternions with a shared
+	 * factor, {@code dest[i] = slerp(a[i], b[i], t)}.
+	 *
+	 * @param a          the start quaternions
+	 * @param aOffset    the start offset
+	 * @param b          the end quaternions
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of quaternions
+	 */
+    public static void slerp(float[] a, int aOffset, float[] b, int bOffset, float t,
+            float[] dest, int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            int o = i * STRIDE;
+            slerp(a, aOffset + o, b, bOffset + o, t, dest, destOffset + o);
+        }
+    }
+
+    /**
+	 * Writes the row-major 4x4 rotation matrix of a quaternion. A quaternion that
+	 * is not unit length is normalized implicitly.
+	 *
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param w          the w
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix4(float x, float y, float z, float w, float[] dest,
+            int destOffset) {
+        float s = 2 / (x * x + y * y + z * z + w * w);
+        float xx = x * x * s, yy = y * y * s, zz = z * z * s;
+        float xy = x * y * s, xz = x * z * s, yz = y * z * s;
+        float wx = w * x * s, wy = w * y * s, wz = w * z * s;
+
+        dest[destOffset] = 1 - (yy + zz);
+        dest[destOffset + 1] = xy - wz;
+        dest[destOffset + 2] = xz + wy;
+        dest[destOffset + 3] = 0;
+        dest[destOffset + 4] = xy + wz;
+        dest[destOffset + 5] = 1 - (xx + zz);
+        dest[destOffset + 6] = yz - wx;
+        dest[destOffset + 7] = 0;
+        dest[destOffset + 8] = xz - wy;
+        dest[destOffset + 9] = yz + wx;
+        dest[destOffset + 10] = 1 - (xx + yy);
+        dest[destOffset + 11] = 0;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Writes the row-major 4x4 rotation matrix of a packed quaternion.
+	 *
+	 * @param q          the quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix4(float[] q, int qOffset, float[] dest, int destOffset) {
+        toMatrix4(q[qOffset], q[qOffset + 1], q[qOffset + 2], q[qOffset + 3], dest, destOffset);
+    }
+
+    /**
+	 * Writes the row-major 3x3 rotation matrix of a quaternion. A quaternion that
+	 * is not unit length is normalized implicitly.
+	 *
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param w          the w
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix3(float x, float y, float z, float w, float[] dest,
+            int destOffset) {
+        float s = 2 / (x * x + y * y + z * z + w * w);
+        float xx = x * x * s, yy = y * y * s, zz = z * z * s;
+        float xy = x * y * s, xz = x * z * s, yz = y * z * s;
+        float wx = w * x * s, wy = w * y * s, wz = w * z * s;
+
+        dest[destOffset] = 1 - (yy + zz);
+        dest[destOffset + 1] = xy - wz;
+        dest[destOffset + 2] = xz + wy;
+        dest[destOffset + 3] = xy + wz;
+        dest[destOffset + 4] = 1 - (xx + zz);
+        dest[destOffset + 5] = yz - wx;
+        dest[destOffset + 6] = xz - wy;
+        dest[destOffset + 7] = yz + wx;
+        dest[destOffset + 8] = 1 - (xx + yy);
+    }
+
+    /**
+	 * Writes the row-major 3x3 rotation matrix of a packed quaternion.
+	 *
+	 * @param q          the quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix3(float[] q, int qOffset, float[] dest, int destOffset) {
+        toMatrix3(q[qOffset], q[qOffset + 1], q[qOffset + 2], q[qOffset + 3], dest, destOffset);
+    }
+
+    /**
+	 * Extracts the unit quaternion of a rotation held in a row-major matrix. The
+	 * 3x3 rotation starts at {@code mOffset} and its rows are {@code rowStride}
+	 * elements apart, 4 for a {@code Matrix4} and 3 for a {@code Matrix3}.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param rowStride  the row stride
+	 * @param dest       the destination quaternion
+	 * @param destOffset the destination offset
+	 */
+    public static void fromRotation(float[] m, int mOffset, int rowStride, float[] dest,
+            int destOffset) {
+        int r1 = mOffset + rowStride, r2 = r1 + rowStride;
+        fromRotation(m[mOffset], m[mOffset + 1], m[mOffset + 2], m[r1], m[r1 + 1], m[r1 + 2],
+                m[r2], m[r2 + 1], m[r2 + 2], dest, destOffset);
+    }
+
+    /**
+	 * Extracts the unit quaternion of a row-major 3x3 rotation given by its
+	 * elements.
+	 *
+	 * @param m00        the m 00
+	 * @param m01        the m 01
+	 * @param m02        the m 02
+	 * @param m10        the m 10
+	 * @param m11        the m 11
+	 * @param m12        the m 12
+	 * @param m20        the m 20
+	 * @param m21        the m 21
+	 * @param m22        the m 22
+	 * @param dest       the destination quaternion
+	 * @param destOffset the destination offset
+	 */
+    public static void fromRotation(float m00, float m01, float m02, float m10, float m11,
+            float m12, float m20, float m21, float m22, float[] dest, int destOffset) {
+        float x, y, z, w;
+        float trace = m00 + m11 + m22;
+        if (trace > 0) {
+            float s = (float) (0.5 / Math.sqrt(trace + 1));
+            w = (float) 0.25 / s;
+            x = (m21 - m12) * s;
+            y = (m02 - m20) * s;
+            z = (m10 - m01) * s;
+        } else if (m00 > m11 && m00 > m22) {
+            float s = (float) (2 * Math.sqrt(1 + m00 - m11 - m22));
+            w = (m21 - m12) / s;
+            x = (float) 0.25 * s;
+            y = (m01 + m10) / s;
+            z = (m02 + m20) / s;
+        } else if (m11 > m22) {
+            float s = (float) (2 * Math.sqrt(1 + m11 - m00 - m22));
+            w = (m02 - m20) / s;
+            x = (m01 + m10) / s;
+            y = (float) 0.25 * s;
+            z = (m12 + m21) / s;
+        } else {
+            float s = (float) (2 * Math.sqrt(1 + m22 - m00 - m11));
+            w = (m10 - m01) / s;
+            x = (m02 + m20) / s;
+            y = (m12 + m21) / s;
+            z = (float) 0.25 * s;
+        }
+
+        dest[destOffset] = x;
+        dest[destOffset + 1] = y;
+        dest[destOffset + 2] = z;
+        dest[destOffset + 3] = w;
+    }
+
+    /**
+	 * Writes the TRS matrix {@code T(t) * R(q) * S(s)} in one pass, with the
+	 * rotation given as a packed quaternion.
+	 *
+	 * @param tx         the translation x
+	 * @param ty         the translation y
+	 * @param tz         the translation z
+	 * @param q          the rotation quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param sx         the scale x
+	 * @param sy         the scale y
+	 * @param sz         the scale z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void compose(float tx, float ty, float tz, float[] q, int qOffset, float sx,
+            float sy, float sz, float[] dest, int destOffset) {
+        toMatrix4(q[qOffset], q[qOffset + 1], q[qOffset + 2], q[qOffset + 3], dest, destOffset);
+        for (int i = 0; i < 12; i += 4) {
+            dest[destOffset + i] *= sx;
+            dest[destOffset + i + 1] *= sy;
+            dest[destOffset + i + 2] *= sz;
+        }
+        dest[destOffset + 3] = tx;
+        dest[destOffset + 7] = ty;
+        dest[destOffset + 11] = tz;
+    }
+
+    /**
+	 * Multiplies two quaternions, {@code dest = a * b}, the rotation {@code b}
+	 * followed by {@code a}. The destination may alias either operand.
+	 *
+	 * @param a          the a
+	 * @param aOffset    the a offset
+	 * @param b          the b
+	 * @param bOffset    the b offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+            int destOffset) {
+        double ax = a[aOffset], ay = a[aOffset + 1], az = a[aOffset + 2], aw = a[aOffset + 3];
+        double bx = b[bOffset], by = b[bOffset + 1], bz = b[bOffset + 2], bw = b[bOffset + 3];
+
+        dest[destOffset] = aw * bx + ax * bw + ay * bz - az * by;
+        dest[destOffset + 1] = aw * by - ax * bz + ay * bw + az * bx;
+        dest[destOffset + 2] = aw * bz + ax * by - ay * bx + az * bw;
+        dest[destOffset + 3] = aw * bw - ax * bx - ay * by - az * bz;
+    }
+
+    /**
+	 * Normalizes a quaternion. The destination may alias the source.
+	 *
+	 * @param q          the quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void normalize(double[] q, int qOffset, double[] dest, int destOffset) {
+        double x = q[qOffset], y = q[qOffset + 1], z = q[qOffset + 2], w = q[qOffset + 3];
+        double len = Math.sqrt(x * x + y * y + z * z + w * w);
+        if (len == 0) {
+            throw new ArithmeticException("Cannot normalize a zero quaternion");
+        }
+
+        double inv = 1 / len;
+        dest[destOffset] = x * inv;
+        dest[destOffset + 1] = y * inv;
+        dest[destOffset + 2] = z * inv;
+        dest[destOffset + 3] = w * inv;
+    }
+
+    /**
+	 * Rotates a 3 component vector by a unit quaternion without building a
+	 * matrix. The destination may alias the vector.
+	 *
+	 * @param q          the unit quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param v          the vector
+	 * @param vOffset    the vector offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void rotate(double[] q, int qOffset, double[] v, int vOffset, double[] dest,
+            int destOffset) {
+        double qx = q[qOffset], qy = q[qOffset + 1], qz = q[qOffset + 2], qw = q[qOffset + 3];
+        double vx = v[vOffset], vy = v[vOffset + 1], vz = v[vOffset + 2];
+
+        // t = 2 * (q.xyz x v), v' = v + w * t + q.xyz x t
+        double tx = 2 * (qy * vz - qz * vy);
+        double ty = 2 * (qz * vx - qx * vz);
+        double tz = 2 * (qx * vy - qy * vx);
+
+        dest[destOffset] = vx + qw * tx + (qy * tz - qz * ty);
+        dest[destOffset + 1] = vy + qw * ty + (qz * tx - qx * tz);
+        dest[destOffset + 2] = vz + qw * tz + (qx * ty - qy * tx);
+    }
+
+    /**
+	 * Normalized linear interpolation along the shortest arc. The destination may
+	 * alias either operand.
+	 *
+	 * @param a          the start
+	 * @param aOffset    the start offset
+	 * @param b          the end
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void nlerp(double[] a, int aOffset, double[] b, int bOffset, double t,
+            double[] dest, int destOffset) {
+        double ax = a[aOffset], ay = a[aOffset + 1], az = a[aOffset + 2], aw = a[aOffset + 3];
+        double bx = b[bOffset], by = b[bOffset + 1], bz = b[bOffset + 2], bw = b[bOffset + 3];
+
+        double s = 1 - t;
+        double u = (ax * bx + ay * by + az * bz + aw * bw) < 0 ? -t : t;
+
+        double x = s * ax + u * bx;
+        double y = s * ay + u * by;
+        double z = s * az + u * bz;
+        double w = s * aw + u * bw;
+        double inv = (1 / Math.sqrt(x * x + y * y + z * z + w * w));
+
+        dest[destOffset] = x * inv;
+        dest[destOffset + 1] = y * inv;
+        dest[destOffset + 2] = z * inv;
+        dest[destOffset + 3] = w * inv;
+    }
+
+    /**
+	 * Spherical linear interpolation along the shortest arc. Nearly parallel
+	 * quaternions, where slerp and nlerp agree to within rounding, take the
+	 * cheaper nlerp path. The destination may alias either operand.
+	 *
+	 * @param a          the start
+	 * @param aOffset    the start offset
+	 * @param b          the end
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void slerp(double[] a, int aOffset, double[] b, int bOffset, double t,
+            double[] dest, int destOffset) {
+        double ax = a[aOffset], ay = a[aOffset + 1], az = a[aOffset + 2], aw = a[aOffset + 3];
+        double bx = b[bOffset], by = b[bOffset + 1], bz = b[bOffset + 2], bw = b[bOffset + 3];
+
+        double dot = ax * bx + ay * by + az * bz + aw * bw;
+        double sign = 1;
+        if (dot < 0) {
+            dot = -dot;
+            sign = -1;
+        }
+
+        if (dot > SLERP_THRESHOLD_D) {
+            nlerp(a, aOffset, b, bOffset, t, dest, destOffset);
+            return;
+        }
+
+        double theta = Math.acos(dot);
+        double invSin = 1 / Math.sin(theta);
+        double s = (Math.sin((1 - t) * theta) * invSin);
+        double u = (Math.sin(t * theta) * invSin) * sign;
+
+        dest[destOffset] = s * ax + u * bx;
+        dest[destOffset + 1] = s * ay + u * by;
+        dest[destOffset + 2] = s * az + u * bz;
+        dest[destOffset + 3] = s * aw + u * bw;
+    }
+
+    /**
+	 * Batch normalized linear interpolation of packed quaternions with a shared
+	 * factor, {@code dest[i] = nlerp(a[i], b[i], t)}.
+	 *
+	 * @param a          the start quaternions
+	 * @param aOffset    the start offset
+	 * @param b          the end quaternions
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of quaternions
+	 */
+    public static void nlerp(double[] a, int aOffset, double[] b, int bOffset, double t,
+            double[] dest, int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            int o = i * STRIDE;
+            nlerp(a, aOffset + o, b, bOffset + o, t, dest, destOffset + o);
+        }
+    }
+
+    /**
+	 * Batch spherical linear interpolation of packed quaternions with a shared
+	 * factor, {@code dest[i] = slerp(a[i], b[i], t)}.
+	 *
+	 * @param a          the start quaternions
+	 * @param aOffset    the start offset
+	 * @param b          the end quaternions
+	 * @param bOffset    the end offset
+	 * @param t          the interpolation factor
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of quaternions
+	 */
+    public static void slerp(double[] a, int aOffset, double[] b, int bOffset, double t,
+            double[] dest, int destOffset, int count) {
+        checkBatch(a.length, aOffset, count);
+        checkBatch(b.length, bOffset, count);
+        checkBatch(dest.length, destOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            int o = i * STRIDE;
+            slerp(a, aOffset + o, b, bOffset + o, t, dest, destOffset + o);
+        }
+    }
+
+    /**
+	 * Writes the row-major 4x4 rotation matrix of a quaternion. A quaternion that
+	 * is not unit length is normalized implicitly.
+	 *
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param w          the w
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix4(double x, double y, double z, double w, double[] dest,
+            int destOffset) {
+        double s = 2 / (x * x + y * y + z * z + w * w);
+        double xx = x * x * s, yy = y * y * s, zz = z * z * s;
+        double xy = x * y * s, xz = x * z * s, yz = y * z * s;
+        double wx = w * x * s, wy = w * y * s, wz = w * z * s;
+
+        dest[destOffset] = 1 - (yy + zz);
+        dest[destOffset + 1] = xy - wz;
+        dest[destOffset + 2] = xz + wy;
+        dest[destOffset + 3] = 0;
+        dest[destOffset + 4] = xy + wz;
+        dest[destOffset + 5] = 1 - (xx + zz);
+        dest[destOffset + 6] = yz - wx;
+        dest[destOffset + 7] = 0;
+        dest[destOffset + 8] = xz - wy;
+        dest[destOffset + 9] = yz + wx;
+        dest[destOffset + 10] = 1 - (xx + yy);
+        dest[destOffset + 11] = 0;
+        dest[destOffset + 12] = 0;
+        dest[destOffset + 13] = 0;
+        dest[destOffset + 14] = 0;
+        dest[destOffset + 15] = 1;
+    }
+
+    /**
+	 * Writes the row-major 4x4 rotation matrix of a packed quaternion.
+	 *
+	 * @param q          the quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix4(double[] q, int qOffset, double[] dest, int destOffset) {
+        toMatrix4(q[qOffset], q[qOffset + 1], q[qOffset + 2], q[qOffset + 3], dest, destOffset);
+    }
+
+    /**
+	 * Writes the row-major 3x3 rotation matrix of a quaternion. A quaternion that
+	 * is not unit length is normalized implicitly.
+	 *
+	 * @param x          the x
+	 * @param y          the y
+	 * @param z          the z
+	 * @param w          the w
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix3(double x, double y, double z, double w, double[] dest,
+            int destOffset) {
+        double s = 2 / (x * x + y * y + z * z + w * w);
+        double xx = x * x * s, yy = y * y * s, zz = z * z * s;
+        double xy = x * y * s, xz = x * z * s, yz = y * z * s;
+        double wx = w * x * s, wy = w * y * s, wz = w * z * s;
+
+        dest[destOffset] = 1 - (yy + zz);
+        dest[destOffset + 1] = xy - wz;
+        dest[destOffset + 2] = xz + wy;
+        dest[destOffset + 3] = xy + wz;
+        dest[destOffset + 4] = 1 - (xx + zz);
+        dest[destOffset + 5] = yz - wx;
+        dest[destOffset + 6] = xz - wy;
+        dest[destOffset + 7] = yz + wx;
+        dest[destOffset + 8] = 1 - (xx + yy);
+    }
+
+    /**
+	 * Writes the row-major 3x3 rotation matrix of a packed quaternion.
+	 *
+	 * @param q          the quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void toMatrix3(double[] q, int qOffset, double[] dest, int destOffset) {
+        toMatrix3(q[qOffset], q[qOffset + 1], q[qOffset + 2], q[qOffset + 3], dest, destOffset);
+    }
+
+    /**
+	 * Extracts the unit quaternion of a rotation held in a row-major matrix. The
+	 * 3x3 rotation starts at {@code mOffset} and its rows are {@code rowStride}
+	 * elements apart, 4 for a {@code Matrix4} and 3 for a {@code Matrix3}.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param rowStride  the row stride
+	 * @param dest       the destination quaternion
+	 * @param destOffset the destination offset
+	 */
+    public static void fromRotation(double[] m, int mOffset, int rowStride, double[] dest,
+            int destOffset) {
+        int r1 = mOffset + rowStride, r2 = r1 + rowStride;
+        fromRotation(m[mOffset], m[mOffset + 1], m[mOffset + 2], m[r1], m[r1 + 1], m[r1 + 2],
+                m[r2], m[r2 + 1], m[r2 + 2], dest, destOffset);
+    }
+
+    /**
+	 * Extracts the unit quaternion of a row-major 3x3 rotation given by its
+	 * elements.
+	 *
+	 * @param m00        the m 00
+	 * @param m01        the m 01
+	 * @param m02        the m 02
+	 * @param m10        the m 10
+	 * @param m11        the m 11
+	 * @param m12        the m 12
+	 * @param m20        the m 20
+	 * @param m21        the m 21
+	 * @param m22        the m 22
+	 * @param dest       the destination quaternion
+	 * @param destOffset the destination offset
+	 */
+    public static void fromRotation(double m00, double m01, double m02, double m10, double m11,
+            double m12, double m20, double m21, double m22, double[] dest, int destOffset) {
+        double x, y, z, w;
+        double trace = m00 + m11 + m22;
+        if (trace > 0) {
+            double s = (0.5 / Math.sqrt(trace + 1));
+            w = 0.25 / s;
+            x = (m21 - m12) * s;
+            y = (m02 - m20) * s;
+            z = (m10 - m01) * s;
+        } else if (m00 > m11 && m00 > m22) {
+            double s = (2 * Math.sqrt(1 + m00 - m11 - m22));
+            w = (m21 - m12) / s;
+            x = 0.25 * s;
+            y = (m01 + m10) / s;
+            z = (m02 + m20) / s;
+        } else if (m11 > m22) {
+            double s = (2 * Math.sqrt(1 + m11 - m00 - m22));
+            w = (m02 - m20) / s;
+            x = (m01 + m10) / s;
+            y = 0.25 * s;
+            z = (m12 + m21) / s;
+        } else {
+            double s = (2 * Math.sqrt(1 + m22 - m00 - m11));
+            w = (m10 - m01) / s;
+            x = (m02 + m20) / s;
+            y = (m12 + m21) / s;
+            z = 0.25 * s;
+        }
+
+        dest[destOffset] = x;
+        dest[destOffset + 1] = y;
+        dest[destOffset + 2] = z;
+        dest[destOffset + 3] = w;
+    }
+
+    /**
+	 * Writes the TRS matrix {@code T(t) * R(q) * S(s)} in one pass, with the
+	 * rotation given as a packed quaternion.
+	 *
+	 * @param tx         the translation x
+	 * @param ty         the translation y
+	 * @param tz         the translation z
+	 * @param q          the rotation quaternion
+	 * @param qOffset    the quaternion offset
+	 * @param sx         the scale x
+	 * @param sy         the scale y
+	 * @param sz         the scale z
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public static void compose(double tx, double ty, double tz, double[] q, int qOffset,
+            double sx, double sy, double sz, double[] dest, int destOffset) {
+        toMatrix4(q[qOffset], q[qOffset + 1], q[qOffset + 2], q[qOffset + 3], dest, destOffset);
+        for (int i = 0; i < 12; i += 4) {
+            dest[destOffset + i] *= sx;
+            dest[destOffset + i + 1] *= sy;
+            dest[destOffset + i + 2] *= sz;
+        }
+        dest[destOffset + 3] = tx;
+        dest[destOffset + 7] = ty;
+        dest[destOffset + 11] = tz;
+    }
+}
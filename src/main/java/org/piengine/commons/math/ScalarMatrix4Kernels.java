@@ -0,0 +1,566 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * The scalar {@code Matrix4Kernels} implementation. All kernels are plain,
+ * fully unrolled Java loops over row-major arrays, or memory segments, and
+ * allocate nothing.
+ */
+class ScalarMatrix4Kernels implements Matrix4Kernels {
+
+	/**
+	 * Instantiates a new scalar matrix 4 kernels.
+	 */
+	ScalarMatrix4Kernels() {}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#name()
+	 */
+	@Override
+	public String name() {
+		return "scalar";
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#multiply(float[], int, float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+			int destOffset) {
+		float b00 = b[bOffset], b01 = b[bOffset + 1];
+		float b02 = b[bOffset + 2], b03 = b[bOffset + 3];
+		float b10 = b[bOffset + 4], b11 = b[bOffset + 5];
+		float b12 = b[bOffset + 6], b13 = b[bOffset + 7];
+		float b20 = b[bOffset + 8], b21 = b[bOffset + 9];
+		float b22 = b[bOffset + 10], b23 = b[bOffset + 11];
+		float b30 = b[bOffset + 12], b31 = b[bOffset + 13];
+		float b32 = b[bOffset + 14], b33 = b[bOffset + 15];
+
+		for (int i = 0; i < 16; i += 4) {
+			float a0 = a[aOffset + i], a1 = a[aOffset + i + 1];
+			float a2 = a[aOffset + i + 2], a3 = a[aOffset + i + 3];
+			dest[destOffset + i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+			dest[destOffset + i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+			dest[destOffset + i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+			dest[destOffset + i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#multiply(double[], int, double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+			int destOffset) {
+		double b00 = b[bOffset], b01 = b[bOffset + 1];
+		double b02 = b[bOffset + 2], b03 = b[bOffset + 3];
+		double b10 = b[bOffset + 4], b11 = b[bOffset + 5];
+		double b12 = b[bOffset + 6], b13 = b[bOffset + 7];
+		double b20 = b[bOffset + 8], b21 = b[bOffset + 9];
+		double b22 = b[bOffset + 10], b23 = b[bOffset + 11];
+		double b30 = b[bOffset + 12], b31 = b[bOffset + 13];
+		double b32 = b[bOffset + 14], b33 = b[bOffset + 15];
+
+		for (int i = 0; i < 16; i += 4) {
+			double a0 = a[aOffset + i], a1 = a[aOffset + i + 1];
+			double a2 = a[aOffset + i + 2], a3 = a[aOffset + i + 3];
+			dest[destOffset + i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+			dest[destOffset + i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+			dest[destOffset + i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+			dest[destOffset + i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transpose(float[], int, float[], int)
+	 */
+	@Override
+	public void transpose(float[] m, int mOffset, float[] dest, int destOffset) {
+		float m01 = m[mOffset + 1], m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		float m12 = m[mOffset + 6], m13 = m[mOffset + 7], m23 = m[mOffset + 11];
+
+		dest[destOffset] = m[mOffset];
+		dest[destOffset + 1] = m[mOffset + 4];
+		dest[destOffset + 2] = m[mOffset + 8];
+		dest[destOffset + 3] = m[mOffset + 12];
+		dest[destOffset + 6] = m[mOffset + 9];
+		dest[destOffset + 7] = m[mOffset + 13];
+		dest[destOffset + 11] = m[mOffset + 14];
+		dest[destOffset + 4] = m01;
+		dest[destOffset + 5] = m[mOffset + 5];
+		dest[destOffset + 8] = m02;
+		dest[destOffset + 9] = m12;
+		dest[destOffset + 10] = m[mOffset + 10];
+		dest[destOffset + 12] = m03;
+		dest[destOffset + 13] = m13;
+		dest[destOffset + 14] = m23;
+		dest[destOffset + 15] = m[mOffset + 15];
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transpose(double[], int, double[], int)
+	 */
+	@Override
+	public void transpose(double[] m, int mOffset, double[] dest, int destOffset) {
+		double m01 = m[mOffset + 1], m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		double m12 = m[mOffset + 6], m13 = m[mOffset + 7], m23 = m[mOffset + 11];
+
+		dest[destOffset] = m[mOffset];
+		dest[destOffset + 1] = m[mOffset + 4];
+		dest[destOffset + 2] = m[mOffset + 8];
+		dest[destOffset + 3] = m[mOffset + 12];
+		dest[destOffset + 6] = m[mOffset + 9];
+		dest[destOffset + 7] = m[mOffset + 13];
+		dest[destOffset + 11] = m[mOffset + 14];
+		dest[destOffset + 4] = m01;
+		dest[destOffset + 5] = m[mOffset + 5];
+		dest[destOffset + 8] = m02;
+		dest[destOffset + 9] = m12;
+		dest[destOffset + 10] = m[mOffset + 10];
+		dest[destOffset + 12] = m03;
+		dest[destOffset + 13] = m13;
+		dest[destOffset + 14] = m23;
+		dest[destOffset + 15] = m[mOffset + 15];
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transform(float[], int, float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void transform(float[] m, int mOffset, float[] v, int vOffset, float[] dest,
+			int destOffset) {
+		float x = v[vOffset], y = v[vOffset + 1], z = v[vOffset + 2], w = v[vOffset + 3];
+		for (int i = 0; i < 4; i++) {
+			int row = mOffset + i * 4;
+			dest[destOffset + i] = m[row] * x + m[row + 1] * y + m[row + 2] * z + m[row + 3] * w;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transform(double[], int, double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void transform(double[] m, int mOffset, double[] v, int vOffset, double[] dest,
+			int destOffset) {
+		double x = v[vOffset], y = v[vOffset + 1], z = v[vOffset + 2], w = v[vOffset + 3];
+		for (int i = 0; i < 4; i++) {
+			int row = mOffset + i * 4;
+			dest[destOffset + i] = m[row] * x + m[row + 1] * y + m[row + 2] * z + m[row + 3] * w;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#invert(float[], int, float[], int)
+	 */
+	@Override
+	public boolean invert(float[] m, int mOffset, float[] dest, int destOffset) {
+		float m00 = m[mOffset], m01 = m[mOffset + 1];
+		float m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+		float m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+		float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+		float m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+		float m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+		float m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+		float s0 = m00 * m11 - m10 * m01;
+		float s1 = m00 * m12 - m10 * m02;
+		float s2 = m00 * m13 - m10 * m03;
+		float s3 = m01 * m12 - m11 * m02;
+		float s4 = m01 * m13 - m11 * m03;
+		float s5 = m02 * m13 - m12 * m03;
+
+		float c5 = m22 * m33 - m32 * m23;
+		float c4 = m21 * m33 - m31 * m23;
+		float c3 = m21 * m32 - m31 * m22;
+		float c2 = m20 * m33 - m30 * m23;
+		float c1 = m20 * m32 - m30 * m22;
+		float c0 = m20 * m31 - m30 * m21;
+
+		float det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+		if (det == 0 || !Float.isFinite(det)) {
+			return false; // Not invertible
+		}
+		float invDet = 1 / det;
+
+		dest[destOffset] = (m11 * c5 - m12 * c4 + m13 * c3) * invDet;
+		dest[destOffset + 1] = (-m01 * c5 + m02 * c4 - m03 * c3) * invDet;
+		dest[destOffset + 2] = (m31 * s5 - m32 * s4 + m33 * s3) * invDet;
+		dest[destOffset + 3] = (-m21 * s5 + m22 * s4 - m23 * s3) * invDet;
+		dest[destOffset + 4] = (-m10 * c5 + m12 * c2 - m13 * c1) * invDet;
+		dest[destOffset + 5] = (m00 * c5 - m02 * c2 + m03 * c1) * invDet;
+		dest[destOffset + 6] = (-m30 * s5 + m32 * s2 - m33 * s1) * invDet;
+		dest[destOffset + 7] = (m20 * s5 - m22 * s2 + m23 * s1) * invDet;
+		dest[destOffset + 8] = (m10 * c4 - m11 * c2 + m13 * c0) * invDet;
+		dest[destOffset + 9] = (-m00 * c4 + m01 * c2 - m03 * c0) * invDet;
+		dest[destOffset + 10] = (m30 * s4 - m31 * s2 + m33 * s0) * invDet;
+		dest[destOffset + 11] = (-m20 * s4 + m21 * s2 - m23 * s0) * invDet;
+		dest[destOffset + 12] = (-m10 * c3 + m11 * c1 - m12 * c0) * invDet;
+		dest[destOffset + 13] = (m00 * c3 - m01 * c1 + m02 * c0) * invDet;
+		dest[destOffset + 14] = (-m30 * s3 + m31 * s1 - m32 * s0) * invDet;
+		dest[destOffset + 15] = (m20 * s3 - m21 * s1 + m22 * s0) * invDet;
+		return true;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#invert(double[], int, double[], int)
+	 */
+	@Override
+	public boolean invert(double[] m, int mOffset, double[] dest, int destOffset) {
+		double m00 = m[mOffset], m01 = m[mOffset + 1];
+		double m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+		double m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+		double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+		double m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+		double m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+		double m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+		double s0 = m00 * m11 - m10 * m01;
+		double s1 = m00 * m12 - m10 * m02;
+		double s2 = m00 * m13 - m10 * m03;
+		double s3 = m01 * m12 - m11 * m02;
+		double s4 = m01 * m13 - m11 * m03;
+		double s5 = m02 * m13 - m12 * m03;
+
+		double c5 = m22 * m33 - m32 * m23;
+		double c4 = m21 * m33 - m31 * m23;
+		double c3 = m21 * m32 - m31 * m22;
+		double c2 = m20 * m33 - m30 * m23;
+		double c1 = m20 * m32 - m30 * m22;
+		double c0 = m20 * m31 - m30 * m21;
+
+		double det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+		if (det == 0 || !Double.isFinite(det)) {
+			return false; // Not invertible
+		}
+		double invDet = 1 / det;
+
+		dest[destOffset] = (m11 * c5 - m12 * c4 + m13 * c3) * invDet;
+		dest[destOffset + 1] = (-m01 * c5 + m02 * c4 - m03 * c3) * invDet;
+		dest[destOffset + 2] = (m31 * s5 - m32 * s4 + m33 * s3) * invDet;
+		dest[destOffset + 3] = (-m21 * s5 + m22 * s4 - m23 * s3) * invDet;
+		dest[destOffset + 4] = (-m10 * c5 + m12 * c2 - m13 * c1) * invDet;
+		dest[destOffset + 5] = (m00 * c5 - m02 * c2 + m03 * c1) * invDet;
+		dest[destOffset + 6] = (-m30 * s5 + m32 * s2 - m33 * s1) * invDet;
+		dest[destOffset + 7] = (m20 * s5 - m22 * s2 + m23 * s1) * invDet;
+		dest[destOffset + 8] = (m10 * c4 - m11 * c2 + m13 * c0) * invDet;
+		dest[destOffset + 9] = (-m00 * c4 + m01 * c2 - m03 * c0) * invDet;
+		dest[destOffset + 10] = (m30 * s4 - m31 * s2 + m33 * s0) * invDet;
+		dest[destOffset + 11] = (-m20 * s4 + m21 * s2 - m23 * s0) * invDet;
+		dest[destOffset + 12] = (-m10 * c3 + m11 * c1 - m12 * c0) * invDet;
+		dest[destOffset + 13] = (m00 * c3 - m01 * c1 + m02 * c0) * invDet;
+		dest[destOffset + 14] = (-m30 * s3 + m31 * s1 - m32 * s0) * invDet;
+		dest[destOffset + 15] = (m20 * s3 - m21 * s1 + m22 * s0) * invDet;
+		return true;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#multiply(java.lang.foreign.MemorySegment,
+	 *      long, java.lang.foreign.MemorySegment, long, java.lang.foreign.MemorySegment, long)
+	 */
+	@Override
+	public void multiply(MemorySegment a, long aOffset, MemorySegment b, long bOffset,
+			MemorySegment dest, long destOffset) {
+		float b00 = get(b, bOffset, 0), b01 = get(b, bOffset, 1);
+		float b02 = get(b, bOffset, 2), b03 = get(b, bOffset, 3);
+		float b10 = get(b, bOffset, 4), b11 = get(b, bOffset, 5);
+		float b12 = get(b, bOffset, 6), b13 = get(b, bOffset, 7);
+		float b20 = get(b, bOffset, 8), b21 = get(b, bOffset, 9);
+		float b22 = get(b, bOffset, 10), b23 = get(b, bOffset, 11);
+		float b30 = get(b, bOffset, 12), b31 = get(b, bOffset, 13);
+		float b32 = get(b, bOffset, 14), b33 = get(b, bOffset, 15);
+
+		for (int i = 0; i < 16; i += 4) {
+			float a0 = get(a, aOffset, i), a1 = get(a, aOffset, i + 1);
+			float a2 = get(a, aOffset, i + 2), a3 = get(a, aOffset, i + 3);
+			set(dest, destOffset, i, a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30);
+			set(dest, destOffset, i + 1, a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31);
+			set(dest, destOffset, i + 2, a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32);
+			set(dest, destOffset, i + 3, a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transpose(java.lang.foreign.MemorySegment,
+	 *      long, java.lang.foreign.MemorySegment, long)
+	 */
+	@Override
+	public void transpose(MemorySegment m, long mOffset, MemorySegment dest, long destOffset) {
+		float m00 = get(m, mOffset, 0), m01 = get(m, mOffset, 1);
+		float m02 = get(m, mOffset, 2), m03 = get(m, mOffset, 3);
+		float m10 = get(m, mOffset, 4), m11 = get(m, mOffset, 5);
+		float m12 = get(m, mOffset, 6), m13 = get(m, mOffset, 7);
+		float m20 = get(m, mOffset, 8), m21 = get(m, mOffset, 9);
+		float m22 = get(m, mOffset, 10), m23 = get(m, mOffset, 11);
+		float m30 = get(m, mOffset, 12), m31 = get(m, mOffset, 13);
+		float m32 = get(m, mOffset, 14), m33 = get(m, mOffset, 15);
+
+		set(dest, destOffset, 0, m00);
+		set(dest, destOffset, 1, m10);
+		set(dest, destOffset, 2, m20);
+		set(dest, destOffset, 3, m30);
+		set(dest, destOffset, 4, m01);
+		set(dest, destOffset, 5, m11);
+		set(dest, destOffset, 6, m21);
+		set(dest, destOffset, 7, m31);
+		set(dest, destOffset, 8, m02);
+		set(dest, destOffset, 9, m12);
+		set(dest, destOffset, 10, m22);
+		set(dest, destOffset, 11, m32);
+		set(dest, destOffset, 12, m03);
+		set(dest, destOffset, 13, m13);
+		set(dest, destOffset, 14, m23);
+		set(dest, destOffset, 15, m33);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transform(java.lang.foreign.MemorySegment,
+	 *      long, java.lang.foreign.MemorySegment, long, java.lang.foreign.MemorySegment, long)
+	 */
+	@Override
+	public void transform(MemorySegment m, long mOffset, MemorySegment v, long vOffset,
+			MemorySegment dest, long destOffset) {
+		float x = get(v, vOffset, 0), y = get(v, vOffset, 1);
+		float z = get(v, vOffset, 2), w = get(v, vOffset, 3);
+		for (int i = 0; i < 16; i += 4) {
+			set(dest, destOffset, i >> 2, get(m, mOffset, i) * x + get(m, mOffset, i + 1) * y
+					+ get(m, mOffset, i + 2) * z + get(m, mOffset, i + 3) * w);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#invert(java.lang.foreign.MemorySegment, long,
+	 *      java.lang.foreign.MemorySegment, long)
+	 */
+	@Override
+	public boolean invert(MemorySegment m, long mOffset, MemorySegment dest, long destOffset) {
+		float m00 = get(m, mOffset, 0), m01 = get(m, mOffset, 1);
+		float m02 = get(m, mOffset, 2), m03 = get(m, mOffset, 3);
+		float m10 = get(m, mOffset, 4), m11 = get(m, mOffset, 5);
+		float m12 = get(m, mOffset, 6), m13 = get(m, mOffset, 7);
+		float m20 = get(m, mOffset, 8), m21 = get(m, mOffset, 9);
+		float m22 = get(m, mOffset, 10), m23 = get(m, mOffset, 11);
+		float m30 = get(m, mOffset, 12), m31 = get(m, mOffset, 13);
+		float m32 = get(m, mOffset, 14), m33 = get(m, mOffset, 15);
+
+		float s0 = m00 * m11 - m10 * m01;
+		float s1 = m00 * m12 - m10 * m02;
+		float s2 = m00 * m13 - m10 * m03;
+		float s3 = m01 * m12 - m11 * m02;
+		float s4 = m01 * m13 - m11 * m03;
+		float s5 = m02 * m13 - m12 * m03;
+
+		float c5 = m22 * m33 - m32 * m23;
+		float c4 = m21 * m33 - m31 * m23;
+		float c3 = m21 * m32 - m31 * m22;
+		float c2 = m20 * m33 - m30 * m23;
+		float c1 = m20 * m32 - m30 * m22;
+		float c0 = m20 * m31 - m30 * m21;
+
+		float det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+		if (det == 0 || !Float.isFinite(det)) {
+			return false; // Not invertible
+		}
+		float invDet = 1 / det;
+
+		set(dest, destOffset, 0, (m11 * c5 - m12 * c4 + m13 * c3) * invDet);
+		set(dest, destOffset, 1, (-m01 * c5 + m02 * c4 - m03 * c3) * invDet);
+		set(dest, destOffset, 2, (m31 * s5 - m32 * s4 + m33 * s3) * invDet);
+		set(dest, destOffset, 3, (-m21 * s5 + m22 * s4 - m23 * s3) * invDet);
+		set(dest, destOffset, 4, (-m10 * c5 + m12 * c2 - m13 * c1) * invDet);
+		set(dest, destOffset, 5, (m00 * c5 - m02 * c2 + m03 * c1) * invDet);
+		set(dest, destOffset, 6, (-m30 * s5 + m32 * s2 - m33 * s1) * invDet);
+		set(dest, destOffset, 7, (m20 * s5 - m22 * s2 + m23 * s1) * invDet);
+		set(dest, destOffset, 8, (m10 * c4 - m11 * c2 + m13 * c0) * invDet);
+		set(dest, destOffset, 9, (-m00 * c4 + m01 * c2 - m03 * c0) * invDet);
+		set(dest, destOffset, 10, (m30 * s4 - m31 * s2 + m33 * s0) * invDet);
+		set(dest, destOffset, 11, (-m20 * s4 + m21 * s2 - m23 * s0) * invDet);
+		set(dest, destOffset, 12, (-m10 * c3 + m11 * c1 - m12 * c0) * invDet);
+		set(dest, destOffset, 13, (m00 * c3 - m01 * c1 + m02 * c0) * invDet);
+		set(dest, destOffset, 14, (-m30 * s3 + m31 * s1 - m32 * s0) * invDet);
+		set(dest, destOffset, 15, (m20 * s3 - m21 * s1 + m22 * s0) * invDet);
+		return true;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transposeBatch(float[], int,
+	 *      java.lang.foreign.MemorySegment, long, int)
+	 */
+	@Override
+	public void transposeBatch(float[] m, int mOffset, MemorySegment dest, long destOffset,
+			int count) {
+		for (int n = 0; n < count; n++) {
+			int s = mOffset + n * 16;
+			long d = destOffset + n * 16L * Float.BYTES;
+			for (int i = 0; i < 16; i++) {
+				set(dest, d, i, m[s + (i & 3) * 4 + (i >> 2)]);
+			}
+		}
+	}
+
+	/**
+	 * Reads element {@code index} of a float matrix or vector in a segment.
+	 *
+	 * @param segment the segment
+	 * @param offset  the byte offset of element 0
+	 * @param index   the element index
+	 * @return the float
+	 */
+	static float get(MemorySegment segment, long offset, int index) {
+		return segment.get(JAVA_FLOAT_UNALIGNED, offset + (long) index * Float.BYTES);
+	}
+
+	/**
+	 * Writes element {@code index} of a float matrix or vector in a segment.
+	 *
+	 * @param segment the segment
+	 * @param offset  the byte offset of element 0
+	 * @param index   the element index
+	 * @param value   the value
+	 */
+	static void set(MemorySegment segment, long offset, int index, float value) {
+		segment.set(JAVA_FLOAT_UNALIGNED, offset + (long) index * Float.BYTES, value);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#multiplyLeft(float[], int, float[], int,
+	 *      float[], int, int)
+	 */
+	@Override
+	public void multiplyLeft(float[] m, int mOffset, float[] b, int bOffset, float[] dest,
+			int destOffset, int count) {
+		float m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+		float m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+		float m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+		float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+		float m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+		float m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+		float m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+		for (int n = 0; n < count; n++) {
+			int bo = bOffset + n * 16;
+			int d = destOffset + n * 16;
+			for (int j = 0; j < 4; j++) {
+				float b0 = b[bo + j], b1 = b[bo + 4 + j], b2 = b[bo + 8 + j], b3 = b[bo + 12 + j];
+				dest[d + j] = m00 * b0 + m01 * b1 + m02 * b2 + m03 * b3;
+				dest[d + 4 + j] = m10 * b0 + m11 * b1 + m12 * b2 + m13 * b3;
+				dest[d + 8 + j] = m20 * b0 + m21 * b1 + m22 * b2 + m23 * b3;
+				dest[d + 12 + j] = m30 * b0 + m31 * b1 + m32 * b2 + m33 * b3;
+			}
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#multiplyRight(float[], int, float[], int,
+	 *      float[], int, int)
+	 */
+	@Override
+	public void multiplyRight(float[] a, int aOffset, float[] m, int mOffset, float[] dest,
+			int destOffset, int count) {
+		float m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+		float m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		float m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+		float m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+		float m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+		float m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+		float m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+		float m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+		for (int i = aOffset, d = destOffset, end = aOffset + count * 16; i < end;
+				i += 4, d += 4) {
+			float a0 = a[i], a1 = a[i + 1], a2 = a[i + 2], a3 = a[i + 3];
+			dest[d] = a0 * m00 + a1 * m10 + a2 * m20 + a3 * m30;
+			dest[d + 1] = a0 * m01 + a1 * m11 + a2 * m21 + a3 * m31;
+			dest[d + 2] = a0 * m02 + a1 * m12 + a2 * m22 + a3 * m32;
+			dest[d + 3] = a0 * m03 + a1 * m13 + a2 * m23 + a3 * m33;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#multiplyLeft(double[], int, double[], int,
+	 *      double[], int, int)
+	 */
+	@Override
+	public void multiplyLeft(double[] m, int mOffset, double[] b, int bOffset, double[] dest,
+			int destOffset, int count) {
+		double m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+		double m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+		double m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+		double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+		double m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+		double m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+		double m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+		for (int n = 0; n < count; n++) {
+			int bo = bOffset + n * 16;
+			int d = destOffset + n * 16;
+			for (int j = 0; j < 4; j++) {
+				double b0 = b[bo + j], b1 = b[bo + 4 + j];
+				double b2 = b[bo + 8 + j], b3 = b[bo + 12 + j];
+				dest[d + j] = m00 * b0 + m01 * b1 + m02 * b2 + m03 * b3;
+				dest[d + 4 + j] = m10 * b0 + m11 * b1 + m12 * b2 + m13 * b3;
+				dest[d + 8 + j] = m20 * b0 + m21 * b1 + m22 * b2 + m23 * b3;
+				dest[d + 12 + j] = m30 * b0 + m31 * b1 + m32 * b2 + m33 * b3;
+			}
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#multiplyRight(double[], int, double[], int,
+	 *      double[], int, int)
+	 */
+	@Override
+	public void multiplyRight(double[] a, int aOffset, double[] m, int mOffset, double[] dest,
+			int destOffset, int count) {
+		double m00 = m[mOffset + 0], m01 = m[mOffset + 1];
+		double m02 = m[mOffset + 2], m03 = m[mOffset + 3];
+		double m10 = m[mOffset + 4], m11 = m[mOffset + 5];
+		double m12 = m[mOffset + 6], m13 = m[mOffset + 7];
+		double m20 = m[mOffset + 8], m21 = m[mOffset + 9];
+		double m22 = m[mOffset + 10], m23 = m[mOffset + 11];
+		double m30 = m[mOffset + 12], m31 = m[mOffset + 13];
+		double m32 = m[mOffset + 14], m33 = m[mOffset + 15];
+
+		for (int i = aOffset, d = destOffset, end = aOffset + count * 16; i < end;
+				i += 4, d += 4) {
+			double a0 = a[i], a1 = a[i + 1], a2 = a[i + 2], a3 = a[i + 3];
+			dest[d] = a0 * m00 + a1 * m10 + a2 * m20 + a3 * m30;
+			dest[d + 1] = a0 * m01 + a1 * m11 + a2 * m21 + a3 * m31;
+			dest[d + 2] = a0 * m02 + a1 * m12 + a2 * m22 + a3 * m32;
+			dest[d + 3] = a0 * m03 + a1 * m13 + a2 * m23 + a3 * m33;
+		}
+	}
+}
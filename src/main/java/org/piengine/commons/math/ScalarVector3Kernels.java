@@ -0,0 +1,404 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+/**
+ * The scalar {@code Vector3Kernels} implementation, plain loops over the
+ * component arrays that allocate nothing.
+ */
+class ScalarVector3Kernels implements Vector3Kernels {
+
+	/**
+	 * Instantiates a new scalar vector 3 kernels.
+	 */
+	ScalarVector3Kernels() {}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#name()
+	 */
+	@Override
+	public String name() {
+		return "scalar";
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#add(float[], float[], float[], float[],
+	 *      float[], float[], float[], float[], float[], int)
+	 */
+	@Override
+	public void add(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] + bx[i];
+			dy[i] = ay[i] + by[i];
+			dz[i] = az[i] + bz[i];
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#subtract(float[], float[], float[], float[],
+	 *      float[], float[], float[], float[], float[], int)
+	 */
+	@Override
+	public void subtract(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] - bx[i];
+			dy[i] = ay[i] - by[i];
+			dz[i] = az[i] - bz[i];
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#scale(float[], float[], float[], float,
+	 *      float[], float[], float[], int)
+	 */
+	@Override
+	public void scale(float[] ax, float[] ay, float[] az, float factor, float[] dx, float[] dy,
+			float[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] * factor;
+			dy[i] = ay[i] * factor;
+			dz[i] = az[i] * factor;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#addScaled(float[], float[], float[], float[],
+	 *      float[], float[], float, float[], float[], float[], int)
+	 */
+	@Override
+	public void addScaled(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float factor, float[] dx, float[] dy, float[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] + bx[i] * factor;
+			dy[i] = ay[i] + by[i] * factor;
+			dz[i] = az[i] + bz[i] * factor;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#cross(float[], float[], float[], float[],
+	 *      float[], float[], float[], float[], float[], int)
+	 */
+	@Override
+	public void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			float x = ay[i] * bz[i] - az[i] * by[i];
+			float y = az[i] * bx[i] - ax[i] * bz[i];
+			float z = ax[i] * by[i] - ay[i] * bx[i];
+			dx[i] = x;
+			dy[i] = y;
+			dz[i] = z;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#normalize(float[], float[], float[], float[],
+	 *      float[], float[], int)
+	 */
+	@Override
+	public void normalize(float[] ax, float[] ay, float[] az, float[] dx, float[] dy, float[] dz,
+			int count) {
+		for (int i = 0; i < count; i++) {
+			float x = ax[i], y = ay[i], z = az[i];
+			float length = (float) Math.sqrt(x * x + y * y + z * z);
+			float inv = length == 0 ? 0 : 1 / length;
+			dx[i] = x * inv;
+			dy[i] = y * inv;
+			dz[i] = z * inv;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#dot(float[], float[], float[], float[],
+	 *      float[], float[], float[], int, int)
+	 */
+	@Override
+	public void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dest, int destOffset, int count) {
+		for (int i = 0; i < count; i++) {
+			dest[destOffset + i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#length(float[], float[], float[],
+	 *      float[], int, int)
+	 */
+	@Override
+	public void length(float[] ax, float[] ay, float[] az, float[] dest, int destOffset,
+			int count) {
+		for (int i = 0; i < count; i++) {
+			dest[destOffset + i] = (float) Math.sqrt(ax[i] * ax[i] + ay[i] * ay[i]
+					+ az[i] * az[i]);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#distance(float[], float[], float[], float[],
+	 *      float[], float[], float[], int, int)
+	 */
+	@Override
+	public void distance(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dest, int destOffset, int count) {
+		for (int i = 0; i < count; i++) {
+			float x = ax[i] - bx[i], y = ay[i] - by[i], z = az[i] - bz[i];
+			dest[destOffset + i] = (float) Math.sqrt(x * x + y * y + z * z);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#sum(float[], float[], float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void sum(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset) {
+		float x = 0, y = 0, z = 0;
+		for (int i = 0; i < count; i++) {
+			x += ax[i];
+			y += ay[i];
+			z += az[i];
+		}
+		dest[destOffset] = x;
+		dest[destOffset + 1] = y;
+		dest[destOffset + 2] = z;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#min(float[], float[], float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void min(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset) {
+		float x = Float.POSITIVE_INFINITY, y = x, z = x;
+		for (int i = 0; i < count; i++) {
+			x = Math.min(x, ax[i]);
+			y = Math.min(y, ay[i]);
+			z = Math.min(z, az[i]);
+		}
+		dest[destOffset] = x;
+		dest[destOffset + 1] = y;
+		dest[destOffset + 2] = z;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#max(float[], float[], float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void max(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset) {
+		float x = Float.NEGATIVE_INFINITY, y = x, z = x;
+		for (int i = 0; i < count; i++) {
+			x = Math.max(x, ax[i]);
+			y = Math.max(y, ay[i]);
+			z = Math.max(z, az[i]);
+		}
+		dest[destOffset] = x;
+		dest[destOffset + 1] = y;
+		dest[destOffset + 2] = z;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#add(double[], double[], double[], double[],
+	 *      double[], double[], double[], double[], double[], int)
+	 */
+	@Override
+	public void add(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dx, double[] dy, double[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] + bx[i];
+			dy[i] = ay[i] + by[i];
+			dz[i] = az[i] + bz[i];
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#subtract(double[], double[], double[],
+	 *      double[], double[], double[], double[], double[], double[], int)
+	 */
+	@Override
+	public void subtract(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double[] dx, double[] dy, double[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] - bx[i];
+			dy[i] = ay[i] - by[i];
+			dz[i] = az[i] - bz[i];
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#scale(double[], double[], double[], double,
+	 *      double[], double[], double[], int)
+	 */
+	@Override
+	public void scale(double[] ax, double[] ay, double[] az, double factor, double[] dx,
+			double[] dy, double[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] * factor;
+			dy[i] = ay[i] * factor;
+			dz[i] = az[i] * factor;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#addScaled(double[], double[], double[],
+	 *      double[], double[], double[], double, double[], double[], double[], int)
+	 */
+	@Override
+	public void addScaled(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double factor, double[] dx, double[] dy, double[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			dx[i] = ax[i] + bx[i] * factor;
+			dy[i] = ay[i] + by[i] * factor;
+			dz[i] = az[i] + bz[i] * factor;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#cross(double[], double[], double[], double[],
+	 *      double[], double[], double[], double[], double[], int)
+	 */
+	@Override
+	public void cross(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double[] dx, double[] dy, double[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			double x = ay[i] * bz[i] - az[i] * by[i];
+			double y = az[i] * bx[i] - ax[i] * bz[i];
+			double z = ax[i] * by[i] - ay[i] * bx[i];
+			dx[i] = x;
+			dy[i] = y;
+			dz[i] = z;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#normalize(double[], double[], double[],
+	 *      double[], double[], double[], int)
+	 */
+	@Override
+	public void normalize(double[] ax, double[] ay, double[] az, double[] dx, double[] dy,
+			double[] dz, int count) {
+		for (int i = 0; i < count; i++) {
+			double x = ax[i], y = ay[i], z = az[i];
+			double length = Math.sqrt(x * x + y * y + z * z);
+			double inv = length == 0 ? 0 : 1 / length;
+			dx[i] = x * inv;
+			dy[i] = y * inv;
+			dz[i] = z * inv;
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#dot(double[], double[], double[], double[],
+	 *      double[], double[], double[], int, int)
+	 */
+	@Override
+	public void dot(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dest, int destOffset, int count) {
+		for (int i = 0; i < count; i++) {
+			dest[destOffset + i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#length(double[], double[], double[],
+	 *      double[], int, int)
+	 */
+	@Override
+	public void length(double[] ax, double[] ay, double[] az, double[] dest, int destOffset,
+			int count) {
+		for (int i = 0; i < count; i++) {
+			dest[destOffset + i] = Math.sqrt(ax[i] * ax[i] + ay[i] * ay[i] + az[i] * az[i]);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#distance(double[], double[], double[],
+	 *      double[], double[], double[], double[], int, int)
+	 */
+	@Override
+	public void distance(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double[] dest, int destOffset, int count) {
+		for (int i = 0; i < count; i++) {
+			double x = ax[i] - bx[i], y = ay[i] - by[i], z = az[i] - bz[i];
+			dest[destOffset + i] = Math.sqrt(x * x + y * y + z * z);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#sum(double[], double[], double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void sum(double[] ax, double[] ay, double[] az, int count, double[] dest,
+			int destOffset) {
+		double x = 0, y = 0, z = 0;
+		for (int i = 0; i < count; i++) {
+			x += ax[i];
+			y += ay[i];
+			z += az[i];
+		}
+		dest[destOffset] = x;
+		dest[destOffset + 1] = y;
+		dest[destOffset + 2] = z;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#min(double[], double[], double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void min(double[] ax, double[] ay, double[] az, int count, double[] dest,
+			int destOffset) {
+		double x = Double.POSITIVE_INFINITY, y = x, z = x;
+		for (int i = 0; i < count; i++) {
+			x = Math.min(x, ax[i]);
+			y = Math.min(y, ay[i]);
+			z = Math.min(z, az[i]);
+		}
+		dest[destOffset] = x;
+		dest[destOffset + 1] = y;
+		dest[destOffset + 2] = z;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Vector3Kernels#max(double[], double[], double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void max(double[] ax, double[] ay, double[] az, int count, double[] dest,
+			int destOffset) {
+		double x = Double.NEGATIVE_INFINITY, y = x, z = x;
+		for (int i = 0; i < count; i++) {
+			x = Math.max(x, ax[i]);
+			y = Math.max(y, ay[i]);
+			z = Math.max(z, az[i]);
+		}
+		dest[destOffset] = x;
+		dest[destOffset + 1] = y;
+		dest[destOffset + 2] = z;
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Objects;
+
+/**
+ * Dual quaternion skinning over packed vertex buffers. A bone palette holds
+ * one dual quaternion per bone as 8 consecutive elements, the real part
+ * {@code x, y, z, w} followed by the dual part {@code x, y, z, w}; positions
+ * and normals hold 3 elements per vertex; bone indices and weights hold
+ * {@code influences} entries per vertex.
+ *
+ * <p>
+ * Blending uses dual quaternion linear blending: weighted palette entries are
+ * summed with their signs aligned to the first influence, normalized, and
+ * applied once per vertex. Unlike linear blend skinning this preserves volume
+ * at twisting joints, and it needs 8 rather than 12 multiply-adds per
+ * influence. Palette transforms must be rigid, rotation and translation only.
+ * </p>
+ *
+ * <p>
+ * The per-vertex normalization and rotation cost more than the single
+ * transform that follows a matrix blend, so with four influences a packed 3x4
+ * matrix blend remains faster, by nearly a factor of two. Against per-bone
+ * {@code Matrix4f} transforms of the vertex, this kernel is about twice as
+ * fast; {@code SkinningBenchmark} in {@code src/jmh/java} measures all three.
+ * </p>
+ */
+public final class SkinningOperations {
+
+    /** The number of elements in one packed dual quaternion. */
+    public static final int STRIDE = 8;
+
+    /**
+	 * Instantiates a new skinning operations.
+	 */
+    private SkinningOperations() {}
+
+    /**
+	 * Writes the unit dual quaternion of a rigid row-major 4x4 matrix.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination dual quaternion
+	 * @param destOffset the destination offset
+	 */
+    public static void fromMatrix(float[] m, int mOffset, float[] dest, int destOffset) {
+        QuaternionOperations.fromRotation(m, mOffset, 4, dest, destOffset);
+        fromTranslation(m[mOffset + 3], m[mOffset + 7], m[mOffset + 11], dest, destOffset);
+    }
+
+    /**
+	 * Writes the unit dual quaternion of a rigid row-major 4x4 matrix.
+	 *
+	 * @param m          the matrix
+	 * @param mOffset    the matrix offset
+	 * @param dest       the destination dual quaternion
+	 * @param destOffset the destination offset
+	 */
+    public static void fromMatrix(double[] m, int mOffset, double[] dest, int destOffset) {
+        QuaternionOperations.fromRotation(m, mOffset, 4, dest, destOffset);
+        fromTranslation(m[mOffset + 3], m[mOffset + 7], m[mOffset + 11], dest, destOffset);
+    }
+
+    /**
+	 * Converts a batch of rigid matrices, such as a per-frame bone palette, to
+	 * dual quaternions.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination dual quaternions
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void fromMatrices(float[] m, int mOffset, float[] dest, int destOffset,
+            int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        checkPalette(dest.length, destOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            fromMatrix(m, mOffset + i * MatrixBatchOperations.STRIDE, dest,
+                    destOffset + i * STRIDE);
+        }
+    }
+
+    /**
+	 * Converts a batch of rigid matrices, such as a per-frame bone palette, to
+	 * dual quaternions.
+	 *
+	 * @param m          the matrices
+	 * @param mOffset    the matrices offset
+	 * @param dest       the destination dual quaternions
+	 * @param destOffset the destination offset
+	 * @param count      the number of matrices
+	 */
+    public static void fromMatrices(double[] m, int mOffset, double[] dest, int destOffset,
+            int count) {
+        MatrixBatchOperations.checkBatch(m.length, mOffset, count);
+        checkPalette(dest.length, destOffset, count);
+
+        for (int i = 0; i < count; i++) {
+            fromMatrix(m, mOffset + i * MatrixBatchOperations.STRIDE, dest,
+                    destOffset + i * STRIDE);
+        }
+    }
+
+    /**
+	 * Fills in the dual part {@code 0.5 * t * r} of a dual quaternion whose real
+	 * part {@code r} is already written.
+	 *
+	 * @param tx       the translation x
+	 * @param ty       the translation y
+	 * @param tz       the translation z
+	 * @param dq       the dual quaternion
+	 * @param dqOffset the dual quaternion offset
+	 */
+    static void fromTranslation(float tx, float ty, float tz, float[] dq, int dqOffset) {
+        float rx = dq[dqOffset], ry = dq[dqOffset + 1];
+        float rz = dq[dqOffset + 2], rw = dq[dqOffset + 3];
+        dq[dqOffset + 4] = 0.5f * (tx * rw + ty * rz - tz * ry);
+        dq[dqOffset + 5] = 0.5f * (-tx * rz + ty * rw + tz * rx);
+        dq[dqOffset + 6] = 0.5f * (tx * ry - ty * rx + tz * rw);
+        dq[dqOffset + 7] = -0.5f * (tx * rx + ty * ry + tz * rz);
+    }
+
+    /**
+	 * Fills in the dual part {@code 0.5 * t * r} of a dual quaternion whose real
+	 * part {@code r} is already written.
+	 *
+	 * @param tx       the translation x
+	 * @param ty       the translation y
+	 * @param tz       the translation z
+	 * @param dq       the dual quaternion
+	 * @param dqOffset the dual quaternion offset
+	 */
+    static void fromTranslation(double tx, double ty, double tz, double[] dq, int dqOffset) {
+        double rx = dq[dqOffset], ry = dq[dqOffset + 1];
+        double rz = dq[dqOffset + 2], rw = dq[dqOffset + 3];
+        dq[dqOffset + 4] = 0.5 * (tx * rw + ty * rz - tz * ry);
+        dq[dqOffset + 5] = 0.5 * (-tx * rz + ty * rw + tz * rx);
+        dq[dqOffset + 6] = 0.5 * (tx * ry - ty * rx + tz * rw);
+        dq[dqOffset + 7] = -0.5 * (tx * rx + ty * ry + tz * rz);
+    }
+
+    /**
+	 * Skins the vertices {@code [first, first + count)}. Every buffer is indexed
+	 * by vertex number, so a range of vertices reads and writes the same range of
+	 * every array. Normals are optional: when {@code normals} is null,
+	 * {@code outNormals} is ignored. Output buffers must not alias the inputs.
+	 *
+	 * @param palette       the bone dual quaternions
+	 * @param paletteOffset the palette offset
+	 * @param positions     the bind pose positions
+	 * @param normals       the bind pose normals, or null
+	 * @param bones         the bone indices
+	 * @param weights       the bone weights, summing to one per vertex
+	 * @param influences    the number of influences per vertex
+	 * @param outPositions  the skinned positions
+	 * @param outNormals    the skinned normals
+	 * @param first         the first vertex
+	 * @param count         the number of vertices
+	 */
+    public static void skin(float[] palette, int paletteOffset, float[] positions,
+            float[] normals, int[] bones, float[] weights, int influences, float[] outPositions,
+            float[] outNormals, int first, int count) {
+        checkVertices(positions, normals, bones, weights, influences, outPositions, outNormals,
+                first, count);
+
+        for (int v = first, end = first + count; v < end; v++) {
+            int inf = v * influences;
+
+            int b0 = paletteOffset + bones[inf] * STRIDE;
+            float w0 = weights[inf];
+            float r0x = palette[b0], r0y = palette[b0 + 1];
+            float r0z = palette[b0 + 2], r0w = palette[b0 + 3];
+
+            float rx = w0 * r0x, ry = w0 * r0y, rz = w0 * r0z, rw = w0 * r0w;
+            float dx = w0 * palette[b0 + 4], dy = w0 * palette[b0 + 5];
+            float dz = w0 * palette[b0 + 6], dw = w0 * palette[b0 + 7];
+
+            for (int k = 1; k < influences; k++) {
+                float w = weights[inf + k];
+                if (w == 0) {
+                    continue;
+                }
+
+                int b = paletteOffset + bones[inf + k] * STRIDE;
+                float bx = palette[b], by = palette[b + 1];
+                float bz = palette[b + 2], bw = palette[b + 3];
+
+                // q and -q are the same rotation; blend along the shorter arc. The sign
+                // is copied rather than branched on, as it flips unpredictably
+                w = Math.copySign(w, r0x * bx + r0y * by + r0z * bz + r0w * bw);
+
+                rx += w * bx;
+                ry += w * by;
+                rz += w * bz;
+                rw += w * bw;
+                dx += w * palette[b + 4];
+                dy += w * palette[b + 5];
+                dz += w * palette[b + 6];
+                dw += w * palette[b + 7];
+            }
+
+            float inv = 1 / (float) Math.sqrt(rx * rx + ry * ry + rz * rz + rw * rw);
+            rx *= inv;
+            ry *= inv;
+            rz *= inv;
+            rw *= inv;
+            dx *= inv;
+            dy *= inv;
+            dz *= inv;
+            dw *= inv;
+
+            // translation = 2 * vec(d * conjugate(r))
+            float tx = 2 * (rw * dx - dw * rx + ry * dz - rz * dy);
+            float ty = 2 * (rw * dy - dw * ry + rz * dx - rx * dz);
+            float tz = 2 * (rw * dz - dw * rz + rx * dy - ry * dx);
+
+            int p = v * 3;
+            float px = positions[p], py = positions[p + 1], pz = positions[p + 2];
+            float ux = 2 * (ry * pz - rz * py);
+            float uy = 2 * (rz * px - rx * pz);
+            float uz = 2 * (rx * py - ry * px);
+            outPositions[p] = px + rw * ux + (ry * uz - rz * uy) + tx;
+            outPositions[p + 1] = py + rw * uy + (rz * ux - rx * uz) + ty;
+            outPositions[p + 2] = pz + rw * uz + (rx * uy - ry * ux) + tz;
+
+            if (normals != null) {
+                float nx = normals[p], ny = normals[p + 1], nz = normals[p + 2];
+                ux = 2 * (ry * nz - rz * ny);
+                uy = 2 * (rz * nx - rx * nz);
+                uz = 2 * (rx * ny - ry * nx);
+                outNormals[p] = nx + rw * ux + (ry * uz - rz * uy);
+                outNormals[p + 1] = ny + rw * uy + (rz * ux - rx * uz);
+                outNormals[p + 2] = nz + rw * uz + (rx * uy - ry * ux);
+            }
+        }
+    }
+
+    /**
+	 * Checks that a palette of dual quaternions fits in an array.
+	 *
+	 * @param length the array length
+	 * @param offset the offset
+	 * @param count  the number of dual quaternions
+	 */
+    private static void checkPalette(int length, int offset, int count) {
+        Objects.checkFromIndexSize(offset, Math.multiplyExact(count, STRIDE), length);
+    }
+
+    /**
+	 * Checks that a vertex range fits in every skinning buffer.
+	 *
+	 * @param positions    the positions
+	 * @param normals      the normals, or null
+	 * @param bones        the bone indices
+	 * @param weights      the bone weights
+	 * @param influences   the number of influences per vertex
+	 * @param outPositions the skinned positions
+	 * @param outNormals   the skinned normals
+	 * @param first        the first vertex
+	 * @param count        the number of vertices
+	 */
+    static void checkVertices(float[] positions, float[] normals, int[] bones, float[] weights,
+            int influences, float[] outPositions, float[] outNormals, int first, int count) {
+        if (influences < 1) {
+            throw new IllegalArgumentException("influences must be positive: " + influences);
+        }
+
+        int from = Math.multiplyExact(first, 3), size = Math.multiplyExact(count, 3);
+        Objects.checkFromIndexSize(from, size, positions.length);
+        Objects.checkFromIndexSize(from, size, outPositions.length);
+        if (normals != null) {
+            Objects.checkFromIndexSize(from, size, normals.length);
+            Objects.checkFromIndexSize(from, size, outNormals.length);
+        }
+
+        from = Math.multiplyExact(first, influences);
+        size = Math.multiplyExact(count, influences);
+        Objects.checkFromIndexSize(from, size, bones.length);
+        Objects.checkFromIndexSize(from, size, weights.length);
+    }
+}
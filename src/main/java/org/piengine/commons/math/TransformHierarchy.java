@@ -0,0 +1,385 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A flat transform hierarchy held in packed primitive arrays. Each node has a
+ * parent index, a local translation, rotation quaternion and scale, and a
+ * world matrix equal to {@code parentWorld * T * R * S}. Nodes are numbered in
+ * creation order and a parent is always created before its children, so the
+ * index order is a topological order of the tree.
+ *
+ * <p>
+ * Changing a local transform marks the node dirty. {@link #update()}
+ * recomputes the world matrix of dirty nodes and their descendants only. Local
+ * matrices are cached, so a node that moves only because an ancestor moved
+ * costs one matrix multiply. {@link #update(ParallelMatrixOperations)} does the
+ * same work one tree depth at a time, and the nodes of a depth run
+ * concurrently, since each depends only on its parent.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread safe.
+ * </p>
+ */
+public final class TransformHierarchy {
+
+    /** The parent index of a root node. */
+    public static final int ROOT = -1;
+
+    /** The initial node capacity. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The parent indices. */
+    private int[] parents;
+
+    /** The node depths, 0 for a root. */
+    private int[] depths;
+
+    /** The local translations, 3 elements per node. */
+    private float[] translations;
+
+    /** The local rotations as quaternions, 4 elements per node. */
+    private float[] rotations;
+
+    /** The local scales, 3 elements per node. */
+    private float[] scales;
+
+    /** The cached local matrices, 16 elements per node. */
+    private float[] locals;
+
+    /** The world matrices, 16 elements per node. */
+    private float[] worlds;
+
+    /** Whether the local transform of a node changed since the last update. */
+    private boolean[] dirty;
+
+    /** Whether the world matrix of a node changed during the current update. */
+    private boolean[] changed;
+
+    /** The nodes sorted by depth, rebuilt lazily for parallel updates. */
+    private int[] levelOrder;
+
+    /** The start of each depth in {@link #levelOrder}, plus an end marker. */
+    private int[] levelStarts;
+
+    /** The number of nodes. */
+    private int size;
+
+    /** Whether any node is dirty. */
+    private boolean anyDirty;
+
+    /**
+	 * Instantiates a new transform hierarchy.
+	 */
+    public TransformHierarchy() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+	 * Instantiates a new transform hierarchy.
+	 *
+	 * @param capacity the initial node capacity
+	 */
+    public TransformHierarchy(int capacity) {
+        capacity = Math.max(1, capacity);
+        parents = new int[capacity];
+        depths = new int[capacity];
+        translations = new float[capacity * 3];
+        rotations = new float[capacity * 4];
+        scales = new float[capacity * 3];
+        locals = new float[capacity * 16];
+        worlds = new float[capacity * 16];
+        dirty = new boolean[capacity];
+        changed = new boolean[capacity];
+    }
+
+    /**
+	 * Adds a node with an identity local transform.
+	 *
+	 * @param parent the parent node, or {@link #ROOT}
+	 * @return the new node index
+	 */
+    public int add(int parent) {
+        if (parent != ROOT) {
+            Objects.checkIndex(parent, size);
+        }
+        if (size == parents.length) {
+            grow(size * 2);
+        }
+
+        int node = size++;
+        parents[node] = parent;
+        depths[node] = parent == ROOT ? 0 : depths[parent] + 1;
+        setTranslation(node, 0, 0, 0);
+        setRotation(node, 0, 0, 0, 1);
+        setScale(node, 1, 1, 1);
+        levelOrder = null;
+        return node;
+    }
+
+    /**
+	 * Size.
+	 *
+	 * @return the number of nodes
+	 */
+    public int size() {
+        return size;
+    }
+
+    /**
+	 * Parent.
+	 *
+	 * @param node the node
+	 * @return the parent node, or {@link #ROOT}
+	 */
+    public int parent(int node) {
+        Objects.checkIndex(node, size);
+        return parents[node];
+    }
+
+    /**
+	 * Sets the local translation of a node.
+	 *
+	 * @param node the node
+	 * @param x    the x
+	 * @param y    the y
+	 * @param z    the z
+	 */
+    public void setTranslation(int node, float x, float y, float z) {
+        Objects.checkIndex(node, size);
+        int o = node * 3;
+        translations[o] = x;
+        translations[o + 1] = y;
+        translations[o + 2] = z;
+        markDirty(node);
+    }
+
+    /**
+	 * Sets the local rotation of a node as a unit quaternion.
+	 *
+	 * @param node the node
+	 * @param x    the x
+	 * @param y    the y
+	 * @param z    the z
+	 * @param w    the w
+	 */
+    public void setRotation(int node, float x, float y, float z, float w) {
+        Objects.checkIndex(node, size);
+        int o = node * 4;
+        rotations[o] = x;
+        rotations[o + 1] = y;
+        rotations[o + 2] = z;
+        rotations[o + 3] = w;
+        markDirty(node);
+    }
+
+    /**
+	 * Sets the local scale of a node.
+	 *
+	 * @param node the node
+	 * @param x    the x
+	 * @param y    the y
+	 * @param z    the z
+	 */
+    public void setScale(int node, float x, float y, float z) {
+        Objects.checkIndex(node, size);
+        int o = node * 3;
+        scales[o] = x;
+        scales[o + 1] = y;
+        scales[o + 2] = z;
+        markDirty(node);
+    }
+
+    /**
+	 * Whether the node's local transform changed since the last update.
+	 *
+	 * @param node the node
+	 * @return true, if dirty
+	 */
+    public boolean isDirty(int node) {
+        Objects.checkIndex(node, size);
+        return dirty[node];
+    }
+
+    /**
+	 * The packed world matrices. The world matrix of node {@code i} starts at
+	 * {@code i * 16}; the array is replaced when the hierarchy grows. Values are
+	 * current as of the last update.
+	 *
+	 * @return the float array
+	 */
+    public float[] worldMatrices() {
+        return worlds;
+    }
+
+    /**
+	 * Copies the world matrix of a node, as of the last update.
+	 *
+	 * @param node       the node
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+    public void world(int node, float[] dest, int destOffset) {
+        Objects.checkIndex(node, size);
+        System.arraycopy(worlds, node * 16, dest, destOffset, 16);
+    }
+
+    /**
+	 * Recomputes the world matrices of dirty nodes and their descendants in one
+	 * pass over the nodes in index order.
+	 *
+	 * @return the number of world matrices recomputed
+	 */
+    public int update() {
+        if (!anyDirty) {
+            return 0;
+        }
+
+        int updated = 0;
+        for (int node = 0; node < size; node++) {
+            if (updateNode(node)) {
+                updated++;
+            }
+        }
+        anyDirty = false;
+        return updated;
+    }
+
+    /**
+	 * Recomputes the world matrices of dirty nodes and their descendants, one
+	 * depth at a time, running the nodes of each depth on the given engine.
+	 *
+	 * @param engine the parallel engine
+	 */
+    public void update(ParallelMatrixOperations engine) {
+        if (!anyDirty) {
+            return;
+        }
+        if (levelOrder == null) {
+            buildLevels();
+        }
+
+        int[] order = levelOrder;
+        for (int level = 0; level + 1 < levelStarts.length; level++) {
+            int start = levelStarts[level];
+            engine.forEach(levelStarts[level + 1] - start, (from, to) -> {
+                for (int i = start + from, end = start + to; i < end; i++) {
+                    updateNode(order[i]);
+                }
+            });
+        }
+        anyDirty = false;
+    }
+
+    /**
+	 * Recomputes the world matrix of a node if it or an ancestor is dirty. The
+	 * parent must already be up to date.
+	 *
+	 * @param node the node
+	 * @return true, if the world matrix was recomputed
+	 */
+    private boolean updateNode(int node) {
+        int parent = parents[node];
+        boolean own = dirty[node];
+        if (!own && (parent == ROOT || !changed[parent])) {
+            changed[node] = false;
+            return false;
+        }
+
+        int o = node * 16;
+        if (own) {
+            int t = node * 3;
+            QuaternionOperations.compose(translations[t], translations[t + 1],
+                    translations[t + 2], rotations, node * 4,
+                    scales[t], scales[t + 1], scales[t + 2], locals, o);
+            dirty[node] = false;
+        }
+
+        if (parent == ROOT) {
+            System.arraycopy(locals, o, worlds, o, 16);
+        } else {
+            MatrixOperations.multiply(worlds, parent * 16, locals, o, worlds, o);
+        }
+        changed[node] = true;
+        return true;
+    }
+
+    /**
+	 * Marks a node dirty.
+	 *
+	 * @param node the node
+	 */
+    private void markDirty(int node) {
+        dirty[node] = true;
+        anyDirty = true;
+    }
+
+    /**
+	 * Sorts the nodes by depth with a counting sort.
+	 */
+    private void buildLevels() {
+        int maxDepth = 0;
+        for (int node = 0; node < size; node++) {
+            maxDepth = Math.max(maxDepth, depths[node]);
+        }
+
+        int[] starts = new int[maxDepth + 2];
+        for (int node = 0; node < size; node++) {
+            starts[depths[node] + 1]++;
+        }
+        for (int d = 1; d < starts.length; d++) {
+            starts[d] += starts[d - 1];
+        }
+
+        int[] order = new int[size];
+        int[] next = Arrays.copyOf(starts, starts.length);
+        for (int node = 0; node < size; node++) {
+            order[next[depths[node]]++] = node;
+        }
+
+        levelOrder = order;
+        levelStarts = starts;
+    }
+
+    /**
+	 * Grows every array to a new node capacity.
+	 *
+	 * @param capacity the capacity
+	 */
+    private void grow(int capacity) {
+        parents = Arrays.copyOf(parents, capacity);
+        depths = Arrays.copyOf(depths, capacity);
+        translations = Arrays.copyOf(translations, capacity * 3);
+        rotations = Arrays.copyOf(rotations, capacity * 4);
+        scales = Arrays.copyOf(scales, capacity * 3);
+        locals = Arrays.copyOf(locals, capacity * 16);
+        worlds = Arrays.copyOf(worlds, capacity * 16);
+        dirty = Arrays.copyOf(dirty, capacity);
+        changed = Arrays.copyOf(changed, capacity);
+    }
+}
@@ -0,0 +1,780 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.util.Objects;
+
+import org.piengine.commons.math.Precision.PrecisionTd;
+import org.piengine.commons.math.Precision.PrecisionTf;
+import org.piengine.commons.math.Vector3D.MutableVector3d;
+import org.piengine.commons.math.Vector3D.MutableVector3f;
+import org.piengine.commons.math.Vector3D.Vector3d;
+import org.piengine.commons.math.Vector3D.Vector3f;
+import org.piengine.commons.math.coordinates.XYZIndexValues;
+
+/**
+ * The Interface Vector3Buffer, a fixed number of 3D vectors held as structure
+ * of arrays, one primitive array per component. Single vectors are read through
+ * {@code XYZIndexValues}, where the row is the vector index. The bulk operations
+ * run on the {@code Vector3Kernels} backend, with SIMD lanes when the Vector API
+ * is available, and write into a destination buffer or array of the same size,
+ * so a tick over millions of positions allocates nothing. Implementations are
+ * not thread safe.
+ *
+ * <pre>{@code
+ * Vector3Bufferf positions = new Vector3Bufferf(count);
+ * Vector3Bufferf velocities = new Vector3Bufferf(count);
+ * positions.addScaled(velocities, dt, positions);
+ * }</pre>
+ */
+public interface Vector3Buffer extends XYZIndexValues {
+
+	/**
+	 * A float vector buffer.
+	 */
+	final class Vector3Bufferf implements Vector3Buffer, PrecisionTf {
+
+		/** The x components. */
+		private final float[] xs;
+
+		/** The y components. */
+		private final float[] ys;
+
+		/** The z components. */
+		private final float[] zs;
+
+		/** Scratch space for reductions. */
+		private final float[] reduction = new float[3];
+
+		/**
+		 * Instantiates a new vector buffer f of zero vectors.
+		 *
+		 * @param size the number of vectors
+		 */
+		public Vector3Bufferf(int size) {
+			this(new float[size], new float[size], new float[size]);
+		}
+
+		/**
+		 * Instantiates a new vector buffer f over existing component arrays,
+		 * which are used directly rather than copied.
+		 *
+		 * @param xs the x components
+		 * @param ys the y components
+		 * @param zs the z components
+		 * @throws IllegalArgumentException if the arrays differ in length
+		 */
+		public Vector3Bufferf(float[] xs, float[] ys, float[] zs) {
+			if (ys.length != xs.length || zs.length != xs.length) {
+				throw new IllegalArgumentException("component arrays differ in length: "
+						+ xs.length + ", " + ys.length + ", " + zs.length);
+			}
+			this.xs = xs;
+			this.ys = ys;
+			this.zs = zs;
+		}
+
+		/**
+		 * The backing x components.
+		 *
+		 * @return the float array
+		 */
+		public float[] xs() {
+			return xs;
+		}
+
+		/**
+		 * The backing y components.
+		 *
+		 * @return the float array
+		 */
+		public float[] ys() {
+			return ys;
+		}
+
+		/**
+		 * The backing z components.
+		 *
+		 * @return the float array
+		 */
+		public float[] zs() {
+			return zs;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3Buffer#size()
+		 */
+		@Override
+		public int size() {
+			return xs.length;
+		}
+
+		/**
+		 * Sets one vector.
+		 *
+		 * @param index the index
+		 * @param x     the x
+		 * @param y     the y
+		 * @param z     the z
+		 */
+		public void set(int index, float x, float y, float z) {
+			xs[index] = x;
+			ys[index] = y;
+			zs[index] = z;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3Buffer#set(int,
+		 *      org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public void set(int index, Vector3D vector) {
+			set(index, (float) vector.xd(), (float) vector.yd(), (float) vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3Buffer#get(int)
+		 */
+		@Override
+		public Vector3f get(int index) {
+			return new Vector3f(xs[index], ys[index], zs[index]);
+		}
+
+		/**
+		 * Copies one vector into a mutable vector.
+		 *
+		 * @param index the index
+		 * @param dest  the destination
+		 * @return the destination
+		 */
+		public MutableVector3f get(int index, MutableVector3f dest) {
+			return dest.set(xs[index], ys[index], zs[index]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#xf(int)
+		 */
+		@Override
+		public float xf(int index) {
+			return xs[index];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#yf(int)
+		 */
+		@Override
+		public float yf(int index) {
+			return ys[index];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#zf(int)
+		 */
+		@Override
+		public float zf(int index) {
+			return zs[index];
+		}
+
+		/**
+		 * Adds two buffers, {@code dest[i] = this[i] + other[i]}.
+		 *
+		 * @param other the other
+		 * @param dest  the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferf add(Vector3Bufferf other, Vector3Bufferf dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.add(xs, ys, zs, other.xs, other.ys, other.zs, dest.xs,
+					dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Subtracts two buffers, {@code dest[i] = this[i] - other[i]}.
+		 *
+		 * @param other the other
+		 * @param dest  the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferf subtract(Vector3Bufferf other, Vector3Bufferf dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.subtract(xs, ys, zs, other.xs, other.ys, other.zs, dest.xs,
+					dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Scales every vector, {@code dest[i] = this[i] * factor}.
+		 *
+		 * @param factor the factor
+		 * @param dest   the destination, which may be this
+		 * @return the destination
+		 */
+		public Vector3Bufferf scale(float factor, Vector3Bufferf dest) {
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.scale(xs, ys, zs, factor,
+					dest.xs, dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Adds a scaled buffer, {@code dest[i] = this[i] + other[i] * factor}, for
+		 * example {@code positions.addScaled(velocities, dt, positions)}.
+		 *
+		 * @param other  the other
+		 * @param factor the factor
+		 * @param dest   the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferf addScaled(Vector3Bufferf other, float factor, Vector3Bufferf dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.addScaled(xs, ys, zs, other.xs, other.ys, other.zs, factor,
+					dest.xs, dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Cross products, {@code dest[i] = this[i] x other[i]}.
+		 *
+		 * @param other the other
+		 * @param dest  the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferf cross(Vector3Bufferf other, Vector3Bufferf dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.cross(xs, ys, zs, other.xs, other.ys, other.zs, dest.xs,
+					dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Normalizes every vector. Zero vectors, which have no direction, are
+		 * written as zero.
+		 *
+		 * @param dest the destination, which may be this
+		 * @return the destination
+		 */
+		public Vector3Bufferf normalize(Vector3Bufferf dest) {
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.normalize(xs, ys, zs, dest.xs, dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Dot products, {@code dest[destOffset + i] = this[i] . other[i]}.
+		 *
+		 * @param other      the other
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void dot(Vector3Bufferf other, float[] dest, int destOffset) {
+			checkSize(other.size());
+			Objects.checkFromIndexSize(destOffset, size(), dest.length);
+			Vector3Kernels.INSTANCE.dot(xs, ys, zs, other.xs, other.ys, other.zs, dest,
+					destOffset, xs.length);
+		}
+
+		/**
+		 * Lengths, {@code dest[destOffset + i] = |this[i]|}.
+		 *
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void length(float[] dest, int destOffset) {
+			Objects.checkFromIndexSize(destOffset, size(), dest.length);
+			Vector3Kernels.INSTANCE.length(xs, ys, zs, dest, destOffset, xs.length);
+		}
+
+		/**
+		 * Distances, {@code dest[destOffset + i] = |this[i] - other[i]|}.
+		 *
+		 * @param other      the other
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void distance(Vector3Bufferf other, float[] dest, int destOffset) {
+			checkSize(other.size());
+			Objects.checkFromIndexSize(destOffset, size(), dest.length);
+			Vector3Kernels.INSTANCE.distance(xs, ys, zs, other.xs, other.ys, other.zs, dest,
+					destOffset, xs.length);
+		}
+
+		/**
+		 * Component-wise sum of every vector. The summation order is
+		 * unspecified.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 */
+		public MutableVector3f sum(MutableVector3f dest) {
+			Vector3Kernels.INSTANCE.sum(xs, ys, zs, xs.length, reduction, 0);
+			return dest.set(reduction[0], reduction[1], reduction[2]);
+		}
+
+		/**
+		 * Component-wise minimum of every vector, positive infinity when the
+		 * buffer is empty.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 */
+		public MutableVector3f min(MutableVector3f dest) {
+			Vector3Kernels.INSTANCE.min(xs, ys, zs, xs.length, reduction, 0);
+			return dest.set(reduction[0], reduction[1], reduction[2]);
+		}
+
+		/**
+		 * Component-wise maximum of every vector, negative infinity when the
+		 * buffer is empty.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 */
+		public MutableVector3f max(MutableVector3f dest) {
+			Vector3Kernels.INSTANCE.max(xs, ys, zs, xs.length, reduction, 0);
+			return dest.set(reduction[0], reduction[1], reduction[2]);
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "Vector3Bufferf[size=" + size() + "]";
+		}
+
+		/**
+		 * Checks that another buffer holds as many vectors as this one.
+		 *
+		 * @param size the other size
+		 * @throws IllegalArgumentException if the sizes differ
+		 */
+		private void checkSize(int size) {
+			if (size != xs.length) {
+				throw new IllegalArgumentException("buffer size mismatch: " + size + " != "
+						+ xs.length);
+			}
+		}
+	}
+
+	/**
+	 * A double vector buffer.
+	 */
+	final class Vector3Bufferd implements Vector3Buffer, PrecisionTd {
+
+		/** The x components. */
+		private final double[] xs;
+
+		/** The y components. */
+		private final double[] ys;
+
+		/** The z components. */
+		private final double[] zs;
+
+		/** Scratch space for reductions. */
+		private final double[] reduction = new double[3];
+
+		/**
+		 * Instantiates a new vector buffer d of zero vectors.
+		 *
+		 * @param size the number of vectors
+		 */
+		public Vector3Bufferd(int size) {
+			this(new double[size], new double[size], new double[size]);
+		}
+
+		/**
+		 * Instantiates a new vector buffer d over existing component arrays,
+		 * which are used directly rather than copied.
+		 *
+		 * @param xs the x components
+		 * @param ys the y components
+		 * @param zs the z components
+		 * @throws IllegalArgumentException if the arrays differ in length
+		 */
+		public Vector3Bufferd(double[] xs, double[] ys, double[] zs) {
+			if (ys.length != xs.length || zs.length != xs.length) {
+				throw new IllegalArgumentException("component arrays differ in length: "
+						+ xs.length + ", " + ys.length + ", " + zs.length);
+			}
+			this.xs = xs;
+			this.ys = ys;
+			this.zs = zs;
+		}
+
+		/**
+		 * The backing x components.
+		 *
+		 * @return the double array
+		 */
+		public double[] xs() {
+			return xs;
+		}
+
+		/**
+		 * The backing y components.
+		 *
+		 * @return the double array
+		 */
+		public double[] ys() {
+			return ys;
+		}
+
+		/**
+		 * The backing z components.
+		 *
+		 * @return the double array
+		 */
+		public double[] zs() {
+			return zs;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3Buffer#size()
+		 */
+		@Override
+		public int size() {
+			return xs.length;
+		}
+
+		/**
+		 * Sets one vector.
+		 *
+		 * @param index the index
+		 * @param x     the x
+		 * @param y     the y
+		 * @param z     the z
+		 */
+		public void set(int index, double x, double y, double z) {
+			xs[index] = x;
+			ys[index] = y;
+			zs[index] = z;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3Buffer#set(int,
+		 *      org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public void set(int index, Vector3D vector) {
+			set(index, vector.xd(), vector.yd(), vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3Buffer#get(int)
+		 */
+		@Override
+		public Vector3d get(int index) {
+			return new Vector3d(xs[index], ys[index], zs[index]);
+		}
+
+		/**
+		 * Copies one vector into a mutable vector.
+		 *
+		 * @param index the index
+		 * @param dest  the destination
+		 * @return the destination
+		 */
+		public MutableVector3d get(int index, MutableVector3d dest) {
+			return dest.set(xs[index], ys[index], zs[index]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#xd(int)
+		 */
+		@Override
+		public double xd(int index) {
+			return xs[index];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#yd(int)
+		 */
+		@Override
+		public double yd(int index) {
+			return ys[index];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#zd(int)
+		 */
+		@Override
+		public double zd(int index) {
+			return zs[index];
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#xf(int)
+		 */
+		@Override
+		public float xf(int index) {
+			return precisionCastToFloat(xs[index]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#yf(int)
+		 */
+		@Override
+		public float yf(int index) {
+			return precisionCastToFloat(ys[index]);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZIndexValues#zf(int)
+		 */
+		@Override
+		public float zf(int index) {
+			return precisionCastToFloat(zs[index]);
+		}
+
+		/**
+		 * Adds two buffers, {@code dest[i] = this[i] + other[i]}.
+		 *
+		 * @param other the other
+		 * @param dest  the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferd add(Vector3Bufferd other, Vector3Bufferd dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.add(xs, ys, zs, other.xs, other.ys, other.zs, dest.xs,
+					dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Subtracts two buffers, {@code dest[i] = this[i] - other[i]}.
+		 *
+		 * @param other the other
+		 * @param dest  the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferd subtract(Vector3Bufferd other, Vector3Bufferd dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.subtract(xs, ys, zs, other.xs, other.ys, other.zs, dest.xs,
+					dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Scales every vector, {@code dest[i] = this[i] * factor}.
+		 *
+		 * @param factor the factor
+		 * @param dest   the destination, which may be this
+		 * @return the destination
+		 */
+		public Vector3Bufferd scale(double factor, Vector3Bufferd dest) {
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.scale(xs, ys, zs, factor,
+					dest.xs, dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Adds a scaled buffer, {@code dest[i] = this[i] + other[i] * factor}, for
+		 * example {@code positions.addScaled(velocities, dt, positions)}.
+		 *
+		 * @param other  the other
+		 * @param factor the factor
+		 * @param dest   the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferd addScaled(Vector3Bufferd other, double factor,
+				Vector3Bufferd dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.addScaled(xs, ys, zs, other.xs, other.ys, other.zs, factor,
+					dest.xs, dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Cross products, {@code dest[i] = this[i] x other[i]}.
+		 *
+		 * @param other the other
+		 * @param dest  the destination, which may be this or other
+		 * @return the destination
+		 */
+		public Vector3Bufferd cross(Vector3Bufferd other, Vector3Bufferd dest) {
+			checkSize(other.size());
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.cross(xs, ys, zs, other.xs, other.ys, other.zs, dest.xs,
+					dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Normalizes every vector. Zero vectors, which have no direction, are
+		 * written as zero.
+		 *
+		 * @param dest the destination, which may be this
+		 * @return the destination
+		 */
+		public Vector3Bufferd normalize(Vector3Bufferd dest) {
+			checkSize(dest.size());
+			Vector3Kernels.INSTANCE.normalize(xs, ys, zs, dest.xs, dest.ys, dest.zs, xs.length);
+			return dest;
+		}
+
+		/**
+		 * Dot products, {@code dest[destOffset + i] = this[i] . other[i]}.
+		 *
+		 * @param other      the other
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void dot(Vector3Bufferd other, double[] dest, int destOffset) {
+			checkSize(other.size());
+			Objects.checkFromIndexSize(destOffset, size(), dest.length);
+			Vector3Kernels.INSTANCE.dot(xs, ys, zs, other.xs, other.ys, other.zs, dest,
+					destOffset, xs.length);
+		}
+
+		/**
+		 * Lengths, {@code dest[destOffset + i] = |this[i]|}.
+		 *
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void length(double[] dest, int destOffset) {
+			Objects.checkFromIndexSize(destOffset, size(), dest.length);
+			Vector3Kernels.INSTANCE.length(xs, ys, zs, dest, destOffset, xs.length);
+		}
+
+		/**
+		 * Distances, {@code dest[destOffset + i] = |this[i] - other[i]|}.
+		 *
+		 * @param other      the other
+		 * @param dest       the destination
+		 * @param destOffset the destination offset
+		 */
+		public void distance(Vector3Bufferd other, double[] dest, int destOffset) {
+			checkSize(other.size());
+			Objects.checkFromIndexSize(destOffset, size(), dest.length);
+			Vector3Kernels.INSTANCE.distance(xs, ys, zs, other.xs, other.ys, other.zs, dest,
+					destOffset, xs.length);
+		}
+
+		/**
+		 * Component-wise sum of every vector. The summation order is
+		 * unspecified.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 */
+		public MutableVector3d sum(MutableVector3d dest) {
+			Vector3Kernels.INSTANCE.sum(xs, ys, zs, xs.length, reduction, 0);
+			return dest.set(reduction[0], reduction[1], reduction[2]);
+		}
+
+		/**
+		 * Component-wise minimum of every vector, positive infinity when the
+		 * buffer is empty.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 */
+		public MutableVector3d min(MutableVector3d dest) {
+			Vector3Kernels.INSTANCE.min(xs, ys, zs, xs.length, reduction, 0);
+			return dest.set(reduction[0], reduction[1], reduction[2]);
+		}
+
+		/**
+		 * Component-wise maximum of every vector, negative infinity when the
+		 * buffer is empty.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 */
+		public MutableVector3d max(MutableVector3d dest) {
+			Vector3Kernels.INSTANCE.max(xs, ys, zs, xs.length, reduction, 0);
+			return dest.set(reduction[0], reduction[1], reduction[2]);
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "Vector3Bufferd[size=" + size() + "]";
+		}
+
+		/**
+		 * Checks that another buffer holds as many vectors as this one.
+		 *
+		 * @param size the other size
+		 * @throws IllegalArgumentException if the sizes differ
+		 */
+		private void checkSize(int size) {
+			if (size != xs.length) {
+				throw new IllegalArgumentException("buffer size mismatch: " + size + " != "
+						+ xs.length);
+			}
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.coordinates.XYZIndexValues#cols()
+	 */
+	@Override
+	default int cols() {
+		return 3;
+	}
+
+	/**
+	 * Gets one vector as a new immutable vector.
+	 *
+	 * @param index the index
+	 * @return the vector 3 D
+	 */
+	Vector3D get(int index);
+
+	/**
+	 * @see org.piengine.commons.math.coordinates.XYZIndexValues#rows()
+	 */
+	@Override
+	default int rows() {
+		return size();
+	}
+
+	/**
+	 * Sets one vector.
+	 *
+	 * @param index  the index
+	 * @param vector the vector
+	 */
+	void set(int index, Vector3D vector);
+
+	/**
+	 * Size, the number of vectors.
+	 *
+	 * @return the int
+	 */
+	int size();
+}
@@ -23,6 +23,11 @@
  */
 package org.piengine.commons.math;
 
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
 import org.piengine.commons.math.Matrix.Matrix1x3;
 import org.piengine.commons.math.coordinates.Coordinate;
 import org.piengine.commons.math.shapes.Point3D;
@@ -33,35 +38,39 @@ import org.piengine.commons.math.shapes.Point3D;
 public interface Vector3D extends Coordinate, Matrix1x3 {
 
 	/**
-	 * The Record Vector3f.
+	 * The Record Vector3f. The components are held in fields, so a vector is a
+	 * single object; {@link #array()} builds a new array on each call.
 	 *
-	 * @param array the array
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
 	 */
-	record Vector3f(float[] array) implements Vector3D, Matrix1x3f {
+	record Vector3f(float x, float y, float z) implements Vector3D, Matrix1x3f {
 
 		/**
-		 * Instantiates a new vector 3 f.
+		 * Instantiates a new vector 3 f from the first three elements of an array.
 		 *
+		 * @implNote The elements are copied, so later writes to {@code array} do
+		 *           not change this vector. Before vectors held their components
+		 *           in fields, this constructor wrapped the array.
 		 * @param array the array
 		 */
-		public Vector3f {
-			assert array != null;
-			assert array.length == 3;
+		public Vector3f(float[] array) {
+			this(array[X_COL_OFFSET], array[Y_COL_OFFSET], array[Z_COL_OFFSET]);
 		}
 
 		/**
-		 * Instantiates a new vector 3 f.
+		 * Returns the components as {@code x, y, z}.
 		 *
-		 * @param x the x
-		 * @param y the y
-		 * @param z the z
+		 * @implNote Each call allocates a new array, and writes to it do not
+		 *           change this vector. Read {@link #x()}, {@link #y()} and
+		 *           {@link #z()} to avoid the allocation.
+		 * @return a new array of the components
+		 * @see org.piengine.commons.math.Matrix#array()
 		 */
-		public Vector3f(float x, float y, float z) {
-			this(new float[] {
-					x,
-					y,
-					z
-			});
+		@Override
+		public float[] array() {
+			return new float[] { x, y, z };
 		}
 
 		/**
@@ -69,7 +78,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public float xf() {
-			return array[0];
+			return x;
 		}
 
 		/**
@@ -77,7 +86,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public float yf() {
-			return array[1];
+			return y;
 		}
 
 		/**
@@ -85,7 +94,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public float zf() {
-			return array[2];
+			return z;
 		}
 
 		/**
@@ -97,7 +106,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 			if (mag == 0) {
 				throw new ArithmeticException("Cannot normalize a zero vector");
 			}
-			return new Vector3f(xf() / mag, yf() / mag, zf() / mag);
+			return new Vector3f(x / mag, y / mag, z / mag);
 		}
 
 		/**
@@ -105,7 +114,8 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Vector3D add(Vector3D vector) {
-			return new Vector3f(xf() + vector.xf(), yf() + vector.yf(), zf() + vector.zf());
+			return new Vector3f(x + (float) vector.xd(), y + (float) vector.yd(),
+					z + (float) vector.zd());
 		}
 
 		/**
@@ -113,7 +123,8 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Vector3D subtract(Vector3D vector) {
-			return new Vector3f(xf() - vector.xf(), yf() - vector.yf(), zf() - vector.zf());
+			return new Vector3f(x - (float) vector.xd(), y - (float) vector.yd(),
+					z - (float) vector.zd());
 		}
 
 		/**
@@ -121,7 +132,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Vector3D scale(double factor) {
-			return new Vector3f((float) (xf() * factor), (float) (yf() * factor), (float) (zf() * factor));
+			return new Vector3f((float) (x * factor), (float) (y * factor), (float) (z * factor));
 		}
 
 		/**
@@ -129,41 +140,93 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Point3D toPoint() {
-			return Point3D.ofFloat(xf(), yf(), zf());
+			return Point3D.ofFloat(x, y, z);
 		}
 
 	}
 
 	/**
-	 * The Record Vector3d.
+	 * The Record Vector3d. The components are held in fields, so a vector is a
+	 * single object; {@link #array()} builds a new array on each call.
 	 *
-	 * @param array the array
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
 	 */
-	record Vector3d(double[] array) implements Vector3D, Matrix1x3d {
+	record Vector3d(double x, double y, double z) implements Vector3D, Matrix1x3d {
 
 		/**
-		 * Instantiates a new vector 3 d.
+		 * Instantiates a new vector 3 d from the first three elements of an array.
 		 *
+		 * @implNote The elements are copied, so later writes to {@code array} do
+		 *           not change this vector. Before vectors held their components
+		 *           in fields, this constructor wrapped the array.
 		 * @param array the array
 		 */
-		public Vector3d {
-			assert array != null;
-			assert array.length == 3;
+		public Vector3d(double[] array) {
+			this(array[X_COL_OFFSET], array[Y_COL_OFFSET], array[Z_COL_OFFSET]);
 		}
 
 		/**
-		 * Instantiates a new vector 3 d.
+		 * Returns the components as {@code x, y, z}.
 		 *
-		 * @param x the x
-		 * @param y the y
-		 * @param z the z
+		 * @implNote Each call allocates a new array, and writes to it do not
+		 *           change this vector. Read {@link #x()}, {@link #y()} and
+		 *           {@link #z()} to avoid the allocation.
+		 * @return a new array of the components
+		 * @see org.piengine.commons.math.Matrix#array()
+		 */
+		@Override
+		public double[] array() {
+			return new double[] { x, y, z };
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#xd()
+		 */
+		@Override
+		public double xd() {
+			return x;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#yd()
+		 */
+		@Override
+		public double yd() {
+			return y;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#zd()
+		 */
+		@Override
+		public double zd() {
+			return z;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#xf()
+		 */
+		@Override
+		public float xf() {
+			return precisionCastToFloat(x);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#yf()
+		 */
+		@Override
+		public float yf() {
+			return precisionCastToFloat(y);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#zf()
 		 */
-		public Vector3d(double x, double y, double z) {
-			this(new double[] {
-					x,
-					y,
-					z
-			});
+		@Override
+		public float zf() {
+			return precisionCastToFloat(z);
 		}
 
 		/**
@@ -175,7 +238,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 			if (mag == 0) {
 				throw new ArithmeticException("Cannot normalize a zero vector");
 			}
-			return new Vector3d(xd() / mag, yd() / mag, zd() / mag);
+			return new Vector3d(x / mag, y / mag, z / mag);
 		}
 
 		/**
@@ -183,7 +246,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Vector3D add(Vector3D vector) {
-			return new Vector3d(xd() + vector.xd(), yd() + vector.yd(), zd() + vector.zd());
+			return new Vector3d(x + vector.xd(), y + vector.yd(), z + vector.zd());
 		}
 
 		/**
@@ -191,7 +254,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Vector3D subtract(Vector3D vector) {
-			return new Vector3d(xd() - vector.xd(), yd() - vector.yd(), zd() - vector.zd());
+			return new Vector3d(x - vector.xd(), y - vector.yd(), z - vector.zd());
 		}
 
 		/**
@@ -199,7 +262,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Vector3D scale(double factor) {
-			return new Vector3d(xd() * factor, yd() * factor, zd() * factor);
+			return new Vector3d(x * factor, y * factor, z * factor);
 		}
 
 		/**
@@ -207,7 +270,276 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public Point3D toPoint() {
-			return Point3D.ofDouble(xd(), yd(), zd());
+			return Point3D.ofDouble(x, y, z);
+		}
+
+	}
+
+	/**
+	 * A mutable float vector whose operations update it in place or write into a
+	 * destination vector, so that integration loops run without allocation. It
+	 * is read through {@code XYZValues} like any vector; only the
+	 * {@code Vector3D} operations return new immutable vectors. The
+	 * destination of every {@code Into} form may be this vector or an operand.
+	 * Instances are not thread safe.
+	 */
+	final class MutableVector3f implements Vector3D, Matrix1x3f {
+
+		/** The x. */
+		private float x;
+
+		/** The y. */
+		private float y;
+
+		/** The z. */
+		private float z;
+
+		/**
+		 * Instantiates a new zero mutable vector 3 f.
+		 */
+		public MutableVector3f() {}
+
+		/**
+		 * Instantiates a new mutable vector 3 f.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 */
+		public MutableVector3f(float x, float y, float z) {
+			set(x, y, z);
+		}
+
+		/**
+		 * Instantiates a new mutable vector 3 f with a copy of another vector.
+		 *
+		 * @param vector the vector
+		 */
+		public MutableVector3f(Vector3D vector) {
+			set(vector);
+		}
+
+		/**
+		 * Sets the components.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 * @return this
+		 */
+		public MutableVector3f set(float x, float y, float z) {
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			return this;
+		}
+
+		/**
+		 * Copies another vector into this one.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3f set(Vector3D vector) {
+			return set((float) vector.xd(), (float) vector.yd(), (float) vector.zd());
+		}
+
+		/**
+		 * Sets every component to zero.
+		 *
+		 * @return this
+		 */
+		public MutableVector3f setZero() {
+			return set(0, 0, 0);
+		}
+
+		/**
+		 * Adds a vector in place, {@code this = this + vector}.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3f addLocal(Vector3D vector) {
+			return addInto(vector, this);
+		}
+
+		/**
+		 * Writes {@code this + vector} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3f addInto(Vector3D vector, MutableVector3f dest) {
+			return dest.set(
+					x + (float) vector.xd(),
+					y + (float) vector.yd(),
+					z + (float) vector.zd());
+		}
+
+		/**
+		 * Subtracts a vector in place, {@code this = this - vector}.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3f subtractLocal(Vector3D vector) {
+			return subtractInto(vector, this);
+		}
+
+		/**
+		 * Writes {@code this - vector} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3f subtractInto(Vector3D vector, MutableVector3f dest) {
+			return dest.set(
+					x - (float) vector.xd(),
+					y - (float) vector.yd(),
+					z - (float) vector.zd());
+		}
+
+		/**
+		 * Scales this vector in place.
+		 *
+		 * @param factor the factor
+		 * @return this
+		 */
+		public MutableVector3f scaleLocal(float factor) {
+			return scaleInto(factor, this);
+		}
+
+		/**
+		 * Writes {@code this * factor} into a destination.
+		 *
+		 * @param factor the factor
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3f scaleInto(float factor, MutableVector3f dest) {
+			return dest.set(x * factor, y * factor, z * factor);
+		}
+
+		/**
+		 * Adds a scaled vector in place, {@code this = this + vector * factor},
+		 * for example {@code position.addScaledLocal(velocity, dt)}.
+		 *
+		 * @param vector the vector
+		 * @param factor the factor
+		 * @return this
+		 */
+		public MutableVector3f addScaledLocal(Vector3D vector, float factor) {
+			return addScaledInto(vector, factor, this);
+		}
+
+		/**
+		 * Writes {@code this + vector * factor} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param factor the factor
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3f addScaledInto(Vector3D vector, float factor,
+				MutableVector3f dest) {
+			return dest.set(
+					x + (float) vector.xd() * factor,
+					y + (float) vector.yd() * factor,
+					z + (float) vector.zd() * factor);
+		}
+
+		/**
+		 * Negates this vector in place.
+		 *
+		 * @return this
+		 */
+		public MutableVector3f negateLocal() {
+			return set(-x, -y, -z);
+		}
+
+		/**
+		 * Normalizes this vector in place.
+		 *
+		 * @return this
+		 * @throws ArithmeticException if this is the zero vector
+		 */
+		public MutableVector3f normalizeLocal() {
+			return normalizeInto(this);
+		}
+
+		/**
+		 * Writes this vector, normalized, into a destination.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 * @throws ArithmeticException if this is the zero vector
+		 */
+		public MutableVector3f normalizeInto(MutableVector3f dest) {
+			float mag = (float) Math.sqrt(x * x + y * y + z * z);
+			if (mag == 0) {
+				throw new ArithmeticException("Cannot normalize a zero vector");
+			}
+			return dest.set(x / mag, y / mag, z / mag);
+		}
+
+		/**
+		 * Replaces this vector by its cross product with another,
+		 * {@code this = this x vector}.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3f crossLocal(Vector3D vector) {
+			return crossInto(vector, this);
+		}
+
+		/**
+		 * Writes the cross product {@code this x vector} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3f crossInto(Vector3D vector, MutableVector3f dest) {
+			float vx = (float) vector.xd(), vy = (float) vector.yd(), vz = (float) vector.zd();
+			return dest.set(y * vz - z * vy, z * vx - x * vz, x * vy - y * vx);
+		}
+
+		/**
+		 * Interpolates linearly towards another vector in place.
+		 *
+		 * @param vector the target, reached at {@code t = 1}
+		 * @param t      the interpolation factor
+		 * @return this
+		 */
+		public MutableVector3f lerpLocal(Vector3D vector, float t) {
+			return lerpInto(vector, t, this);
+		}
+
+		/**
+		 * Writes {@code this + (vector - this) * t} into a destination.
+		 *
+		 * @param vector the target, reached at {@code t = 1}
+		 * @param t      the interpolation factor
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3f lerpInto(Vector3D vector, float t, MutableVector3f dest) {
+			return dest.set(
+					x + ((float) vector.xd() - x) * t,
+					y + ((float) vector.yd() - y) * t,
+					z + ((float) vector.zd() - z) * t);
+		}
+
+		/**
+		 * Copies this vector to a new immutable record.
+		 *
+		 * @return the vector 3 f
+		 */
+		public Vector3f toVector3f() {
+			return new Vector3f(x, y, z);
 		}
 
 		/**
@@ -215,7 +547,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public float xf() {
-			return precisionCastToFloat(xd());
+			return x;
 		}
 
 		/**
@@ -223,7 +555,7 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public float yf() {
-			return precisionCastToFloat(yd());
+			return y;
 		}
 
 		/**
@@ -231,33 +563,575 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 		 */
 		@Override
 		public float zf() {
-			return precisionCastToFloat(zd());
+			return z;
 		}
 
 		/**
-		 * @see org.piengine.commons.math.coordinates.XYZValues#xd()
+		 * @see org.piengine.commons.math.Vector3D#normalize()
 		 */
 		@Override
-		public double xd() {
-			return array[X_COL_OFFSET];
+		public Vector3D normalize() {
+			float mag = (float) Math.sqrt(x * x + y * y + z * z);
+			if (mag == 0) {
+				throw new ArithmeticException("Cannot normalize a zero vector");
+			}
+			return new Vector3f(x / mag, y / mag, z / mag);
 		}
 
 		/**
-		 * @see org.piengine.commons.math.coordinates.XYZValues#yd()
+		 * @see org.piengine.commons.math.Vector3D#add(org.piengine.commons.math.Vector3D)
 		 */
 		@Override
-		public double yd() {
-			return array[Y_COL_OFFSET];
+		public Vector3D add(Vector3D vector) {
+			return new Vector3f(x + (float) vector.xd(), y + (float) vector.yd(),
+					z + (float) vector.zd());
 		}
 
 		/**
-		 * @see org.piengine.commons.math.coordinates.XYZValues#zd()
+		 * @see org.piengine.commons.math.Vector3D#subtract(org.piengine.commons.math.Vector3D)
 		 */
 		@Override
-		public double zd() {
-			return array[Z_COL_OFFSET];
+		public Vector3D subtract(Vector3D vector) {
+			return new Vector3f(x - (float) vector.xd(), y - (float) vector.yd(),
+					z - (float) vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#scale(double)
+		 */
+		@Override
+		public Vector3D scale(double factor) {
+			return new Vector3f((float) (x * factor), (float) (y * factor), (float) (z * factor));
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#toPoint()
+		 */
+		@Override
+		public Point3D toPoint() {
+			return Point3D.ofFloat(x, y, z);
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "MutableVector3f[" + x + ", " + y + ", " + z + "]";
+		}
+	}
+
+	/**
+	 * A mutable double vector whose operations update it in place or write into a
+	 * destination vector, so that integration loops run without allocation. It
+	 * is read through {@code XYZValues} like any vector; only the
+	 * {@code Vector3D} operations return new immutable vectors. The
+	 * destination of every {@code Into} form may be this vector or an operand.
+	 * Instances are not thread safe.
+	 */
+	final class MutableVector3d implements Vector3D, Matrix1x3d {
+
+		/** The x. */
+		private double x;
+
+		/** The y. */
+		private double y;
+
+		/** The z. */
+		private double z;
+
+		/**
+		 * Instantiates a new zero mutable vector 3 d.
+		 */
+		public MutableVector3d() {}
+
+		/**
+		 * Instantiates a new mutable vector 3 d.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 */
+		public MutableVector3d(double x, double y, double z) {
+			set(x, y, z);
+		}
+
+		/**
+		 * Instantiates a new mutable vector 3 d with a copy of another vector.
+		 *
+		 * @param vector the vector
+		 */
+		public MutableVector3d(Vector3D vector) {
+			set(vector);
+		}
+
+		/**
+		 * Sets the components.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 * @return this
+		 */
+		public MutableVector3d set(double x, double y, double z) {
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			return this;
+		}
+
+		/**
+		 * Copies another vector into this one.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3d set(Vector3D vector) {
+			return set(vector.xd(), vector.yd(), vector.zd());
 		}
 
+		/**
+		 * Sets every component to zero.
+		 *
+		 * @return this
+		 */
+		public MutableVector3d setZero() {
+			return set(0, 0, 0);
+		}
+
+		/**
+		 * Adds a vector in place, {@code this = this + vector}.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3d addLocal(Vector3D vector) {
+			return addInto(vector, this);
+		}
+
+		/**
+		 * Writes {@code this + vector} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3d addInto(Vector3D vector, MutableVector3d dest) {
+			return dest.set(x + vector.xd(), y + vector.yd(), z + vector.zd());
+		}
+
+		/**
+		 * Subtracts a vector in place, {@code this = this - vector}.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3d subtractLocal(Vector3D vector) {
+			return subtractInto(vector, this);
+		}
+
+		/**
+		 * Writes {@code this - vector} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3d subtractInto(Vector3D vector, MutableVector3d dest) {
+			return dest.set(x - vector.xd(), y - vector.yd(), z - vector.zd());
+		}
+
+		/**
+		 * Scales this vector in place.
+		 *
+		 * @param factor the factor
+		 * @return this
+		 */
+		public MutableVector3d scaleLocal(double factor) {
+			return scaleInto(factor, this);
+		}
+
+		/**
+		 * Writes {@code this * factor} into a destination.
+		 *
+		 * @param factor the factor
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3d scaleInto(double factor, MutableVector3d dest) {
+			return dest.set(x * factor, y * factor, z * factor);
+		}
+
+		/**
+		 * Adds a scaled vector in place, {@code this = this + vector * factor},
+		 * for example {@code position.addScaledLocal(velocity, dt)}.
+		 *
+		 * @param vector the vector
+		 * @param factor the factor
+		 * @return this
+		 */
+		public MutableVector3d addScaledLocal(Vector3D vector, double factor) {
+			return addScaledInto(vector, factor, this);
+		}
+
+		/**
+		 * Writes {@code this + vector * factor} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param factor the factor
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3d addScaledInto(Vector3D vector, double factor,
+				MutableVector3d dest) {
+			return dest.set(
+					x + vector.xd() * factor,
+					y + vector.yd() * factor,
+					z + vector.zd() * factor);
+		}
+
+		/**
+		 * Negates this vector in place.
+		 *
+		 * @return this
+		 */
+		public MutableVector3d negateLocal() {
+			return set(-x, -y, -z);
+		}
+
+		/**
+		 * Normalizes this vector in place.
+		 *
+		 * @return this
+		 * @throws ArithmeticException if this is the zero vector
+		 */
+		public MutableVector3d normalizeLocal() {
+			return normalizeInto(this);
+		}
+
+		/**
+		 * Writes this vector, normalized, into a destination.
+		 *
+		 * @param dest the destination
+		 * @return the destination
+		 * @throws ArithmeticException if this is the zero vector
+		 */
+		public MutableVector3d normalizeInto(MutableVector3d dest) {
+			double mag = Math.sqrt(x * x + y * y + z * z);
+			if (mag == 0) {
+				throw new ArithmeticException("Cannot normalize a zero vector");
+			}
+			return dest.set(x / mag, y / mag, z / mag);
+		}
+
+		/**
+		 * Replaces this vector by its cross product with another,
+		 * {@code this = this x vector}.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public MutableVector3d crossLocal(Vector3D vector) {
+			return crossInto(vector, this);
+		}
+
+		/**
+		 * Writes the cross product {@code this x vector} into a destination.
+		 *
+		 * @param vector the vector
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3d crossInto(Vector3D vector, MutableVector3d dest) {
+			double vx = vector.xd(), vy = vector.yd(), vz = vector.zd();
+			return dest.set(y * vz - z * vy, z * vx - x * vz, x * vy - y * vx);
+		}
+
+		/**
+		 * Interpolates linearly towards another vector in place.
+		 *
+		 * @param vector the target, reached at {@code t = 1}
+		 * @param t      the interpolation factor
+		 * @return this
+		 */
+		public MutableVector3d lerpLocal(Vector3D vector, double t) {
+			return lerpInto(vector, t, this);
+		}
+
+		/**
+		 * Writes {@code this + (vector - this) * t} into a destination.
+		 *
+		 * @param vector the target, reached at {@code t = 1}
+		 * @param t      the interpolation factor
+		 * @param dest   the destination
+		 * @return the destination
+		 */
+		public MutableVector3d lerpInto(Vector3D vector, double t, MutableVector3d dest) {
+			return dest.set(
+					x + (vector.xd() - x) * t,
+					y + (vector.yd() - y) * t,
+					z + (vector.zd() - z) * t);
+		}
+
+		/**
+		 * Copies this vector to a new immutable record.
+		 *
+		 * @return the vector 3 d
+		 */
+		public Vector3d toVector3d() {
+			return new Vector3d(x, y, z);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#xd()
+		 */
+		@Override
+		public double xd() {
+			return x;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#yd()
+		 */
+		@Override
+		public double yd() {
+			return y;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#zd()
+		 */
+		@Override
+		public double zd() {
+			return z;
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#xf()
+		 */
+		@Override
+		public float xf() {
+			return precisionCastToFloat(x);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#yf()
+		 */
+		@Override
+		public float yf() {
+			return precisionCastToFloat(y);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#zf()
+		 */
+		@Override
+		public float zf() {
+			return precisionCastToFloat(z);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#normalize()
+		 */
+		@Override
+		public Vector3D normalize() {
+			double mag = Math.sqrt(x * x + y * y + z * z);
+			if (mag == 0) {
+				throw new ArithmeticException("Cannot normalize a zero vector");
+			}
+			return new Vector3d(x / mag, y / mag, z / mag);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#add(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D add(Vector3D vector) {
+			return new Vector3d(x + vector.xd(), y + vector.yd(), z + vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#subtract(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D subtract(Vector3D vector) {
+			return new Vector3d(x - vector.xd(), y - vector.yd(), z - vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#scale(double)
+		 */
+		@Override
+		public Vector3D scale(double factor) {
+			return new Vector3d(x * factor, y * factor, z * factor);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#toPoint()
+		 */
+		@Override
+		public Point3D toPoint() {
+			return Point3D.ofDouble(x, y, z);
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "MutableVector3d[" + x + ", " + y + ", " + z + "]";
+		}
+	}
+
+	/**
+	 * A float vector stored in a {@link MemorySegment}, for example a vertex
+	 * attribute or a field of a native uniform block. The three components are
+	 * consecutive floats in native byte order. It is read through
+	 * {@code XYZValues} like any vector and can be updated in place with
+	 * {@link #set(float, float, float)}; the {@code Vector3D} operations return
+	 * new heap vectors. Instances are not thread safe.
+	 */
+	final class SegmentVector3f implements Vector3D, Matrix1x3f {
+
+		/** The size of one vector in bytes. */
+		public static final long BYTES = 3 * Float.BYTES;
+
+		/**
+		 * Allocates a new zero vector in an arena.
+		 *
+		 * @param arena the arena
+		 * @return the segment vector 3 f
+		 */
+		public static SegmentVector3f allocate(Arena arena) {
+			return new SegmentVector3f(arena.allocate(BYTES, Float.BYTES));
+		}
+
+		/** The segment. */
+		private final MemorySegment segment;
+
+		/**
+		 * Instantiates a new segment vector 3 f over the first {@link #BYTES} bytes
+		 * of a segment. The contents are left as they are.
+		 *
+		 * @param segment the segment
+		 * @throws IndexOutOfBoundsException if the segment is too small
+		 */
+		public SegmentVector3f(MemorySegment segment) {
+			this.segment = segment.asSlice(0, BYTES);
+		}
+
+		/**
+		 * The backing segment, exactly {@link #BYTES} long.
+		 *
+		 * @return the memory segment
+		 */
+		public MemorySegment segment() {
+			return segment;
+		}
+
+		/**
+		 * Sets the components.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 * @return this
+		 */
+		public SegmentVector3f set(float x, float y, float z) {
+			segment.setAtIndex(JAVA_FLOAT_UNALIGNED, X_COL_OFFSET, x);
+			segment.setAtIndex(JAVA_FLOAT_UNALIGNED, Y_COL_OFFSET, y);
+			segment.setAtIndex(JAVA_FLOAT_UNALIGNED, Z_COL_OFFSET, z);
+			return this;
+		}
+
+		/**
+		 * Copies another vector into this one.
+		 *
+		 * @param vector the vector
+		 * @return this
+		 */
+		public SegmentVector3f set(Vector3D vector) {
+			return set((float) vector.xd(), (float) vector.yd(), (float) vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#xf()
+		 */
+		@Override
+		public float xf() {
+			return segment.getAtIndex(JAVA_FLOAT_UNALIGNED, X_COL_OFFSET);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#yf()
+		 */
+		@Override
+		public float yf() {
+			return segment.getAtIndex(JAVA_FLOAT_UNALIGNED, Y_COL_OFFSET);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.coordinates.XYZValues#zf()
+		 */
+		@Override
+		public float zf() {
+			return segment.getAtIndex(JAVA_FLOAT_UNALIGNED, Z_COL_OFFSET);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#normalize()
+		 */
+		@Override
+		public Vector3D normalize() {
+			float mag = (float) magnitude();
+			if (mag == 0) {
+				throw new ArithmeticException("Cannot normalize a zero vector");
+			}
+			return new Vector3f(xf() / mag, yf() / mag, zf() / mag);
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#add(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D add(Vector3D vector) {
+			return new Vector3f(xf() + (float) vector.xd(), yf() + (float) vector.yd(),
+					zf() + (float) vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#subtract(org.piengine.commons.math.Vector3D)
+		 */
+		@Override
+		public Vector3D subtract(Vector3D vector) {
+			return new Vector3f(xf() - (float) vector.xd(), yf() - (float) vector.yd(),
+					zf() - (float) vector.zd());
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#scale(double)
+		 */
+		@Override
+		public Vector3D scale(double factor) {
+			return new Vector3f((float) (xf() * factor), (float) (yf() * factor),
+					(float) (zf() * factor));
+		}
+
+		/**
+		 * @see org.piengine.commons.math.Vector3D#toPoint()
+		 */
+		@Override
+		public Point3D toPoint() {
+			return Point3D.ofFloat(xf(), yf(), zf());
+		}
+
+		/**
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return "SegmentVector3f[" + xf() + ", " + yf() + ", " + zf() + "]";
+		}
 	}
 
 	/**
@@ -309,16 +1183,15 @@ public interface Vector3D extends Coordinate, Matrix1x3 {
 	Vector3D add(Vector3D vector);
 
 	/**
-	 * Cross.
+	 * Cross, computed in float when both vectors are float and in double
+	 * otherwise.
 	 *
 	 * @param vector the vector
 	 * @return the vector 3 D
+	 * @see VectorOperations#cross(Vector3D, Vector3D)
 	 */
 	default Vector3D cross(Vector3D vector) {
-		double x = yd() * vector.zd() - zd() * vector.yd();
-		double y = zd() * vector.xd() - xd() * vector.zd();
-		double z = xd() * vector.yd() - yd() * vector.xd();
-		return Vector3D.ofDouble(x, y, z);
+		return VectorOperations.cross(this, vector);
 	}
 
 	/**
@@ -0,0 +1,434 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+/**
+ * The bulk 3D vector kernels behind {@link Vector3Buffer}. Every kernel works
+ * on the first {@code count} elements of structure of arrays storage, one
+ * primitive array per component, allocates nothing, and allows the destination
+ * arrays to alias the sources.
+ *
+ * <p>
+ * The implementation is picked once, at class initialization, under the same
+ * rules as {@link Matrix4Kernels}: the {@code jdk.incubator.vector} backend is
+ * used when that module is present and the CPU has at least 128-bit vectors,
+ * unless the {@link Matrix4Kernels#SIMD_PROPERTY} system property is
+ * {@code false}.
+ * </p>
+ */
+interface Vector3Kernels {
+
+	/** The selected kernels. */
+	Vector3Kernels INSTANCE = select();
+
+	/**
+	 * Selects the best available kernels for this runtime.
+	 *
+	 * @return the vector 3 kernels
+	 */
+	private static Vector3Kernels select() {
+		if (Boolean.parseBoolean(System.getProperty(Matrix4Kernels.SIMD_PROPERTY, "true"))
+				&& ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			try {
+				return (Vector3Kernels) Class.forName(
+						"org.piengine.commons.math.VectorVector3Kernels")
+						.getDeclaredConstructor()
+						.newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				// Vector API unusable on this runtime, fall through to scalar
+			}
+		}
+
+		return new ScalarVector3Kernels();
+	}
+
+	/**
+	 * Name of the backend, for diagnostics.
+	 *
+	 * @return the string
+	 */
+	String name();
+
+	/**
+	 * Adds, {@code d[i] = a[i] + b[i]}.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param bx    the b x components
+	 * @param by    the b y components
+	 * @param bz    the b z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void add(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count);
+
+	/**
+	 * Subtracts, {@code d[i] = a[i] - b[i]}.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param bx    the b x components
+	 * @param by    the b y components
+	 * @param bz    the b z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void subtract(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count);
+
+	/**
+	 * Scales, {@code d[i] = a[i] * factor}.
+	 *
+	 * @param ax     the a x components
+	 * @param ay     the a y components
+	 * @param az     the a z components
+	 * @param factor the factor
+	 * @param dx     the destination x components
+	 * @param dy     the destination y components
+	 * @param dz     the destination z components
+	 * @param count  the number of vectors
+	 */
+	void scale(float[] ax, float[] ay, float[] az, float factor, float[] dx, float[] dy,
+			float[] dz, int count);
+
+	/**
+	 * Adds a scaled vector, {@code d[i] = a[i] + b[i] * factor}.
+	 *
+	 * @param ax     the a x components
+	 * @param ay     the a y components
+	 * @param az     the a z components
+	 * @param bx     the b x components
+	 * @param by     the b y components
+	 * @param bz     the b z components
+	 * @param factor the factor
+	 * @param dx     the destination x components
+	 * @param dy     the destination y components
+	 * @param dz     the destination z components
+	 * @param count  the number of vectors
+	 */
+	void addScaled(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float factor, float[] dx, float[] dy, float[] dz, int count);
+
+	/**
+	 * Cross products, {@code d[i] = a[i] x b[i]}.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param bx    the b x components
+	 * @param by    the b y components
+	 * @param bz    the b z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count);
+
+	/**
+	 * Normalizes, writing zero vectors as zero.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void normalize(float[] ax, float[] ay, float[] az, float[] dx, float[] dy,
+			float[] dz, int count);
+
+	/**
+	 * Dot products, {@code dest[destOffset + i] = a[i] . b[i]}.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param bx         the b x components
+	 * @param by         the b y components
+	 * @param bz         the b z components
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+	void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dest, int destOffset, int count);
+
+	/**
+	 * Lengths, {@code dest[destOffset + i] = |a[i]|}.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+	void length(float[] ax, float[] ay, float[] az, float[] dest, int destOffset, int count);
+
+	/**
+	 * Distances, {@code dest[destOffset + i] = |a[i] - b[i]|}.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param bx         the b x components
+	 * @param by         the b y components
+	 * @param bz         the b z components
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+	void distance(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dest, int destOffset, int count);
+
+	/**
+	 * Component-wise sum, written to {@code dest[destOffset]} to
+	 * {@code dest[destOffset + 2]}. The summation order is unspecified.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param count      the number of vectors
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+	void sum(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset);
+
+	/**
+	 * Component-wise minimum, written to {@code dest[destOffset]} to
+	 * {@code dest[destOffset + 2]}. It is positive infinity when {@code count} is zero.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param count      the number of vectors
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+	void min(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset);
+
+	/**
+	 * Component-wise maximum, written to {@code dest[destOffset]} to
+	 * {@code dest[destOffset + 2]}. It is negative infinity when {@code count} is zero.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param count      the number of vectors
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+	void max(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset);
+
+	/**
+	 * Adds, {@code d[i] = a[i] + b[i]}.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param bx    the b x components
+	 * @param by    the b y components
+	 * @param bz    the b z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void add(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dx, double[] dy, double[] dz, int count);
+
+	/**
+	 * Subtracts, {@code d[i] = a[i] - b[i]}.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param bx    the b x components
+	 * @param by    the b y components
+	 * @param bz    the b z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void subtract(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dx, double[] dy, double[] dz, int count);
+
+	/**
+	 * Scales, {@code d[i] = a[i] * factor}.
+	 *
+	 * @param ax     the a x components
+	 * @param ay     the a y components
+	 * @param az     the a z components
+	 * @param factor the factor
+	 * @param dx     the destination x components
+	 * @param dy     the destination y components
+	 * @param dz     the destination z components
+	 * @param count  the number of vectors
+	 */
+	void scale(double[] ax, double[] ay, double[] az, double factor, double[] dx, double[] dy,
+			double[] dz, int count);
+
+	/**
+	 * Adds a scaled vector, {@code d[i] = a[i] + b[i] * factor}.
+	 *
+	 * @param ax     the a x components
+	 * @param ay     the a y components
+	 * @param az     the a z components
+	 * @param bx     the b x components
+	 * @param by     the b y components
+	 * @param bz     the b z components
+	 * @param factor the factor
+	 * @param dx     the destination x components
+	 * @param dy     the destination y components
+	 * @param dz     the destination z components
+	 * @param count  the number of vectors
+	 */
+	void addScaled(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double factor, double[] dx, double[] dy, double[] dz, int count);
+
+	/**
+	 * Cross products, {@code d[i] = a[i] x b[i]}.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param bx    the b x components
+	 * @param by    the b y components
+	 * @param bz    the b z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void cross(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dx, double[] dy, double[] dz, int count);
+
+	/**
+	 * Normalizes, writing zero vectors as zero.
+	 *
+	 * @param ax    the a x components
+	 * @param ay    the a y components
+	 * @param az    the a z components
+	 * @param dx    the destination x components
+	 * @param dy    the destination y components
+	 * @param dz    the destination z components
+	 * @param count the number of vectors
+	 */
+	void normalize(double[] ax, double[] ay, double[] az, double[] dx, double[] dy,
+			double[] dz, int count);
+
+	/**
+	 * Dot products, {@code dest[destOffset + i] = a[i] . b[i]}.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param bx         the b x components
+	 * @param by         the b y components
+	 * @param bz         the b z components
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+	void dot(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dest, int destOffset, int count);
+
+	/**
+	 * Lengths, {@code dest[destOffset + i] = |a[i]|}.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+	void length(double[] ax, double[] ay, double[] az, double[] dest, int destOffset, int count);
+
+	/**
+	 * Distances, {@code dest[destOffset + i] = |a[i] - b[i]|}.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param bx         the b x components
+	 * @param by         the b y components
+	 * @param bz         the b z components
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 * @param count      the number of vectors
+	 */
+	void distance(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dest, int destOffset, int count);
+
+	/**
+	 * Component-wise sum, written to {@code dest[destOffset]} to
+	 * {@code dest[destOffset + 2]}. The summation order is unspecified.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param count      the number of vectors
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+	void sum(double[] ax, double[] ay, double[] az, int count, double[] dest, int destOffset);
+
+	/**
+	 * Component-wise minimum, written to {@code dest[destOffset]} to
+	 * {@code dest[destOffset + 2]}. It is positive infinity when {@code count} is zero.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param count      the number of vectors
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+	void min(double[] ax, double[] ay, double[] az, int count, double[] dest, int destOffset);
+
+	/**
+	 * Component-wise maximum, written to {@code dest[destOffset]} to
+	 * {@code dest[destOffset + 2]}. It is negative infinity when {@code count} is zero.
+	 *
+	 * @param ax         the a x components
+	 * @param ay         the a y components
+	 * @param az         the a z components
+	 * @param count      the number of vectors
+	 * @param dest       the destination
+	 * @param destOffset the destination offset
+	 */
+	void max(double[] ax, double[] ay, double[] az, int count, double[] dest, int destOffset);
+}
@@ -0,0 +1,896 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code jdk.incubator.vector} implementation of {@code Matrix4Kernels}.
+ *
+ * <p>
+ * Float matrices are processed one 4 lane row at a time, or as a single 16 lane
+ * vector when the CPU offers 512-bit vectors. Batch transposes use two 8 lane
+ * halves per matrix on 256-bit CPUs. Double matrices use 4 lane rows when
+ * 256-bit vectors are available. Any kernel without a profitable vector shape
+ * on the current CPU falls back to the scalar implementation, as do the segment
+ * kernels for heap segments, which vector loads only accept when they wrap a
+ * {@code byte[]}.
+ * </p>
+ *
+ * <p>
+ * Batch inversion may rearrange matrices into element-major blocks, so that
+ * every lane inverts a different matrix. Float batches take that path only on
+ * CPUs whose widest vectors are 256 bits, such as AVX2 CPUs without AVX-512;
+ * 512-bit CPUs invert each float matrix in one register, which measured
+ * faster. Double batches take it on every CPU with 256-bit or wider vectors.
+ * The block scratch space is kept per thread rather than allocated per batch.
+ * </p>
+ *
+ * <p>
+ * The 16 lane float multiply accumulates its four products with fused
+ * multiply-add, which rounds once per step where the scalar kernel rounds
+ * twice. Its results may therefore differ from the scalar backend by a few
+ * ulps of the largest product, around 6e-7 for elements of magnitude one. All
+ * other kernels give the same results as the scalar code, bit for bit.
+ * </p>
+ */
+final class VectorMatrix4Kernels extends ScalarMatrix4Kernels {
+
+	/** The float row species. */
+	private static final VectorSpecies<Float> F4 = FloatVector.SPECIES_128;
+
+	/** The float whole-matrix species. */
+	private static final VectorSpecies<Float> F16 = FloatVector.SPECIES_512;
+
+	/** Segments hold floats in native byte order, as graphics APIs expect. */
+	private static final ByteOrder NATIVE = ByteOrder.nativeOrder();
+
+	/** The double species of one inversion block, one matrix per lane. */
+	private static final VectorSpecies<Double> DB = DoubleVector.SPECIES_PREFERRED;
+
+	/** The double row species. */
+	private static final VectorSpecies<Double> D4 = DoubleVector.SPECIES_256;
+
+	/** Lane (i, j) of the product reads {@code a[i][k]}, one shuffle per k. */
+	private static final VectorShuffle<Float>[] MUL_A = shuffles(k -> i -> (i & ~3) | k);
+
+	/** Lane (i, j) of the product reads {@code b[k][j]}, one shuffle per k. */
+	private static final VectorShuffle<Float>[] MUL_B = shuffles(k -> i -> k * 4 + (i & 3));
+
+	/** The transpose shuffle. */
+	private static final VectorShuffle<Float> TRANSPOSE =
+			VectorShuffle.fromOp(F16, i -> (i & 3) * 4 + (i >> 2));
+
+	/** The float half-matrix species, two rows per vector. */
+	private static final VectorSpecies<Float> F8 = FloatVector.SPECIES_256;
+
+	/** The double half-matrix species, two rows per vector. */
+	private static final VectorSpecies<Double> D8 = DoubleVector.SPECIES_512;
+
+	/** Per thread scratch for one float inversion block, reused across batches. */
+	private static final ThreadLocal<float[]> FLOAT_BLOCKS =
+			ThreadLocal.withInitial(() -> new float[16 * F8.length()]);
+
+	/** Per thread scratch for one double inversion block. */
+	private static final ThreadLocal<double[]> DOUBLE_BLOCKS =
+			ThreadLocal.withInitial(() -> new double[16 * DB.length()]);
+
+	/*
+	 * The two-register transpose. With rows 0-1 in one 8 lane vector and rows 2-3
+	 * in another, output columns 0-1 and 2-3 are each a single two-source
+	 * rearrange; negative indices select from the second vector.
+	 */
+
+	/** Columns 0 and 1 of a matrix held as two 8 lane halves. */
+	private static final VectorShuffle<Float> TRANSPOSE_LO =
+			VectorShuffle.fromValues(F8, halfTranspose(0));
+
+	/** Columns 2 and 3 of a matrix held as two 8 lane halves. */
+	private static final VectorShuffle<Float> TRANSPOSE_HI =
+			VectorShuffle.fromValues(F8, halfTranspose(1));
+
+	/** The double form of {@link #TRANSPOSE_LO}. */
+	private static final VectorShuffle<Double> TRANSPOSE_LO_D =
+			VectorShuffle.fromValues(D8, halfTranspose(0));
+
+	/** The double form of {@link #TRANSPOSE_HI}. */
+	private static final VectorShuffle<Double> TRANSPOSE_HI_D =
+			VectorShuffle.fromValues(D8, halfTranspose(1));
+
+	/** Column gather indices for the 4 lane transform and transpose. */
+	private static final int[] COLUMN = {
+			0,
+			4,
+			8,
+			12
+	};
+
+	/*
+	 * The adjugate inverse. Lanes 0-5 of the "sc" vector hold the 2x2
+	 * sub-determinants s0..s5 of the upper two rows and lanes 6-11 hold c0..c5 of
+	 * the lower two rows, see ScalarMatrix4Kernels#invert. Each output lane is
+	 * then sign * (m[P1] * sc[X1] - m[P2] * sc[X2] + m[P3] * sc[X3]) / det.
+	 */
+
+	/** The sub-determinant operand shuffles, sc = m[SA] * m[SB] - m[SC] * m[SD]. */
+	private static final VectorShuffle<Float> INV_SA =
+			shuffle(0, 0, 0, 1, 1, 2, 8, 8, 8, 9, 9, 10, 0, 0, 0, 0);
+
+	/** The inv sb. */
+	private static final VectorShuffle<Float> INV_SB =
+			shuffle(5, 6, 7, 6, 7, 7, 13, 14, 15, 14, 15, 15, 0, 0, 0, 0);
+
+	/** The inv sc. */
+	private static final VectorShuffle<Float> INV_SC =
+			shuffle(4, 4, 4, 5, 5, 6, 12, 12, 12, 13, 13, 14, 0, 0, 0, 0);
+
+	/** The inv sd. */
+	private static final VectorShuffle<Float> INV_SD =
+			shuffle(1, 2, 3, 2, 3, 3, 9, 10, 11, 10, 11, 11, 0, 0, 0, 0);
+
+	/** Pairs s[k] with c[5 - k] for the determinant. */
+	private static final VectorShuffle<Float> INV_DET =
+			shuffle(11, 10, 9, 8, 7, 6, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+	/** The determinant term signs, zero outside lanes 0-5. */
+	private static final FloatVector INV_DET_SIGN = FloatVector.fromArray(F16, new float[] {
+			1, -1, 1, 1, -1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0
+	}, 0);
+
+	/** The inv p1. */
+	private static final VectorShuffle<Float> INV_P1 =
+			shuffle(5, 1, 13, 9, 4, 0, 12, 8, 4, 0, 12, 8, 4, 0, 12, 8);
+
+	/** The inv x1, s0..s5 are lanes 0-5 and c0..c5 lanes 6-11. */
+	private static final VectorShuffle<Float> INV_X1 =
+			shuffle(11, 11, 5, 5, 11, 11, 5, 5, 10, 10, 4, 4, 9, 9, 3, 3);
+
+	/** The inv p2. */
+	private static final VectorShuffle<Float> INV_P2 =
+			shuffle(6, 2, 14, 10, 6, 2, 14, 10, 5, 1, 13, 9, 5, 1, 13, 9);
+
+	/** The inv x2. */
+	private static final VectorShuffle<Float> INV_X2 =
+			shuffle(10, 10, 4, 4, 8, 8, 2, 2, 8, 8, 2, 2, 7, 7, 1, 1);
+
+	/** The inv p3. */
+	private static final VectorShuffle<Float> INV_P3 =
+			shuffle(7, 3, 15, 11, 7, 3, 15, 11, 7, 3, 15, 11, 6, 2, 14, 10);
+
+	/** The inv x3. */
+	private static final VectorShuffle<Float> INV_X3 =
+			shuffle(9, 9, 3, 3, 7, 7, 1, 1, 6, 6, 0, 0, 6, 6, 0, 0);
+
+	/** The checkerboard cofactor signs. */
+	private static final FloatVector INV_SIGN = FloatVector.fromArray(F16, new float[] {
+			1, -1, 1, -1, -1, 1, -1, 1, 1, -1, 1, -1, -1, 1, -1, 1
+	}, 0);
+
+	/**
+	 * Creates a 16 lane shuffle from explicit source indices.
+	 *
+	 * @param indices the indices
+	 * @return the vector shuffle
+	 */
+	private static VectorShuffle<Float> shuffle(int... indices) {
+		return VectorShuffle.fromValues(F16, indices);
+	}
+
+	/**
+	 * Source indices of one half of a transposed matrix held as two 8 lane
+	 * vectors, rows 0-1 and rows 2-3.
+	 *
+	 * @param half 0 for output rows 0-1, 1 for output rows 2-3
+	 * @return the int[]
+	 */
+	private static int[] halfTranspose(int half) {
+		int[] indices = new int[8];
+		for (int lane = 0; lane < 8; lane++) {
+			int col = half * 2 + (lane >> 2), row = lane & 3;
+			indices[lane] = row < 2 ? row * 4 + col : (row - 2) * 4 + col - 8;
+		}
+
+		return indices;
+	}
+
+	/**
+	 * Creates four 16 lane shuffles, one for each k.
+	 *
+	 * @param op the lane index function for a given k
+	 * @return the vector shuffle[]
+	 */
+	@SuppressWarnings("unchecked")
+	private static VectorShuffle<Float>[] shuffles(IntFunction<IntUnaryOperator> op) {
+		VectorShuffle<Float>[] shuffles = (VectorShuffle<Float>[]) new VectorShuffle<?>[4];
+		for (int k = 0; k < 4; k++) {
+			shuffles[k] = VectorShuffle.fromOp(F16, op.apply(k));
+		}
+
+		return shuffles;
+	}
+
+	/** The widest vector used, in bits. */
+	private final int bits;
+
+	/** Whether double batches may be inverted in blocks of {@link #DB} lanes. */
+	private final boolean blockDouble;
+
+	/** Whether float kernels may use a single 16 lane vector per matrix. */
+	private final boolean wideFloat;
+
+	/** Whether float kernels may use 8 lane vectors of two rows each. */
+	private final boolean pairFloat;
+
+	/** Whether double kernels may use 4 lane vectors. */
+	private final boolean vectorDouble;
+
+	/**
+	 * Instantiates a new vector matrix 4 kernels.
+	 *
+	 * @throws UnsupportedOperationException if the CPU has no usable vector unit
+	 */
+	VectorMatrix4Kernels() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Instantiates a new vector matrix 4 kernels that uses vectors of at most
+	 * {@code maxBits}, so that the narrower code paths can be exercised on wider
+	 * CPUs.
+	 *
+	 * @param maxBits the widest vector to use, in bits
+	 * @throws UnsupportedOperationException if the CPU, or the limit, leaves no
+	 *                                       128-bit vectors
+	 */
+	VectorMatrix4Kernels(int maxBits) {
+		int bits = Math.min(maxBits, FloatVector.SPECIES_PREFERRED.vectorBitSize());
+		if (bits < F4.vectorBitSize()) {
+			throw new UnsupportedOperationException("no 128-bit vector support");
+		}
+
+		this.bits = bits;
+		this.wideFloat = bits >= F16.vectorBitSize();
+		this.pairFloat = bits >= F8.vectorBitSize();
+		int doubleBits = Math.min(bits, DoubleVector.SPECIES_PREFERRED.vectorBitSize());
+		this.vectorDouble = doubleBits >= D4.vectorBitSize();
+		this.blockDouble = vectorDouble && doubleBits >= DB.vectorBitSize();
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#name()
+	 */
+	@Override
+	public String name() {
+		return "vector[" + bits + "]";
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#multiply(float[], int, float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void multiply(float[] a, int aOffset, float[] b, int bOffset, float[] dest,
+			int destOffset) {
+		if (wideFloat) {
+			FloatVector va = FloatVector.fromArray(F16, a, aOffset);
+			FloatVector vb = FloatVector.fromArray(F16, b, bOffset);
+
+			FloatVector r = va.rearrange(MUL_A[0]).mul(vb.rearrange(MUL_B[0]));
+			r = va.rearrange(MUL_A[1]).fma(vb.rearrange(MUL_B[1]), r);
+			r = va.rearrange(MUL_A[2]).fma(vb.rearrange(MUL_B[2]), r);
+			r = va.rearrange(MUL_A[3]).fma(vb.rearrange(MUL_B[3]), r);
+			r.intoArray(dest, destOffset);
+			return;
+		}
+
+		FloatVector b0 = FloatVector.fromArray(F4, b, bOffset);
+		FloatVector b1 = FloatVector.fromArray(F4, b, bOffset + 4);
+		FloatVector b2 = FloatVector.fromArray(F4, b, bOffset + 8);
+		FloatVector b3 = FloatVector.fromArray(F4, b, bOffset + 12);
+
+		for (int i = 0; i < 16; i += 4) {
+			float a0 = a[aOffset + i], a1 = a[aOffset + i + 1];
+			float a2 = a[aOffset + i + 2], a3 = a[aOffset + i + 3];
+			b0.mul(a0)
+					.add(b1.mul(a1))
+					.add(b2.mul(a2))
+					.add(b3.mul(a3))
+					.intoArray(dest, destOffset + i);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#multiply(double[], int, double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] dest,
+			int destOffset) {
+		if (!vectorDouble) {
+			super.multiply(a, aOffset, b, bOffset, dest, destOffset);
+			return;
+		}
+
+		DoubleVector b0 = DoubleVector.fromArray(D4, b, bOffset);
+		DoubleVector b1 = DoubleVector.fromArray(D4, b, bOffset + 4);
+		DoubleVector b2 = DoubleVector.fromArray(D4, b, bOffset + 8);
+		DoubleVector b3 = DoubleVector.fromArray(D4, b, bOffset + 12);
+
+		for (int i = 0; i < 16; i += 4) {
+			double a0 = a[aOffset + i], a1 = a[aOffset + i + 1];
+			double a2 = a[aOffset + i + 2], a3 = a[aOffset + i + 3];
+			b0.mul(a0)
+					.add(b1.mul(a1))
+					.add(b2.mul(a2))
+					.add(b3.mul(a3))
+					.intoArray(dest, destOffset + i);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#transpose(float[], int, float[], int)
+	 */
+	@Override
+	public void transpose(float[] m, int mOffset, float[] dest, int destOffset) {
+		if (wideFloat) {
+			FloatVector.fromArray(F16, m, mOffset)
+					.rearrange(TRANSPOSE)
+					.intoArray(dest, destOffset);
+			return;
+		}
+
+		super.transpose(m, mOffset, dest, destOffset);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#transform(float[], int, float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void transform(float[] m, int mOffset, float[] v, int vOffset, float[] dest,
+			int destOffset) {
+		float x = v[vOffset], y = v[vOffset + 1], z = v[vOffset + 2], w = v[vOffset + 3];
+
+		FloatVector.fromArray(F4, m, mOffset, COLUMN, 0).mul(x)
+				.add(FloatVector.fromArray(F4, m, mOffset + 1, COLUMN, 0).mul(y))
+				.add(FloatVector.fromArray(F4, m, mOffset + 2, COLUMN, 0).mul(z))
+				.add(FloatVector.fromArray(F4, m, mOffset + 3, COLUMN, 0).mul(w))
+				.intoArray(dest, destOffset);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#transform(double[], int, double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void transform(double[] m, int mOffset, double[] v, int vOffset, double[] dest,
+			int destOffset) {
+		if (!vectorDouble) {
+			super.transform(m, mOffset, v, vOffset, dest, destOffset);
+			return;
+		}
+
+		double x = v[vOffset], y = v[vOffset + 1], z = v[vOffset + 2], w = v[vOffset + 3];
+
+		DoubleVector.fromArray(D4, m, mOffset, COLUMN, 0).mul(x)
+				.add(DoubleVector.fromArray(D4, m, mOffset + 1, COLUMN, 0).mul(y))
+				.add(DoubleVector.fromArray(D4, m, mOffset + 2, COLUMN, 0).mul(z))
+				.add(DoubleVector.fromArray(D4, m, mOffset + 3, COLUMN, 0).mul(w))
+				.intoArray(dest, destOffset);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#invert(float[], int, float[], int)
+	 */
+	@Override
+	public boolean invert(float[] m, int mOffset, float[] dest, int destOffset) {
+		if (!wideFloat) {
+			return super.invert(m, mOffset, dest, destOffset);
+		}
+
+		FloatVector vm = FloatVector.fromArray(F16, m, mOffset);
+		FloatVector sc = vm.rearrange(INV_SA).mul(vm.rearrange(INV_SB))
+				.sub(vm.rearrange(INV_SC).mul(vm.rearrange(INV_SD)));
+
+		float det = sc.mul(sc.rearrange(INV_DET)).mul(INV_DET_SIGN)
+				.reduceLanes(VectorOperators.ADD);
+		if (det == 0 || !Float.isFinite(det)) {
+			return false; // Not invertible
+		}
+
+		vm.rearrange(INV_P1).mul(sc.rearrange(INV_X1))
+				.sub(vm.rearrange(INV_P2).mul(sc.rearrange(INV_X2)))
+				.add(vm.rearrange(INV_P3).mul(sc.rearrange(INV_X3)))
+				.mul(INV_SIGN.mul(1 / det))
+				.intoArray(dest, destOffset);
+		return true;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#multiply(
+	 *      java.lang.foreign.MemorySegment, long, java.lang.foreign.MemorySegment, long,
+	 *      java.lang.foreign.MemorySegment, long)
+	 */
+	@Override
+	public void multiply(MemorySegment a, long aOffset, MemorySegment b, long bOffset,
+			MemorySegment dest, long destOffset) {
+		if (!a.isNative() || !b.isNative() || !dest.isNative()) {
+			super.multiply(a, aOffset, b, bOffset, dest, destOffset);
+			return;
+		}
+
+		if (wideFloat) {
+			FloatVector va = FloatVector.fromMemorySegment(F16, a, aOffset, NATIVE);
+			FloatVector vb = FloatVector.fromMemorySegment(F16, b, bOffset, NATIVE);
+
+			FloatVector r = va.rearrange(MUL_A[0]).mul(vb.rearrange(MUL_B[0]));
+			r = va.rearrange(MUL_A[1]).fma(vb.rearrange(MUL_B[1]), r);
+			r = va.rearrange(MUL_A[2]).fma(vb.rearrange(MUL_B[2]), r);
+			r = va.rearrange(MUL_A[3]).fma(vb.rearrange(MUL_B[3]), r);
+			r.intoMemorySegment(dest, destOffset, NATIVE);
+			return;
+		}
+
+		FloatVector b0 = FloatVector.fromMemorySegment(F4, b, bOffset, NATIVE);
+		FloatVector b1 = FloatVector.fromMemorySegment(F4, b, bOffset + 16, NATIVE);
+		FloatVector b2 = FloatVector.fromMemorySegment(F4, b, bOffset + 32, NATIVE);
+		FloatVector b3 = FloatVector.fromMemorySegment(F4, b, bOffset + 48, NATIVE);
+
+		for (int i = 0; i < 16; i += 4) {
+			float a0 = get(a, aOffset, i), a1 = get(a, aOffset, i + 1);
+			float a2 = get(a, aOffset, i + 2), a3 = get(a, aOffset, i + 3);
+			b0.mul(a0)
+					.add(b1.mul(a1))
+					.add(b2.mul(a2))
+					.add(b3.mul(a3))
+					.intoMemorySegment(dest, destOffset + i * Float.BYTES, NATIVE);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#transpose(
+	 *      java.lang.foreign.MemorySegment, long, java.lang.foreign.MemorySegment, long)
+	 */
+	@Override
+	public void transpose(MemorySegment m, long mOffset, MemorySegment dest, long destOffset) {
+		if (wideFloat && m.isNative() && dest.isNative()) {
+			FloatVector.fromMemorySegment(F16, m, mOffset, NATIVE)
+					.rearrange(TRANSPOSE)
+					.intoMemorySegment(dest, destOffset, NATIVE);
+			return;
+		}
+
+		super.transpose(m, mOffset, dest, destOffset);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#invert(java.lang.foreign.MemorySegment,
+	 *      long, java.lang.foreign.MemorySegment, long)
+	 */
+	@Override
+	public boolean invert(MemorySegment m, long mOffset, MemorySegment dest, long destOffset) {
+		if (!wideFloat || !m.isNative() || !dest.isNative()) {
+			return super.invert(m, mOffset, dest, destOffset);
+		}
+
+		FloatVector vm = FloatVector.fromMemorySegment(F16, m, mOffset, NATIVE);
+		FloatVector sc = vm.rearrange(INV_SA).mul(vm.rearrange(INV_SB))
+				.sub(vm.rearrange(INV_SC).mul(vm.rearrange(INV_SD)));
+
+		float det = sc.mul(sc.rearrange(INV_DET)).mul(INV_DET_SIGN)
+				.reduceLanes(VectorOperators.ADD);
+		if (det == 0 || !Float.isFinite(det)) {
+			return false; // Not invertible
+		}
+
+		vm.rearrange(INV_P1).mul(sc.rearrange(INV_X1))
+				.sub(vm.rearrange(INV_P2).mul(sc.rearrange(INV_X2)))
+				.add(vm.rearrange(INV_P3).mul(sc.rearrange(INV_X3)))
+				.mul(INV_SIGN.mul(1 / det))
+				.intoMemorySegment(dest, destOffset, NATIVE);
+		return true;
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transposeBatch(float[], int, float[],
+	 *      int, int)
+	 */
+	@Override
+	public void transposeBatch(float[] m, int mOffset, float[] dest, int destOffset, int count) {
+		if (wideFloat) {
+			for (int n = 0; n < count; n++) {
+				FloatVector.fromArray(F16, m, mOffset + n * 16)
+						.rearrange(TRANSPOSE)
+						.intoArray(dest, destOffset + n * 16);
+			}
+		} else if (pairFloat) {
+			for (int n = 0; n < count; n++) {
+				int s = mOffset + n * 16, d = destOffset + n * 16;
+				FloatVector rows01 = FloatVector.fromArray(F8, m, s);
+				FloatVector rows23 = FloatVector.fromArray(F8, m, s + 8);
+				rows01.rearrange(TRANSPOSE_LO, rows23).intoArray(dest, d);
+				rows01.rearrange(TRANSPOSE_HI, rows23).intoArray(dest, d + 8);
+			}
+		} else {
+			super.transposeBatch(m, mOffset, dest, destOffset, count);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#transposeBatch(double[], int, double[],
+	 *      int, int)
+	 */
+	@Override
+	public void transposeBatch(double[] m, int mOffset, double[] dest, int destOffset,
+			int count) {
+		if (!wideFloat) {
+			super.transposeBatch(m, mOffset, dest, destOffset, count);
+			return;
+		}
+
+		for (int n = 0; n < count; n++) {
+			int s = mOffset + n * 16, d = destOffset + n * 16;
+			DoubleVector rows01 = DoubleVector.fromArray(D8, m, s);
+			DoubleVector rows23 = DoubleVector.fromArray(D8, m, s + 8);
+			rows01.rearrange(TRANSPOSE_LO_D, rows23).intoArray(dest, d);
+			rows01.rearrange(TRANSPOSE_HI_D, rows23).intoArray(dest, d + 8);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#transposeBatch(float[], int,
+	 *      java.lang.foreign.MemorySegment, long, int)
+	 */
+	@Override
+	public void transposeBatch(float[] m, int mOffset, MemorySegment dest, long destOffset,
+			int count) {
+		if (!dest.isNative() || !pairFloat) {
+			super.transposeBatch(m, mOffset, dest, destOffset, count);
+			return;
+		}
+
+		for (int n = 0; n < count; n++) {
+			int s = mOffset + n * 16;
+			long d = destOffset + n * 16L * Float.BYTES;
+			if (wideFloat) {
+				FloatVector.fromArray(F16, m, s)
+						.rearrange(TRANSPOSE)
+						.intoMemorySegment(dest, d, NATIVE);
+			} else {
+				FloatVector rows01 = FloatVector.fromArray(F8, m, s);
+				FloatVector rows23 = FloatVector.fromArray(F8, m, s + 8);
+				rows01.rearrange(TRANSPOSE_LO, rows23).intoMemorySegment(dest, d, NATIVE);
+				rows01.rearrange(TRANSPOSE_HI, rows23)
+						.intoMemorySegment(dest, d + 8 * Float.BYTES, NATIVE);
+			}
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#invertBatch(float[], int, float[], int,
+	 *      long[], int, int)
+	 */
+	@Override
+	public int invertBatch(float[] m, int mOffset, float[] dest, int destOffset, long[] singular,
+			int first, int count) {
+		// Blocks run only where 256-bit vectors are the widest, as on AVX2 CPUs; with
+		// 512-bit vectors the single-matrix kernel, one matrix per register, is faster
+		int lanes = F8.length();
+		if (wideFloat || !pairFloat || count < lanes) {
+			return super.invertBatch(m, mOffset, dest, destOffset, singular, first, count);
+		}
+
+		// Lane-aligned blocks never straddle a word of the bit set
+		int end = first + count;
+		int i = Math.min(end, (first + lanes - 1) / lanes * lanes);
+		int total = super.invertBatch(m, mOffset, dest, destOffset, singular, first, i - first);
+
+		float[] block = FLOAT_BLOCKS.get();
+		long laneBits = (1L << lanes) - 1;
+		for (; i + lanes <= end; i += lanes) {
+			for (int lane = 0; lane < lanes; lane++) {
+				int s = mOffset + (i + lane) * 16;
+				for (int e = 0; e < 16; e++) {
+					block[e * lanes + lane] = m[s + e];
+				}
+			}
+
+			FloatVector m00 = FloatVector.fromArray(F8, block, 0);
+			FloatVector m01 = FloatVector.fromArray(F8, block, lanes);
+			FloatVector m02 = FloatVector.fromArray(F8, block, 2 * lanes);
+			FloatVector m03 = FloatVector.fromArray(F8, block, 3 * lanes);
+			FloatVector m10 = FloatVector.fromArray(F8, block, 4 * lanes);
+			FloatVector m11 = FloatVector.fromArray(F8, block, 5 * lanes);
+			FloatVector m12 = FloatVector.fromArray(F8, block, 6 * lanes);
+			FloatVector m13 = FloatVector.fromArray(F8, block, 7 * lanes);
+			FloatVector m20 = FloatVector.fromArray(F8, block, 8 * lanes);
+			FloatVector m21 = FloatVector.fromArray(F8, block, 9 * lanes);
+			FloatVector m22 = FloatVector.fromArray(F8, block, 10 * lanes);
+			FloatVector m23 = FloatVector.fromArray(F8, block, 11 * lanes);
+			FloatVector m30 = FloatVector.fromArray(F8, block, 12 * lanes);
+			FloatVector m31 = FloatVector.fromArray(F8, block, 13 * lanes);
+			FloatVector m32 = FloatVector.fromArray(F8, block, 14 * lanes);
+			FloatVector m33 = FloatVector.fromArray(F8, block, 15 * lanes);
+
+			FloatVector s0 = m00.mul(m11).sub(m10.mul(m01));
+			FloatVector s1 = m00.mul(m12).sub(m10.mul(m02));
+			FloatVector s2 = m00.mul(m13).sub(m10.mul(m03));
+			FloatVector s3 = m01.mul(m12).sub(m11.mul(m02));
+			FloatVector s4 = m01.mul(m13).sub(m11.mul(m03));
+			FloatVector s5 = m02.mul(m13).sub(m12.mul(m03));
+
+			FloatVector c5 = m22.mul(m33).sub(m32.mul(m23));
+			FloatVector c4 = m21.mul(m33).sub(m31.mul(m23));
+			FloatVector c3 = m21.mul(m32).sub(m31.mul(m22));
+			FloatVector c2 = m20.mul(m33).sub(m30.mul(m23));
+			FloatVector c1 = m20.mul(m32).sub(m30.mul(m22));
+			FloatVector c0 = m20.mul(m31).sub(m30.mul(m21));
+
+			FloatVector det = s0.mul(c5).sub(s1.mul(c4)).add(s2.mul(c3)).add(s3.mul(c2))
+					.sub(s4.mul(c1)).add(s5.mul(c0));
+			VectorMask<Float> ok = det.compare(VectorOperators.NE, 0)
+					.and(det.test(VectorOperators.IS_FINITE));
+			FloatVector inv = FloatVector.broadcast(F8, 1).div(det);
+			FloatVector neg = inv.neg();
+
+			m11.mul(c5).sub(m12.mul(c4)).add(m13.mul(c3)).mul(inv).intoArray(block, 0);
+			m01.mul(c5).sub(m02.mul(c4)).add(m03.mul(c3)).mul(neg).intoArray(block, lanes);
+			m31.mul(s5).sub(m32.mul(s4)).add(m33.mul(s3)).mul(inv).intoArray(block, 2 * lanes);
+			m21.mul(s5).sub(m22.mul(s4)).add(m23.mul(s3)).mul(neg).intoArray(block, 3 * lanes);
+			m10.mul(c5).sub(m12.mul(c2)).add(m13.mul(c1)).mul(neg).intoArray(block, 4 * lanes);
+			m00.mul(c5).sub(m02.mul(c2)).add(m03.mul(c1)).mul(inv).intoArray(block, 5 * lanes);
+			m30.mul(s5).sub(m32.mul(s2)).add(m33.mul(s1)).mul(neg).intoArray(block, 6 * lanes);
+			m20.mul(s5).sub(m22.mul(s2)).add(m23.mul(s1)).mul(inv).intoArray(block, 7 * lanes);
+			m10.mul(c4).sub(m11.mul(c2)).add(m13.mul(c0)).mul(inv).intoArray(block, 8 * lanes);
+			m00.mul(c4).sub(m01.mul(c2)).add(m03.mul(c0)).mul(neg).intoArray(block, 9 * lanes);
+			m30.mul(s4).sub(m31.mul(s2)).add(m33.mul(s0)).mul(inv).intoArray(block, 10 * lanes);
+			m20.mul(s4).sub(m21.mul(s2)).add(m23.mul(s0)).mul(neg).intoArray(block, 11 * lanes);
+			m10.mul(c3).sub(m11.mul(c1)).add(m12.mul(c0)).mul(neg).intoArray(block, 12 * lanes);
+			m00.mul(c3).sub(m01.mul(c1)).add(m02.mul(c0)).mul(inv).intoArray(block, 13 * lanes);
+			m30.mul(s3).sub(m31.mul(s1)).add(m32.mul(s0)).mul(neg).intoArray(block, 14 * lanes);
+			m20.mul(s3).sub(m21.mul(s1)).add(m22.mul(s0)).mul(inv).intoArray(block, 15 * lanes);
+
+			long bad = ~ok.toLong() & laneBits;
+			for (int lane = 0; lane < lanes; lane++) {
+				if ((bad >>> lane & 1) == 0) {
+					int d = destOffset + (i + lane) * 16;
+					for (int e = 0; e < 16; e++) {
+						dest[d + e] = block[e * lanes + lane];
+					}
+				}
+			}
+
+			int word = i >>> 6, shift = i & 63;
+			singular[word] = (singular[word] & ~(laneBits << shift)) | (bad << shift);
+			total += Long.bitCount(bad);
+		}
+
+		return total + super.invertBatch(m, mOffset, dest, destOffset, singular, i, end - i);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.Matrix4Kernels#invertBatch(double[], int, double[], int,
+	 *      long[], int, int)
+	 */
+	@Override
+	public int invertBatch(double[] m, int mOffset, double[] dest, int destOffset,
+			long[] singular, int first, int count) {
+		int lanes = DB.length();
+		if (!blockDouble || count < lanes) {
+			return super.invertBatch(m, mOffset, dest, destOffset, singular, first, count);
+		}
+
+		// Lane-aligned blocks never straddle a word of the bit set
+		int end = first + count;
+		int i = Math.min(end, (first + lanes - 1) / lanes * lanes);
+		int total = super.invertBatch(m, mOffset, dest, destOffset, singular, first, i - first);
+
+		double[] block = DOUBLE_BLOCKS.get();
+		long laneBits = (1L << lanes) - 1;
+		for (; i + lanes <= end; i += lanes) {
+			for (int lane = 0; lane < lanes; lane++) {
+				int s = mOffset + (i + lane) * 16;
+				for (int e = 0; e < 16; e++) {
+					block[e * lanes + lane] = m[s + e];
+				}
+			}
+
+			DoubleVector m00 = DoubleVector.fromArray(DB, block, 0);
+			DoubleVector m01 = DoubleVector.fromArray(DB, block, lanes);
+			DoubleVector m02 = DoubleVector.fromArray(DB, block, 2 * lanes);
+			DoubleVector m03 = DoubleVector.fromArray(DB, block, 3 * lanes);
+			DoubleVector m10 = DoubleVector.fromArray(DB, block, 4 * lanes);
+			DoubleVector m11 = DoubleVector.fromArray(DB, block, 5 * lanes);
+			DoubleVector m12 = DoubleVector.fromArray(DB, block, 6 * lanes);
+			DoubleVector m13 = DoubleVector.fromArray(DB, block, 7 * lanes);
+			DoubleVector m20 = DoubleVector.fromArray(DB, block, 8 * lanes);
+			DoubleVector m21 = DoubleVector.fromArray(DB, block, 9 * lanes);
+			DoubleVector m22 = DoubleVector.fromArray(DB, block, 10 * lanes);
+			DoubleVector m23 = DoubleVector.fromArray(DB, block, 11 * lanes);
+			DoubleVector m30 = DoubleVector.fromArray(DB, block, 12 * lanes);
+			DoubleVector m31 = DoubleVector.fromArray(DB, block, 13 * lanes);
+			DoubleVector m32 = DoubleVector.fromArray(DB, block, 14 * lanes);
+			DoubleVector m33 = DoubleVector.fromArray(DB, block, 15 * lanes);
+
+			DoubleVector s0 = m00.mul(m11).sub(m10.mul(m01));
+			DoubleVector s1 = m00.mul(m12).sub(m10.mul(m02));
+			DoubleVector s2 = m00.mul(m13).sub(m10.mul(m03));
+			DoubleVector s3 = m01.mul(m12).sub(m11.mul(m02));
+			DoubleVector s4 = m01.mul(m13).sub(m11.mul(m03));
+			DoubleVector s5 = m02.mul(m13).sub(m12.mul(m03));
+
+			DoubleVector c5 = m22.mul(m33).sub(m32.mul(m23));
+			DoubleVector c4 = m21.mul(m33).sub(m31.mul(m23));
+			DoubleVector c3 = m21.mul(m32).sub(m31.mul(m22));
+			DoubleVector c2 = m20.mul(m33).sub(m30.mul(m23));
+			DoubleVector c1 = m20.mul(m32).sub(m30.mul(m22));
+			DoubleVector c0 = m20.mul(m31).sub(m30.mul(m21));
+
+			DoubleVector det = s0.mul(c5).sub(s1.mul(c4)).add(s2.mul(c3)).add(s3.mul(c2))
+					.sub(s4.mul(c1)).add(s5.mul(c0));
+			VectorMask<Double> ok = det.compare(VectorOperators.NE, 0)
+					.and(det.test(VectorOperators.IS_FINITE));
+			DoubleVector inv = DoubleVector.broadcast(DB, 1).div(det);
+			DoubleVector neg = inv.neg();
+
+			m11.mul(c5).sub(m12.mul(c4)).add(m13.mul(c3)).mul(inv).intoArray(block, 0);
+			m01.mul(c5).sub(m02.mul(c4)).add(m03.mul(c3)).mul(neg).intoArray(block, lanes);
+			m31.mul(s5).sub(m32.mul(s4)).add(m33.mul(s3)).mul(inv).intoArray(block, 2 * lanes);
+			m21.mul(s5).sub(m22.mul(s4)).add(m23.mul(s3)).mul(neg).intoArray(block, 3 * lanes);
+			m10.mul(c5).sub(m12.mul(c2)).add(m13.mul(c1)).mul(neg).intoArray(block, 4 * lanes);
+			m00.mul(c5).sub(m02.mul(c2)).add(m03.mul(c1)).mul(inv).intoArray(block, 5 * lanes);
+			m30.mul(s5).sub(m32.mul(s2)).add(m33.mul(s1)).mul(neg).intoArray(block, 6 * lanes);
+			m20.mul(s5).sub(m22.mul(s2)).add(m23.mul(s1)).mul(inv).intoArray(block, 7 * lanes);
+			m10.mul(c4).sub(m11.mul(c2)).add(m13.mul(c0)).mul(inv).intoArray(block, 8 * lanes);
+			m00.mul(c4).sub(m01.mul(c2)).add(m03.mul(c0)).mul(neg).intoArray(block, 9 * lanes);
+			m30.mul(s4).sub(m31.mul(s2)).add(m33.mul(s0)).mul(inv).intoArray(block, 10 * lanes);
+			m20.mul(s4).sub(m21.mul(s2)).add(m23.mul(s0)).mul(neg).intoArray(block, 11 * lanes);
+			m10.mul(c3).sub(m11.mul(c1)).add(m12.mul(c0)).mul(neg).intoArray(block, 12 * lanes);
+			m00.mul(c3).sub(m01.mul(c1)).add(m02.mul(c0)).mul(inv).intoArray(block, 13 * lanes);
+			m30.mul(s3).sub(m31.mul(s1)).add(m32.mul(s0)).mul(neg).intoArray(block, 14 * lanes);
+			m20.mul(s3).sub(m21.mul(s1)).add(m22.mul(s0)).mul(inv).intoArray(block, 15 * lanes);
+
+			long bad = ~ok.toLong() & laneBits;
+			for (int lane = 0; lane < lanes; lane++) {
+				if ((bad >>> lane & 1) == 0) {
+					int d = destOffset + (i + lane) * 16;
+					for (int e = 0; e < 16; e++) {
+						dest[d + e] = block[e * lanes + lane];
+					}
+				}
+			}
+
+			int word = i >>> 6, shift = i & 63;
+			singular[word] = (singular[word] & ~(laneBits << shift)) | (bad << shift);
+			total += Long.bitCount(bad);
+		}
+
+		return total + super.invertBatch(m, mOffset, dest, destOffset, singular, i, end - i);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#multiplyLeft(float[], int, float[],
+	 *      int, float[], int, int)
+	 */
+	@Override
+	public void multiplyLeft(float[] m, int mOffset, float[] b, int bOffset, float[] dest,
+			int destOffset, int count) {
+		if (!wideFloat) {
+			super.multiplyLeft(m, mOffset, b, bOffset, dest, destOffset, count);
+			return;
+		}
+
+		FloatVector vm = FloatVector.fromArray(F16, m, mOffset);
+		FloatVector m0 = vm.rearrange(MUL_A[0]);
+		FloatVector m1 = vm.rearrange(MUL_A[1]);
+		FloatVector m2 = vm.rearrange(MUL_A[2]);
+		FloatVector m3 = vm.rearrange(MUL_A[3]);
+
+		for (int n = 0; n < count; n++) {
+			FloatVector vb = FloatVector.fromArray(F16, b, bOffset + n * 16);
+			m0.mul(vb.rearrange(MUL_B[0]))
+					.add(m1.mul(vb.rearrange(MUL_B[1])))
+					.add(m2.mul(vb.rearrange(MUL_B[2])))
+					.add(m3.mul(vb.rearrange(MUL_B[3])))
+					.intoArray(dest, destOffset + n * 16);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#multiplyRight(float[], int, float[],
+	 *      int, float[], int, int)
+	 */
+	@Override
+	public void multiplyRight(float[] a, int aOffset, float[] m, int mOffset, float[] dest,
+			int destOffset, int count) {
+		if (wideFloat) {
+			FloatVector vm = FloatVector.fromArray(F16, m, mOffset);
+			FloatVector m0 = vm.rearrange(MUL_B[0]);
+			FloatVector m1 = vm.rearrange(MUL_B[1]);
+			FloatVector m2 = vm.rearrange(MUL_B[2]);
+			FloatVector m3 = vm.rearrange(MUL_B[3]);
+
+			for (int n = 0; n < count; n++) {
+				FloatVector va = FloatVector.fromArray(F16, a, aOffset + n * 16);
+				va.rearrange(MUL_A[0]).mul(m0)
+						.add(va.rearrange(MUL_A[1]).mul(m1))
+						.add(va.rearrange(MUL_A[2]).mul(m2))
+						.add(va.rearrange(MUL_A[3]).mul(m3))
+						.intoArray(dest, destOffset + n * 16);
+			}
+			return;
+		}
+
+		FloatVector m0 = FloatVector.fromArray(F4, m, mOffset);
+		FloatVector m1 = FloatVector.fromArray(F4, m, mOffset + 4);
+		FloatVector m2 = FloatVector.fromArray(F4, m, mOffset + 8);
+		FloatVector m3 = FloatVector.fromArray(F4, m, mOffset + 12);
+
+		for (int i = aOffset, d = destOffset, end = aOffset + count * 16; i < end;
+				i += 4, d += 4) {
+			m0.mul(a[i])
+					.add(m1.mul(a[i + 1]))
+					.add(m2.mul(a[i + 2]))
+					.add(m3.mul(a[i + 3]))
+					.intoArray(dest, d);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarMatrix4Kernels#multiplyRight(double[], int, double[],
+	 *      int, double[], int, int)
+	 */
+	@Override
+	public void multiplyRight(double[] a, int aOffset, double[] m, int mOffset, double[] dest,
+			int destOffset, int count) {
+		if (!vectorDouble) {
+			super.multiplyRight(a, aOffset, m, mOffset, dest, destOffset, count);
+			return;
+		}
+
+		DoubleVector m0 = DoubleVector.fromArray(D4, m, mOffset);
+		DoubleVector m1 = DoubleVector.fromArray(D4, m, mOffset + 4);
+		DoubleVector m2 = DoubleVector.fromArray(D4, m, mOffset + 8);
+		DoubleVector m3 = DoubleVector.fromArray(D4, m, mOffset + 12);
+
+		for (int i = aOffset, d = destOffset, end = aOffset + count * 16; i < end;
+				i += 4, d += 4) {
+			m0.mul(a[i])
+					.add(m1.mul(a[i + 1]))
+					.add(m2.mul(a[i + 2]))
+					.add(m3.mul(a[i + 3]))
+					.intoArray(dest, d);
+		}
+	}
+}
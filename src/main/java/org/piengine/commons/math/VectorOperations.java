@@ -23,6 +23,8 @@
  */
 package org.piengine.commons.math;
 
+import org.piengine.commons.math.Precision.PrecisionType;
+
 /**
  * The Class VectorOperations.
  */
@@ -34,47 +36,175 @@ public final class VectorOperations {
     private VectorOperations() {}
 
     /**
-	 * Angle.
+	 * Name of the bulk vector kernel backend selected for this runtime, either
+	 * {@code "scalar"} or a {@code jdk.incubator.vector} backend.
+	 *
+	 * @return the string
+	 * @see Vector3Buffer
+	 */
+    public static String backend() {
+        return Vector3Kernels.INSTANCE.name();
+    }
+
+    /**
+	 * Angle between two vectors, in radians. It is computed as
+	 * {@code atan2(|a x b|, a . b)}, which stays accurate for nearly parallel
+	 * vectors where {@code acos} of the normalized dot product does not. The
+	 * arithmetic is in float when both vectors are float and in double
+	 * otherwise. Float vectors are first divided by their largest component,
+	 * which leaves the angle as is and keeps the products in range.
 	 *
 	 * @param a the a
 	 * @param b the b
 	 * @return the double
 	 */
     public static double angle(Vector3D a, Vector3D b) {
-        double dot = a.dot(b);
-        double mag = a.magnitude() * b.magnitude();
-        if (mag == 0) {
+        if (isFloat(a, b)) {
+            float ma = maxAbs(a.xf(), a.yf(), a.zf()), mb = maxAbs(b.xf(), b.yf(), b.zf());
+            if (ma == 0 || mb == 0) {
+                throw new ArithmeticException("Cannot compute angle with zero vector");
+            }
+            float ax = a.xf() / ma, ay = a.yf() / ma, az = a.zf() / ma;
+            float bx = b.xf() / mb, by = b.yf() / mb, bz = b.zf() / mb;
+            float cx = ay * bz - az * by, cy = az * bx - ax * bz, cz = ax * by - ay * bx;
+            return Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz),
+                    ax * bx + ay * by + az * bz);
+        }
+
+        double ax = a.xd(), ay = a.yd(), az = a.zd();
+        double bx = b.xd(), by = b.yd(), bz = b.zd();
+        if ((ax == 0 && ay == 0 && az == 0) || (bx == 0 && by == 0 && bz == 0)) {
             throw new ArithmeticException("Cannot compute angle with zero vector");
         }
-        return Math.acos(dot / mag);
+        double cx = ay * bz - az * by, cy = az * bx - ax * bz, cz = ax * by - ay * bx;
+        return Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), ax * bx + ay * by + az * bz);
+    }
+
+    /**
+	 * Cross product. The result is a {@code Vector3f} computed in float when
+	 * both vectors are float, and a {@code Vector3d} computed in double
+	 * otherwise.
+	 *
+	 * @param a the a
+	 * @param b the b
+	 * @return the vector 3 D
+	 */
+    public static Vector3D cross(Vector3D a, Vector3D b) {
+        if (isFloat(a, b)) {
+            float ax = a.xf(), ay = a.yf(), az = a.zf();
+            float bx = b.xf(), by = b.yf(), bz = b.zf();
+            return Vector3D.ofFloat(ay * bz - az * by, az * bx - ax * bz, ax * by - ay * bx);
+        }
+
+        double ax = a.xd(), ay = a.yd(), az = a.zd();
+        double bx = b.xd(), by = b.yd(), bz = b.zd();
+        return Vector3D.ofDouble(ay * bz - az * by, az * bx - ax * bz, ax * by - ay * bx);
     }
 
     /**
-	 * Project.
+	 * Projects {@code a} onto {@code b}, {@code b * (a . b) / (b . b)}, without
+	 * intermediate vectors. The result is float when both vectors are float and
+	 * double otherwise. In float, {@code b . b} underflows below a length of
+	 * about 1e-19 and overflows above about 1e19. Only then is {@code b} first
+	 * divided by its largest component, which leaves the projection as is.
 	 *
 	 * @param a the a
 	 * @param b the b
 	 * @return the vector 3 D
 	 */
     public static Vector3D project(Vector3D a, Vector3D b) {
-        double magB = b.magnitude();
-        if (magB == 0) {
+        if (isFloat(a, b)) {
+            float bx = b.xf(), by = b.yf(), bz = b.zf();
+            float bb = bx * bx + by * by + bz * bz;
+            float ab = a.xf() * bx + a.yf() * by + a.zf() * bz;
+            if (!(bb >= Float.MIN_NORMAL && bb <= Float.MAX_VALUE && Float.isFinite(ab))) {
+                float m = maxAbs(bx, by, bz);
+                if (m == 0) {
+                    throw new ArithmeticException("Cannot project onto zero vector");
+                }
+                bx /= m;
+                by /= m;
+                bz /= m;
+                bb = bx * bx + by * by + bz * bz;
+                ab = a.xf() * bx + a.yf() * by + a.zf() * bz;
+            }
+            float s = ab / bb;
+            return Vector3D.ofFloat(bx * s, by * s, bz * s);
+        }
+
+        double bx = b.xd(), by = b.yd(), bz = b.zd();
+        double bb = bx * bx + by * by + bz * bz;
+        if (bb == 0) {
             throw new ArithmeticException("Cannot project onto zero vector");
         }
-        double scale = a.dot(b) / (magB * magB);
-        return b.scale(scale);
+        double s = (a.xd() * bx + a.yd() * by + a.zd() * bz) / bb;
+        return Vector3D.ofDouble(bx * s, by * s, bz * s);
     }
 
     /**
-	 * Reflect.
+	 * Reflects {@code a} about the plane with normal {@code n},
+	 * {@code a - n * 2 (a . n) / (n . n)}, so {@code n} need not be normalized
+	 * and no intermediate vectors are built. The result is float when both
+	 * vectors are float and double otherwise. A float normal out of range is
+	 * rescaled as in {@link #project(Vector3D, Vector3D)}.
 	 *
 	 * @param a the a
 	 * @param n the n
 	 * @return the vector 3 D
 	 */
     public static Vector3D reflect(Vector3D a, Vector3D n) {
-        Vector3D nNorm = n.normalize();
-        double dot = a.dot(nNorm);
-        return a.subtract(nNorm.scale(2 * dot));
+        if (isFloat(a, n)) {
+            float ax = a.xf(), ay = a.yf(), az = a.zf();
+            float nx = n.xf(), ny = n.yf(), nz = n.zf();
+            float nn = nx * nx + ny * ny + nz * nz;
+            float an = ax * nx + ay * ny + az * nz;
+            if (!(nn >= Float.MIN_NORMAL && nn <= Float.MAX_VALUE && Float.isFinite(an))) {
+                float m = maxAbs(nx, ny, nz);
+                if (m == 0) {
+                    throw new ArithmeticException("Cannot reflect about zero vector");
+                }
+                nx /= m;
+                ny /= m;
+                nz /= m;
+                nn = nx * nx + ny * ny + nz * nz;
+                an = ax * nx + ay * ny + az * nz;
+            }
+            float s = 2 * an / nn;
+            return Vector3D.ofFloat(ax - nx * s, ay - ny * s, az - nz * s);
+        }
+
+        double ax = a.xd(), ay = a.yd(), az = a.zd();
+        double nx = n.xd(), ny = n.yd(), nz = n.zd();
+        double nn = nx * nx + ny * ny + nz * nz;
+        if (nn == 0) {
+            throw new ArithmeticException("Cannot reflect about zero vector");
+        }
+        double s = 2 * (ax * nx + ay * ny + az * nz) / nn;
+        return Vector3D.ofDouble(ax - nx * s, ay - ny * s, az - nz * s);
+    }
+
+    /**
+	 * Largest absolute component.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 * @return the float
+	 */
+    private static float maxAbs(float x, float y, float z) {
+        return Math.max(Math.abs(x), Math.max(Math.abs(y), Math.abs(z)));
+    }
+
+    /**
+	 * Whether both vectors hold float components, so that an operation can
+	 * run entirely in float.
+	 *
+	 * @param a the a
+	 * @param b the b
+	 * @return true, if both are float
+	 */
+    private static boolean isFloat(Vector3D a, Vector3D b) {
+        return a.precisionType() == PrecisionType.FLOAT
+                && b.precisionType() == PrecisionType.FLOAT;
     }
 }
\ No newline at end of file
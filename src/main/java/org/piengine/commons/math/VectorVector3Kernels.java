@@ -0,0 +1,724 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code jdk.incubator.vector} implementation of {@code Vector3Kernels}.
+ *
+ * <p>
+ * Structure of arrays storage needs no shuffles: each kernel streams the
+ * component arrays through the widest vectors of the CPU, float and double
+ * alike, and finishes the last partial vector with masked loads and stores
+ * instead of a scalar loop. Reductions keep one accumulator per component and
+ * fold its lanes once at the end.
+ * </p>
+ *
+ * <p>
+ * The gain is in the kernels C2 does not auto-vectorize on its own: the
+ * reductions ({@code sum}, {@code min}, {@code max}) and {@code normalize} run
+ * several times faster than the scalar loops, while the lane-wise arithmetic
+ * ({@code add}, {@code cross}, {@code dot}) is memory bound and matches them.
+ * See {@code Vector3KernelsBenchmark}.
+ * </p>
+ */
+final class VectorVector3Kernels extends ScalarVector3Kernels {
+
+	/** The float species. */
+	private static final VectorSpecies<Float> FS = FloatVector.SPECIES_PREFERRED;
+
+	/** The double species. */
+	private static final VectorSpecies<Double> DS = DoubleVector.SPECIES_PREFERRED;
+
+	/**
+	 * Instantiates a new vector vector 3 kernels.
+	 *
+	 * @throws UnsupportedOperationException if the CPU has no usable vector unit
+	 */
+	VectorVector3Kernels() {
+		if (FS.vectorBitSize() < 128) {
+			throw new UnsupportedOperationException("no 128-bit vector support");
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#name()
+	 */
+	@Override
+	public String name() {
+		return "vector[" + FS.vectorBitSize() + "]";
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#add(float[], float[], float[], float[],
+	 *      float[], float[], float[], float[], float[], int)
+	 */
+	@Override
+	public void add(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count) {
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector.fromArray(FS, ax, i).add(FloatVector.fromArray(FS, bx, i))
+					.intoArray(dx, i);
+			FloatVector.fromArray(FS, ay, i).add(FloatVector.fromArray(FS, by, i))
+					.intoArray(dy, i);
+			FloatVector.fromArray(FS, az, i).add(FloatVector.fromArray(FS, bz, i))
+					.intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector.fromArray(FS, ax, i, m).add(FloatVector.fromArray(FS, bx, i, m))
+					.intoArray(dx, i, m);
+			FloatVector.fromArray(FS, ay, i, m).add(FloatVector.fromArray(FS, by, i, m))
+					.intoArray(dy, i, m);
+			FloatVector.fromArray(FS, az, i, m).add(FloatVector.fromArray(FS, bz, i, m))
+					.intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#subtract(float[], float[], float[],
+	 *      float[], float[], float[], float[], float[], float[], int)
+	 */
+	@Override
+	public void subtract(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count) {
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector.fromArray(FS, ax, i).sub(FloatVector.fromArray(FS, bx, i))
+					.intoArray(dx, i);
+			FloatVector.fromArray(FS, ay, i).sub(FloatVector.fromArray(FS, by, i))
+					.intoArray(dy, i);
+			FloatVector.fromArray(FS, az, i).sub(FloatVector.fromArray(FS, bz, i))
+					.intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector.fromArray(FS, ax, i, m).sub(FloatVector.fromArray(FS, bx, i, m))
+					.intoArray(dx, i, m);
+			FloatVector.fromArray(FS, ay, i, m).sub(FloatVector.fromArray(FS, by, i, m))
+					.intoArray(dy, i, m);
+			FloatVector.fromArray(FS, az, i, m).sub(FloatVector.fromArray(FS, bz, i, m))
+					.intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#scale(float[], float[], float[], float,
+	 *      float[], float[], float[], int)
+	 */
+	@Override
+	public void scale(float[] ax, float[] ay, float[] az, float factor, float[] dx, float[] dy,
+			float[] dz, int count) {
+		FloatVector f = FloatVector.broadcast(FS, factor);
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector.fromArray(FS, ax, i).mul(f).intoArray(dx, i);
+			FloatVector.fromArray(FS, ay, i).mul(f).intoArray(dy, i);
+			FloatVector.fromArray(FS, az, i).mul(f).intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector.fromArray(FS, ax, i, m).mul(f).intoArray(dx, i, m);
+			FloatVector.fromArray(FS, ay, i, m).mul(f).intoArray(dy, i, m);
+			FloatVector.fromArray(FS, az, i, m).mul(f).intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#addScaled(float[], float[], float[],
+	 *      float[], float[], float[], float, float[], float[], float[], int)
+	 */
+	@Override
+	public void addScaled(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float factor, float[] dx, float[] dy, float[] dz, int count) {
+		FloatVector f = FloatVector.broadcast(FS, factor);
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector.fromArray(FS, bx, i).mul(f).add(FloatVector.fromArray(FS, ax, i))
+					.intoArray(dx, i);
+			FloatVector.fromArray(FS, by, i).mul(f).add(FloatVector.fromArray(FS, ay, i))
+					.intoArray(dy, i);
+			FloatVector.fromArray(FS, bz, i).mul(f).add(FloatVector.fromArray(FS, az, i))
+					.intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector.fromArray(FS, bx, i, m).mul(f).add(FloatVector.fromArray(FS, ax, i, m))
+					.intoArray(dx, i, m);
+			FloatVector.fromArray(FS, by, i, m).mul(f).add(FloatVector.fromArray(FS, ay, i, m))
+					.intoArray(dy, i, m);
+			FloatVector.fromArray(FS, bz, i, m).mul(f).add(FloatVector.fromArray(FS, az, i, m))
+					.intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#cross(float[], float[], float[],
+	 *      float[], float[], float[], float[], float[], float[], int)
+	 */
+	@Override
+	public void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dx, float[] dy, float[] dz, int count) {
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector x = FloatVector.fromArray(FS, ax, i);
+			FloatVector y = FloatVector.fromArray(FS, ay, i);
+			FloatVector z = FloatVector.fromArray(FS, az, i);
+			FloatVector u = FloatVector.fromArray(FS, bx, i);
+			FloatVector v = FloatVector.fromArray(FS, by, i);
+			FloatVector w = FloatVector.fromArray(FS, bz, i);
+			y.mul(w).sub(z.mul(v)).intoArray(dx, i);
+			z.mul(u).sub(x.mul(w)).intoArray(dy, i);
+			x.mul(v).sub(y.mul(u)).intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector x = FloatVector.fromArray(FS, ax, i, m);
+			FloatVector y = FloatVector.fromArray(FS, ay, i, m);
+			FloatVector z = FloatVector.fromArray(FS, az, i, m);
+			FloatVector u = FloatVector.fromArray(FS, bx, i, m);
+			FloatVector v = FloatVector.fromArray(FS, by, i, m);
+			FloatVector w = FloatVector.fromArray(FS, bz, i, m);
+			y.mul(w).sub(z.mul(v)).intoArray(dx, i, m);
+			z.mul(u).sub(x.mul(w)).intoArray(dy, i, m);
+			x.mul(v).sub(y.mul(u)).intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#normalize(float[], float[], float[],
+	 *      float[], float[], float[], int)
+	 */
+	@Override
+	public void normalize(float[] ax, float[] ay, float[] az, float[] dx, float[] dy, float[] dz,
+			int count) {
+		FloatVector one = FloatVector.broadcast(FS, 1);
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector x = FloatVector.fromArray(FS, ax, i);
+			FloatVector y = FloatVector.fromArray(FS, ay, i);
+			FloatVector z = FloatVector.fromArray(FS, az, i);
+			FloatVector length = x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt();
+			FloatVector inv = one.div(length).blend(0, length.eq(0));
+			x.mul(inv).intoArray(dx, i);
+			y.mul(inv).intoArray(dy, i);
+			z.mul(inv).intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector x = FloatVector.fromArray(FS, ax, i, m);
+			FloatVector y = FloatVector.fromArray(FS, ay, i, m);
+			FloatVector z = FloatVector.fromArray(FS, az, i, m);
+			FloatVector length = x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt();
+			FloatVector inv = one.div(length).blend(0, length.eq(0));
+			x.mul(inv).intoArray(dx, i, m);
+			y.mul(inv).intoArray(dy, i, m);
+			z.mul(inv).intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#dot(float[], float[], float[], float[],
+	 *      float[], float[], float[], int, int)
+	 */
+	@Override
+	public void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dest, int destOffset, int count) {
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector x = FloatVector.fromArray(FS, ax, i);
+			FloatVector y = FloatVector.fromArray(FS, ay, i);
+			FloatVector z = FloatVector.fromArray(FS, az, i);
+			FloatVector u = FloatVector.fromArray(FS, bx, i);
+			FloatVector v = FloatVector.fromArray(FS, by, i);
+			FloatVector w = FloatVector.fromArray(FS, bz, i);
+			x.mul(u).add(y.mul(v)).add(z.mul(w)).intoArray(dest, destOffset + i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector x = FloatVector.fromArray(FS, ax, i, m);
+			FloatVector y = FloatVector.fromArray(FS, ay, i, m);
+			FloatVector z = FloatVector.fromArray(FS, az, i, m);
+			FloatVector u = FloatVector.fromArray(FS, bx, i, m);
+			FloatVector v = FloatVector.fromArray(FS, by, i, m);
+			FloatVector w = FloatVector.fromArray(FS, bz, i, m);
+			x.mul(u).add(y.mul(v)).add(z.mul(w)).intoArray(dest, destOffset + i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#length(float[], float[], float[],
+	 *      float[], int, int)
+	 */
+	@Override
+	public void length(float[] ax, float[] ay, float[] az, float[] dest, int destOffset,
+			int count) {
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector x = FloatVector.fromArray(FS, ax, i);
+			FloatVector y = FloatVector.fromArray(FS, ay, i);
+			FloatVector z = FloatVector.fromArray(FS, az, i);
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector x = FloatVector.fromArray(FS, ax, i, m);
+			FloatVector y = FloatVector.fromArray(FS, ay, i, m);
+			FloatVector z = FloatVector.fromArray(FS, az, i, m);
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#distance(float[], float[], float[],
+	 *      float[], float[], float[], float[], int, int)
+	 */
+	@Override
+	public void distance(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz,
+			float[] dest, int destOffset, int count) {
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			FloatVector x = FloatVector.fromArray(FS, ax, i)
+					.sub(FloatVector.fromArray(FS, bx, i));
+			FloatVector y = FloatVector.fromArray(FS, ay, i)
+					.sub(FloatVector.fromArray(FS, by, i));
+			FloatVector z = FloatVector.fromArray(FS, az, i)
+					.sub(FloatVector.fromArray(FS, bz, i));
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i);
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			FloatVector x = FloatVector.fromArray(FS, ax, i, m)
+					.sub(FloatVector.fromArray(FS, bx, i, m));
+			FloatVector y = FloatVector.fromArray(FS, ay, i, m)
+					.sub(FloatVector.fromArray(FS, by, i, m));
+			FloatVector z = FloatVector.fromArray(FS, az, i, m)
+					.sub(FloatVector.fromArray(FS, bz, i, m));
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#sum(float[], float[], float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void sum(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset) {
+		FloatVector x = FloatVector.zero(FS), y = x, z = x;
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			x = x.add(FloatVector.fromArray(FS, ax, i));
+			y = y.add(FloatVector.fromArray(FS, ay, i));
+			z = z.add(FloatVector.fromArray(FS, az, i));
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			x = x.add(FloatVector.fromArray(FS, ax, i, m));
+			y = y.add(FloatVector.fromArray(FS, ay, i, m));
+			z = z.add(FloatVector.fromArray(FS, az, i, m));
+		}
+		dest[destOffset] = x.reduceLanes(VectorOperators.ADD);
+		dest[destOffset + 1] = y.reduceLanes(VectorOperators.ADD);
+		dest[destOffset + 2] = z.reduceLanes(VectorOperators.ADD);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#min(float[], float[], float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void min(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset) {
+		FloatVector x = FloatVector.broadcast(FS, Float.POSITIVE_INFINITY), y = x, z = x;
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			x = x.min(FloatVector.fromArray(FS, ax, i));
+			y = y.min(FloatVector.fromArray(FS, ay, i));
+			z = z.min(FloatVector.fromArray(FS, az, i));
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			x = x.lanewise(VectorOperators.MIN, FloatVector.fromArray(FS, ax, i, m), m);
+			y = y.lanewise(VectorOperators.MIN, FloatVector.fromArray(FS, ay, i, m), m);
+			z = z.lanewise(VectorOperators.MIN, FloatVector.fromArray(FS, az, i, m), m);
+		}
+		dest[destOffset] = x.reduceLanes(VectorOperators.MIN);
+		dest[destOffset + 1] = y.reduceLanes(VectorOperators.MIN);
+		dest[destOffset + 2] = z.reduceLanes(VectorOperators.MIN);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#max(float[], float[], float[], int,
+	 *      float[], int)
+	 */
+	@Override
+	public void max(float[] ax, float[] ay, float[] az, int count, float[] dest, int destOffset) {
+		FloatVector x = FloatVector.broadcast(FS, Float.NEGATIVE_INFINITY), y = x, z = x;
+		int i = 0;
+		for (int bound = FS.loopBound(count); i < bound; i += FS.length()) {
+			x = x.max(FloatVector.fromArray(FS, ax, i));
+			y = y.max(FloatVector.fromArray(FS, ay, i));
+			z = z.max(FloatVector.fromArray(FS, az, i));
+		}
+		if (i < count) {
+			VectorMask<Float> m = FS.indexInRange(i, count);
+			x = x.lanewise(VectorOperators.MAX, FloatVector.fromArray(FS, ax, i, m), m);
+			y = y.lanewise(VectorOperators.MAX, FloatVector.fromArray(FS, ay, i, m), m);
+			z = z.lanewise(VectorOperators.MAX, FloatVector.fromArray(FS, az, i, m), m);
+		}
+		dest[destOffset] = x.reduceLanes(VectorOperators.MAX);
+		dest[destOffset + 1] = y.reduceLanes(VectorOperators.MAX);
+		dest[destOffset + 2] = z.reduceLanes(VectorOperators.MAX);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#add(double[], double[], double[],
+	 *      double[], double[], double[], double[], double[], double[], int)
+	 */
+	@Override
+	public void add(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dx, double[] dy, double[] dz, int count) {
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector.fromArray(DS, ax, i).add(DoubleVector.fromArray(DS, bx, i))
+					.intoArray(dx, i);
+			DoubleVector.fromArray(DS, ay, i).add(DoubleVector.fromArray(DS, by, i))
+					.intoArray(dy, i);
+			DoubleVector.fromArray(DS, az, i).add(DoubleVector.fromArray(DS, bz, i))
+					.intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector.fromArray(DS, ax, i, m).add(DoubleVector.fromArray(DS, bx, i, m))
+					.intoArray(dx, i, m);
+			DoubleVector.fromArray(DS, ay, i, m).add(DoubleVector.fromArray(DS, by, i, m))
+					.intoArray(dy, i, m);
+			DoubleVector.fromArray(DS, az, i, m).add(DoubleVector.fromArray(DS, bz, i, m))
+					.intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#subtract(double[], double[], double[],
+	 *      double[], double[], double[], double[], double[], double[], int)
+	 */
+	@Override
+	public void subtract(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double[] dx, double[] dy, double[] dz, int count) {
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector.fromArray(DS, ax, i).sub(DoubleVector.fromArray(DS, bx, i))
+					.intoArray(dx, i);
+			DoubleVector.fromArray(DS, ay, i).sub(DoubleVector.fromArray(DS, by, i))
+					.intoArray(dy, i);
+			DoubleVector.fromArray(DS, az, i).sub(DoubleVector.fromArray(DS, bz, i))
+					.intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector.fromArray(DS, ax, i, m).sub(DoubleVector.fromArray(DS, bx, i, m))
+					.intoArray(dx, i, m);
+			DoubleVector.fromArray(DS, ay, i, m).sub(DoubleVector.fromArray(DS, by, i, m))
+					.intoArray(dy, i, m);
+			DoubleVector.fromArray(DS, az, i, m).sub(DoubleVector.fromArray(DS, bz, i, m))
+					.intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#scale(double[], double[], double[],
+	 *      double, double[], double[], double[], int)
+	 */
+	@Override
+	public void scale(double[] ax, double[] ay, double[] az, double factor, double[] dx,
+			double[] dy, double[] dz, int count) {
+		DoubleVector f = DoubleVector.broadcast(DS, factor);
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector.fromArray(DS, ax, i).mul(f).intoArray(dx, i);
+			DoubleVector.fromArray(DS, ay, i).mul(f).intoArray(dy, i);
+			DoubleVector.fromArray(DS, az, i).mul(f).intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector.fromArray(DS, ax, i, m).mul(f).intoArray(dx, i, m);
+			DoubleVector.fromArray(DS, ay, i, m).mul(f).intoArray(dy, i, m);
+			DoubleVector.fromArray(DS, az, i, m).mul(f).intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#addScaled(double[], double[], double[],
+	 *      double[], double[], double[], double, double[], double[], double[], int)
+	 */
+	@Override
+	public void addScaled(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double factor, double[] dx, double[] dy, double[] dz, int count) {
+		DoubleVector f = DoubleVector.broadcast(DS, factor);
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector.fromArray(DS, bx, i).mul(f).add(DoubleVector.fromArray(DS, ax, i))
+					.intoArray(dx, i);
+			DoubleVector.fromArray(DS, by, i).mul(f).add(DoubleVector.fromArray(DS, ay, i))
+					.intoArray(dy, i);
+			DoubleVector.fromArray(DS, bz, i).mul(f).add(DoubleVector.fromArray(DS, az, i))
+					.intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector.fromArray(DS, bx, i, m).mul(f).add(DoubleVector.fromArray(DS, ax, i, m))
+					.intoArray(dx, i, m);
+			DoubleVector.fromArray(DS, by, i, m).mul(f).add(DoubleVector.fromArray(DS, ay, i, m))
+					.intoArray(dy, i, m);
+			DoubleVector.fromArray(DS, bz, i, m).mul(f).add(DoubleVector.fromArray(DS, az, i, m))
+					.intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#cross(double[], double[], double[],
+	 *      double[], double[], double[], double[], double[], double[], int)
+	 */
+	@Override
+	public void cross(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double[] dx, double[] dy, double[] dz, int count) {
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i);
+			DoubleVector u = DoubleVector.fromArray(DS, bx, i);
+			DoubleVector v = DoubleVector.fromArray(DS, by, i);
+			DoubleVector w = DoubleVector.fromArray(DS, bz, i);
+			y.mul(w).sub(z.mul(v)).intoArray(dx, i);
+			z.mul(u).sub(x.mul(w)).intoArray(dy, i);
+			x.mul(v).sub(y.mul(u)).intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i, m);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i, m);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i, m);
+			DoubleVector u = DoubleVector.fromArray(DS, bx, i, m);
+			DoubleVector v = DoubleVector.fromArray(DS, by, i, m);
+			DoubleVector w = DoubleVector.fromArray(DS, bz, i, m);
+			y.mul(w).sub(z.mul(v)).intoArray(dx, i, m);
+			z.mul(u).sub(x.mul(w)).intoArray(dy, i, m);
+			x.mul(v).sub(y.mul(u)).intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#normalize(double[], double[], double[],
+	 *      double[], double[], double[], int)
+	 */
+	@Override
+	public void normalize(double[] ax, double[] ay, double[] az, double[] dx, double[] dy,
+			double[] dz, int count) {
+		DoubleVector one = DoubleVector.broadcast(DS, 1);
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i);
+			DoubleVector length = x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt();
+			DoubleVector inv = one.div(length).blend(0, length.eq(0));
+			x.mul(inv).intoArray(dx, i);
+			y.mul(inv).intoArray(dy, i);
+			z.mul(inv).intoArray(dz, i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i, m);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i, m);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i, m);
+			DoubleVector length = x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt();
+			DoubleVector inv = one.div(length).blend(0, length.eq(0));
+			x.mul(inv).intoArray(dx, i, m);
+			y.mul(inv).intoArray(dy, i, m);
+			z.mul(inv).intoArray(dz, i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#dot(double[], double[], double[],
+	 *      double[], double[], double[], double[], int, int)
+	 */
+	@Override
+	public void dot(double[] ax, double[] ay, double[] az, double[] bx, double[] by, double[] bz,
+			double[] dest, int destOffset, int count) {
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i);
+			DoubleVector u = DoubleVector.fromArray(DS, bx, i);
+			DoubleVector v = DoubleVector.fromArray(DS, by, i);
+			DoubleVector w = DoubleVector.fromArray(DS, bz, i);
+			x.mul(u).add(y.mul(v)).add(z.mul(w)).intoArray(dest, destOffset + i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i, m);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i, m);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i, m);
+			DoubleVector u = DoubleVector.fromArray(DS, bx, i, m);
+			DoubleVector v = DoubleVector.fromArray(DS, by, i, m);
+			DoubleVector w = DoubleVector.fromArray(DS, bz, i, m);
+			x.mul(u).add(y.mul(v)).add(z.mul(w)).intoArray(dest, destOffset + i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#length(double[], double[], double[],
+	 *      double[], int, int)
+	 */
+	@Override
+	public void length(double[] ax, double[] ay, double[] az, double[] dest, int destOffset,
+			int count) {
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i);
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i, m);
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i, m);
+			DoubleVector z = DoubleVector.fromArray(DS, az, i, m);
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#distance(double[], double[], double[],
+	 *      double[], double[], double[], double[], int, int)
+	 */
+	@Override
+	public void distance(double[] ax, double[] ay, double[] az, double[] bx, double[] by,
+			double[] bz, double[] dest, int destOffset, int count) {
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i)
+					.sub(DoubleVector.fromArray(DS, bx, i));
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i)
+					.sub(DoubleVector.fromArray(DS, by, i));
+			DoubleVector z = DoubleVector.fromArray(DS, az, i)
+					.sub(DoubleVector.fromArray(DS, bz, i));
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i);
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			DoubleVector x = DoubleVector.fromArray(DS, ax, i, m)
+					.sub(DoubleVector.fromArray(DS, bx, i, m));
+			DoubleVector y = DoubleVector.fromArray(DS, ay, i, m)
+					.sub(DoubleVector.fromArray(DS, by, i, m));
+			DoubleVector z = DoubleVector.fromArray(DS, az, i, m)
+					.sub(DoubleVector.fromArray(DS, bz, i, m));
+			x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt().intoArray(dest, destOffset + i, m);
+		}
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#sum(double[], double[], double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void sum(double[] ax, double[] ay, double[] az, int count, double[] dest,
+			int destOffset) {
+		DoubleVector x = DoubleVector.zero(DS), y = x, z = x;
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			x = x.add(DoubleVector.fromArray(DS, ax, i));
+			y = y.add(DoubleVector.fromArray(DS, ay, i));
+			z = z.add(DoubleVector.fromArray(DS, az, i));
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			x = x.add(DoubleVector.fromArray(DS, ax, i, m));
+			y = y.add(DoubleVector.fromArray(DS, ay, i, m));
+			z = z.add(DoubleVector.fromArray(DS, az, i, m));
+		}
+		dest[destOffset] = x.reduceLanes(VectorOperators.ADD);
+		dest[destOffset + 1] = y.reduceLanes(VectorOperators.ADD);
+		dest[destOffset + 2] = z.reduceLanes(VectorOperators.ADD);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#min(double[], double[], double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void min(double[] ax, double[] ay, double[] az, int count, double[] dest,
+			int destOffset) {
+		DoubleVector x = DoubleVector.broadcast(DS, Double.POSITIVE_INFINITY), y = x, z = x;
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			x = x.min(DoubleVector.fromArray(DS, ax, i));
+			y = y.min(DoubleVector.fromArray(DS, ay, i));
+			z = z.min(DoubleVector.fromArray(DS, az, i));
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			x = x.lanewise(VectorOperators.MIN, DoubleVector.fromArray(DS, ax, i, m), m);
+			y = y.lanewise(VectorOperators.MIN, DoubleVector.fromArray(DS, ay, i, m), m);
+			z = z.lanewise(VectorOperators.MIN, DoubleVector.fromArray(DS, az, i, m), m);
+		}
+		dest[destOffset] = x.reduceLanes(VectorOperators.MIN);
+		dest[destOffset + 1] = y.reduceLanes(VectorOperators.MIN);
+		dest[destOffset + 2] = z.reduceLanes(VectorOperators.MIN);
+	}
+
+	/**
+	 * @see org.piengine.commons.math.ScalarVector3Kernels#max(double[], double[], double[], int,
+	 *      double[], int)
+	 */
+	@Override
+	public void max(double[] ax, double[] ay, double[] az, int count, double[] dest,
+			int destOffset) {
+		DoubleVector x = DoubleVector.broadcast(DS, Double.NEGATIVE_INFINITY), y = x, z = x;
+		int i = 0;
+		for (int bound = DS.loopBound(count); i < bound; i += DS.length()) {
+			x = x.max(DoubleVector.fromArray(DS, ax, i));
+			y = y.max(DoubleVector.fromArray(DS, ay, i));
+			z = z.max(DoubleVector.fromArray(DS, az, i));
+		}
+		if (i < count) {
+			VectorMask<Double> m = DS.indexInRange(i, count);
+			x = x.lanewise(VectorOperators.MAX, DoubleVector.fromArray(DS, ax, i, m), m);
+			y = y.lanewise(VectorOperators.MAX, DoubleVector.fromArray(DS, ay, i, m), m);
+			z = z.lanewise(VectorOperators.MAX, DoubleVector.fromArray(DS, az, i, m), m);
+		}
+		dest[destOffset] = x.reduceLanes(VectorOperators.MAX);
+		dest[destOffset + 1] = y.reduceLanes(VectorOperators.MAX);
+		dest[destOffset + 2] = z.reduceLanes(VectorOperators.MAX);
+	}
+}
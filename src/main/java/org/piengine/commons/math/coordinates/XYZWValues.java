@@ -30,6 +30,15 @@ import org.piengine.commons.math.Precision;
  */
 public interface XYZWValues extends Precision {
 	
+	/**
+	 * Wd.
+	 *
+	 * @return the double
+	 */
+	default double wd() {
+		return wf();
+	}
+
 	/**
 	 * Wf.
 	 *
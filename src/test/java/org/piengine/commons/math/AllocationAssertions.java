@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Allocation assertions shared by the tests of the allocation-free forms.
+ */
+final class AllocationAssertions {
+
+	/** Iterations measured, after as many warm-up iterations. */
+	private static final int ITERATIONS = 100_000;
+
+	/** Allowance for the measurement itself, far below one object per call. */
+	private static final long SLACK_BYTES = 4096;
+
+	/**
+	 * Instantiates a new allocation assertions.
+	 */
+	private AllocationAssertions() {}
+
+	/**
+	 * Asserts that a body allocates nothing once warmed up. The body is run
+	 * {@value #ITERATIONS} times so that it is compiled, and then as many times
+	 * again while the bytes allocated by the current thread are measured.
+	 *
+	 * @param body the body
+	 */
+	static void assertAllocationFree(Runnable body) {
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		for (int i = 0; i < ITERATIONS; i++) {
+			body.run();
+		}
+
+		long before = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < ITERATIONS; i++) {
+			body.run();
+		}
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+		assertTrue(allocated < SLACK_BYTES,
+				() -> allocated + " bytes allocated over " + ITERATIONS + " iterations");
+	}
+}
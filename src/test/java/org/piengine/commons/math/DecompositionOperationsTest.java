@@ -0,0 +1,405 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.piengine.commons.math.AllocationAssertions.assertAllocationFree;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4f;
+import org.piengine.commons.math.Quaternion.Quaterniond;
+import org.piengine.commons.math.Quaternion.Quaternionf;
+import org.piengine.commons.math.Vector3D.MutableVector3d;
+import org.piengine.commons.math.Vector3D.MutableVector3f;
+
+/**
+ * Decompose and recompose round trips for {@link DecompositionOperations}.
+ */
+class DecompositionOperationsTest {
+
+	/** Matrices per round trip. */
+	private static final int COUNT = 1000;
+
+	/**
+	 * Writes a random unit quaternion.
+	 *
+	 * @param random the random
+	 * @param q      the destination
+	 */
+	private static void randomRotation(Random random, double[] q) {
+		double x = random.nextGaussian(), y = random.nextGaussian();
+		double z = random.nextGaussian(), w = random.nextGaussian();
+		double n = Math.sqrt(x * x + y * y + z * z + w * w);
+		q[0] = x / n;
+		q[1] = y / n;
+		q[2] = z / n;
+		q[3] = w / n;
+	}
+
+	/**
+	 * Random scale between 1/4 and 4 in magnitude, negative one time in eight.
+	 *
+	 * @param random the random
+	 * @return the scale
+	 */
+	private static double randomScale(Random random) {
+		double s = Math.pow(4, random.nextDouble() * 2 - 1);
+		return random.nextInt(8) == 0 ? -s : s;
+	}
+
+	/**
+	 * Float T * R * S matrices, mirrored ones included, recompose from their
+	 * decomposition to the same matrix. Unmirrored ones also give back the
+	 * scale and the rotation up to the sign of the quaternion.
+	 */
+	@Test
+	void floatRoundTrip() {
+		Random random = new Random(19);
+		double[] qd = new double[4];
+		float[] q = new float[4];
+		float[] m = new float[16];
+		float[] trs = new float[DecompositionOperations.STRIDE];
+		float[] r = new float[16];
+		for (int i = 0; i < COUNT; i++) {
+			randomRotation(random, qd);
+			for (int k = 0; k < 4; k++) {
+				q[k] = (float) qd[k];
+			}
+			float sx = (float) randomScale(random), sy = (float) randomScale(random);
+			float sz = (float) randomScale(random);
+			float tx = random.nextFloat() * 20 - 10, ty = random.nextFloat() * 20 - 10;
+			float tz = random.nextFloat() * 20 - 10;
+			QuaternionOperations.compose(tx, ty, tz, q, 0, sx, sy, sz, m, 0);
+
+			assertTrue(DecompositionOperations.decompose(m, 0, trs, 0));
+			assertEquals(tx, trs[DecompositionOperations.TRANSLATION]);
+			assertEquals(ty, trs[DecompositionOperations.TRANSLATION + 1]);
+			assertEquals(tz, trs[DecompositionOperations.TRANSLATION + 2]);
+			QuaternionOperations.compose(trs[0], trs[1], trs[2], trs,
+					DecompositionOperations.ROTATION, trs[DecompositionOperations.SCALE],
+					trs[DecompositionOperations.SCALE + 1],
+					trs[DecompositionOperations.SCALE + 2], r, 0);
+			for (int k = 0; k < 16; k++) {
+				assertEquals(m[k], r[k], 4e-5f,
+						() -> Arrays.toString(m) + " != " + Arrays.toString(r));
+			}
+
+			if (sx > 0 && sy > 0 && sz > 0) {
+				assertEquals(sx, trs[DecompositionOperations.SCALE], 1e-5f * sx);
+				assertEquals(sy, trs[DecompositionOperations.SCALE + 1], 1e-5f * sy);
+				assertEquals(sz, trs[DecompositionOperations.SCALE + 2], 1e-5f * sz);
+				float dot = 0;
+				for (int k = 0; k < 4; k++) {
+					dot += q[k] * trs[DecompositionOperations.ROTATION + k];
+				}
+				assertEquals(1, Math.abs(dot), 1e-5f);
+			}
+		}
+	}
+
+	/**
+	 * Double T * R * S matrices recompose from their decomposition to within a
+	 * few ulps of the elements.
+	 */
+	@Test
+	void doubleRoundTrip() {
+		Random random = new Random(20);
+		double[] q = new double[4];
+		double[] m = new double[16];
+		double[] trs = new double[DecompositionOperations.STRIDE];
+		double[] r = new double[16];
+		for (int i = 0; i < COUNT; i++) {
+			randomRotation(random, q);
+			double sx = randomScale(random), sy = randomScale(random);
+			double sz = randomScale(random);
+			double tx = random.nextDouble() * 20 - 10, ty = random.nextDouble() * 20 - 10;
+			double tz = random.nextDouble() * 20 - 10;
+			QuaternionOperations.compose(tx, ty, tz, q, 0, sx, sy, sz, m, 0);
+
+			assertTrue(DecompositionOperations.decompose(m, 0, trs, 0));
+			QuaternionOperations.compose(trs[0], trs[1], trs[2], trs,
+					DecompositionOperations.ROTATION, trs[DecompositionOperations.SCALE],
+					trs[DecompositionOperations.SCALE + 1],
+					trs[DecompositionOperations.SCALE + 2], r, 0);
+			for (int k = 0; k < 16; k++) {
+				assertEquals(m[k], r[k], 4e-13);
+			}
+		}
+	}
+
+	/**
+	 * A matrix with shear takes the polar path and still yields a unit
+	 * quaternion, and a singular one the identity rotation and {@code false}.
+	 */
+	@Test
+	void shearAndSingular() {
+		float[] sheared = { 1, 0.5f, 0, 3, 0, 1, 0, 4, 0, 0, 2, 5, 0, 0, 0, 1 };
+		float[] trs = new float[DecompositionOperations.STRIDE];
+		assertTrue(DecompositionOperations.decompose(sheared, 0, trs, 0));
+		float n = 0;
+		for (int k = 0; k < 4; k++) {
+			n += trs[DecompositionOperations.ROTATION + k]
+					* trs[DecompositionOperations.ROTATION + k];
+		}
+		assertEquals(1, n, 1e-6f);
+
+		float[] singular = { 1, 0, 0, 3, 0, 0, 0, 4, 0, 0, 2, 5, 0, 0, 0, 1 };
+		assertFalse(DecompositionOperations.decompose(singular, 0, trs, 0));
+		assertArrayEquals(new float[] { 3, 4, 5, 0, 0, 0, 1, 1, 0, 2 }, trs);
+	}
+
+	/**
+	 * The batch forms write what the single form writes, in both layouts, and
+	 * count the singular matrices.
+	 */
+	@Test
+	void batchMatchesSingle() {
+		Random random = new Random(21);
+		int count = 9;
+		float[] m = new float[16 + count * 16];
+		float[] q = new float[4];
+		double[] qd = new double[4];
+		for (int i = 0; i < count; i++) {
+			randomRotation(random, qd);
+			for (int k = 0; k < 4; k++) {
+				q[k] = (float) qd[k];
+			}
+			QuaternionOperations.compose(i, -i, 2 * i, q, 0, 1 + i, 2,
+					(float) randomScale(random), m, 16 + i * 16);
+		}
+		Arrays.fill(m, 16 + 4 * 16, 16 + 4 * 16 + 12, 0);
+
+		float[] expected = new float[count * DecompositionOperations.STRIDE];
+		for (int i = 0; i < count; i++) {
+			DecompositionOperations.decompose(m, 16 + i * 16, expected,
+					i * DecompositionOperations.STRIDE);
+		}
+
+		float[] packed = new float[2 + count * DecompositionOperations.STRIDE];
+		assertEquals(1, DecompositionOperations.decompose(m, 16, packed, 2, count));
+		assertArrayEquals(expected, Arrays.copyOfRange(packed, 2, packed.length));
+
+		float[] t = new float[count * 3], r = new float[count * 4], s = new float[count * 3];
+		assertEquals(1, DecompositionOperations.decompose(m, 16, t, 0, r, 0, s, 0, count));
+		for (int i = 0; i < count; i++) {
+			int o = i * DecompositionOperations.STRIDE;
+			assertArrayEquals(Arrays.copyOfRange(expected, o, o + 3),
+					Arrays.copyOfRange(t, i * 3, i * 3 + 3));
+			assertArrayEquals(Arrays.copyOfRange(expected, o + 3, o + 7),
+					Arrays.copyOfRange(r, i * 4, i * 4 + 4));
+			assertArrayEquals(Arrays.copyOfRange(expected, o + 7, o + 10),
+					Arrays.copyOfRange(s, i * 3, i * 3 + 3));
+		}
+	}
+
+	/**
+	 * The {@link Matrix4} accessors return the packed decomposition in the
+	 * precision of the matrix.
+	 */
+	@Test
+	void accessorsMatchPacked() {
+		float[] q = { 0.1f, 0.2f, 0.3f, 0 };
+		q[3] = (float) Math.sqrt(1 - 0.14);
+		float[] mf = new float[16];
+		QuaternionOperations.compose(1, 2, 3, q, 0, 2, 3, 4, mf, 0);
+		float[] trs = new float[DecompositionOperations.STRIDE];
+		DecompositionOperations.decompose(mf, 0, trs, 0);
+
+		Matrix4f f = new Matrix4f(mf);
+		assertEquals(Vector3D.ofFloat(1, 2, 3), DecompositionOperations.translation(f));
+		assertEquals(new Quaternionf(trs[3], trs[4], trs[5], trs[6]),
+				DecompositionOperations.rotation(f));
+		assertEquals(Vector3D.ofFloat(trs[7], trs[8], trs[9]), DecompositionOperations.scale(f));
+
+		double[] md = new double[16];
+		for (int k = 0; k < 16; k++) {
+			md[k] = mf[k];
+		}
+		double[] trsd = new double[DecompositionOperations.STRIDE];
+		DecompositionOperations.decompose(md, 0, trsd, 0);
+		Matrix4d d = new Matrix4d(md);
+		assertEquals(Vector3D.ofDouble(1, 2, 3), DecompositionOperations.translation(d));
+		assertEquals(new Quaterniond(trsd[3], trsd[4], trsd[5], trsd[6]),
+				DecompositionOperations.rotation(d));
+		assertEquals(Vector3D.ofDouble(trsd[7], trsd[8], trsd[9]),
+				DecompositionOperations.scale(d));
+	}
+
+	/**
+	 * A rotation after a non-uniform scale leaves shear. The rotation is then
+	 * the polar factor, the scale the diagonal of the stretch, and recomposing
+	 * does not give back the matrix.
+	 */
+	@Test
+	void shearIsDropped() {
+		double c = Math.cos(Math.PI / 4), s = Math.sin(Math.PI / 4);
+		// R(45 deg about z) * S(2, 1, 1) * R(45 deg about z)^T, a symmetric stretch
+		double[] m = {
+				2 * c * c + s * s, 2 * c * s - c * s, 0, 0,
+				2 * c * s - c * s, 2 * s * s + c * c, 0, 0,
+				0, 0, 1, 0,
+				0, 0, 0, 1 };
+		double[] trs = new double[DecompositionOperations.STRIDE];
+		assertTrue(DecompositionOperations.decompose(m, 0, trs, 0));
+
+		assertArrayEquals(new double[] { 0, 0, 0, 1 }, Arrays.copyOfRange(trs,
+				DecompositionOperations.ROTATION, DecompositionOperations.ROTATION + 4), 1e-12);
+		assertArrayEquals(new double[] { 1.5, 1.5, 1 }, Arrays.copyOfRange(trs,
+				DecompositionOperations.SCALE, DecompositionOperations.SCALE + 3), 1e-12);
+
+		double[] r = new double[16];
+		QuaternionOperations.compose(trs[0], trs[1], trs[2], trs,
+				DecompositionOperations.ROTATION, trs[DecompositionOperations.SCALE],
+				trs[DecompositionOperations.SCALE + 1], trs[DecompositionOperations.SCALE + 2],
+				r, 0);
+		assertEquals(0, r[1], 1e-12);
+		assertEquals(0.5, m[1], 1e-12);
+	}
+
+	/**
+	 * The destination forms of {@code rotation} and {@code scale} write the
+	 * packed decomposition, for array backed and accessor only matrices alike.
+	 */
+	@Test
+	void destinationsMatchPacked() {
+		float[] q = { 0.1f, 0.2f, 0.3f, 0 };
+		q[3] = (float) Math.sqrt(1 - 0.14);
+		float[] mf = new float[16];
+		QuaternionOperations.compose(1, 2, 3, q, 0, 2, -3, 4, mf, 0);
+		float[] trs = new float[DecompositionOperations.STRIDE];
+		DecompositionOperations.decompose(mf, 0, trs, 0);
+		double[] md = new double[16];
+		for (int k = 0; k < 16; k++) {
+			md[k] = mf[k];
+		}
+		double[] trsd = new double[DecompositionOperations.STRIDE];
+		DecompositionOperations.decompose(md, 0, trsd, 0);
+
+		Matrix4[] matrices = { new Matrix4f(mf), new MutableMatrix4f(new Matrix4f(mf)),
+				new Matrix4d(md), new MutableMatrix4d(new Matrix4d(md)) };
+		for (Matrix4 m : matrices) {
+			float[] rf = DecompositionOperations.rotation(m, new float[5], 1);
+			assertArrayEquals(Arrays.copyOfRange(trs, 3, 7), Arrays.copyOfRange(rf, 1, 5), 1e-6f,
+					m::toString);
+			double[] rd = DecompositionOperations.rotation(m, new double[5], 1);
+			assertArrayEquals(Arrays.copyOfRange(trsd, 3, 7), Arrays.copyOfRange(rd, 1, 5), 1e-6,
+					m::toString);
+
+			MutableVector3f sf = DecompositionOperations.scale(m, new MutableVector3f());
+			assertArrayEquals(Arrays.copyOfRange(trs, 7, 10),
+					new float[] { sf.xf(), sf.yf(), sf.zf() }, 1e-5f);
+			MutableVector3d sd = DecompositionOperations.scale(m, new MutableVector3d());
+			assertArrayEquals(Arrays.copyOfRange(trsd, 7, 10),
+					new double[] { sd.xd(), sd.yd(), sd.zd() }, 1e-5);
+		}
+	}
+
+	/**
+	 * The float destination forms narrow the elements of a double matrix that
+	 * are not exact floats instead of reading them through the float accessors.
+	 */
+	@Test
+	void floatDestinationsOfDoubleMatrix() {
+		double[] q = { 0.1, 0.2, 0.3, Math.sqrt(1 - 0.14) };
+		double[] md = new double[16];
+		QuaternionOperations.compose(0.1, 0.2, 0.3, q, 0, 2, 0.3, 4, md, 0);
+		double[] trsd = new double[DecompositionOperations.STRIDE];
+		DecompositionOperations.decompose(md, 0, trsd, 0);
+
+		float[] rf = DecompositionOperations.rotation(new Matrix4d(md), new float[4], 0);
+		for (int k = 0; k < 4; k++) {
+			assertEquals(trsd[3 + k], rf[k], 1e-6, "rotation " + k);
+		}
+		MutableVector3f sf = DecompositionOperations.scale(new Matrix4d(md),
+				new MutableVector3f());
+		assertEquals(trsd[7], sf.xd(), 1e-5);
+		assertEquals(trsd[8], sf.yd(), 1e-5);
+		assertEquals(trsd[9], sf.zd(), 1e-5);
+	}
+
+	/**
+	 * The destination forms of {@code rotation} and {@code scale} allocate
+	 * nothing.
+	 */
+	@Test
+	void destinationsDoNotAllocate() {
+		float[] mf = new float[16];
+		QuaternionOperations.compose(1, 2, 3, new float[] { 0, 0.6f, 0, 0.8f }, 0, 2, 3, 4,
+				mf, 0);
+		Matrix4f f = new Matrix4f(mf);
+		MutableMatrix4d d = new MutableMatrix4d(f);
+		float[] rf = new float[4];
+		double[] rd = new double[4];
+		MutableVector3f sf = new MutableVector3f();
+		MutableVector3d sd = new MutableVector3d();
+		Runnable body = () -> {
+			DecompositionOperations.rotation(f, rf, 0);
+			DecompositionOperations.rotation(d, rd, 0);
+			DecompositionOperations.rotation(d, rf, 0);
+			DecompositionOperations.scale(f, sf);
+			DecompositionOperations.scale(d, sd);
+			DecompositionOperations.scale(f, sd);
+		};
+
+		assertAllocationFree(body);
+	}
+
+	/**
+	 * The batch forms, the separate array one included, allocate nothing.
+	 */
+	@Test
+	void batchDoesNotAllocate() {
+		int count = 4;
+		float[] m = new float[count * 16];
+		double[] md = new double[count * 16];
+		for (int i = 0; i < count; i++) {
+			QuaternionOperations.compose(i, 0, 0, new float[] { 0, 0.6f, 0, 0.8f }, 0, 1, 2, 3,
+					m, i * 16);
+			for (int k = 0; k < 16; k++) {
+				md[i * 16 + k] = m[i * 16 + k];
+			}
+		}
+		float[] t = new float[count * 3], r = new float[count * 4];
+		float[] s = new float[count * 3];
+		double[] td = new double[count * 3], rd = new double[count * 4];
+		double[] sd = new double[count * 3];
+		float[] packed = new float[count * DecompositionOperations.STRIDE];
+
+		assertAllocationFree(() -> {
+			DecompositionOperations.decompose(m, 0, t, 0, r, 0, s, 0, count);
+			DecompositionOperations.decompose(md, 0, td, 0, rd, 0, sd, 0, count);
+			DecompositionOperations.decompose(m, 0, packed, 0, count);
+		});
+	}
+}
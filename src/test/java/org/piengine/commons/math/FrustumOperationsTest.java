@@ -0,0 +1,342 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+
+/**
+ * Plane extraction and the sequential sphere and box culls of
+ * {@link FrustumOperations} for each supported projection convention, with
+ * volumes inside, outside and straddling each plane.
+ */
+class FrustumOperationsTest {
+
+	/** The near plane distance. */
+	private static final double NEAR = 1;
+
+	/** The far plane distance of the finite projections. */
+	private static final double FAR = 100;
+
+	/** The camera position; the view only translates, so view space is axis aligned. */
+	private static final double[] EYE = { 5, -2, -3 };
+
+	/**
+	 * View space spheres as {@code x, y, z, radius}. With a 90 degree field of
+	 * view the frustum at depth {@code d} spans {@code [-d, d]} in x and y.
+	 */
+	private static final double[][] SPHERES = {
+			{ 0, 0, -10, 1 }, // inside
+			{ 0, 0, -0.5, 0.25 }, // in front of the near plane
+			{ 0, 0, -0.5, 1 }, // straddling the near plane
+			{ 0, 0, -150, 1 }, // beyond the far plane
+			{ 0, 0, -100.5, 1 }, // straddling the far plane
+			{ -50, 0, -10, 1 }, // left
+			{ -10.5, 0, -10, 1 }, // straddling the left plane
+			{ 0, 13, -10, 1 }, // above
+			{ 0, 0, 5, 1 } // behind the camera
+	};
+
+	/** Expected sphere visibility for a finite and an infinite far plane. */
+	private static final boolean[][] SPHERES_VISIBLE = {
+			{ true, false, true, false, true, false, true, false, false },
+			{ true, false, true, true, true, false, true, false, false }
+	};
+
+	/** View space boxes as {@code minX, minY, minZ, maxX, maxY, maxZ}. */
+	private static final double[][] BOXES = {
+			{ -1, -1, -11, 1, 1, -9 }, // inside
+			{ 20, -1, -11, 22, 1, -9 }, // right
+			{ 9, -1, -11, 11, 1, -9 }, // straddling the right plane
+			{ -1, -1, 1, 1, 1, 3 }, // behind the camera
+			{ -1, -1, -160, 1, 1, -150 }, // beyond the far plane
+			{ -1, -1, -101, 1, 1, -99 }, // straddling the far plane
+			{ -1, -1, -0.9, 1, 1, -0.5 }, // in front of the near plane
+			{ -1, -1, -1.5, 1, 1, -0.5 }, // straddling the near plane
+			{ -1, 15, -11, 1, 17, -9 } // above
+	};
+
+	/** Expected box visibility for a finite and an infinite far plane. */
+	private static final boolean[][] BOXES_VISIBLE = {
+			{ true, false, true, false, false, true, false, true, false },
+			{ true, false, true, false, true, true, false, true, false }
+	};
+
+	/**
+	 * A projection convention.
+	 *
+	 * @param name      the name
+	 * @param matrix    the row-major view-projection matrix
+	 * @param zeroToOne whether clip space depth is {@code [0, 1]}
+	 * @param infinite  whether the far plane is at infinity
+	 * @param nearPlane the index of the near plane
+	 */
+	private record Projection(String name, double[] matrix, boolean zeroToOne, boolean infinite,
+			int nearPlane) {}
+
+	/**
+	 * The standard, zero-to-one, reverse-Z and infinite projections, each
+	 * behind the same view.
+	 *
+	 * @return the projections
+	 */
+	private static Projection[] projections() {
+		double fov = Math.PI / 2;
+		// D3D style depth [0, 1] without reversal, built by hand as there is no builder
+		double[] zeroToOne = new double[16];
+		zeroToOne[0] = zeroToOne[5] = 1;
+		zeroToOne[10] = FAR / (NEAR - FAR);
+		zeroToOne[11] = NEAR * FAR / (NEAR - FAR);
+		zeroToOne[14] = -1;
+
+		Matrix4d view = MatrixOperations.translationd(-EYE[0], -EYE[1], -EYE[2]);
+		Matrix4d standard = MatrixOperations.perspectived(fov, 1, NEAR, FAR);
+		Matrix4d reverseZ = MatrixOperations.perspectiveReverseZd(fov, 1, NEAR, FAR);
+		Matrix4d infinite = MatrixOperations.perspectiveInfinited(fov, 1, NEAR);
+		double inf = Double.POSITIVE_INFINITY;
+		Matrix4d infiniteReverseZ = MatrixOperations.perspectiveReverseZd(fov, 1, NEAR, inf);
+		return new Projection[] {
+				projection("standard", standard, view, false, false, 4),
+				projection("zeroToOne", new Matrix4d(zeroToOne), view, true, false, 4),
+				projection("reverseZ", reverseZ, view, true, false, 5),
+				projection("infinite", infinite, view, false, true, 4),
+				projection("infiniteReverseZ", infiniteReverseZ, view, true, true, 5)
+		};
+	}
+
+	/**
+	 * A projection convention behind a view.
+	 *
+	 * @param name       the name
+	 * @param projection the projection matrix
+	 * @param view       the view matrix
+	 * @param zeroToOne  whether clip space depth is {@code [0, 1]}
+	 * @param infinite   whether the far plane is at infinity
+	 * @param nearPlane  the index of the near plane
+	 * @return the projection
+	 */
+	private static Projection projection(String name, Matrix4d projection, Matrix4d view,
+			boolean zeroToOne, boolean infinite, int nearPlane) {
+		double[] m = MatrixOperations.multiplyd(projection, view).array();
+		return new Projection(name, m, zeroToOne, infinite, nearPlane);
+	}
+
+	/**
+	 * The signed distance of a view space point from a plane in world space.
+	 *
+	 * @param planes the planes
+	 * @param plane  the plane index
+	 * @param z      the view space depth, on the view axis
+	 * @return the distance
+	 */
+	private static double distance(double[] planes, int plane, double z) {
+		int p = plane * 4;
+		return planes[p] * EYE[0] + planes[p + 1] * EYE[1] + planes[p + 2] * (EYE[2] + z)
+				+ planes[p + 3];
+	}
+
+	/**
+	 * Narrows a double array to float.
+	 *
+	 * @param a the array
+	 * @return the float array
+	 */
+	private static float[] toFloat(double[] a) {
+		float[] f = new float[a.length];
+		for (int i = 0; i < a.length; i++) {
+			f[i] = (float) a[i];
+		}
+		return f;
+	}
+
+	/**
+	 * One component of the volumes, moved from view to world space.
+	 *
+	 * @param volumes   the view space volumes
+	 * @param component the component index
+	 * @param axis      the axis of the component, or -1 for a radius
+	 * @return the component array
+	 */
+	private static double[] component(double[][] volumes, int component, int axis) {
+		double[] c = new double[volumes.length];
+		for (int i = 0; i < volumes.length; i++) {
+			c[i] = volumes[i][component] + (axis < 0 ? 0 : EYE[axis]);
+		}
+		return c;
+	}
+
+	/**
+	 * Asserts a bit set holds the expected visibility in its low bits and
+	 * that the bits past the range are untouched.
+	 *
+	 * @param name     the projection name
+	 * @param expected the expected visibility
+	 * @param visible  the bit set, all ones before the cull
+	 */
+	private static void assertBits(String name, boolean[] expected, long[] visible) {
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], (visible[0] >>> i & 1) != 0, name + " volume " + i);
+		}
+		assertEquals(-1L >>> expected.length, visible[0] >>> expected.length, name);
+	}
+
+	/**
+	 * Asserts an index list holds exactly the visible volumes, in order.
+	 *
+	 * @param name     the projection name
+	 * @param expected the expected visibility
+	 * @param indices  the index list, from offset 1
+	 * @param n        the number of indices written
+	 */
+	private static void assertIndices(String name, boolean[] expected, int[] indices, int n) {
+		int k = 1;
+		for (int i = 0; i < expected.length; i++) {
+			if (expected[i]) {
+				assertEquals(i, indices[k++], name + " volume " + i);
+			}
+		}
+		assertEquals(k - 1, n, name);
+	}
+
+	/**
+	 * The near plane passes through the near distance on the view axis at the
+	 * documented index, and the far plane through the far distance at the
+	 * other index, or is the accept-all plane at infinity.
+	 */
+	@Test
+	void planeOrder() {
+		for (Projection projection : projections()) {
+			String name = projection.name();
+			double[] planes = new double[FrustumOperations.STRIDE];
+			boolean zeroToOne = projection.zeroToOne();
+			FrustumOperations.extractPlanes(projection.matrix(), 0, zeroToOne, planes, 0);
+
+			int near = projection.nearPlane(), far = 9 - near;
+			assertEquals(0, distance(planes, near, -NEAR), 1e-12, name);
+			assertTrue(distance(planes, near, -2 * NEAR) > 0, name);
+			if (projection.infinite()) {
+				double[] accept = { 0, 0, 0, 1 };
+				double[] plane = new double[4];
+				System.arraycopy(planes, far * 4, plane, 0, 4);
+				assertArrayEquals(accept, plane, 0, name);
+			} else {
+				assertEquals(0, distance(planes, far, -FAR), 1e-9, name);
+				assertTrue(distance(planes, far, -FAR / 2) > 0, name);
+			}
+		}
+	}
+
+	/**
+	 * Spheres and boxes inside, outside and straddling each plane cull as
+	 * expected in double, into both the bit set and the index list.
+	 */
+	@Test
+	void doubleCulls() {
+		double[] x = component(SPHERES, 0, 0), y = component(SPHERES, 1, 1);
+		double[] z = component(SPHERES, 2, 2), radius = component(SPHERES, 3, -1);
+		double[] minX = component(BOXES, 0, 0), minY = component(BOXES, 1, 1);
+		double[] minZ = component(BOXES, 2, 2), maxX = component(BOXES, 3, 0);
+		double[] maxY = component(BOXES, 4, 1), maxZ = component(BOXES, 5, 2);
+
+		for (Projection projection : projections()) {
+			String name = projection.name();
+			boolean[] spheres = SPHERES_VISIBLE[projection.infinite() ? 1 : 0];
+			boolean[] boxes = BOXES_VISIBLE[projection.infinite() ? 1 : 0];
+
+			double[] planes = new double[FrustumOperations.STRIDE + 4];
+			boolean zeroToOne = projection.zeroToOne();
+			FrustumOperations.extractPlanes(projection.matrix(), 0, zeroToOne, planes, 4);
+			double[] fromMatrix = new double[FrustumOperations.STRIDE + 4];
+			Matrix4d matrix = new Matrix4d(projection.matrix());
+			FrustumOperations.extractPlanes(matrix, zeroToOne, fromMatrix, 4);
+			assertArrayEquals(planes, fromMatrix, 0, name);
+
+			long[] visible = { -1L };
+			FrustumOperations.cullSpheres(planes, 4, x, y, z, radius, visible, 0, x.length);
+			assertBits(name, spheres, visible);
+			int[] indices = new int[x.length + 1];
+			int n = FrustumOperations.cullSpheres(planes, 4, x, y, z, radius, indices, 1, 0,
+					x.length);
+			assertIndices(name, spheres, indices, n);
+
+			visible[0] = -1L;
+			FrustumOperations.cullBoxes(planes, 4, minX, minY, minZ, maxX, maxY, maxZ, visible, 0,
+					minX.length);
+			assertBits(name, boxes, visible);
+			indices = new int[minX.length + 1];
+			n = FrustumOperations.cullBoxes(planes, 4, minX, minY, minZ, maxX, maxY, maxZ,
+					indices, 1, 0, minX.length);
+			assertIndices(name, boxes, indices, n);
+		}
+	}
+
+	/**
+	 * The float culls agree with the expected visibility of the double ones.
+	 */
+	@Test
+	void floatCulls() {
+		float[] x = toFloat(component(SPHERES, 0, 0)), y = toFloat(component(SPHERES, 1, 1));
+		float[] z = toFloat(component(SPHERES, 2, 2));
+		float[] radius = toFloat(component(SPHERES, 3, -1));
+		float[] minX = toFloat(component(BOXES, 0, 0)), minY = toFloat(component(BOXES, 1, 1));
+		float[] minZ = toFloat(component(BOXES, 2, 2)), maxX = toFloat(component(BOXES, 3, 0));
+		float[] maxY = toFloat(component(BOXES, 4, 1)), maxZ = toFloat(component(BOXES, 5, 2));
+
+		for (Projection projection : projections()) {
+			String name = projection.name();
+			boolean[] spheres = SPHERES_VISIBLE[projection.infinite() ? 1 : 0];
+			boolean[] boxes = BOXES_VISIBLE[projection.infinite() ? 1 : 0];
+
+			float[] matrix = toFloat(projection.matrix());
+			float[] planes = new float[FrustumOperations.STRIDE];
+			boolean zeroToOne = projection.zeroToOne();
+			FrustumOperations.extractPlanes(matrix, 0, zeroToOne, planes, 0);
+			float[] fromMatrix = new float[FrustumOperations.STRIDE];
+			FrustumOperations.extractPlanes(new Matrix4f(matrix), zeroToOne, fromMatrix, 0);
+			assertArrayEquals(planes, fromMatrix, 0, name);
+
+			long[] visible = { -1L };
+			FrustumOperations.cullSpheres(planes, 0, x, y, z, radius, visible, 0, x.length);
+			assertBits(name, spheres, visible);
+			int[] indices = new int[x.length + 1];
+			int n = FrustumOperations.cullSpheres(planes, 0, x, y, z, radius, indices, 1, 0,
+					x.length);
+			assertIndices(name, spheres, indices, n);
+
+			visible[0] = -1L;
+			FrustumOperations.cullBoxes(planes, 0, minX, minY, minZ, maxX, maxY, maxZ, visible, 0,
+					minX.length);
+			assertBits(name, boxes, visible);
+			indices = new int[minX.length + 1];
+			n = FrustumOperations.cullBoxes(planes, 0, minX, minY, minZ, maxX, maxY, maxZ,
+					indices, 1, 0, minX.length);
+			assertIndices(name, boxes, indices, n);
+		}
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix3;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3d;
+import org.piengine.commons.math.Matrix.Matrix3.Matrix3f;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Quaternion.Quaterniond;
+
+/**
+ * Inversion and normal matrices of {@link Matrix3Operations} against their
+ * defining identities.
+ */
+class Matrix3OperationsTest {
+
+	/** A general invertible matrix with no special structure. */
+	private static final double[] GENERAL = {
+			2, -1, 0.5,
+			0.3, 3, -2,
+			1, 0.25, 4
+	};
+
+	/** The third row is a combination of the first two. */
+	private static final double[] SINGULAR = {
+			1, 2, 3,
+			0, 1, 1,
+			2, 5, 7
+	};
+
+	/**
+	 * A row-major 4x4 TRS matrix with a non-uniform scale, so its upper 3x3 is
+	 * not orthogonal and differs from its own inverse-transpose.
+	 *
+	 * @return the matrix
+	 */
+	private static double[] trs() {
+		double[] r = new double[9];
+		Quaterniond q = Quaternion.axisAngled(Vector3D.ofDouble(1, -2, 3), 0.9);
+		QuaternionOperations.toMatrix3(q.arrayd(), 0, r, 0);
+		double[] scale = { 2, 0.5, 3 };
+		double[] translation = { 5, -3, 2 };
+
+		double[] m = new double[16];
+		for (int row = 0; row < 3; row++) {
+			for (int col = 0; col < 3; col++) {
+				m[row * 4 + col] = r[row * 3 + col] * scale[col];
+			}
+			m[row * 4 + 3] = translation[row];
+		}
+		m[15] = 1;
+		return m;
+	}
+
+	/**
+	 * Narrows a double array to float.
+	 *
+	 * @param a the array
+	 * @return the float array
+	 */
+	private static float[] toFloat(double[] a) {
+		float[] f = new float[a.length];
+		for (int i = 0; i < a.length; i++) {
+			f[i] = (float) a[i];
+		}
+		return f;
+	}
+
+	/**
+	 * Widens a float array to double.
+	 *
+	 * @param a the array
+	 * @return the double array
+	 */
+	private static double[] toDouble(float[] a) {
+		double[] d = new double[a.length];
+		for (int i = 0; i < a.length; i++) {
+			d[i] = a[i];
+		}
+		return d;
+	}
+
+	/**
+	 * Asserts {@code a * b} is the identity, with {@code b} read from
+	 * {@code bOffset} and {@code a} read with the given row stride.
+	 *
+	 * @param a          the left matrix
+	 * @param aRowStride the left row stride
+	 * @param b          the right 3x3 matrix
+	 * @param bOffset    the right offset
+	 * @param transposeA whether to multiply by the transpose of {@code a}
+	 * @param delta      the tolerance
+	 */
+	private static void assertIdentity(double[] a, int aRowStride, double[] b, int bOffset,
+			boolean transposeA, double delta) {
+		for (int row = 0; row < 3; row++) {
+			for (int col = 0; col < 3; col++) {
+				double sum = 0;
+				for (int k = 0; k < 3; k++) {
+					double left = transposeA ? a[k * aRowStride + row] : a[row * aRowStride + k];
+					sum += left * b[bOffset + k * 3 + col];
+				}
+				assertEquals(row == col ? 1 : 0, sum, delta, "element " + row + "," + col);
+			}
+		}
+	}
+
+	/**
+	 * The upper 3x3 of a row-major 4x4 matrix.
+	 *
+	 * @param m the 4x4 matrix
+	 * @return the 3x3 matrix
+	 */
+	private static double[] upper(double[] m) {
+		double[] u = new double[9];
+		for (int row = 0; row < 3; row++) {
+			System.arraycopy(m, row * 4, u, row * 3, 3);
+		}
+		return u;
+	}
+
+	/**
+	 * Multiplies the 3x3 block of a row-major matrix by a column vector.
+	 *
+	 * @param m         the matrix
+	 * @param rowStride the row stride
+	 * @param v         the vector
+	 * @return the product
+	 */
+	private static double[] transform(double[] m, int rowStride, double[] v) {
+		double[] r = new double[3];
+		for (int row = 0; row < 3; row++) {
+			int o = row * rowStride;
+			r[row] = m[o] * v[0] + m[o + 1] * v[1] + m[o + 2] * v[2];
+		}
+		return r;
+	}
+
+	/**
+	 * Dot product of two 3 component vectors.
+	 *
+	 * @param a the a
+	 * @param b the b
+	 * @return the dot product
+	 */
+	private static double dot(double[] a, double[] b) {
+		return a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+	}
+
+	/**
+	 * {@code M * M^-1 = I} in both precisions and through the object API.
+	 */
+	@Test
+	void inverse() {
+		double[] inverse = new double[9];
+		assertTrue(Matrix3Operations.invert(GENERAL, 0, inverse, 0));
+		assertIdentity(GENERAL, 3, inverse, 0, false, 1e-15);
+
+		float[] inversef = new float[12];
+		assertTrue(Matrix3Operations.invert(toFloat(GENERAL), 0, inversef, 3));
+		assertIdentity(GENERAL, 3, toDouble(inversef), 3, false, 1e-6);
+
+		double[] aliased = GENERAL.clone();
+		assertTrue(Matrix3Operations.invert(aliased, 0, aliased, 0));
+		assertArrayEquals(inverse, aliased, 0);
+
+		Matrix3f objectf = Matrix3Operations.invertf(new Matrix3d(GENERAL.clone()));
+		assertIdentity(GENERAL, 3, toDouble(objectf.array()), 0, false, 1e-6);
+		Matrix3d objectd = Matrix3Operations.invertd(new Matrix3f(toFloat(GENERAL)));
+		assertIdentity(GENERAL, 3, objectd.array(), 0, false, 1e-6);
+	}
+
+	/**
+	 * A singular matrix reports failure and leaves the destination untouched.
+	 */
+	@Test
+	void singularInverse() {
+		double[] dest = { 7, 7, 7, 7, 7, 7, 7, 7, 7 };
+		assertFalse(Matrix3Operations.invert(SINGULAR, 0, dest, 0));
+		assertArrayEquals(new double[] { 7, 7, 7, 7, 7, 7, 7, 7, 7 }, dest, 0);
+
+		float[] destf = { 7, 7, 7, 7, 7, 7, 7, 7, 7 };
+		assertFalse(Matrix3Operations.invert(toFloat(SINGULAR), 0, destf, 0));
+		assertArrayEquals(new float[] { 7, 7, 7, 7, 7, 7, 7, 7, 7 }, destf, 0);
+
+		Matrix3 singular = new Matrix3d(SINGULAR.clone());
+		assertNull(Matrix3Operations.invertf(singular));
+		assertNull(Matrix3Operations.invertd(singular));
+	}
+
+	/**
+	 * The normal matrix is the inverse-transpose of the upper 3x3, so
+	 * {@code N^T * U = I}, and keeps a transformed normal perpendicular to a
+	 * transformed tangent under a non-uniform scale where {@code U} itself does
+	 * not.
+	 */
+	@Test
+	void normalMatrixIsInverseTranspose() {
+		double[] m = trs();
+		double[] normal = new double[9];
+		assertTrue(Matrix3Operations.normalMatrix(m, 0, normal, 0));
+		assertIdentity(normal, 3, upper(m), 0, true, 1e-15);
+
+		double[] n = { 1, 1, 0 };
+		double[] t = { 1, -1, 3 };
+		double[] un = transform(m, 4, n);
+		double[] ut = transform(m, 4, t);
+		double[] nn = transform(normal, 3, n);
+		assertEquals(0, dot(nn, ut), 1e-14);
+		assertTrue(Math.abs(dot(un, ut)) > 1, "the upper 3x3 alone should skew the normal");
+
+		float[] normalf = new float[9];
+		assertTrue(Matrix3Operations.normalMatrix(toFloat(m), 0, normalf, 0));
+		assertIdentity(toDouble(normalf), 3, upper(m), 0, true, 1e-6);
+
+		Matrix3f fromDouble = Matrix3Operations.normalMatrixf(new Matrix4d(m));
+		assertIdentity(toDouble(fromDouble.array()), 3, upper(m), 0, true, 1e-6);
+		Matrix3d fromFloat = Matrix3Operations.normalMatrixd(new Matrix4f(toFloat(m)));
+		assertIdentity(fromFloat.array(), 3, upper(m), 0, true, 1e-6);
+	}
+
+	/**
+	 * A singular upper 3x3 has no normal matrix: the single form returns null
+	 * and the batch leaves that slot untouched and counts it.
+	 */
+	@Test
+	void singularNormalMatrix() {
+		double[] m = trs();
+		double[] flat = m.clone();
+		flat[2] = flat[6] = flat[10] = 0;
+		assertNull(Matrix3Operations.normalMatrixf(new Matrix4d(flat)));
+		assertNull(Matrix3Operations.normalMatrixd(new Matrix4d(flat)));
+
+		float[] batch = new float[32];
+		System.arraycopy(toFloat(flat), 0, batch, 0, 16);
+		System.arraycopy(toFloat(m), 0, batch, 16, 16);
+		float[] dest = new float[18];
+		dest[0] = 7;
+		assertEquals(1, Matrix3Operations.normalMatrices(batch, 0, dest, 0, 2));
+		assertEquals(7, dest[0]);
+		double[] second = Arrays.copyOfRange(toDouble(dest), 9, 18);
+		assertIdentity(second, 3, upper(m), 0, true, 1e-6);
+	}
+}
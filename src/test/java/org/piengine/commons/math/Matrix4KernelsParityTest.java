@@ -0,0 +1,324 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import jdk.incubator.vector.FloatVector;
+
+/**
+ * Checks that {@link VectorMatrix4Kernels} agrees with
+ * {@link ScalarMatrix4Kernels} at every vector width the CPU offers. Each width
+ * selects a different code path: 4 lane rows at 128 bits, 8 lane half
+ * matrices at 256 bits and whole 16 lane matrices at 512 bits.
+ */
+class Matrix4KernelsParityTest {
+
+	/**
+	 * Tolerance of the products, in ulps of the largest result element. The 16
+	 * lane multiply rounds once per fused multiply-add where the scalar kernel
+	 * rounds twice; every other kernel must match the scalar one exactly.
+	 */
+	private static final int MULTIPLY_ULPS = 4;
+
+	/** The number of matrices per batch, not a multiple of any lane count. */
+	private static final int BATCH = 37;
+
+	/** The scalar reference. */
+	private final ScalarMatrix4Kernels scalar = new ScalarMatrix4Kernels();
+
+	/**
+	 * The vector kernels limited to a width, skipping widths the CPU lacks.
+	 *
+	 * @param bits the width
+	 * @return the vector matrix 4 kernels
+	 */
+	static VectorMatrix4Kernels kernels(int bits) {
+		assumeTrue(bits <= FloatVector.SPECIES_PREFERRED.vectorBitSize(),
+				() -> "no " + bits + "-bit vectors");
+		return new VectorMatrix4Kernels(bits);
+	}
+
+	/**
+	 * Random float matrices with dominant diagonals.
+	 *
+	 * @param random the random
+	 * @param count  the number of matrices
+	 * @return the float[]
+	 */
+	static float[] randomf(Random random, int count) {
+		float[] m = new float[count * 16];
+		for (int i = 0; i < m.length; i++) {
+			m[i] = random.nextFloat() * 2 - 1 + ((i & 15) % 5 == 0 ? 4 : 0);
+		}
+		return m;
+	}
+
+	/**
+	 * Random double matrices with dominant diagonals.
+	 *
+	 * @param random the random
+	 * @param count  the number of matrices
+	 * @return the double[]
+	 */
+	static double[] randomd(Random random, int count) {
+		double[] m = new double[count * 16];
+		for (int i = 0; i < m.length; i++) {
+			m[i] = random.nextDouble() * 2 - 1 + ((i & 15) % 5 == 0 ? 4 : 0);
+		}
+		return m;
+	}
+
+	/**
+	 * Asserts that each group of {@code width} elements agrees within a number of
+	 * ulps of that group's largest element.
+	 *
+	 * @param expected the expected
+	 * @param actual   the actual
+	 * @param width    the group width
+	 * @param ulps     the tolerance
+	 */
+	static void assertClose(float[] expected, float[] actual, int width, int ulps) {
+		assertEquals(expected.length, actual.length);
+		for (int g = 0; g < expected.length; g += width) {
+			float max = 0;
+			for (int i = g; i < g + width; i++) {
+				max = Math.max(max, Math.abs(expected[i]));
+			}
+			float tolerance = ulps * Math.ulp(max);
+			for (int i = g; i < g + width; i++) {
+				int at = i;
+				assertTrue(Math.abs(expected[i] - actual[i]) <= tolerance,
+						() -> "element " + at + ": " + expected[at] + " != " + actual[at]);
+			}
+		}
+	}
+
+	/**
+	 * Asserts that each group of {@code width} elements agrees within a number of
+	 * ulps of that group's largest element.
+	 *
+	 * @param expected the expected
+	 * @param actual   the actual
+	 * @param width    the group width
+	 * @param ulps     the tolerance
+	 */
+	static void assertClose(double[] expected, double[] actual, int width, int ulps) {
+		assertEquals(expected.length, actual.length);
+		for (int g = 0; g < expected.length; g += width) {
+			double max = 0;
+			for (int i = g; i < g + width; i++) {
+				max = Math.max(max, Math.abs(expected[i]));
+			}
+			double tolerance = ulps * Math.ulp(max);
+			for (int i = g; i < g + width; i++) {
+				int at = i;
+				assertTrue(Math.abs(expected[i] - actual[i]) <= tolerance,
+						() -> "element " + at + ": " + expected[at] + " != " + actual[at]);
+			}
+		}
+	}
+
+	/**
+	 * Multiply, transform, transpose and inverse of single float matrices.
+	 *
+	 * @param bits the vector width
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 128, 256, 512 })
+	void singleFloat(int bits) {
+		VectorMatrix4Kernels vector = kernels(bits);
+		Random random = new Random(bits);
+		for (int n = 0; n < 100; n++) {
+			float[] a = randomf(random, 1), b = randomf(random, 1);
+			float[] expected = new float[16], actual = new float[16];
+
+			scalar.multiply(a, 0, b, 0, expected, 0);
+			vector.multiply(a, 0, b, 0, actual, 0);
+			assertClose(expected, actual, 16, MULTIPLY_ULPS);
+
+			scalar.transpose(a, 0, expected, 0);
+			vector.transpose(a, 0, actual, 0);
+			assertArrayEquals(expected, actual);
+
+			float[] v = { b[0], b[1], b[2], 1 }, ev = new float[4], av = new float[4];
+			scalar.transform(a, 0, v, 0, ev, 0);
+			vector.transform(a, 0, v, 0, av, 0);
+			assertClose(ev, av, 4, MULTIPLY_ULPS);
+
+			assertEquals(scalar.invert(a, 0, expected, 0), vector.invert(a, 0, actual, 0));
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+	/**
+	 * Multiply, transform, transpose and inverse of single double matrices.
+	 *
+	 * @param bits the vector width
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 128, 256, 512 })
+	void singleDouble(int bits) {
+		VectorMatrix4Kernels vector = kernels(bits);
+		Random random = new Random(bits);
+		for (int n = 0; n < 100; n++) {
+			double[] a = randomd(random, 1), b = randomd(random, 1);
+			double[] expected = new double[16], actual = new double[16];
+
+			scalar.multiply(a, 0, b, 0, expected, 0);
+			vector.multiply(a, 0, b, 0, actual, 0);
+			assertClose(expected, actual, 16, MULTIPLY_ULPS);
+
+			scalar.transpose(a, 0, expected, 0);
+			vector.transpose(a, 0, actual, 0);
+			assertArrayEquals(expected, actual);
+
+			double[] v = { b[0], b[1], b[2], 1 }, ev = new double[4], av = new double[4];
+			scalar.transform(a, 0, v, 0, ev, 0);
+			vector.transform(a, 0, v, 0, av, 0);
+			assertClose(ev, av, 4, MULTIPLY_ULPS);
+
+			assertEquals(scalar.invert(a, 0, expected, 0), vector.invert(a, 0, actual, 0));
+			assertArrayEquals(expected, actual);
+		}
+	}
+
+	/**
+	 * Batch multiplies and transposes of float matrices.
+	 *
+	 * @param bits the vector width
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 128, 256, 512 })
+	void batchFloat(int bits) {
+		VectorMatrix4Kernels vector = kernels(bits);
+		Random random = new Random(bits);
+		float[] m = randomf(random, 1), b = randomf(random, BATCH);
+		float[] expected = new float[BATCH * 16], actual = new float[BATCH * 16];
+
+		scalar.multiplyLeft(m, 0, b, 0, expected, 0, BATCH);
+		vector.multiplyLeft(m, 0, b, 0, actual, 0, BATCH);
+		assertClose(expected, actual, 16, MULTIPLY_ULPS);
+
+		scalar.multiplyRight(b, 0, m, 0, expected, 0, BATCH);
+		vector.multiplyRight(b, 0, m, 0, actual, 0, BATCH);
+		assertClose(expected, actual, 16, MULTIPLY_ULPS);
+
+		scalar.transposeBatch(b, 0, expected, 0, BATCH);
+		vector.transposeBatch(b, 0, actual, 0, BATCH);
+		assertArrayEquals(expected, actual);
+	}
+
+	/**
+	 * Batch multiplies and transposes of double matrices.
+	 *
+	 * @param bits the vector width
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 128, 256, 512 })
+	void batchDouble(int bits) {
+		VectorMatrix4Kernels vector = kernels(bits);
+		Random random = new Random(bits);
+		double[] m = randomd(random, 1), b = randomd(random, BATCH);
+		double[] expected = new double[BATCH * 16], actual = new double[BATCH * 16];
+
+		scalar.multiplyLeft(m, 0, b, 0, expected, 0, BATCH);
+		vector.multiplyLeft(m, 0, b, 0, actual, 0, BATCH);
+		assertClose(expected, actual, 16, MULTIPLY_ULPS);
+
+		scalar.multiplyRight(b, 0, m, 0, expected, 0, BATCH);
+		vector.multiplyRight(b, 0, m, 0, actual, 0, BATCH);
+		assertClose(expected, actual, 16, MULTIPLY_ULPS);
+
+		scalar.transposeBatch(b, 0, expected, 0, BATCH);
+		vector.transposeBatch(b, 0, actual, 0, BATCH);
+		assertArrayEquals(expected, actual);
+	}
+
+	/**
+	 * Batch inversion of float matrices, some of them singular, starting inside a
+	 * bit set word. At 256 bits this runs the element-major block path, which
+	 * 512-bit CPUs otherwise never take.
+	 *
+	 * @param bits the vector width
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 128, 256, 512 })
+	void invertBatchFloat(int bits) {
+		VectorMatrix4Kernels vector = kernels(bits);
+		Random random = new Random(bits);
+		int first = 3, count = BATCH + 64;
+		float[] m = randomf(random, first + count);
+		for (int i = first; i < first + count; i += 7) {
+			Arrays.fill(m, i * 16, i * 16 + 4, 0f);
+		}
+		float[] expected = new float[m.length], actual = new float[m.length];
+		Arrays.fill(expected, -1f);
+		Arrays.fill(actual, -1f);
+		long[] expectedSingular = { -1L, -1L }, actualSingular = { -1L, -1L };
+
+		int expectedCount = scalar.invertBatch(m, 0, expected, 0, expectedSingular, first, count);
+		int actualCount = vector.invertBatch(m, 0, actual, 0, actualSingular, first, count);
+		assertEquals(expectedCount, actualCount);
+		assertArrayEquals(expectedSingular, actualSingular);
+		assertArrayEquals(expected, actual);
+	}
+
+	/**
+	 * Batch inversion of double matrices, some of them singular, starting inside
+	 * a bit set word.
+	 *
+	 * @param bits the vector width
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 128, 256, 512 })
+	void invertBatchDouble(int bits) {
+		VectorMatrix4Kernels vector = kernels(bits);
+		Random random = new Random(bits);
+		int first = 3, count = BATCH + 64;
+		double[] m = randomd(random, first + count);
+		for (int i = first; i < first + count; i += 7) {
+			Arrays.fill(m, i * 16, i * 16 + 4, 0d);
+		}
+		double[] expected = new double[m.length], actual = new double[m.length];
+		Arrays.fill(expected, -1d);
+		Arrays.fill(actual, -1d);
+		long[] expectedSingular = { -1L, -1L }, actualSingular = { -1L, -1L };
+
+		int expectedCount = scalar.invertBatch(m, 0, expected, 0, expectedSingular, first, count);
+		int actualCount = vector.invertBatch(m, 0, actual, 0, actualSingular, first, count);
+		assertEquals(expectedCount, actualCount);
+		assertArrayEquals(expectedSingular, actualSingular);
+		assertArrayEquals(expected, actual);
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+
+/**
+ * Tests for the point, direction and projective transforms of
+ * {@link MatrixBatchOperations}.
+ */
+class MatrixBatchOperationsTest {
+
+	/** Points per batch. */
+	private static final int COUNT = 37;
+
+	/** Elements between consecutive points of the interleaved buffers. */
+	private static final int STRIDE = 5;
+
+	/**
+	 * Random coordinates in [-10, 10).
+	 *
+	 * @param random the random
+	 * @param length the length
+	 * @return the float[]
+	 */
+	private static float[] random(Random random, int length) {
+		float[] a = new float[length];
+		for (int i = 0; i < length; i++) {
+			a[i] = random.nextFloat() * 20 - 10;
+		}
+		return a;
+	}
+
+	/**
+	 * The packed, interleaved and structure of arrays forms agree with each
+	 * other and with the single point and direction transforms, and leave the
+	 * attributes between interleaved points alone.
+	 */
+	@Test
+	void layoutsMatchSingleTransforms() {
+		Random random = new Random(16);
+		float[] m = MatrixOperationsTest.randomf(random);
+		m[12] = m[13] = m[14] = 0;
+		m[15] = 1;
+		Matrix4f matrix = new Matrix4f(m);
+		float[] packed = random(random, COUNT * 3);
+		float[] interleaved = random(random, 1 + COUNT * STRIDE);
+		float[] xs = new float[COUNT], ys = new float[COUNT], zs = new float[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			System.arraycopy(packed, i * 3, interleaved, 1 + i * STRIDE, 3);
+			xs[i] = packed[i * 3];
+			ys[i] = packed[i * 3 + 1];
+			zs[i] = packed[i * 3 + 2];
+		}
+		float[] original = interleaved.clone();
+
+		float[] points = new float[COUNT * 3];
+		MatrixBatchOperations.transformPoints(m, 0, packed, 0, points, 0, COUNT);
+		float[] strided = interleaved.clone();
+		MatrixBatchOperations.transformPoints(m, 0, strided, 1, STRIDE, strided, 1,
+				STRIDE, COUNT);
+		float[] ox = new float[COUNT], oy = new float[COUNT], oz = new float[COUNT];
+		MatrixBatchOperations.transformPoints(m, 0, xs, ys, zs, 0, ox, oy, oz, 0, COUNT);
+		for (int i = 0; i < COUNT; i++) {
+			Vector3D expected = MatrixOperations.transformPoint(matrix,
+					Vector3D.ofFloat(packed[i * 3], packed[i * 3 + 1], packed[i * 3 + 2]));
+			assertEquals(expected.xf(), points[i * 3], 1e-4f);
+			assertEquals(expected.yf(), points[i * 3 + 1], 1e-4f);
+			assertEquals(expected.zf(), points[i * 3 + 2], 1e-4f);
+			assertEquals(points[i * 3], strided[1 + i * STRIDE]);
+			assertEquals(points[i * 3 + 1], strided[2 + i * STRIDE]);
+			assertEquals(points[i * 3 + 2], strided[3 + i * STRIDE]);
+			assertEquals(points[i * 3], ox[i]);
+			assertEquals(points[i * 3 + 1], oy[i]);
+			assertEquals(points[i * 3 + 2], oz[i]);
+			assertEquals(original[4 + i * STRIDE], strided[4 + i * STRIDE]);
+			assertEquals(original[5 + i * STRIDE], strided[5 + i * STRIDE]);
+		}
+		assertEquals(original[0], strided[0]);
+
+		float[] directions = interleaved.clone();
+		MatrixBatchOperations.transformDirections(m, 0, directions, 1, STRIDE, directions, 1,
+				STRIDE, COUNT);
+		MatrixBatchOperations.transformDirections(m, 0, xs, ys, zs, 0, ox, oy, oz, 0, COUNT);
+		for (int i = 0; i < COUNT; i++) {
+			Vector3D expected = MatrixOperations.transformDirection(matrix,
+					Vector3D.ofFloat(xs[i], ys[i], zs[i]));
+			assertEquals(expected.xf(), directions[1 + i * STRIDE], 1e-4f);
+			assertEquals(expected.yf(), directions[2 + i * STRIDE], 1e-4f);
+			assertEquals(expected.zf(), directions[3 + i * STRIDE], 1e-4f);
+			assertArrayEquals(new float[] { directions[1 + i * STRIDE],
+					directions[2 + i * STRIDE], directions[3 + i * STRIDE] },
+					new float[] { ox[i], oy[i], oz[i] });
+		}
+	}
+
+	/**
+	 * The projective forms divide by {@code w} like the single transform, and a
+	 * point at {@code w = 0} comes out non-finite rather than being skipped.
+	 */
+	@Test
+	void projectDividesByW() {
+		float[] m = new float[16];
+		MatrixOperations.perspective((float) Math.toRadians(60), 1.5f, 0.1f, 100, m, 0, null, 0);
+		Matrix4f matrix = new Matrix4f(m);
+		float[] src = { 1, 2, -5, 0, 0, 0, -3, 1, -50 };
+		float[] dest = new float[9];
+		MatrixBatchOperations.transformProject(m, 0, src, 0, 3, dest, 0, 3, 3);
+		for (int i = 0; i < 3; i += 2) {
+			Vector3D expected = MatrixOperations.transformProject(matrix,
+					Vector3D.ofFloat(src[i * 3], src[i * 3 + 1], src[i * 3 + 2]));
+			assertEquals(expected.xf(), dest[i * 3], 1e-5f);
+			assertEquals(expected.yf(), dest[i * 3 + 1], 1e-5f);
+			assertEquals(expected.zf(), dest[i * 3 + 2], 1e-5f);
+		}
+		assertFalse(Float.isFinite(dest[5]));
+	}
+}
@@ -0,0 +1,699 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.piengine.commons.math.AllocationAssertions.assertAllocationFree;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.ColumnMajorMatrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.SegmentMatrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.TransformType;
+
+/**
+ * Tests for the destination-passing forms of {@link MatrixOperations}.
+ */
+class MatrixOperationsTest {
+
+	/**
+	 * Random row-major float matrix with a dominant diagonal, so it is invertible.
+	 *
+	 * @param random the random
+	 * @return the float[]
+	 */
+	static float[] randomf(Random random) {
+		float[] m = new float[16];
+		for (int i = 0; i < 16; i++) {
+			m[i] = random.nextFloat() * 2 - 1;
+		}
+		for (int i = 0; i < 16; i += 5) {
+			m[i] += 4;
+		}
+		return m;
+	}
+
+	/**
+	 * Random row-major double matrix with a dominant diagonal, so it is invertible.
+	 *
+	 * @param random the random
+	 * @return the double[]
+	 */
+	static double[] randomd(Random random) {
+		double[] m = new double[16];
+		for (int i = 0; i < 16; i++) {
+			m[i] = random.nextDouble() * 2 - 1;
+		}
+		for (int i = 0; i < 16; i += 5) {
+			m[i] += 4;
+		}
+		return m;
+	}
+
+	/**
+	 * The destination overloads allocate nothing once compiled.
+	 */
+	@Test
+	void destinationOverloadsDoNotAllocate() {
+		Random random = new Random(1);
+		float[] af = randomf(random), bf = randomf(random);
+		float[] df = new float[16];
+		double[] ad = randomd(random), bd = randomd(random);
+		double[] dd = new double[16];
+		Matrix4f mf = new Matrix4f(randomf(random)), nf = new Matrix4f(randomf(random));
+		Matrix4f rf = new Matrix4f();
+		Matrix4d md = new Matrix4d(randomd(random)), nd = new Matrix4d(randomd(random));
+		Matrix4d rd = new Matrix4d();
+
+		Runnable body = () -> {
+			MatrixOperations.multiply(af, 0, bf, 0, df, 0);
+			MatrixOperations.multiply(ad, 0, bd, 0, dd, 0);
+			MatrixOperations.translate(df, 0, 1, 2, 3, df, 0);
+			MatrixOperations.rotateX(dd, 0, 0.5, dd, 0);
+			MatrixOperations.rotateY(df, 0, 0.5f, df, 0);
+			MatrixOperations.rotateZ(dd, 0, 0.5, dd, 0);
+			MatrixOperations.scale(df, 0, 1, 1, 1, df, 0);
+			MatrixOperations.invert(af, 0, df, 0);
+			MatrixOperations.invert(ad, 0, dd, 0);
+			MatrixOperations.multiplyf(mf, nf, rf);
+			MatrixOperations.multiplyd(md, nd, rd);
+			mf.multiply(nf, rf).translate(1, 2, 3, rf).rotateZ(0.25, rf).scale(2, 2, 2, rf)
+					.invert(rf);
+			md.multiply(nd, rd).translate(1, 2, 3, rd).rotateX(0.25, rd).scale(2, 2, 2, rd)
+					.invert(rd);
+		};
+
+		assertAllocationFree(body);
+	}
+
+	/**
+	 * {@code multiplyf} and {@code multiplyd} allocate nothing for the mutable,
+	 * segment and column-major representations either.
+	 */
+	@Test
+	void multiplyOfEveryRepresentationDoesNotAllocate() {
+		Random random = new Random(7);
+		try (Arena arena = Arena.ofConfined()) {
+			Matrix4f f = new Matrix4f(randomf(random)), rf = new Matrix4f();
+			Matrix4d rd = new Matrix4d();
+			MutableMatrix4f mf = new MutableMatrix4f(new Matrix4f(randomf(random)));
+			MutableMatrix4d md = new MutableMatrix4d(new Matrix4d(randomd(random)));
+			SegmentMatrix4f sf = SegmentMatrix4f.allocate(arena)
+					.set(new Matrix4f(randomf(random)));
+			ColumnMajorMatrix4f cf = ColumnMajorMatrix4f.of(new Matrix4f(randomf(random)));
+
+			Runnable body = () -> {
+				MatrixOperations.multiplyf(mf, mf, rf);
+				MatrixOperations.multiplyf(f, md, rf);
+				MatrixOperations.multiplyf(sf, cf, rf);
+				MatrixOperations.multiplyf(cf, f, rf);
+				MatrixOperations.multiplyd(md, md, rd);
+				MatrixOperations.multiplyd(mf, md, rd);
+				MatrixOperations.multiplyd(sf, md, rd);
+				MatrixOperations.multiplyd(cf, sf, rd);
+			};
+
+			assertAllocationFree(body);
+		}
+	}
+
+	/**
+	 * Every representation multiplies to the packed product, including into a
+	 * destination that is also an operand.
+	 */
+	@Test
+	void multiplyOfEveryRepresentation() {
+		Random random = new Random(8);
+		float[] a = randomf(random), b = randomf(random);
+		float[] expected = MatrixOperations.multiply(a, b, new float[16]);
+		try (Arena arena = Arena.ofConfined()) {
+			Matrix4[] as = { new Matrix4f(a), new MutableMatrix4f(new Matrix4f(a)),
+					new MutableMatrix4d(new Matrix4f(a)),
+					SegmentMatrix4f.allocate(arena).set(new Matrix4f(a)),
+					ColumnMajorMatrix4f.of(new Matrix4f(a)) };
+			Matrix4[] bs = { new Matrix4f(b), new MutableMatrix4f(new Matrix4f(b)),
+					new MutableMatrix4d(new Matrix4f(b)),
+					SegmentMatrix4f.allocate(arena).set(new Matrix4f(b)),
+					ColumnMajorMatrix4f.of(new Matrix4f(b)) };
+			for (Matrix4 x : as) {
+				for (Matrix4 y : bs) {
+					assertArrayEquals(expected,
+							MatrixOperations.multiplyf(x, y, new Matrix4f()).array(), 1e-4f,
+							() -> x + " * " + y);
+					double[] d = MatrixOperations.multiplyd(x, y, new Matrix4d()).array();
+					for (int i = 0; i < 16; i++) {
+						assertEquals(expected[i], d[i], 1e-4, () -> x + " * " + y);
+					}
+				}
+			}
+
+			Matrix4f into = new Matrix4f(b.clone());
+			assertArrayEquals(expected,
+					MatrixOperations.multiplyf(as[3], into, into).array(), 1e-4f);
+			into = new Matrix4f(a.clone());
+			assertArrayEquals(expected,
+					MatrixOperations.multiplyf(into, bs[4], into).array(), 1e-4f);
+		}
+	}
+
+	/**
+	 * Multiply into the left operand gives the same result as into a fresh array.
+	 */
+	@Test
+	void multiplyIntoLeftOperand() {
+		Random random = new Random(2);
+		float[] a = randomf(random), b = randomf(random);
+		float[] expected = MatrixOperations.multiply(a, b, new float[16]);
+
+		assertArrayEquals(expected, MatrixOperations.multiply(a, b, a));
+
+		double[] ad = randomd(random), bd = randomd(random);
+		double[] expectedd = MatrixOperations.multiply(ad, bd, new double[16]);
+
+		assertArrayEquals(expectedd, MatrixOperations.multiply(ad, bd, ad));
+	}
+
+	/**
+	 * Multiply into the right operand gives the same result as into a fresh array.
+	 */
+	@Test
+	void multiplyIntoRightOperand() {
+		Random random = new Random(3);
+		float[] a = randomf(random), b = randomf(random);
+		float[] expected = MatrixOperations.multiply(a, b, new float[16]);
+
+		assertArrayEquals(expected, MatrixOperations.multiply(a, b, b));
+
+		double[] ad = randomd(random), bd = randomd(random);
+		double[] expectedd = MatrixOperations.multiply(ad, bd, new double[16]);
+
+		assertArrayEquals(expectedd, MatrixOperations.multiply(ad, bd, bd));
+	}
+
+	/**
+	 * Squaring in place, where the destination is both operands.
+	 */
+	@Test
+	void multiplyIntoBothOperands() {
+		float[] a = randomf(new Random(4));
+		float[] expected = MatrixOperations.multiply(a, a, new float[16]);
+
+		assertArrayEquals(expected, MatrixOperations.multiply(a, a, a));
+	}
+
+	/**
+	 * The record forms alias their destination the same way.
+	 */
+	@Test
+	void recordMultiplyIntoOperand() {
+		Random random = new Random(5);
+		Matrix4f a = new Matrix4f(randomf(random)), b = new Matrix4f(randomf(random));
+		float[] expected = a.multiply(b, new Matrix4f()).array().clone();
+
+		assertArrayEquals(expected, MatrixOperations.multiplyf(a, b, b).array());
+
+		Matrix4d c = new Matrix4d(randomd(random)), d = new Matrix4d(randomd(random));
+		double[] expectedd = c.multiply(d, new Matrix4d()).array().clone();
+
+		assertArrayEquals(expectedd, c.multiply(d, c).array());
+	}
+
+	/**
+	 * The in-place transform and inverse forms match their out-of-place results.
+	 */
+	@Test
+	void transformsInPlace() {
+		Random random = new Random(6);
+		float[] m = randomf(random);
+		float[] expected = new float[16];
+
+		MatrixOperations.translate(m, 0, 1, -2, 3, expected, 0);
+		MatrixOperations.translate(m, 0, 1, -2, 3, m, 0);
+		assertArrayEquals(expected, m);
+
+		MatrixOperations.rotateY(m, 0, 0.7f, expected, 0);
+		MatrixOperations.rotateY(m, 0, 0.7f, m, 0);
+		assertArrayEquals(expected, m);
+
+		MatrixOperations.scale(m, 0, 2, 3, 4, expected, 0);
+		MatrixOperations.scale(m, 0, 2, 3, 4, m, 0);
+		assertArrayEquals(expected, m);
+
+		assertTrue(MatrixOperations.invert(m, 0, expected, 0));
+		assertTrue(MatrixOperations.invert(m, 0, m, 0));
+		assertArrayEquals(expected, m);
+	}
+
+	/**
+	 * Asserts that {@code a * b} is the identity.
+	 *
+	 * @param a     the matrix
+	 * @param b     its claimed inverse
+	 * @param delta the tolerance
+	 */
+	static void assertInverse(float[] a, float[] b, float delta) {
+		float[] p = MatrixOperations.multiply(a, b, new float[16]);
+		for (int k = 0; k < 16; k++) {
+			assertEquals(k % 5 == 0 ? 1 : 0, p[k], delta, () -> Arrays.toString(p));
+		}
+	}
+
+	/**
+	 * Asserts that {@code a * b} is the identity.
+	 *
+	 * @param a     the matrix
+	 * @param b     its claimed inverse
+	 * @param delta the tolerance
+	 */
+	static void assertInverse(double[] a, double[] b, double delta) {
+		double[] p = MatrixOperations.multiply(a, b, new double[16]);
+		for (int k = 0; k < 16; k++) {
+			assertEquals(k % 5 == 0 ? 1 : 0, p[k], delta, () -> Arrays.toString(p));
+		}
+	}
+
+	/**
+	 * Normalized device depth of a view space point on the axis at
+	 * {@code -distance}.
+	 *
+	 * @param projection the projection
+	 * @param distance   the distance in front of the camera
+	 * @return the depth after the divide by w
+	 */
+	private static float depth(float[] projection, float distance) {
+		float[] clip = new float[4];
+		MatrixOperations.transform(projection, 0, new float[] { 0, 0, -distance, 1 }, 0, clip, 0);
+		return clip[2] / clip[3];
+	}
+
+	/**
+	 * Normalized device depth of a view space point on the axis at
+	 * {@code -distance}.
+	 *
+	 * @param projection the projection
+	 * @param distance   the distance in front of the camera
+	 * @return the depth after the divide by w
+	 */
+	private static double depth(double[] projection, double distance) {
+		double[] clip = new double[4];
+		MatrixOperations.transform(projection, 0, new double[] { 0, 0, -distance, 1 }, 0,
+				clip, 0);
+		return clip[2] / clip[3];
+	}
+
+	/**
+	 * Every float projection and view builder writes the inverse of what it
+	 * builds.
+	 */
+	@Test
+	void floatProjectionInverses() {
+		float[] m = new float[16], inverse = new float[16];
+		float fov = (float) Math.toRadians(60);
+
+		MatrixOperations.perspective(fov, 1.5f, 0.1f, 100, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-5f);
+		MatrixOperations.perspectiveInfinite(fov, 1.5f, 0.1f, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-5f);
+		MatrixOperations.perspectiveReverseZ(fov, 1.5f, 0.1f, 100, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-5f);
+		MatrixOperations.perspectiveReverseZ(fov, 1.5f, 0.1f, Float.POSITIVE_INFINITY, m, 0,
+				inverse, 0);
+		assertInverse(m, inverse, 1e-5f);
+		MatrixOperations.orthographic(-4, 2, -1, 3, 0.5f, 50, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-5f);
+		MatrixOperations.lookAt(1, 2, 3, -2, 0.5f, 7, 0, 1, 0, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-5f);
+	}
+
+	/**
+	 * Every double projection and view builder writes the inverse of what it
+	 * builds.
+	 */
+	@Test
+	void doubleProjectionInverses() {
+		double[] m = new double[16], inverse = new double[16];
+		double fov = Math.toRadians(60);
+
+		MatrixOperations.perspective(fov, 1.5, 0.1, 100, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-12);
+		MatrixOperations.perspectiveInfinite(fov, 1.5, 0.1, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-12);
+		MatrixOperations.perspectiveReverseZ(fov, 1.5, 0.1, 100, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-12);
+		MatrixOperations.perspectiveReverseZ(fov, 1.5, 0.1, Double.POSITIVE_INFINITY, m, 0,
+				inverse, 0);
+		assertInverse(m, inverse, 1e-12);
+		MatrixOperations.orthographic(-4, 2, -1, 3, 0.5, 50, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-12);
+		MatrixOperations.lookAt(1, 2, 3, -2, 0.5, 7, 0, 1, 0, m, 0, inverse, 0);
+		assertInverse(m, inverse, 1e-12);
+	}
+
+	/**
+	 * The near and far planes land on the depth range of each convention:
+	 * {@code [-1, 1]} for the standard and orthographic projections,
+	 * {@code [1, 0]} for reverse-Z, and the far end only in the limit for the
+	 * infinite ones.
+	 */
+	@Test
+	void depthMapping() {
+		float fov = (float) Math.toRadians(60);
+		float near = 0.5f, far = 200;
+		float[] m = new float[16];
+
+		MatrixOperations.perspective(fov, 1, near, far, m, 0, null, 0);
+		assertEquals(-1, depth(m, near), 1e-5f);
+		assertEquals(1, depth(m, far), 1e-5f);
+		MatrixOperations.perspectiveInfinite(fov, 1, near, m, 0, null, 0);
+		assertEquals(-1, depth(m, near), 1e-5f);
+		assertEquals(1, depth(m, 1e6f), 1e-5f);
+		assertTrue(depth(m, 1e6f) < 1);
+		MatrixOperations.perspectiveReverseZ(fov, 1, near, far, m, 0, null, 0);
+		assertEquals(1, depth(m, near), 1e-6f);
+		assertEquals(0, depth(m, far), 1e-6f);
+		MatrixOperations.perspectiveReverseZ(fov, 1, near, Float.POSITIVE_INFINITY, m, 0,
+				null, 0);
+		assertEquals(1, depth(m, near), 1e-6f);
+		assertEquals(0, depth(m, 1e6f), 1e-6f);
+		assertTrue(depth(m, 1e6f) > 0);
+		MatrixOperations.orthographic(-1, 1, -1, 1, near, far, m, 0, null, 0);
+		assertEquals(-1, m[10] * -near + m[11], 1e-6f);
+		assertEquals(1, m[10] * -far + m[11], 1e-6f);
+
+		double[] d = new double[16];
+		MatrixOperations.perspective(fov, 1, near, far, d, 0, null, 0);
+		assertEquals(-1, depth(d, near), 1e-12);
+		assertEquals(1, depth(d, far), 1e-12);
+		MatrixOperations.perspectiveInfinite(fov, 1, near, d, 0, null, 0);
+		assertEquals(-1, depth(d, near), 1e-12);
+		assertEquals(1, depth(d, 1e9), 1e-8);
+		MatrixOperations.perspectiveReverseZ(fov, 1, near, far, d, 0, null, 0);
+		assertEquals(1, depth(d, near), 1e-12);
+		assertEquals(0, depth(d, far), 1e-12);
+		MatrixOperations.perspectiveReverseZ(fov, 1, near, Double.POSITIVE_INFINITY, d, 0,
+				null, 0);
+		assertEquals(1, depth(d, near), 1e-12);
+		assertEquals(0, depth(d, 1e9), 1e-8);
+		MatrixOperations.orthographic(-1, 1, -1, 1, near, far, d, 0, null, 0);
+		assertEquals(-1, d[10] * -near + d[11], 1e-12);
+		assertEquals(1, d[10] * -far + d[11], 1e-12);
+	}
+
+	/**
+	 * The view matrix has an orthonormal, right-handed basis, takes the eye to
+	 * the origin and the center onto the negative z axis.
+	 */
+	@Test
+	void lookAtBasis() {
+		double[] m = new double[16];
+		MatrixOperations.lookAt(1, 2, 3, -2, 0.5, 7, 0.3, 1, 0, m, 0, null, 0);
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				double dot = m[i * 4] * m[j * 4] + m[i * 4 + 1] * m[j * 4 + 1]
+						+ m[i * 4 + 2] * m[j * 4 + 2];
+				assertEquals(i == j ? 1 : 0, dot, 1e-12);
+			}
+		}
+		double det = m[0] * (m[5] * m[10] - m[6] * m[9]) - m[1] * (m[4] * m[10] - m[6] * m[8])
+				+ m[2] * (m[4] * m[9] - m[5] * m[8]);
+		assertEquals(1, det, 1e-12);
+
+		double[] eye = new double[4], center = new double[4];
+		MatrixOperations.transform(m, 0, new double[] { 1, 2, 3, 1 }, 0, eye, 0);
+		MatrixOperations.transform(m, 0, new double[] { -2, 0.5, 7, 1 }, 0, center, 0);
+		assertArrayEquals(new double[] { 0, 0, 0, 1 }, eye, 1e-12);
+		assertEquals(0, center[0], 1e-12);
+		assertEquals(0, center[1], 1e-12);
+		assertEquals(-Math.sqrt(9 + 2.25 + 16), center[2], 1e-12);
+	}
+
+	/**
+	 * {@code lookAtf} rounds double vectors to float rather than saturating
+	 * the components that are not exactly floats.
+	 */
+	@Test
+	void lookAtfOfDoubleVectors() {
+		Matrix4f m = MatrixOperations.lookAtf(Vector3D.ofDouble(0.1, 0.2, 0.3),
+				Vector3D.ofDouble(-1.7, 0.5, 2.9), Vector3D.ofDouble(0, 1, 0.1));
+		float[] expected = new float[16];
+		MatrixOperations.lookAt(0.1f, 0.2f, 0.3f, -1.7f, 0.5f, 2.9f, 0, 1, 0.1f, expected,
+				0, null, 0);
+		assertArrayEquals(expected, m.array());
+	}
+
+	/**
+	 * Matrices of each kind, row-major: identity, translation, rotation with
+	 * translation, axis permutation, mirror, non-uniform scale, shear and
+	 * perspective projection.
+	 *
+	 * @return the matrices
+	 */
+	private static double[][] kinds() {
+		double[] rotation = new double[16];
+		MatrixOperations.compose(1, -2, 3, 0.3, -1.1, 0.7, 1, 1, 1, rotation, 0);
+		double[] scaled = new double[16];
+		MatrixOperations.compose(1, -2, 3, 0.3, -1.1, 0.7, 2, 0.5, 3, scaled, 0);
+		double[] projection = new double[16];
+		MatrixOperations.perspective(Math.toRadians(60), 1.5, 0.1, 100, projection, 0, null, 0);
+		return new double[][] {
+				{ 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 },
+				{ 1, 0, 0, 5, 0, 1, 0, -6, 0, 0, 1, 7, 0, 0, 0, 1 },
+				rotation,
+				{ 0, 1, 0, 2, 0, 0, 1, 3, 1, 0, 0, 4, 0, 0, 0, 1 },
+				{ -1, 0, 0, 2, 0, 1, 0, 3, 0, 0, 1, 4, 0, 0, 0, 1 },
+				scaled,
+				{ 1, 0.5, 0, 2, 0, 1, 0, 3, 0, 0, 1, 4, 0, 0, 0, 1 },
+				projection };
+	}
+
+	/** The type of each of {@link #kinds()}. */
+	private static final TransformType[] KIND_TYPES = {
+			TransformType.RIGID, TransformType.RIGID, TransformType.RIGID, TransformType.RIGID,
+			TransformType.RIGID, TransformType.AFFINE, TransformType.AFFINE,
+			TransformType.GENERAL };
+
+	/**
+	 * Converts a double matrix to float.
+	 *
+	 * @param m the matrix
+	 * @return the float[]
+	 */
+	private static float[] toFloat(double[] m) {
+		float[] f = new float[m.length];
+		for (int k = 0; k < m.length; k++) {
+			f[k] = (float) m[k];
+		}
+		return f;
+	}
+
+	/**
+	 * Identity, translation, rotation, permutation and mirror matrices are
+	 * rigid, scaled and sheared ones affine and projections general, in both
+	 * precisions.
+	 */
+	@Test
+	void classifyKinds() {
+		double[][] kinds = kinds();
+		for (int i = 0; i < kinds.length; i++) {
+			assertEquals(KIND_TYPES[i], MatrixOperations.classify(kinds[i], 0),
+					Arrays.toString(kinds[i]));
+			assertEquals(KIND_TYPES[i], MatrixOperations.classify(toFloat(kinds[i]), 0),
+					Arrays.toString(kinds[i]));
+		}
+	}
+
+	/**
+	 * The specialised inverse for each type, and the classified inverse, times
+	 * the matrix is the identity.
+	 */
+	@Test
+	void specialisedInverses() {
+		double[][] kinds = kinds();
+		for (int i = 0; i < kinds.length; i++) {
+			double[] m = kinds[i], inverse = new double[16];
+			float[] mf = toFloat(m), inversef = new float[16];
+			switch (KIND_TYPES[i]) {
+			case RIGID -> {
+				MatrixOperations.invertRigid(m, 0, inverse, 0);
+				assertInverse(m, inverse, 1e-12);
+				MatrixOperations.invertRigid(mf, 0, inversef, 0);
+				assertInverse(mf, inversef, 1e-5f);
+			}
+			case AFFINE -> {
+				assertTrue(MatrixOperations.invertAffine(m, 0, inverse, 0));
+				assertInverse(m, inverse, 1e-12);
+				assertTrue(MatrixOperations.invertAffine(mf, 0, inversef, 0));
+				assertInverse(mf, inversef, 1e-5f);
+			}
+			case GENERAL -> {
+			}
+			}
+
+			assertTrue(MatrixOperations.invertClassified(m, 0, inverse, 0));
+			assertInverse(m, inverse, 1e-12);
+			assertTrue(MatrixOperations.invertClassified(mf, 0, inversef, 0));
+			assertInverse(mf, inversef, 1e-4f);
+			assertTrue(MatrixOperations.invert(m, 0, inverse, 0, KIND_TYPES[i]));
+			assertInverse(m, inverse, 1e-12);
+		}
+	}
+
+	/**
+	 * A matrix declared rigid or affine that is not falls back to the general
+	 * inverse rather than returning a wrong one.
+	 */
+	@Test
+	void misdeclaredTypeFallsBackToGeneral() {
+		double[][] kinds = kinds();
+		for (int i = 0; i < kinds.length; i++) {
+			double[] m = kinds[i];
+			float[] mf = toFloat(m);
+			double[] general = new double[16];
+			float[] generalf = new float[16];
+			MatrixOperations.invert(m, 0, general, 0);
+			MatrixOperations.invert(mf, 0, generalf, 0);
+
+			for (TransformType declared : List.of(TransformType.RIGID, TransformType.AFFINE)) {
+				boolean holds = declared == TransformType.RIGID
+						? KIND_TYPES[i] == TransformType.RIGID
+						: KIND_TYPES[i] != TransformType.GENERAL;
+				if (holds) {
+					continue;
+				}
+				double[] inverse = new double[16];
+				assertTrue(MatrixOperations.invert(m, 0, inverse, 0, declared));
+				assertArrayEquals(general, inverse, declared + " " + Arrays.toString(m));
+				float[] inversef = new float[16];
+				assertTrue(MatrixOperations.invert(mf, 0, inversef, 0, declared));
+				assertArrayEquals(generalf, inversef, declared + " " + Arrays.toString(m));
+			}
+		}
+	}
+
+	/**
+	 * A singular affine matrix is reported as such by every path and leaves
+	 * the destination untouched.
+	 */
+	@Test
+	void singularInverses() {
+		double[] m = { 1, 2, 3, 4, 2, 4, 6, 5, 0, 0, 1, 6, 0, 0, 0, 1 };
+		double[] dest = new double[16];
+		Arrays.fill(dest, 9);
+		assertEquals(TransformType.AFFINE, MatrixOperations.classify(m, 0));
+		assertFalse(MatrixOperations.invertAffine(m, 0, dest, 0));
+		assertFalse(MatrixOperations.invertClassified(m, 0, dest, 0));
+		assertFalse(MatrixOperations.invert(m, 0, dest, 0, TransformType.AFFINE));
+		assertFalse(MatrixOperations.invert(m, 0, dest, 0));
+		double[] untouched = new double[16];
+		Arrays.fill(untouched, 9);
+		assertArrayEquals(untouched, dest);
+	}
+
+	/**
+	 * The fused float TRS matrices equal the chained product
+	 * {@code T * Rx * Ry * Rz * S} under a non-uniform scale and a rotation
+	 * about all three axes, in arrays, records and segments.
+	 */
+	@Test
+	void floatComposeMatchesChainedProduct() {
+		float tx = 1.5f, ty = -2, tz = 3.25f, rx = 0.4f, ry = -1.3f;
+		float rz = 2.2f, sx = 2, sy = 0.5f, sz = -3;
+		float[] chained = MatrixOperations.translationf(tx, ty, tz).array().clone();
+		MatrixOperations.multiply(chained, MatrixOperations.rotationXf(rx).array(), chained);
+		MatrixOperations.multiply(chained, MatrixOperations.rotationYf(ry).array(), chained);
+		MatrixOperations.multiply(chained, MatrixOperations.rotationZf(rz).array(), chained);
+		MatrixOperations.multiply(chained,
+				MatrixOperations.scalingf(sx, sy, sz).array(), chained);
+
+		float[] fused = new float[20];
+		MatrixOperations.compose(tx, ty, tz, rx, ry, rz, sx, sy, sz, fused, 4);
+		assertArrayEquals(chained, Arrays.copyOfRange(fused, 4, 20), 1e-5f);
+		assertArrayEquals(chained,
+				MatrixOperations.composef(tx, ty, tz, rx, ry, rz, sx, sy, sz).array(), 1e-5f);
+
+		try (Arena arena = Arena.ofConfined()) {
+			MemorySegment segment = arena.allocate(16 * Float.BYTES);
+			MatrixOperations.compose(tx, ty, tz, rx, ry, rz, sx, sy, sz, segment, 0);
+			float[] loaded = new float[16];
+			MatrixOperations.load(segment, 0, loaded, 0);
+			assertArrayEquals(Arrays.copyOfRange(fused, 4, 20), loaded);
+		}
+
+		float[] rotation = MatrixOperations.rotationXf(rx).array().clone();
+		MatrixOperations.multiply(rotation, MatrixOperations.rotationYf(ry).array(), rotation);
+		MatrixOperations.multiply(rotation, MatrixOperations.rotationZf(rz).array(), rotation);
+		float[] rotation3 = new float[9];
+		for (int row = 0; row < 3; row++) {
+			System.arraycopy(rotation, row * 4, rotation3, row * 3, 3);
+		}
+		MatrixOperations.compose(tx, ty, tz, rotation3, 0, sx, sy, sz, fused, 0);
+		assertArrayEquals(chained, Arrays.copyOfRange(fused, 0, 16), 1e-5f);
+	}
+
+	/**
+	 * The fused double TRS matrices equal the chained product
+	 * {@code T * Rx * Ry * Rz * S} under a non-uniform scale and a rotation
+	 * about all three axes.
+	 */
+	@Test
+	void doubleComposeMatchesChainedProduct() {
+		double tx = 1.5, ty = -2, tz = 3.25, rx = 0.4, ry = -1.3;
+		double rz = 2.2, sx = 2, sy = 0.5, sz = -3;
+		double[] chained = MatrixOperations.translationd(tx, ty, tz).array().clone();
+		MatrixOperations.multiply(chained, MatrixOperations.rotationXd(rx).array(), chained);
+		MatrixOperations.multiply(chained, MatrixOperations.rotationYd(ry).array(), chained);
+		MatrixOperations.multiply(chained, MatrixOperations.rotationZd(rz).array(), chained);
+		MatrixOperations.multiply(chained,
+				MatrixOperations.scalingd(sx, sy, sz).array(), chained);
+
+		double[] fused = new double[16];
+		MatrixOperations.compose(tx, ty, tz, rx, ry, rz, sx, sy, sz, fused, 0);
+		assertArrayEquals(chained, fused, 1e-14);
+		assertArrayEquals(chained,
+				MatrixOperations.composed(tx, ty, tz, rx, ry, rz, sx, sy, sz).array(), 1e-14);
+
+		double[] rotation = MatrixOperations.rotationXd(rx).array().clone();
+		MatrixOperations.multiply(rotation, MatrixOperations.rotationYd(ry).array(), rotation);
+		MatrixOperations.multiply(rotation, MatrixOperations.rotationZd(rz).array(), rotation);
+		double[] rotation3 = new double[9];
+		for (int row = 0; row < 3; row++) {
+			System.arraycopy(rotation, row * 4, rotation3, row * 3, 3);
+		}
+		MatrixOperations.compose(tx, ty, tz, rotation3, 0, sx, sy, sz, fused, 0);
+		assertArrayEquals(chained, fused, 1e-14);
+	}
+}
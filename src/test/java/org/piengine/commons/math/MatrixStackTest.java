@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix3;
+import org.piengine.commons.math.Matrix.Matrix4;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.MatrixStack.MatrixStackd;
+import org.piengine.commons.math.MatrixStack.MatrixStackf;
+
+/**
+ * Level bookkeeping, composition and normal matrix caching of
+ * {@link MatrixStack}.
+ */
+class MatrixStackTest {
+
+	/** A general affine matrix with inexact elements. */
+	private static final Matrix4d LOCAL = new Matrix4d(new double[] {
+			0.9, -0.1, 0.3, 1.5,
+			0.2, 1.1, -0.4, -2.5,
+			-0.3, 0.25, 0.7, 0.1,
+			0, 0, 0, 1
+	});
+
+	/**
+	 * Asserts two matrices agree element-wise.
+	 *
+	 * @param expected the expected matrix
+	 * @param actual   the actual matrix
+	 * @param delta    the tolerance
+	 */
+	private static void assertMatrix(Matrix4 expected, Matrix4 actual, double delta) {
+		for (int row = 0; row < 4; row++) {
+			assertEquals(expected.xd(row), actual.xd(row), delta, "row " + row);
+			assertEquals(expected.yd(row), actual.yd(row), delta, "row " + row);
+			assertEquals(expected.zd(row), actual.zd(row), delta, "row " + row);
+			assertEquals(expected.wd(row), actual.wd(row), delta, "row " + row);
+		}
+	}
+
+	/**
+	 * Asserts the stack's normal matrix is the inverse-transpose of its current
+	 * top matrix.
+	 *
+	 * @param stack the stack
+	 * @param delta the tolerance
+	 */
+	private static void assertFreshNormal(MatrixStack stack, double delta) {
+		double[] expected = Matrix3Operations.normalMatrixd(stack.top()).array();
+		Matrix3 actual = stack.normalMatrix();
+		for (int row = 0; row < 3; row++) {
+			assertEquals(expected[row * 3], actual.xd(row), delta, "row " + row);
+			assertEquals(expected[row * 3 + 1], actual.yd(row), delta, "row " + row);
+			assertEquals(expected[row * 3 + 2], actual.zd(row), delta, "row " + row);
+		}
+	}
+
+	/**
+	 * The explicit product {@code a * b}.
+	 *
+	 * @param a the a
+	 * @param b the b
+	 * @return the product
+	 */
+	private static Matrix4d times(Matrix4 a, Matrix4 b) {
+		return MatrixOperations.multiplyd(a, b);
+	}
+
+	/**
+	 * Pushes and pops balance, restore each level, survive growth past the
+	 * initial capacity, and popping the bottom level throws.
+	 */
+	@Test
+	void pushPopBalance() {
+		MatrixStack[] stacks = { new MatrixStackf(2), new MatrixStackd(2) };
+		for (MatrixStack stack : stacks) {
+			assertEquals(0, stack.depth());
+			assertThrows(IllegalStateException.class, stack::pop);
+
+			for (int level = 1; level <= 40; level++) {
+				stack.push();
+				stack.translateTop(1, 0, 0);
+				assertEquals(level, stack.depth());
+			}
+			for (int level = 40; level > 0; level--) {
+				assertEquals(level, stack.top().wd(0), 0);
+				stack.pop();
+			}
+
+			assertEquals(0, stack.depth());
+			assertMatrix(MatrixOperations.scalingd(1, 1, 1), stack.top(), 0);
+			assertThrows(IllegalStateException.class, stack::pop);
+			assertEquals(0, stack.depth());
+		}
+	}
+
+	/**
+	 * Translate, rotate, scale and multiply compose on the right, matching the
+	 * explicit product of the same matrices.
+	 */
+	@Test
+	void compositionMatchesExplicitProduct() {
+		Matrix4d expected = MatrixOperations.translationd(1, -2, 3);
+		expected = times(expected, MatrixOperations.rotationXd(0.3));
+		expected = times(expected, MatrixOperations.rotationYd(-0.7));
+		expected = times(expected, MatrixOperations.rotationZd(1.1));
+		expected = times(expected, MatrixOperations.scalingd(2, 0.5, 3));
+		expected = times(expected, LOCAL);
+
+		MatrixStack[] stacks = { new MatrixStackf(), new MatrixStackd() };
+		double[] deltas = { 1e-5, 1e-14 };
+		for (int i = 0; i < stacks.length; i++) {
+			MatrixStack stack = stacks[i];
+			stack.translateTop(1, -2, 3);
+			stack.rotateXTop(0.3);
+			stack.rotateYTop(-0.7);
+			stack.rotateZTop(1.1);
+			stack.scaleTop(2, 0.5, 3);
+			stack.mulTop(LOCAL);
+			assertMatrix(expected, stack.top(), deltas[i]);
+
+			stack.push();
+			stack.mulTop(LOCAL);
+			assertMatrix(times(expected, LOCAL), stack.top(), deltas[i] * 10);
+			stack.pop();
+			assertMatrix(expected, stack.top(), deltas[i]);
+
+			stack.load(LOCAL);
+			assertMatrix(LOCAL, stack.top(), deltas[i]);
+		}
+	}
+
+	/**
+	 * The cached normal matrix follows every mutation of the top level and,
+	 * after a pop, is that of the restored level rather than the popped one.
+	 */
+	@Test
+	void normalMatrixIsNeverStale() {
+		MatrixStack[] stacks = { new MatrixStackf(), new MatrixStackd() };
+		for (MatrixStack stack : stacks) {
+			double delta = stack instanceof MatrixStackf ? 1e-5 : 1e-13;
+
+			assertFreshNormal(stack, delta);
+			stack.scaleTop(2, 0.5, 3);
+			assertFreshNormal(stack, delta);
+			stack.rotateXTop(0.4);
+			assertFreshNormal(stack, delta);
+			stack.rotateYTop(0.5);
+			assertFreshNormal(stack, delta);
+			stack.rotateZTop(0.6);
+			assertFreshNormal(stack, delta);
+			stack.translateTop(4, 5, 6);
+			assertFreshNormal(stack, delta);
+			stack.mulTop(LOCAL);
+			assertFreshNormal(stack, delta);
+			double[] parent = Matrix3Operations.normalMatrixd(stack.top()).array();
+
+			stack.push();
+			assertFreshNormal(stack, delta);
+			stack.scaleTop(1, 4, 1);
+			assertFreshNormal(stack, delta);
+			stack.pop();
+			assertFreshNormal(stack, delta);
+			assertArrayEquals(parent, Matrix3Operations.normalMatrixd(stack.top()).array(), 0);
+
+			// the parent's cache was never filled before this push
+			stack.scaleTop(3, 1, 1);
+			stack.push();
+			stack.rotateZTop(1);
+			assertFreshNormal(stack, delta);
+			stack.pop();
+			assertFreshNormal(stack, delta);
+
+			stack.load(LOCAL);
+			assertFreshNormal(stack, delta);
+			stack.loadIdentity();
+			assertFreshNormal(stack, 0);
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.piengine.commons.math.AllocationAssertions.assertAllocationFree;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix4.ColumnMajorMatrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.ColumnMajorMatrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.MutableMatrix4f;
+
+/**
+ * Tests for {@link MutableMatrix4f}, {@link MutableMatrix4d} and
+ * {@link MatrixPool}. The in-place methods run the packed kernels, so their
+ * results are compared exactly with the same chain on a packed array.
+ */
+class MutableMatrix4Test {
+
+	/** Identity, row-major. */
+	private static final float[] IDENTITY = { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 };
+
+	/**
+	 * The float in-place chain matches the packed chain, and inversion undoes
+	 * the product.
+	 */
+	@Test
+	void floatChainMatchesPacked() {
+		Random random = new Random(12);
+		float[] a = MatrixOperationsTest.randomf(random);
+		float[] b = MatrixOperationsTest.randomf(random);
+		float[] expected = a.clone();
+		MatrixOperations.multiply(expected, 0, b, 0, expected, 0);
+		MatrixOperations.multiply(expected, 0, a, 0, expected, 0);
+		MatrixOperations.multiply(b, 0, expected, 0, expected, 0);
+		MatrixOperations.translate(expected, 0, 1, 2, 3, expected, 0);
+		MatrixOperations.rotateX(expected, 0, 0.1f, expected, 0);
+		MatrixOperations.rotateY(expected, 0, 0.2f, expected, 0);
+		MatrixOperations.rotateZ(expected, 0, 0.3f, expected, 0);
+		MatrixOperations.scale(expected, 0, 2, 3, 4, expected, 0);
+		MatrixOperations.transpose(expected, 0, expected, 0);
+
+		MutableMatrix4f mb = new MutableMatrix4f(new Matrix4f(b));
+		MutableMatrix4f m = new MutableMatrix4f(new Matrix4f(a))
+				.mulLocal(mb)
+				.mulLocal(new Matrix4f(a))
+				.premulLocal(mb)
+				.translateLocal(1, 2, 3)
+				.rotateXLocal(0.1f)
+				.rotateYLocal(0.2f)
+				.rotateZLocal(0.3f)
+				.scaleLocal(2, 3, 4)
+				.transposeLocal();
+		assertArrayEquals(expected, m.array());
+
+		float[] product = new float[16];
+		MutableMatrix4f inverse = new MutableMatrix4f(m);
+		assertTrue(inverse.invertLocal());
+		MatrixOperations.multiply(m.array(), 0, inverse.array(), 0, product, 0);
+		assertArrayEquals(IDENTITY, product, 1e-4f);
+	}
+
+	/**
+	 * The double in-place chain matches the packed chain.
+	 */
+	@Test
+	void doubleChainMatchesPacked() {
+		Random random = new Random(13);
+		double[] a = MatrixOperationsTest.randomd(random);
+		double[] b = MatrixOperationsTest.randomd(random);
+		double[] expected = a.clone();
+		MatrixOperations.multiply(expected, 0, b, 0, expected, 0);
+		MatrixOperations.multiply(expected, 0, a, 0, expected, 0);
+		MatrixOperations.multiply(b, 0, expected, 0, expected, 0);
+		MatrixOperations.translate(expected, 0, 1, 2, 3, expected, 0);
+		MatrixOperations.rotateX(expected, 0, 0.1, expected, 0);
+		MatrixOperations.rotateY(expected, 0, 0.2, expected, 0);
+		MatrixOperations.rotateZ(expected, 0, 0.3, expected, 0);
+		MatrixOperations.scale(expected, 0, 2, 3, 4, expected, 0);
+		MatrixOperations.transpose(expected, 0, expected, 0);
+
+		MutableMatrix4d mb = new MutableMatrix4d(new Matrix4d(b));
+		MutableMatrix4d m = new MutableMatrix4d(new Matrix4d(a))
+				.mulLocal(mb)
+				.mulLocal(new Matrix4d(a))
+				.premulLocal(mb)
+				.translateLocal(1, 2, 3)
+				.rotateXLocal(0.1)
+				.rotateYLocal(0.2)
+				.rotateZLocal(0.3)
+				.scaleLocal(2, 3, 4)
+				.transposeLocal();
+		assertArrayEquals(expected, m.array());
+
+		double[] product = new double[16];
+		MutableMatrix4d inverse = new MutableMatrix4d(m);
+		assertTrue(inverse.invertLocal());
+		MatrixOperations.multiply(m.array(), 0, inverse.array(), 0, product, 0);
+		for (int i = 0; i < 16; i++) {
+			assertEquals(IDENTITY[i], product[i], 1e-10);
+		}
+	}
+
+	/**
+	 * {@code set} copies from every representation, {@code toMatrix4f} and
+	 * {@code toMatrix4d} are snapshots, and a singular matrix is left as it was.
+	 */
+	@Test
+	void copiesAndSingularInvert() {
+		float[] a = MatrixOperationsTest.randomf(new Random(14));
+		Matrix4f source = new Matrix4f(a);
+		assertArrayEquals(a, new MutableMatrix4f().set(source).array());
+		assertArrayEquals(a, new MutableMatrix4f().set(ColumnMajorMatrix4f.of(source)).array());
+
+		// accessor-only double matrices are narrowed, not read through xf()
+		double[] b = MatrixOperationsTest.randomd(new Random(15));
+		ColumnMajorMatrix4d sourced = ColumnMajorMatrix4d.of(new Matrix4d(b));
+		float[] copy = new MutableMatrix4f().set(sourced).array();
+		float[] columns = ColumnMajorMatrix4f.of(new Matrix4d(b)).array();
+		float[] product = MatrixOperations.multiplyf(sourced, sourced).array();
+		double[] productd = MatrixOperations.multiplyd(sourced, sourced).array();
+		for (int i = 0; i < 16; i++) {
+			assertEquals((float) b[i], copy[i]);
+			assertEquals((float) b[i], columns[i]);
+			assertEquals(productd[i], product[i], 1e-5 * (1 + Math.abs(productd[i])));
+		}
+
+		MutableMatrix4f m = new MutableMatrix4f(source);
+		Matrix4f snapshot = m.toMatrix4f();
+		m.setIdentity();
+		assertArrayEquals(a, snapshot.array());
+		assertArrayEquals(IDENTITY, m.array());
+
+		MutableMatrix4d d = new MutableMatrix4d(source);
+		for (int i = 0; i < 16; i++) {
+			assertEquals(a[i], d.array()[i]);
+		}
+		Matrix4d snapshotd = d.toMatrix4d();
+		d.setIdentity();
+		assertEquals(a[0], snapshotd.array()[0]);
+
+		float[] singular = new float[16];
+		singular[0] = 1;
+		MutableMatrix4f s = new MutableMatrix4f(new Matrix4f(singular));
+		assertFalse(s.invertLocal());
+		assertArrayEquals(singular, s.array());
+	}
+
+	/**
+	 * Releasing a mark recycles the matrices borrowed since, reset to the
+	 * identity, and marks must be released innermost first.
+	 */
+	@Test
+	void poolRecyclesInStackOrder() {
+		MatrixPool pool = MatrixPool.get();
+		assertSame(pool, MatrixPool.get());
+
+		long outer = pool.mark();
+		MutableMatrix4f f = pool.matrix4f();
+		MutableMatrix4d d = pool.matrix4d();
+		f.translateLocal(1, 2, 3);
+		d.scaleLocal(2, 2, 2);
+
+		long inner = pool.mark();
+		MutableMatrix4f g = pool.matrix4f();
+		assertNotSame(f, g);
+		pool.release(inner);
+		assertSame(g, pool.matrix4f());
+
+		pool.release(outer);
+		assertThrows(IllegalStateException.class, () -> pool.release(inner));
+
+		assertSame(f, pool.matrix4f());
+		assertSame(d, pool.matrix4d());
+		assertArrayEquals(IDENTITY, f.array());
+		assertEquals(1, d.array()[0]);
+		pool.release(outer);
+
+		long deep = pool.mark();
+		MutableMatrix4f[] borrowed = new MutableMatrix4f[100];
+		for (int i = 0; i < borrowed.length; i++) {
+			borrowed[i] = pool.matrix4f();
+			for (int j = 0; j < i; j++) {
+				assertNotSame(borrowed[j], borrowed[i]);
+			}
+		}
+		pool.release(deep);
+	}
+
+	/**
+	 * Each thread has its own pool.
+	 */
+	@Test
+	void poolIsPerThread() {
+		MatrixPool other = CompletableFuture.supplyAsync(MatrixPool::get).join();
+		assertNotSame(MatrixPool.get(), other);
+	}
+
+	/**
+	 * A warmed-up pool hands out temporaries without allocating.
+	 */
+	@Test
+	void poolSteadyStateDoesNotAllocate() {
+		MatrixPool pool = MatrixPool.get();
+		Runnable frame = () -> {
+			long mark = pool.mark();
+			try {
+				for (int i = 0; i < 8; i++) {
+					pool.matrix4f().translateLocal(i, 0, 0);
+					pool.matrix4d().rotateZLocal(i);
+				}
+			} finally {
+				pool.release(mark);
+			}
+		};
+
+		assertAllocationFree(frame);
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.piengine.commons.math.AllocationAssertions.assertAllocationFree;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Vector3D.MutableVector3d;
+import org.piengine.commons.math.Vector3D.MutableVector3f;
+import org.piengine.commons.math.Vector3D.Vector3d;
+import org.piengine.commons.math.Vector3D.Vector3f;
+
+/**
+ * Tests for {@link MutableVector3f} and {@link MutableVector3d} against the
+ * immutable {@link Vector3D} operations.
+ */
+class MutableVector3Test {
+
+	/** Vectors per comparison. */
+	private static final int COUNT = 1000;
+
+	/**
+	 * Asserts that two vectors have the same components, within a tolerance.
+	 *
+	 * @param expected  the expected
+	 * @param actual    the actual
+	 * @param tolerance the tolerance
+	 */
+	private static void assertVector(Vector3D expected, Vector3D actual, double tolerance) {
+		assertEquals(expected.xd(), actual.xd(), tolerance);
+		assertEquals(expected.yd(), actual.yd(), tolerance);
+		assertEquals(expected.zd(), actual.zd(), tolerance);
+	}
+
+	/**
+	 * Random float vector with components in [-10, 10).
+	 *
+	 * @param random the random
+	 * @return the vector 3 f
+	 */
+	private static Vector3f randomf(Random random) {
+		return new Vector3f(random.nextFloat() * 20 - 10, random.nextFloat() * 20 - 10,
+				random.nextFloat() * 20 - 10);
+	}
+
+	/**
+	 * The float in-place and destination forms give what the immutable
+	 * operations give: exactly for the component-wise ones, within rounding for
+	 * cross and normalize, which the immutable forms may compute in double.
+	 */
+	@Test
+	void floatFormsMatchImmutable() {
+		Random random = new Random(22);
+		MutableVector3f dest = new MutableVector3f();
+		for (int i = 0; i < COUNT; i++) {
+			Vector3f a = randomf(random), b = randomf(random);
+			float f = random.nextFloat() * 4 - 2;
+
+			assertVector(a.add(b), new MutableVector3f(a).addLocal(b), 0);
+			assertVector(a.subtract(b), new MutableVector3f(a).subtractLocal(b), 0);
+			assertVector(a.scale(f), new MutableVector3f(a).scaleLocal(f), 0);
+			assertVector(a.add(b.scale(f)), new MutableVector3f(a).addScaledLocal(b, f), 1e-5);
+			assertVector(a.scale(-1), new MutableVector3f(a).negateLocal(), 0);
+			assertVector(a.cross(b), new MutableVector3f(a).crossLocal(b), 1e-4);
+			assertVector(a.normalize(), new MutableVector3f(a).normalizeLocal(), 1e-6);
+			assertVector(a.add(b.subtract(a).scale(f)),
+					new MutableVector3f(a).lerpLocal(b, f), 1e-4);
+
+			MutableVector3f m = new MutableVector3f(a);
+			assertSame(dest, m.addInto(b, dest));
+			assertVector(a.add(b), dest, 0);
+			assertVector(a.subtract(b), m.subtractInto(b, dest), 0);
+			assertVector(a.scale(f), m.scaleInto(f, dest), 0);
+			assertVector(a.cross(b), m.crossInto(b, dest), 1e-4);
+			assertVector(a.normalize(), m.normalizeInto(dest), 1e-6);
+			assertVector(a, m, 0);
+			assertEquals(a, m.toVector3f());
+		}
+	}
+
+	/**
+	 * A double argument to the float forms is narrowed, giving what its float
+	 * counterpart gives rather than reading saturated float accessors.
+	 */
+	@Test
+	void floatFormsNarrowDoubleArguments() {
+		Random random = new Random(24);
+		for (int i = 0; i < COUNT; i++) {
+			Vector3f a = randomf(random);
+			double x = random.nextGaussian(), y = random.nextGaussian();
+			double z = random.nextGaussian();
+			Vector3d bd = new Vector3d(x, y, z);
+			Vector3f b = new Vector3f((float) x, (float) y, (float) z);
+			float f = random.nextFloat() * 4 - 2;
+
+			assertVector(a.add(b), a.add(bd), 0);
+			assertVector(a.subtract(b), a.subtract(bd), 0);
+			assertVector(b, new MutableVector3f().set(bd), 0);
+			assertVector(a.add(b), new MutableVector3f(a).addLocal(bd), 0);
+			assertVector(a.subtract(b), new MutableVector3f(a).subtractLocal(bd), 0);
+			assertVector(a.add(b), new MutableVector3f(a).add(bd), 0);
+			assertVector(a.subtract(b), new MutableVector3f(a).subtract(bd), 0);
+			MutableVector3f scaled = new MutableVector3f(a).addScaledLocal(b, f);
+			assertVector(scaled, new MutableVector3f(a).addScaledLocal(bd, f), 0);
+			MutableVector3f cross = new MutableVector3f(a).crossLocal(b);
+			assertVector(cross, new MutableVector3f(a).crossLocal(bd), 0);
+			MutableVector3f lerp = new MutableVector3f(a).lerpLocal(b, f);
+			assertVector(lerp, new MutableVector3f(a).lerpLocal(bd, f), 0);
+		}
+	}
+
+	/**
+	 * The double forms give what the immutable double operations give.
+	 */
+	@Test
+	void doubleFormsMatchImmutable() {
+		Random random = new Random(23);
+		MutableVector3d dest = new MutableVector3d();
+		for (int i = 0; i < COUNT; i++) {
+			Vector3d a = new Vector3d(random.nextGaussian(), random.nextGaussian(),
+					random.nextGaussian());
+			Vector3d b = new Vector3d(random.nextGaussian(), random.nextGaussian(),
+					random.nextGaussian());
+			double f = random.nextDouble() * 4 - 2;
+
+			assertVector(a.add(b), new MutableVector3d(a).addLocal(b), 0);
+			assertVector(a.subtract(b), new MutableVector3d(a).subtractLocal(b), 0);
+			assertVector(a.scale(f), new MutableVector3d(a).scaleLocal(f), 0);
+			assertVector(a.add(b.scale(f)), new MutableVector3d(a).addScaledLocal(b, f), 1e-14);
+			assertVector(a.cross(b), new MutableVector3d(a).crossLocal(b), 1e-14);
+			assertVector(a.normalize(), new MutableVector3d(a).normalizeLocal(), 1e-15);
+			assertVector(a.add(b.subtract(a).scale(f)),
+					new MutableVector3d(a).lerpLocal(b, f), 1e-14);
+			assertVector(a.cross(b), new MutableVector3d(a).crossInto(b, dest), 1e-14);
+			assertEquals(a, new MutableVector3d(a).toVector3d());
+		}
+	}
+
+	/**
+	 * A destination that is also the argument is read before it is written.
+	 */
+	@Test
+	void destinationMayAliasArgument() {
+		Vector3f a = new Vector3f(1, 2, 3), b = new Vector3f(-4, 5, 0.5f);
+		MutableVector3f ma = new MutableVector3f(a), mb = new MutableVector3f(b);
+		assertVector(a.cross(b), ma.crossInto(mb, mb), 0);
+
+		mb.set(b);
+		assertVector(new Vector3f(-1.5f, 3.5f, 1.75f), ma.lerpInto(mb, 0.5f, mb), 0);
+
+		ma.set(a);
+		assertVector(new Vector3f(0, 0, 0), ma.crossLocal(ma), 0);
+
+		MutableVector3d da = new MutableVector3d(1, 2, 3);
+		assertVector(new Vector3d(3, 6, 9), da.addScaledLocal(da, 2), 0);
+	}
+
+	/**
+	 * Normalizing a zero vector throws and leaves the destination as it was.
+	 */
+	@Test
+	void normalizeZeroThrows() {
+		MutableVector3f dest = new MutableVector3f(7, 8, 9);
+		assertThrows(ArithmeticException.class, () -> new MutableVector3f().normalizeInto(dest));
+		assertVector(new Vector3f(7, 8, 9), dest, 0);
+		assertThrows(ArithmeticException.class, () -> new MutableVector3d().normalizeLocal());
+	}
+
+	/**
+	 * An integration step written with the in-place forms allocates nothing.
+	 */
+	@Test
+	void inPlaceStepDoesNotAllocate() {
+		MutableVector3f position = new MutableVector3f();
+		MutableVector3f velocity = new MutableVector3f(1, 0, 0);
+		MutableVector3f gravity = new MutableVector3f(0, -9.81f, 0);
+		MutableVector3f axis = new MutableVector3f(0, 0, 1);
+		MutableVector3d positiond = new MutableVector3d();
+		MutableVector3d velocityd = new MutableVector3d(0, 1, 0);
+		Runnable step = () -> {
+			velocity.addScaledLocal(gravity, 1e-3f).crossLocal(axis).normalizeLocal();
+			position.addScaledLocal(velocity, 1e-3f).lerpLocal(velocity, 0.5f);
+			positiond.addScaledLocal(velocityd, 1e-3).scaleLocal(0.5);
+		};
+
+		assertAllocationFree(step);
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link ParallelMatrixOperations}.
+ */
+class ParallelMatrixOperationsTest {
+
+	/** The executor. */
+	private ExecutorService executor;
+
+	/**
+	 * Starts the executor.
+	 */
+	@BeforeEach
+	void start() {
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	/**
+	 * Stops the executor.
+	 */
+	@AfterEach
+	void stop() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * A failure in the caller's slice must not return before the worker slices
+	 * have finished writing.
+	 */
+	@Test
+	void forEachWaitsForWorkersWhenCallerSliceFails() {
+		ParallelMatrixOperations ops = new ParallelMatrixOperations(executor, 3, 1);
+		AtomicIntegerArray done = new AtomicIntegerArray(3);
+		IllegalStateException failure = new IllegalStateException("caller");
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class,
+				() -> ops.forEach(3, (from, to) -> {
+			if (from == 2) {
+				throw failure;
+			}
+			sleep(100);
+			done.set(from, 1);
+		}));
+
+		assertSame(failure, thrown);
+		assertEquals(1, done.get(0));
+		assertEquals(1, done.get(1));
+	}
+
+	/**
+	 * When both the caller and a worker fail, the worker failure is suppressed.
+	 */
+	@Test
+	void forEachSuppressesWorkerFailure() {
+		ParallelMatrixOperations ops = new ParallelMatrixOperations(executor, 2, 1);
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class,
+				() -> ops.forEach(2, (from, to) -> {
+			if (from == 0) {
+				sleep(50);
+				throw new IllegalArgumentException("worker");
+			}
+			throw new IllegalStateException("caller");
+		}));
+
+		assertEquals("caller", thrown.getMessage());
+		assertEquals(1, thrown.getSuppressed().length);
+		assertEquals("worker", thrown.getSuppressed()[0].getMessage());
+	}
+
+	/**
+	 * A worker failure alone is rethrown unwrapped.
+	 */
+	@Test
+	void forEachRethrowsWorkerFailure() {
+		ParallelMatrixOperations ops = new ParallelMatrixOperations(executor, 2, 1);
+
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> ops.forEach(2, (from, to) -> {
+					if (from == 0) {
+						throw new IllegalArgumentException("worker");
+					}
+				}));
+
+		assertEquals("worker", thrown.getMessage());
+	}
+
+	/**
+	 * Bit set work converts the element grain to words: 4096 boxes are 64 words,
+	 * which a grain of 1024 boxes splits into four slices of 16 words.
+	 */
+	@Test
+	void cullBoxesSplitsByWordGrain() {
+		AtomicInteger submitted = new AtomicInteger();
+		Executor counting = task -> {
+			submitted.incrementAndGet();
+			executor.execute(task);
+		};
+		ParallelMatrixOperations ops = new ParallelMatrixOperations(counting, 4,
+				ParallelMatrixOperations.DEFAULT_GRAIN);
+
+		int count = 4096;
+		float[] planes = new float[FrustumOperations.STRIDE];
+		float[] identity = { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 };
+		FrustumOperations.extractPlanes(identity, 0, false, planes, 0);
+		float[] minX = new float[count], minY = new float[count], minZ = new float[count];
+		float[] maxX = new float[count], maxY = new float[count], maxZ = new float[count];
+		for (int i = 0; i < count; i++) {
+			// Inside the unit clip cube, outside it along x, or straddling its edge
+			float center = switch (i % 3) {
+				case 0 -> 0f;
+				case 1 -> 5f;
+				default -> 1f;
+			};
+			minX[i] = center - 0.25f;
+			maxX[i] = center + 0.25f;
+			minY[i] = minZ[i] = -0.25f;
+			maxY[i] = maxZ[i] = 0.25f;
+		}
+
+		long[] parallel = new long[count / 64], sequential = new long[count / 64];
+		ops.cullBoxes(planes, 0, minX, minY, minZ, maxX, maxY, maxZ, parallel, 0, count);
+		FrustumOperations.cullBoxes(planes, 0, minX, minY, minZ, maxX, maxY, maxZ, sequential,
+				0, count);
+
+		assertEquals(3, submitted.get());
+		assertArrayEquals(sequential, parallel);
+		for (int i = 0; i < count; i++) {
+			assertEquals(i % 3 != 1, (parallel[i >>> 6] >>> i & 1) != 0, "box " + i);
+		}
+	}
+
+	/**
+	 * Sleeps without checked exceptions.
+	 *
+	 * @param millis the millis
+	 */
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
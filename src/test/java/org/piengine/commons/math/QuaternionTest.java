@@ -0,0 +1,256 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Quaternion.Quaterniond;
+import org.piengine.commons.math.Quaternion.Quaternionf;
+import org.piengine.commons.math.Vector3D.Vector3f;
+
+/**
+ * Products, rotation, matrix conversion, interpolation and normalization of
+ * {@link Quaternion} and {@link QuaternionOperations}, in float and double.
+ */
+class QuaternionTest {
+
+	/** Unit axes plus skewed ones that favour each branch of the extraction. */
+	private static final Vector3D[] AXES = {
+			Vector3D.ofDouble(1, 0, 0),
+			Vector3D.ofDouble(0, 1, 0),
+			Vector3D.ofDouble(0, 0, 1),
+			Vector3D.ofDouble(1, 1, 0),
+			Vector3D.ofDouble(1, -2, 3),
+			Vector3D.ofDouble(-3, 1, 2)
+	};
+
+	/** Angles up to and including a half turn, where the trace is -1. */
+	private static final double[] ANGLES = {
+			0.3, 1.5, 2.5, Math.PI - 1e-3, Math.PI - 1e-7, Math.PI
+	};
+
+	/**
+	 * Asserts two vectors agree component-wise.
+	 *
+	 * @param expected the expected vector
+	 * @param actual   the actual vector
+	 * @param delta    the tolerance
+	 */
+	private static void assertVector(Vector3D expected, Vector3D actual, double delta) {
+		assertEquals(expected.xd(), actual.xd(), delta, () -> expected + " != " + actual);
+		assertEquals(expected.yd(), actual.yd(), delta, () -> expected + " != " + actual);
+		assertEquals(expected.zd(), actual.zd(), delta, () -> expected + " != " + actual);
+	}
+
+	/**
+	 * Asserts two quaternions are the same rotation, {@code q} or {@code -q}.
+	 *
+	 * @param expected the expected quaternion
+	 * @param actual   the actual quaternion
+	 * @param delta    the tolerance
+	 */
+	private static void assertSameRotation(Quaternion expected, Quaternion actual, double delta) {
+		double sign = expected.dot(actual) < 0 ? -1 : 1;
+		assertEquals(expected.xd(), sign * actual.xd(), delta, () -> expected + " != " + actual);
+		assertEquals(expected.yd(), sign * actual.yd(), delta, () -> expected + " != " + actual);
+		assertEquals(expected.zd(), sign * actual.zd(), delta, () -> expected + " != " + actual);
+		assertEquals(expected.wd(), sign * actual.wd(), delta, () -> expected + " != " + actual);
+	}
+
+	/**
+	 * Multiplies a row-major 3x3 matrix by a column vector.
+	 *
+	 * @param m the matrix
+	 * @param v the vector
+	 * @return the product
+	 */
+	private static Vector3D transform(double[] m, Vector3D v) {
+		return Vector3D.ofDouble(
+				m[0] * v.xd() + m[1] * v.yd() + m[2] * v.zd(),
+				m[3] * v.xd() + m[4] * v.yd() + m[5] * v.zd(),
+				m[6] * v.xd() + m[7] * v.yd() + m[8] * v.zd());
+	}
+
+	/**
+	 * {@code a * b} applies {@code b} first, in both precisions.
+	 */
+	@Test
+	void multiplyAppliesOtherFirst() {
+		Quaterniond zTurn = Quaternion.axisAngled(Vector3D.ofDouble(0, 0, 1), Math.PI / 2);
+		Quaterniond xTurn = Quaternion.axisAngled(Vector3D.ofDouble(1, 0, 0), Math.PI / 2);
+		Vector3D y = Vector3D.ofDouble(0, 1, 0);
+
+		assertVector(Vector3D.ofDouble(0, 0, 1), zTurn.multiply(xTurn).rotate(y), 1e-15);
+		assertVector(Vector3D.ofDouble(-1, 0, 0), xTurn.multiply(zTurn).rotate(y), 1e-15);
+
+		float quarterTurn = (float) (Math.PI / 2);
+		Quaternionf zTurnf = Quaternion.axisAnglef(Vector3D.ofFloat(0, 0, 1), quarterTurn);
+		Quaternionf xTurnf = Quaternion.axisAnglef(Vector3D.ofFloat(1, 0, 0), quarterTurn);
+		Quaternion zxf = zTurnf.multiply(xTurnf);
+		assertTrue(zxf instanceof Quaternionf, zxf::toString);
+		assertVector(Vector3D.ofDouble(0, 0, 1), zxf.rotate(Vector3D.ofFloat(0, 1, 0)), 1e-6);
+		assertVector(Vector3D.ofDouble(-1, 0, 0), xTurnf.multiply(zTurnf).rotate(y), 1e-6);
+
+		for (Vector3D axis : AXES) {
+			Quaterniond a = Quaternion.axisAngled(axis, 0.7);
+			Vector3D other = Vector3D.ofDouble(axis.zd(), axis.xd(), -axis.yd());
+			Quaterniond b = Quaternion.axisAngled(other, 2.1);
+			Vector3D v = Vector3D.ofDouble(0.3, -1.2, 2.5);
+			assertVector(a.rotate(b.rotate(v)), a.multiply(b).rotate(v), 1e-14);
+		}
+	}
+
+	/**
+	 * Rotating a vector matches multiplying it by the rotation matrix, and a
+	 * float quaternion rotates a double vector at float accuracy.
+	 */
+	@Test
+	void rotateMatchesMatrix() {
+		Vector3D v = Vector3D.ofDouble(0.1, 0.2, 0.3);
+		for (Vector3D axis : AXES) {
+			for (double angle : ANGLES) {
+				Quaterniond q = Quaternion.axisAngled(axis, angle);
+				double[] m = new double[9];
+				QuaternionOperations.toMatrix3(q.xd(), q.yd(), q.zd(), q.wd(), m, 0);
+				Vector3D expected = transform(m, v);
+				assertVector(expected, q.rotate(v), 1e-15);
+
+				Quaternionf qf = Quaternion.axisAnglef(axis, (float) angle);
+				Vector3D rotated = qf.rotate(v);
+				assertTrue(rotated instanceof Vector3f, rotated::toString);
+				assertVector(expected, rotated, 1e-6);
+			}
+		}
+	}
+
+	/**
+	 * A quaternion survives the round trip through its 4x4 and 3x3 matrices,
+	 * including rotations at and near a half turn.
+	 */
+	@Test
+	void matrixRoundTrip() {
+		for (Vector3D axis : AXES) {
+			for (double angle : ANGLES) {
+				Quaterniond q = Quaternion.axisAngled(axis, angle);
+				assertSameRotation(q, Quaternion.fromMatrix(q.toMatrix4()), 1e-12);
+
+				double[] m3 = new double[9];
+				double[] back = new double[4];
+				QuaternionOperations.toMatrix3(q.arrayd(), 0, m3, 0);
+				QuaternionOperations.fromRotation(m3, 0, 3, back, 0);
+				assertSameRotation(q, new Quaterniond(back), 1e-12);
+
+				Quaternionf qf = Quaternion.axisAnglef(axis, (float) angle);
+				float[] m4f = new float[16];
+				float[] m3f = new float[9];
+				float[] backf = new float[4];
+				QuaternionOperations.toMatrix4(qf.arrayf(), 0, m4f, 0);
+				QuaternionOperations.fromRotation(m4f, 0, 4, backf, 0);
+				assertSameRotation(qf, new Quaternionf(backf), 1e-6);
+				QuaternionOperations.toMatrix3(qf.arrayf(), 0, m3f, 0);
+				QuaternionOperations.fromRotation(m3f, 0, 3, backf, 0);
+				assertSameRotation(qf, new Quaternionf(backf), 1e-6);
+			}
+		}
+	}
+
+	/**
+	 * Slerp and nlerp return their endpoints at {@code t = 0} and {@code t = 1}.
+	 */
+	@Test
+	void interpolationEndpoints() {
+		Quaterniond a = Quaternion.axisAngled(Vector3D.ofDouble(1, -2, 3), 0.4);
+		Quaterniond b = Quaternion.axisAngled(Vector3D.ofDouble(-3, 1, 2), 1.9);
+		assertSameRotation(a, a.slerp(b, 0), 1e-15);
+		assertSameRotation(b, a.slerp(b, 1), 1e-15);
+		assertSameRotation(a, a.nlerp(b, 0), 1e-15);
+		assertSameRotation(b, a.nlerp(b, 1), 1e-15);
+
+		Quaternionf af = Quaternion.axisAnglef(Vector3D.ofDouble(1, -2, 3), 0.4f);
+		Quaternionf bf = Quaternion.axisAnglef(Vector3D.ofDouble(-3, 1, 2), 1.9f);
+		assertSameRotation(af, af.slerp(bf, 0), 1e-7);
+		assertSameRotation(bf, af.slerp(bf, 1), 1e-7);
+		assertSameRotation(af, af.nlerp(bf, 0), 1e-7);
+		assertSameRotation(bf, af.nlerp(bf, 1), 1e-7);
+	}
+
+	/**
+	 * Interpolating towards the negated form of a rotation still takes the short
+	 * arc: halfway to a 120 degree turn is a 60 degree turn, not a 120 degree turn
+	 * the other way.
+	 */
+	@Test
+	void interpolationTakesShortPath() {
+		Vector3D z = Vector3D.ofDouble(0, 0, 1);
+		Quaterniond turn = Quaternion.axisAngled(z, 2 * Math.PI / 3);
+		Quaterniond negated = new Quaterniond(-turn.x(), -turn.y(), -turn.z(), -turn.w());
+		Quaterniond start = Quaternion.identityd();
+		Quaterniond half = Quaternion.axisAngled(z, Math.PI / 3);
+		Quaterniond quarter = Quaternion.axisAngled(z, Math.PI / 6);
+
+		assertSameRotation(half, start.slerp(negated, 0.5), 1e-15);
+		assertSameRotation(quarter, start.slerp(negated, 0.25), 1e-15);
+		assertSameRotation(half, start.nlerp(negated, 0.5), 1e-15);
+		assertEquals(1, start.slerp(negated, 0.25).magnitude(), 1e-15);
+
+		Quaternionf negatedf = new Quaternionf(negated.arrayf());
+		Quaternionf startf = Quaternion.identityf();
+		assertSameRotation(half, startf.slerp(negatedf, 0.5), 1e-6);
+		assertSameRotation(quarter, startf.slerp(negatedf, 0.25), 1e-6);
+		assertSameRotation(half, startf.nlerp(negatedf, 0.5), 1e-6);
+
+		float[] a = { 0, 0, 0, 1, 0, 0, 0, 1 };
+		float[] b = new float[8];
+		System.arraycopy(negatedf.arrayf(), 0, b, 0, 4);
+		System.arraycopy(negatedf.arrayf(), 0, b, 4, 4);
+		float[] dest = new float[8];
+		QuaternionOperations.slerp(a, 0, b, 0, 0.5f, dest, 0, 2);
+		assertSameRotation(half, new Quaternionf(dest), 1e-6);
+		assertSameRotation(half, new Quaternionf(dest[4], dest[5], dest[6], dest[7]), 1e-6);
+	}
+
+	/**
+	 * Normalization scales to unit length without turning, and a zero quaternion
+	 * is rejected.
+	 */
+	@Test
+	void normalize() {
+		Quaternion q = Quaternion.ofDouble(1, -2, 3, 4).normalize();
+		double len = Math.sqrt(30);
+		assertEquals(1, q.magnitude(), 1e-15);
+		assertSameRotation(Quaternion.ofDouble(1 / len, -2 / len, 3 / len, 4 / len), q, 1e-15);
+
+		Quaternion qf = Quaternion.ofFloat(0.5f, -1, 1.5f, 2).normalize();
+		assertTrue(qf instanceof Quaternionf, qf::toString);
+		assertSameRotation(q, qf, 1e-6);
+
+		Quaternion zero = Quaternion.ofDouble(0, 0, 0, 0);
+		Quaternion zerof = Quaternion.ofFloat(0, 0, 0, 0);
+		assertThrows(ArithmeticException.class, zero::normalize);
+		assertThrows(ArithmeticException.class, zerof::normalize);
+	}
+}
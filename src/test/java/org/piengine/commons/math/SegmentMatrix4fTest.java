@@ -0,0 +1,289 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static java.lang.foreign.ValueLayout.JAVA_FLOAT_UNALIGNED;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Matrix.Matrix4.ColumnMajorMatrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4d;
+import org.piengine.commons.math.Matrix.Matrix4.Matrix4f;
+import org.piengine.commons.math.Matrix.Matrix4.SegmentMatrix4f;
+import org.piengine.commons.math.Vector3D.SegmentVector3f;
+import org.piengine.commons.math.Vector3D.Vector3f;
+import org.piengine.commons.math.shapes.Point3D;
+
+/**
+ * Round trips between {@link SegmentMatrix4f}, {@link SegmentVector3f} and the
+ * segment kernels of {@link MatrixOperations} on one side and the packed array
+ * forms on the other. Both run the same kernels over the same element order, so
+ * results are compared exactly.
+ */
+class SegmentMatrix4fTest {
+
+	/** A byte offset that is not a multiple of the matrix size or alignment. */
+	private static final long OFFSET = 3 * Float.BYTES;
+
+	/**
+	 * Copies a packed matrix into a fresh native segment at {@link #OFFSET}.
+	 *
+	 * @param arena the arena
+	 * @param m     the matrix
+	 * @return the memory segment
+	 */
+	private static MemorySegment store(Arena arena, float[] m) {
+		MemorySegment segment = arena.allocate(OFFSET + SegmentMatrix4f.BYTES);
+		MatrixOperations.store(m, 0, segment, OFFSET);
+		return segment;
+	}
+
+	/**
+	 * Copies a matrix out of a segment at {@link #OFFSET}.
+	 *
+	 * @param segment the segment
+	 * @return the float[]
+	 */
+	private static float[] load(MemorySegment segment) {
+		float[] m = new float[16];
+		MatrixOperations.load(segment, OFFSET, m, 0);
+		return m;
+	}
+
+	/**
+	 * Storing and loading returns the same bits, and views over a block see the
+	 * matrices stored at their slots.
+	 */
+	@Test
+	void storeLoadRoundTrip() {
+		Random random = new Random(17);
+		try (Arena arena = Arena.ofConfined()) {
+			float[] m = MatrixOperationsTest.randomf(random);
+			assertArrayEquals(m, load(store(arena, m)));
+
+			MemorySegment block = arena.allocate(3 * SegmentMatrix4f.BYTES);
+			float[][] expected = new float[3][];
+			for (int i = 0; i < 3; i++) {
+				expected[i] = MatrixOperationsTest.randomf(random);
+				MatrixOperations.store(expected[i], 0, block, i * SegmentMatrix4f.BYTES);
+			}
+			SegmentMatrix4f[] views = SegmentMatrix4f.views(block);
+			assertEquals(3, views.length);
+			for (int i = 0; i < 3; i++) {
+				assertArrayEquals(expected[i], views[i].array());
+				assertArrayEquals(expected[i], views[i].toMatrix4f().array());
+			}
+
+			double[] d = MatrixOperationsTest.randomd(random);
+			float[] copy = SegmentMatrix4f.allocate(arena).set(new Matrix4d(d)).array();
+			for (int i = 0; i < 16; i++) {
+				assertEquals((float) d[i], copy[i]);
+			}
+		}
+	}
+
+	/**
+	 * Every segment kernel gives what its packed array counterpart gives, at an
+	 * unaligned byte offset.
+	 */
+	@Test
+	void kernelsMatchArrayForms() {
+		Random random = new Random(18);
+		try (Arena arena = Arena.ofConfined()) {
+			float[] a = MatrixOperationsTest.randomf(random);
+			float[] b = MatrixOperationsTest.randomf(random);
+			MemorySegment sa = store(arena, a);
+			MemorySegment sb = store(arena, b);
+			MemorySegment sd = arena.allocate(OFFSET + SegmentMatrix4f.BYTES);
+			float[] expected = new float[16];
+
+			MatrixOperations.multiply(a, 0, b, 0, expected, 0);
+			MatrixOperations.multiply(sa, OFFSET, sb, OFFSET, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			MatrixOperations.transpose(a, 0, expected, 0);
+			MatrixOperations.transpose(sa, OFFSET, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			assertTrue(MatrixOperations.invert(a, 0, expected, 0));
+			assertTrue(MatrixOperations.invert(sa, OFFSET, sd, OFFSET));
+			assertArrayEquals(expected, load(sd));
+
+			float[] v = { 1.5f, -2, 0.25f, 1 };
+			float[] tv = new float[4];
+			MatrixOperations.transform(a, 0, v, 0, tv, 0);
+			MemorySegment sv = arena.allocate(OFFSET + 4 * Float.BYTES);
+			MemorySegment.copy(v, 0, sv, JAVA_FLOAT_UNALIGNED, OFFSET, 4);
+			MatrixOperations.transform(sa, OFFSET, sv, OFFSET, sv, OFFSET);
+			float[] actual = new float[4];
+			MemorySegment.copy(sv, JAVA_FLOAT_UNALIGNED, OFFSET, actual, 0, 4);
+			assertArrayEquals(tv, actual);
+
+			MatrixOperations.translate(a, 0, 1, -2, 3, expected, 0);
+			MatrixOperations.translate(sa, OFFSET, 1, -2, 3, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			MatrixOperations.rotateX(a, 0, 0.7f, expected, 0);
+			MatrixOperations.rotateX(sa, OFFSET, 0.7f, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			MatrixOperations.rotateY(a, 0, -1.1f, expected, 0);
+			MatrixOperations.rotateY(sa, OFFSET, -1.1f, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			MatrixOperations.rotateZ(a, 0, 2.3f, expected, 0);
+			MatrixOperations.rotateZ(sa, OFFSET, 2.3f, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			MatrixOperations.scale(a, 0, 2, 0.5f, -3, expected, 0);
+			MatrixOperations.scale(sa, OFFSET, 2, 0.5f, -3, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			MatrixOperations.compose(1, 2, 3, 0.3f, -0.4f, 0.5f, 2, 3, 4, expected, 0);
+			MatrixOperations.compose(1, 2, 3, 0.3f, -0.4f, 0.5f, 2, 3, 4, sd, OFFSET);
+			assertArrayEquals(expected, load(sd));
+
+			MatrixOperations.setIdentity(sd, OFFSET);
+			assertArrayEquals(new float[] { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 },
+					load(sd));
+		}
+	}
+
+	/**
+	 * A singular matrix is reported and leaves the destination as it was.
+	 */
+	@Test
+	void singularInvertLeavesDestination() {
+		try (Arena arena = Arena.ofConfined()) {
+			float[] singular = new float[16];
+			float[] before = MatrixOperationsTest.randomf(new Random(19));
+			MemorySegment sd = store(arena, before);
+			assertFalse(MatrixOperations.invert(store(arena, singular), OFFSET, sd, OFFSET));
+			assertArrayEquals(before, load(sd));
+		}
+	}
+
+	/**
+	 * The in-place methods of {@link SegmentMatrix4f} agree with the same chain
+	 * on a packed array, and {@code set} copies from every representation. The
+	 * {@code Matrix4f} operand of {@code mulLocal} is a heap segment, which the
+	 * vector backend hands to the scalar kernel, so that product is compared
+	 * within a few ulps rather than exactly.
+	 */
+	@Test
+	void localMethodsMatchPackedChain() {
+		Random random = new Random(20);
+		float[] a = MatrixOperationsTest.randomf(random);
+		float[] b = MatrixOperationsTest.randomf(random);
+		float[] expected = new float[16];
+		MatrixOperations.multiply(a, 0, b, 0, expected, 0);
+		MatrixOperations.multiply(expected, 0, a, 0, expected, 0);
+		MatrixOperations.multiply(b, 0, expected, 0, expected, 0);
+		MatrixOperations.translate(expected, 0, 1, 2, 3, expected, 0);
+		MatrixOperations.rotateX(expected, 0, 0.1f, expected, 0);
+		MatrixOperations.rotateY(expected, 0, 0.2f, expected, 0);
+		MatrixOperations.rotateZ(expected, 0, 0.3f, expected, 0);
+		MatrixOperations.scale(expected, 0, 2, 2, 2, expected, 0);
+		MatrixOperations.transpose(expected, 0, expected, 0);
+		assertTrue(MatrixOperations.invert(expected, 0, expected, 0));
+
+		try (Arena arena = Arena.ofConfined()) {
+			SegmentMatrix4f sa = SegmentMatrix4f.allocate(arena).set(new Matrix4f(a));
+			SegmentMatrix4f sb = SegmentMatrix4f.allocate(arena).set(new Matrix4f(b));
+			SegmentMatrix4f m = SegmentMatrix4f.allocate(arena)
+					.setMul(sa, sb)
+					.mulLocal(sa)
+					.premulLocal(sb)
+					.translateLocal(1, 2, 3)
+					.rotateXLocal(0.1f)
+					.rotateYLocal(0.2f)
+					.rotateZLocal(0.3f)
+					.scaleLocal(2, 2, 2)
+					.transposeLocal();
+			assertTrue(m.invertLocal());
+			assertArrayEquals(expected, m.array());
+
+			float[] product = new float[16];
+			MatrixOperations.multiply(b, 0, a, 0, product, 0);
+			float[] actual = SegmentMatrix4f.allocate(arena).set(sb)
+					.mulLocal(new Matrix4f(a)).array();
+			for (int i = 0; i < 16; i++) {
+				assertEquals(product[i], actual[i], 4 * Math.ulp(Math.abs(product[i]) + 1));
+			}
+
+			Matrix4f source = new Matrix4f(a);
+			SegmentMatrix4f copy = SegmentMatrix4f.allocate(arena);
+			assertArrayEquals(a, copy.set(source).array());
+			assertArrayEquals(a, SegmentMatrix4f.allocate(arena).set(copy).array());
+			assertArrayEquals(a,
+					SegmentMatrix4f.allocate(arena).set(ColumnMajorMatrix4f.of(source)).array());
+			for (int row = 0; row < 4; row++) {
+				assertEquals(source.xf(row), copy.xf(row));
+				assertEquals(source.yf(row), copy.yf(row));
+				assertEquals(source.zf(row), copy.zf(row));
+				assertEquals(source.wf(row), copy.wf(row));
+			}
+		}
+	}
+
+	/**
+	 * {@link SegmentVector3f} reads back what was written and its operations
+	 * give what {@link Vector3f} gives.
+	 */
+	@Test
+	void segmentVectorMatchesVector3f() {
+		try (Arena arena = Arena.ofConfined()) {
+			Vector3f a = new Vector3f(1.5f, -2.25f, 3.125f);
+			Vector3f b = new Vector3f(-0.5f, 4, 0.75f);
+			SegmentVector3f s = SegmentVector3f.allocate(arena).set(a);
+			assertEquals(a.x(), s.xf());
+			assertEquals(a.y(), s.yf());
+			assertEquals(a.z(), s.zf());
+			assertEquals(a.add(b), s.add(b));
+			assertEquals(a.subtract(b), s.subtract(b));
+			assertEquals(a.scale(0.3), s.scale(0.3));
+			assertEquals(a.normalize(), s.normalize());
+
+			Vector3D d = Vector3D.ofDouble(0.1, -0.2, 0.3);
+			Vector3f narrowed = new Vector3f(0.1f, -0.2f, 0.3f);
+			assertEquals(a.add(narrowed), s.add(d));
+			assertEquals(a.subtract(narrowed), s.subtract(d));
+			assertEquals(0.1f, SegmentVector3f.allocate(arena).set(d).xf());
+			assertEquals(Point3D.ofFloat(a.x(), a.y(), a.z()), s.toPoint());
+
+			SegmentVector3f view = new SegmentVector3f(s.segment());
+			view.set(0, 0, 0);
+			assertEquals(0, s.xf());
+			assertThrows(ArithmeticException.class, s::normalize);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SkinningOperations}.
+ */
+class SkinningOperationsTest {
+
+	/** Tolerance of the skinned coordinates, which are at most a few units. */
+	private static final float EPSILON = 1e-5f;
+
+	/**
+	 * Writes a random rotation and translation as a row-major matrix.
+	 *
+	 * @param random the random source
+	 * @param m      the destination
+	 * @param o      the destination offset
+	 */
+	static void rigid(Random random, float[] m, int o) {
+		double x = random.nextGaussian(), y = random.nextGaussian(), z = random.nextGaussian();
+		double w = random.nextGaussian();
+		double n = Math.sqrt(x * x + y * y + z * z + w * w);
+		x /= n;
+		y /= n;
+		z /= n;
+		w /= n;
+
+		m[o] = (float) (1 - 2 * (y * y + z * z));
+		m[o + 1] = (float) (2 * (x * y - z * w));
+		m[o + 2] = (float) (2 * (x * z + y * w));
+		m[o + 3] = random.nextFloat() * 4 - 2;
+		m[o + 4] = (float) (2 * (x * y + z * w));
+		m[o + 5] = (float) (1 - 2 * (x * x + z * z));
+		m[o + 6] = (float) (2 * (y * z - x * w));
+		m[o + 7] = random.nextFloat() * 4 - 2;
+		m[o + 8] = (float) (2 * (x * z - y * w));
+		m[o + 9] = (float) (2 * (y * z + x * w));
+		m[o + 10] = (float) (1 - 2 * (x * x + y * y));
+		m[o + 11] = random.nextFloat() * 4 - 2;
+		m[o + 15] = 1;
+	}
+
+	/**
+	 * With every influence on one rigid transform, dual quaternion skinning
+	 * gives what linear blend skinning gives: the matrix applied to the vertex.
+	 * The second palette entry is the same transform with the opposite sign, so
+	 * the blend only holds together when signs are aligned.
+	 */
+	@Test
+	void rigidBoneMatchesMatrixTransform() {
+		Random random = new Random(9);
+		int vertices = 100;
+		for (int trial = 0; trial < 20; trial++) {
+			float[] m = new float[16];
+			rigid(random, m, 0);
+			float[] palette = new float[2 * SkinningOperations.STRIDE];
+			SkinningOperations.fromMatrix(m, 0, palette, 0);
+			for (int e = 0; e < SkinningOperations.STRIDE; e++) {
+				palette[SkinningOperations.STRIDE + e] = -palette[e];
+			}
+
+			float[] positions = new float[vertices * 3], normals = new float[vertices * 3];
+			for (int i = 0; i < positions.length; i++) {
+				positions[i] = random.nextFloat() * 2 - 1;
+				normals[i] = random.nextFloat() * 2 - 1;
+			}
+			int[] bones = new int[vertices * 2];
+			float[] weights = new float[vertices * 2];
+			for (int v = 0; v < vertices; v++) {
+				bones[v * 2] = v & 1;
+				bones[v * 2 + 1] = ~v & 1;
+				weights[v * 2] = random.nextFloat();
+				weights[v * 2 + 1] = 1 - weights[v * 2];
+			}
+
+			float[] outPositions = new float[positions.length];
+			float[] outNormals = new float[normals.length];
+			SkinningOperations.skin(palette, 0, positions, normals, bones, weights, 2,
+					outPositions, outNormals, 0, vertices);
+
+			for (int v = 0; v < vertices; v++) {
+				int p = v * 3;
+				for (int r = 0; r < 3; r++) {
+					int o = r * 4;
+					float point = m[o] * positions[p] + m[o + 1] * positions[p + 1]
+							+ m[o + 2] * positions[p + 2] + m[o + 3];
+					float normal = m[o] * normals[p] + m[o + 1] * normals[p + 1]
+							+ m[o + 2] * normals[p + 2];
+					assertEquals(point, outPositions[p + r], EPSILON);
+					assertEquals(normal, outNormals[p + r], EPSILON);
+				}
+			}
+		}
+	}
+}
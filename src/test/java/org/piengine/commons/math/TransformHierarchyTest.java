@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link TransformHierarchy} against world matrices recomputed from
+ * scratch with the same packed operations, so results are compared exactly.
+ */
+class TransformHierarchyTest {
+
+	/** Nodes per hierarchy, more than the initial capacity. */
+	private static final int NODES = 300;
+
+	/**
+	 * Builds a random tree whose parents always precede their children, with a
+	 * few roots, and random local transforms. The locals are also written to
+	 * {@code locals} as translation, quaternion and scale, 10 elements per node.
+	 *
+	 * @param random the random
+	 * @param locals the locals
+	 * @return the transform hierarchy
+	 */
+	private static TransformHierarchy random(Random random, float[] locals) {
+		TransformHierarchy h = new TransformHierarchy(1);
+		for (int node = 0; node < NODES; node++) {
+			int parent = node == 0 || random.nextInt(20) == 0 ? TransformHierarchy.ROOT
+					: random.nextInt(node);
+			assertEquals(node, h.add(parent));
+			randomLocal(random, h, node, locals);
+		}
+		return h;
+	}
+
+	/**
+	 * Writes a random local transform into both the hierarchy and {@code locals}.
+	 *
+	 * @param random the random
+	 * @param h      the hierarchy
+	 * @param node   the node
+	 * @param locals the locals
+	 */
+	private static void randomLocal(Random random, TransformHierarchy h, int node,
+			float[] locals) {
+		int o = node * 10;
+		double x = random.nextGaussian(), y = random.nextGaussian();
+		double z = random.nextGaussian(), w = random.nextGaussian();
+		double n = Math.sqrt(x * x + y * y + z * z + w * w);
+		for (int k = 0; k < 3; k++) {
+			locals[o + k] = random.nextFloat() * 2 - 1;
+			locals[o + 7 + k] = 0.5f + random.nextFloat();
+		}
+		locals[o + 3] = (float) (x / n);
+		locals[o + 4] = (float) (y / n);
+		locals[o + 5] = (float) (z / n);
+		locals[o + 6] = (float) (w / n);
+		h.setTranslation(node, locals[o], locals[o + 1], locals[o + 2]);
+		h.setRotation(node, locals[o + 3], locals[o + 4], locals[o + 5], locals[o + 6]);
+		h.setScale(node, locals[o + 7], locals[o + 8], locals[o + 9]);
+	}
+
+	/**
+	 * World matrices computed without the hierarchy: each local composed and
+	 * multiplied onto the parent world.
+	 *
+	 * @param h      the hierarchy, for the parents
+	 * @param locals the locals
+	 * @return the world matrices
+	 */
+	private static float[] expected(TransformHierarchy h, float[] locals) {
+		float[] worlds = new float[h.size() * 16];
+		float[] local = new float[16];
+		for (int node = 0; node < h.size(); node++) {
+			int o = node * 10;
+			QuaternionOperations.compose(locals[o], locals[o + 1], locals[o + 2], locals, o + 3,
+					locals[o + 7], locals[o + 8], locals[o + 9], local, 0);
+			int parent = h.parent(node);
+			if (parent == TransformHierarchy.ROOT) {
+				System.arraycopy(local, 0, worlds, node * 16, 16);
+			} else {
+				MatrixOperations.multiply(worlds, parent * 16, local, 0, worlds, node * 16);
+			}
+		}
+		return worlds;
+	}
+
+	/**
+	 * Nodes updated when {@code moved} change: each of them and all descendants.
+	 *
+	 * @param h     the hierarchy
+	 * @param moved the moved nodes
+	 * @return the count
+	 */
+	private static int affected(TransformHierarchy h, int... moved) {
+		boolean[] hit = new boolean[h.size()];
+		for (int node : moved) {
+			hit[node] = true;
+		}
+		int count = 0;
+		for (int node = 0; node < h.size(); node++) {
+			int parent = h.parent(node);
+			hit[node] |= parent != TransformHierarchy.ROOT && hit[parent];
+			if (hit[node]) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * A full update gives the recomputed world matrices, and a later update
+	 * touches exactly the changed nodes and their descendants.
+	 */
+	@Test
+	void incrementalUpdateMatchesRecompute() {
+		Random random = new Random(14);
+		float[] locals = new float[NODES * 10];
+		TransformHierarchy h = random(random, locals);
+
+		assertEquals(NODES, h.update());
+		assertArrayEquals(expected(h, locals), Arrays.copyOf(h.worldMatrices(), NODES * 16));
+		assertEquals(0, h.update());
+
+		int[] moved = { 3, 40, 41, 250 };
+		for (int node : moved) {
+			randomLocal(random, h, node, locals);
+		}
+		assertEquals(affected(h, moved), h.update());
+		float[] expected = expected(h, locals);
+		assertArrayEquals(expected, Arrays.copyOf(h.worldMatrices(), NODES * 16));
+		for (int node = 0; node < NODES; node++) {
+			assertFalse(h.isDirty(node));
+		}
+
+		float[] world = new float[18];
+		h.world(250, world, 2);
+		assertArrayEquals(Arrays.copyOfRange(expected, 250 * 16, 251 * 16),
+				Arrays.copyOfRange(world, 2, 18));
+	}
+
+	/**
+	 * The level-by-level parallel update gives the same matrices as the
+	 * sequential one, including after nodes are added between updates.
+	 */
+	@Test
+	void parallelUpdateMatchesSequential() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			ParallelMatrixOperations engine = new ParallelMatrixOperations(executor, 3, 1);
+			Random random = new Random(15);
+			float[] locals = new float[(NODES + 1) * 10];
+			TransformHierarchy h = random(random, locals);
+
+			h.update(engine);
+			assertArrayEquals(expected(h, locals), Arrays.copyOf(h.worldMatrices(), NODES * 16));
+
+			randomLocal(random, h, 7, locals);
+			randomLocal(random, h, h.add(7), locals);
+			h.update(engine);
+			assertArrayEquals(expected(h, locals),
+					Arrays.copyOf(h.worldMatrices(), (NODES + 1) * 16));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
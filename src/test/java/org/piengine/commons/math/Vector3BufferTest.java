@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Vector3Buffer.Vector3Bufferd;
+import org.piengine.commons.math.Vector3Buffer.Vector3Bufferf;
+import org.piengine.commons.math.Vector3D.MutableVector3d;
+import org.piengine.commons.math.Vector3D.MutableVector3f;
+import org.piengine.commons.math.Vector3D.Vector3d;
+import org.piengine.commons.math.Vector3D.Vector3f;
+
+/**
+ * Tests for {@link Vector3Buffer} against the same operation applied to each
+ * vector with {@link MutableVector3f} and {@link MutableVector3d}. The bulk
+ * kernels evaluate the same float expressions per lane, so the lane-wise
+ * results are compared exactly; normalize multiplies by the reciprocal length
+ * where the single-vector form divides, and sums reassociate.
+ */
+class Vector3BufferTest {
+
+	/** Vectors per buffer, not a multiple of any vector length. */
+	private static final int SIZE = 1003;
+
+	/**
+	 * Random float buffer with components in [-10, 10), every 11th vector zero.
+	 *
+	 * @param random the random
+	 * @return the vector 3 bufferf
+	 */
+	private static Vector3Bufferf randomf(Random random) {
+		Vector3Bufferf buffer = new Vector3Bufferf(SIZE);
+		for (int i = 0; i < SIZE; i++) {
+			if (i % 11 != 0) {
+				buffer.set(i, random.nextFloat() * 20 - 10, random.nextFloat() * 20 - 10,
+						random.nextFloat() * 20 - 10);
+			}
+		}
+		return buffer;
+	}
+
+	/**
+	 * Asserts that a buffer holds an expected vector at an index.
+	 *
+	 * @param expected  the expected
+	 * @param buffer    the buffer
+	 * @param index     the index
+	 * @param tolerance the tolerance
+	 */
+	private static void assertAt(Vector3D expected, Vector3Buffer buffer, int index,
+			double tolerance) {
+		assertEquals(expected.xd(), buffer.xd(index), tolerance, () -> "x at " + index);
+		assertEquals(expected.yd(), buffer.yd(index), tolerance, () -> "y at " + index);
+		assertEquals(expected.zd(), buffer.zd(index), tolerance, () -> "z at " + index);
+	}
+
+	/**
+	 * Every float bulk operation gives what the per-vector operation gives.
+	 */
+	@Test
+	void floatBulkMatchesPerVector() {
+		Random random = new Random(23);
+		Vector3Bufferf a = randomf(random), b = randomf(random), dest = new Vector3Bufferf(SIZE);
+		float factor = 0.37f;
+		MutableVector3f va = new MutableVector3f(), vb = new MutableVector3f();
+		MutableVector3f expected = new MutableVector3f();
+		float[] scalars = new float[SIZE + 2];
+
+		assertSame(dest, a.add(b, dest));
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).addInto(b.get(i, vb), expected), dest, i, 0);
+		}
+		a.subtract(b, dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).subtractInto(b.get(i, vb), expected), dest, i, 0);
+		}
+		a.scale(factor, dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).scaleInto(factor, expected), dest, i, 0);
+		}
+		a.addScaled(b, factor, dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).addScaledInto(b.get(i, vb), factor, expected), dest, i, 0);
+		}
+		a.cross(b, dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).crossInto(b.get(i, vb), expected), dest, i, 0);
+		}
+		a.normalize(dest);
+		for (int i = 0; i < SIZE; i++) {
+			if (i % 11 == 0) {
+				assertAt(new Vector3f(0, 0, 0), dest, i, 0);
+			} else {
+				assertAt(a.get(i, va).normalizeInto(expected), dest, i, 2 * Math.ulp(1f));
+			}
+		}
+
+		a.dot(b, scalars, 2);
+		for (int i = 0; i < SIZE; i++) {
+			a.get(i, va);
+			b.get(i, vb);
+			assertEquals(va.xf() * vb.xf() + va.yf() * vb.yf() + va.zf() * vb.zf(),
+					scalars[i + 2]);
+		}
+		a.length(scalars, 1);
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals((float) a.get(i).magnitude(), scalars[i + 1], Math.ulp(scalars[i + 1]));
+		}
+		a.distance(b, scalars, 0);
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals((float) a.get(i).subtract(b.get(i)).magnitude(), scalars[i],
+					Math.ulp(scalars[i]));
+		}
+
+		double sx = 0, sy = 0, sz = 0, magnitude = 0;
+		float minX = Float.POSITIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+		for (int i = 0; i < SIZE; i++) {
+			sx += a.xf(i);
+			sy += a.yf(i);
+			sz += a.zf(i);
+			magnitude += Math.abs(a.xf(i)) + Math.abs(a.yf(i)) + Math.abs(a.zf(i));
+			minX = Math.min(minX, a.xf(i));
+			maxZ = Math.max(maxZ, a.zf(i));
+		}
+		double tolerance = SIZE * Math.ulp(1f) * magnitude;
+		MutableVector3f sum = a.sum(new MutableVector3f());
+		assertEquals(sx, sum.xf(), tolerance);
+		assertEquals(sy, sum.yf(), tolerance);
+		assertEquals(sz, sum.zf(), tolerance);
+		assertEquals(minX, a.min(new MutableVector3f()).xf());
+		assertEquals(maxZ, a.max(new MutableVector3f()).zf());
+	}
+
+	/**
+	 * Every double bulk operation gives what the per-vector operation gives.
+	 */
+	@Test
+	void doubleBulkMatchesPerVector() {
+		Random random = new Random(24);
+		Vector3Bufferd a = new Vector3Bufferd(SIZE), b = new Vector3Bufferd(SIZE);
+		Vector3Bufferd dest = new Vector3Bufferd(SIZE);
+		for (int i = 0; i < SIZE; i++) {
+			a.set(i, random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+			b.set(i, new Vector3d(random.nextGaussian(), random.nextGaussian(),
+					random.nextGaussian()));
+		}
+		MutableVector3d va = new MutableVector3d(), vb = new MutableVector3d();
+		MutableVector3d expected = new MutableVector3d();
+
+		a.add(b, dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).addInto(b.get(i, vb), expected), dest, i, 0);
+		}
+		a.addScaled(b, 0.25, dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).addScaledInto(b.get(i, vb), 0.25, expected), dest, i, 0);
+		}
+		a.cross(b, dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).crossInto(b.get(i, vb), expected), dest, i, 0);
+		}
+		a.normalize(dest);
+		for (int i = 0; i < SIZE; i++) {
+			assertAt(a.get(i, va).normalizeInto(expected), dest, i, 2 * Math.ulp(1d));
+		}
+
+		double[] dots = new double[SIZE];
+		a.dot(b, dots, 0);
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals(a.get(i).dot(b.get(i)), dots[i]);
+		}
+
+		double sx = 0;
+		for (int i = 0; i < SIZE; i++) {
+			sx += a.xd(i);
+		}
+		assertEquals(sx, a.sum(new MutableVector3d()).xd(), 1e-12);
+	}
+
+	/**
+	 * A buffer may be its own destination, single vectors read back what was
+	 * written, narrowed from double where needed, reductions of an empty buffer
+	 * give their identities, and mismatched sizes are rejected.
+	 */
+	@Test
+	void aliasingAccessAndSizes() {
+		Vector3Bufferf positions = new Vector3Bufferf(5), velocities = new Vector3Bufferf(5);
+		for (int i = 0; i < 5; i++) {
+			positions.set(i, i, 2 * i, 3 * i);
+			velocities.set(i, new Vector3f(1, -1, 0.5f));
+		}
+		positions.addScaled(velocities, 2, positions);
+		assertEquals(new Vector3f(5, 4, 10), positions.get(3));
+		assertEquals(5, positions.xs()[3]);
+		positions.set(0, new Vector3d(0.1, -0.2, 0.3));
+		assertEquals(new Vector3f(0.1f, -0.2f, 0.3f), positions.get(0));
+
+		Vector3Bufferf empty = new Vector3Bufferf(0);
+		assertEquals(Float.POSITIVE_INFINITY, empty.min(new MutableVector3f()).xf());
+		assertEquals(Float.NEGATIVE_INFINITY, empty.max(new MutableVector3f()).yf());
+		assertEquals(0, empty.sum(new MutableVector3f()).zf());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> positions.add(new Vector3Bufferf(4), positions));
+		assertThrows(IllegalArgumentException.class,
+				() -> positions.scale(1, new Vector3Bufferf(6)));
+		assertThrows(IndexOutOfBoundsException.class, () -> positions.length(new float[5], 1));
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that {@link VectorVector3Kernels} agrees with
+ * {@link ScalarVector3Kernels}. Lane-wise kernels round each lane exactly as
+ * the scalar loop does and must match bit for bit. Sums add lanes in a
+ * different order, so they are held to the worst-case bound of recursive
+ * summation, {@code n} rounding errors of the sum of magnitudes for each
+ * order; minimum and maximum are exact.
+ */
+class Vector3KernelsParityTest {
+
+	/** The scalar kernels. */
+	private final Vector3Kernels scalar = new ScalarVector3Kernels();
+
+	/** The vector kernels. */
+	private final Vector3Kernels vector = new VectorVector3Kernels();
+
+	/**
+	 * Random float components in {@code [-1, 1)}, with every seventh vector zero
+	 * to cover the normalize special case.
+	 *
+	 * @param random the random source
+	 * @param count  the number of vectors
+	 * @return the x, y and z arrays
+	 */
+	static float[][] randomf(Random random, int count) {
+		float[][] c = new float[3][count];
+		for (int i = 0; i < count; i++) {
+			for (int k = 0; k < 3; k++) {
+				c[k][i] = i % 7 == 3 ? 0 : random.nextFloat() * 2 - 1;
+			}
+		}
+		return c;
+	}
+
+	/**
+	 * Random double components in {@code [-1, 1)}, with every seventh vector
+	 * zero.
+	 *
+	 * @param random the random source
+	 * @param count  the number of vectors
+	 * @return the x, y and z arrays
+	 */
+	static double[][] randomd(Random random, int count) {
+		double[][] c = new double[3][count];
+		for (int i = 0; i < count; i++) {
+			for (int k = 0; k < 3; k++) {
+				c[k][i] = i % 7 == 3 ? 0 : random.nextDouble() * 2 - 1;
+			}
+		}
+		return c;
+	}
+
+	/**
+	 * Every float kernel against the scalar loop.
+	 *
+	 * @param count the number of vectors, not a multiple of any lane count
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 37, 1001 })
+	void floatKernels(int count) {
+		Random random = new Random(count);
+		float[][] a = randomf(random, count), b = randomf(random, count);
+		float[][] expected = new float[3][count], actual = new float[3][count];
+
+		scalar.add(a[0], a[1], a[2], b[0], b[1], b[2], expected[0], expected[1],
+				expected[2], count);
+		vector.add(a[0], a[1], a[2], b[0], b[1], b[2], actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "add");
+
+		scalar.subtract(a[0], a[1], a[2], b[0], b[1], b[2], expected[0], expected[1],
+				expected[2], count);
+		vector.subtract(a[0], a[1], a[2], b[0], b[1], b[2], actual[0], actual[1],
+				actual[2], count);
+		assertArrayEquals(expected, actual, "subtract");
+
+		scalar.scale(a[0], a[1], a[2], 1.5f, expected[0], expected[1], expected[2], count);
+		vector.scale(a[0], a[1], a[2], 1.5f, actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "scale");
+
+		scalar.addScaled(a[0], a[1], a[2], b[0], b[1], b[2], -0.75f, expected[0], expected[1],
+				expected[2], count);
+		vector.addScaled(a[0], a[1], a[2], b[0], b[1], b[2], -0.75f, actual[0], actual[1],
+				actual[2], count);
+		assertArrayEquals(expected, actual, "addScaled");
+
+		scalar.cross(a[0], a[1], a[2], b[0], b[1], b[2], expected[0], expected[1],
+				expected[2], count);
+		vector.cross(a[0], a[1], a[2], b[0], b[1], b[2], actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "cross");
+
+		scalar.normalize(a[0], a[1], a[2], expected[0], expected[1], expected[2], count);
+		vector.normalize(a[0], a[1], a[2], actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "normalize");
+
+		float[] e = new float[count + 1], f = new float[count + 1];
+		scalar.dot(a[0], a[1], a[2], b[0], b[1], b[2], e, 1, count);
+		vector.dot(a[0], a[1], a[2], b[0], b[1], b[2], f, 1, count);
+		assertArrayEquals(e, f, "dot");
+
+		scalar.length(a[0], a[1], a[2], e, 1, count);
+		vector.length(a[0], a[1], a[2], f, 1, count);
+		assertArrayEquals(e, f, "length");
+
+		scalar.distance(a[0], a[1], a[2], b[0], b[1], b[2], e, 1, count);
+		vector.distance(a[0], a[1], a[2], b[0], b[1], b[2], f, 1, count);
+		assertArrayEquals(e, f, "distance");
+
+		float[] er = new float[4], fr = new float[4];
+		scalar.sum(a[0], a[1], a[2], count, er, 1);
+		vector.sum(a[0], a[1], a[2], count, fr, 1);
+		for (int k = 0; k < 3; k++) {
+			double magnitude = 0;
+			for (float x : a[k]) {
+				magnitude += Math.abs(x);
+			}
+			assertEquals(er[k + 1], fr[k + 1], count * Math.ulp(1f) * magnitude, "sum");
+		}
+
+		scalar.min(a[0], a[1], a[2], count, er, 1);
+		vector.min(a[0], a[1], a[2], count, fr, 1);
+		assertArrayEquals(er, fr, "min");
+
+		scalar.max(a[0], a[1], a[2], count, er, 1);
+		vector.max(a[0], a[1], a[2], count, fr, 1);
+		assertArrayEquals(er, fr, "max");
+	}
+
+	/**
+	 * Every double kernel against the scalar loop.
+	 *
+	 * @param count the number of vectors, not a multiple of any lane count
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 0, 1, 37, 1001 })
+	void doubleKernels(int count) {
+		Random random = new Random(count);
+		double[][] a = randomd(random, count), b = randomd(random, count);
+		double[][] expected = new double[3][count], actual = new double[3][count];
+
+		scalar.add(a[0], a[1], a[2], b[0], b[1], b[2], expected[0], expected[1],
+				expected[2], count);
+		vector.add(a[0], a[1], a[2], b[0], b[1], b[2], actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "add");
+
+		scalar.subtract(a[0], a[1], a[2], b[0], b[1], b[2], expected[0], expected[1],
+				expected[2], count);
+		vector.subtract(a[0], a[1], a[2], b[0], b[1], b[2], actual[0], actual[1],
+				actual[2], count);
+		assertArrayEquals(expected, actual, "subtract");
+
+		scalar.scale(a[0], a[1], a[2], 1.5, expected[0], expected[1], expected[2], count);
+		vector.scale(a[0], a[1], a[2], 1.5, actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "scale");
+
+		scalar.addScaled(a[0], a[1], a[2], b[0], b[1], b[2], -0.75, expected[0], expected[1],
+				expected[2], count);
+		vector.addScaled(a[0], a[1], a[2], b[0], b[1], b[2], -0.75, actual[0], actual[1],
+				actual[2], count);
+		assertArrayEquals(expected, actual, "addScaled");
+
+		scalar.cross(a[0], a[1], a[2], b[0], b[1], b[2], expected[0], expected[1],
+				expected[2], count);
+		vector.cross(a[0], a[1], a[2], b[0], b[1], b[2], actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "cross");
+
+		scalar.normalize(a[0], a[1], a[2], expected[0], expected[1], expected[2], count);
+		vector.normalize(a[0], a[1], a[2], actual[0], actual[1], actual[2], count);
+		assertArrayEquals(expected, actual, "normalize");
+
+		double[] e = new double[count + 1], f = new double[count + 1];
+		scalar.dot(a[0], a[1], a[2], b[0], b[1], b[2], e, 1, count);
+		vector.dot(a[0], a[1], a[2], b[0], b[1], b[2], f, 1, count);
+		assertArrayEquals(e, f, "dot");
+
+		scalar.length(a[0], a[1], a[2], e, 1, count);
+		vector.length(a[0], a[1], a[2], f, 1, count);
+		assertArrayEquals(e, f, "length");
+
+		scalar.distance(a[0], a[1], a[2], b[0], b[1], b[2], e, 1, count);
+		vector.distance(a[0], a[1], a[2], b[0], b[1], b[2], f, 1, count);
+		assertArrayEquals(e, f, "distance");
+
+		double[] er = new double[4], fr = new double[4];
+		scalar.sum(a[0], a[1], a[2], count, er, 1);
+		vector.sum(a[0], a[1], a[2], count, fr, 1);
+		for (int k = 0; k < 3; k++) {
+			double magnitude = 0;
+			for (double x : a[k]) {
+				magnitude += Math.abs(x);
+			}
+			assertEquals(er[k + 1], fr[k + 1], count * Math.ulp(1d) * magnitude, "sum");
+		}
+
+		scalar.min(a[0], a[1], a[2], count, er, 1);
+		vector.min(a[0], a[1], a[2], count, fr, 1);
+		assertArrayEquals(er, fr, "min");
+
+		scalar.max(a[0], a[1], a[2], count, er, 1);
+		vector.max(a[0], a[1], a[2], count, fr, 1);
+		assertArrayEquals(er, fr, "max");
+	}
+}
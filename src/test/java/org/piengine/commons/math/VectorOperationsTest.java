@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.commons.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.commons.math.Vector3D.Vector3f;
+
+/**
+ * Float results of {@link VectorOperations} against the double ones, at
+ * lengths whose squares leave the float range.
+ */
+class VectorOperationsTest {
+
+	/** Lengths from where the square underflows to where it overflows in float. */
+	private static final float[] SCALES = { 1e-30f, 1e-23f, 1e-10f, 1, 1e10f, 1e20f, 1e30f };
+
+	/**
+	 * Asserts a float result is within a few float ulps of the largest
+	 * component of the double reference.
+	 *
+	 * @param expected the double reference
+	 * @param actual   the float result
+	 */
+	private static void assertClose(Vector3D expected, Vector3D actual) {
+		assertTrue(actual instanceof Vector3f, actual::toString);
+		double m = Math.max(Math.abs(expected.xd()),
+				Math.max(Math.abs(expected.yd()), Math.abs(expected.zd())));
+		double delta = 4 * Math.ulp((float) m);
+		assertEquals(expected.xd(), actual.xd(), delta, () -> expected + " != " + actual);
+		assertEquals(expected.yd(), actual.yd(), delta, () -> expected + " != " + actual);
+		assertEquals(expected.zd(), actual.zd(), delta, () -> expected + " != " + actual);
+	}
+
+	/**
+	 * Projection, reflection and angle of float vectors stay float and within
+	 * float accuracy of the double results, including at lengths whose squares
+	 * leave the float range.
+	 */
+	@Test
+	void floatStaysAccurateAcrossScales() {
+		for (float scale : SCALES) {
+			Vector3D a = Vector3D.ofFloat(3 * scale, -scale, 2 * scale);
+			Vector3D b = Vector3D.ofFloat(scale, 2 * scale, 2 * scale);
+			Vector3D ad = Vector3D.ofDouble(a.xd(), a.yd(), a.zd());
+			Vector3D bd = Vector3D.ofDouble(b.xd(), b.yd(), b.zd());
+
+			assertClose(VectorOperations.project(ad, bd), VectorOperations.project(a, b));
+			assertClose(VectorOperations.reflect(ad, bd), VectorOperations.reflect(a, b));
+			assertEquals(VectorOperations.angle(ad, bd), VectorOperations.angle(a, b), 1e-6,
+					String.valueOf(scale));
+		}
+	}
+
+	/**
+	 * A tiny and a huge float vector still project onto themselves and make a
+	 * right angle with their perpendicular.
+	 */
+	@Test
+	void extremeLengths() {
+		for (float scale : new float[] { 1e-23f, 1e20f }) {
+			Vector3D b = Vector3D.ofFloat(scale, 2 * scale, 2 * scale);
+			Vector3D p = VectorOperations.project(b, b);
+			assertEquals(b.xf(), p.xf(), Math.ulp(b.xf()));
+			assertEquals(b.yf(), p.yf(), Math.ulp(b.yf()));
+			assertEquals(b.zf(), p.zf(), Math.ulp(b.zf()));
+
+			Vector3D r = VectorOperations.reflect(b, b);
+			assertEquals(-b.xf(), r.xf(), Math.ulp(b.xf()));
+
+			Vector3D perpendicular = Vector3D.ofFloat(2 * scale, -scale, 0);
+			assertEquals(Math.PI / 2, VectorOperations.angle(b, perpendicular), 1e-6);
+		}
+	}
+
+	/**
+	 * Zero vectors have no projection, reflection or angle.
+	 */
+	@Test
+	void zeroVector() {
+		Vector3D a = Vector3D.ofFloat(1, 2, 3), zero = Vector3D.ofFloat(0, 0, 0);
+		assertThrows(ArithmeticException.class, () -> VectorOperations.project(a, zero));
+		assertThrows(ArithmeticException.class, () -> VectorOperations.reflect(a, zero));
+		assertThrows(ArithmeticException.class, () -> VectorOperations.angle(zero, a));
+	}
+}